@@ -101,6 +101,14 @@ public class BuilderManager {
         final PluginType<?> pluginType = plugins.get(key);
         if (pluginType == null) {
             LOGGER.warn("Unable to load plugin class name {} with key {}", className, key);
+            return null;
+        }
+        try {
+            // Loads the plugin class
+            pluginType.getPluginClass();
+        } catch (final IllegalStateException ex) {
+            LOGGER.warn("Unable to load plugin class name {} with key {}: {}", className, key, ex.getMessage());
+            return null;
         }
         return (PluginType<T>) pluginType;
     }
@@ -71,6 +71,23 @@ public class UnmodifiableArrayBackedMapTest {
         assertEquals(testMap.get("6"), "another value");
     }
 
+    @Test
+    public void testUnchangedCopiesShareInstance() {
+        final UnmodifiableArrayBackedMap testMap =
+                UnmodifiableArrayBackedMap.EMPTY_MAP.copyAndPutAll(getTestParameters());
+        Assertions.assertThat(testMap.copyAndPut("1", "value1")).isSameAs(testMap);
+        Assertions.assertThat(testMap.copyAndPutAll(Collections.emptyMap())).isSameAs(testMap);
+        Assertions.assertThat(testMap.copyAndRemove("not found")).isSameAs(testMap);
+        Assertions.assertThat(testMap.copyAndRemoveAll(Collections.singleton("not found")))
+                .isSameAs(testMap);
+        Assertions.assertThat(testMap.copyAndRemoveAll(Collections.emptySet())).isSameAs(testMap);
+
+        final UnmodifiableArrayBackedMap changedMap = testMap.copyAndPut("1", "another value");
+        Assertions.assertThat(changedMap).isNotSameAs(testMap);
+        assertEquals("value1", testMap.get("1"));
+        assertEquals("another value", changedMap.get("1"));
+    }
+
     @Test
     public void testCopyAndRemove() {
         // general removing from well-populated set
@@ -249,19 +249,32 @@ public class UnmodifiableArrayBackedMap extends AbstractMap<String, String> impl
     /**
      * Creates a new instance that contains the same entries as this map, plus
      * either the new entry or updated value passed in the parameters.
+     * <p>
+     * If the key is already mapped to the given value, this instance is returned.
+     * </p>
      *
      * @param key
      * @param value
      * @return
      */
     public UnmodifiableArrayBackedMap copyAndPut(String key, String value) {
+        final int index = indexOfKey(key);
+        if (index >= 0 && Objects.equals(backingArray[getArrayIndexForValue(index)], value)) {
+            // no change necessary, share the backing array
+            return this;
+        }
         UnmodifiableArrayBackedMap newMap = new UnmodifiableArrayBackedMap(numEntries + 1);
         // include the numEntries value (array index 0)
         if (this.numEntries > 0) {
             System.arraycopy(this.backingArray, 1, newMap.backingArray, 1, numEntries * 2);
             newMap.numEntries = numEntries;
         }
-        newMap.addOrOverwriteKey(key, value);
+        if (index >= 0) {
+            newMap.backingArray[getArrayIndexForValue(index)] = value;
+        } else {
+            // the key is known to be absent, no need to scan again
+            newMap.add(key, value);
+        }
         newMap.updateNumEntriesInArray();
         return newMap;
     }
@@ -275,6 +288,9 @@ public class UnmodifiableArrayBackedMap extends AbstractMap<String, String> impl
      * @return
      */
     public UnmodifiableArrayBackedMap copyAndPutAll(Map<String, String> entriesToAdd) {
+        if (entriesToAdd.isEmpty()) {
+            return this;
+        }
         // create a new array that can hold the maximum output size
         UnmodifiableArrayBackedMap newMap = new UnmodifiableArrayBackedMap(numEntries + entriesToAdd.size());
 
@@ -310,15 +326,7 @@ public class UnmodifiableArrayBackedMap extends AbstractMap<String, String> impl
      * @return
      */
     public UnmodifiableArrayBackedMap copyAndRemove(String key) {
-        int indexToRemove = -1;
-        for (int oldIndex = numEntries - 1; oldIndex >= 0; oldIndex--) {
-            if (backingArray[getArrayIndexForKey(oldIndex)].hashCode() == key.hashCode()
-                    && backingArray[getArrayIndexForKey(oldIndex)].equals(key)) {
-                indexToRemove = oldIndex;
-                break;
-            }
-        }
-
+        final int indexToRemove = indexOfKey(key);
         if (indexToRemove == -1) {
             // key not found, no change necessary
             return this;
@@ -369,18 +377,16 @@ public class UnmodifiableArrayBackedMap extends AbstractMap<String, String> impl
             }
         }
 
-        // Create the new map
-        final UnmodifiableArrayBackedMap oldMap = this;
-        final int oldMapEntryCount = oldMap.numEntries;
-        final UnmodifiableArrayBackedMap newMap = new UnmodifiableArrayBackedMap(oldMapEntryCount);
-
         // Short-circuit if there is nothing to remove
         if (keysToRemove.isEmpty()) {
-            System.arraycopy(oldMap.backingArray, 0, newMap.backingArray, 0, oldMapEntryCount * 2);
-            newMap.numEntries = oldMapEntryCount;
             return this;
         }
 
+        // Create the new map
+        final UnmodifiableArrayBackedMap oldMap = this;
+        final int oldMapEntryCount = oldMap.numEntries;
+        final UnmodifiableArrayBackedMap newMap = new UnmodifiableArrayBackedMap(oldMapEntryCount);
+
         // Iterate over old map entries
         int newMapEntryIndex = 0;
         for (int oldMapEntryIndex = 0; oldMapEntryIndex < oldMapEntryCount; oldMapEntryIndex++) {
@@ -404,6 +410,11 @@ public class UnmodifiableArrayBackedMap extends AbstractMap<String, String> impl
             newMapEntryIndex++;
         }
 
+        // Share the backing array if no key was removed
+        if (newMapEntryIndex == oldMapEntryCount) {
+            return this;
+        }
+
         // Cap and return the new map
         newMap.numEntries = newMapEntryIndex;
         newMap.updateNumEntriesInArray();
@@ -485,6 +496,22 @@ public class UnmodifiableArrayBackedMap extends AbstractMap<String, String> impl
         return null;
     }
 
+    /**
+     * Scans the array to find the entry index of a key. Linear-time.
+     *
+     * @return the entry index or {@code -1} if the key is not present
+     */
+    private int indexOfKey(String key) {
+        int hashCode = key.hashCode();
+        for (int i = 0; i < numEntries; i++) {
+            if (backingArray[getArrayIndexForKey(i)].hashCode() == hashCode
+                    && backingArray[getArrayIndexForKey(i)].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Find an existing entry (if any) and overwrites the value, if found
      *
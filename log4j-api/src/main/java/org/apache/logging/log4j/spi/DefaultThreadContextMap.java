@@ -21,6 +21,7 @@ import static org.apache.logging.log4j.internal.map.UnmodifiableArrayBackedMap.g
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import org.apache.logging.log4j.internal.map.UnmodifiableArrayBackedMap;
 import org.apache.logging.log4j.util.BiConsumer;
 import org.apache.logging.log4j.util.PropertiesUtil;
 import org.apache.logging.log4j.util.ReadOnlyStringMap;
@@ -37,6 +38,10 @@ import org.apache.logging.log4j.util.TriConsumer;
  *      {@link HashMap} in all supported operations other than {@code get()}. Note that {@code get()} performance scales
  *      linearly with the current map size, and callers are advised to minimize this work.
  * </p>
+ * <p>
+ *      Since the backing array is never modified, snapshots and inheriting threads share it without copying. Updates
+ *      that do not change the map, such as putting the current value of a key, keep the current array.
+ * </p>
  */
 public class DefaultThreadContextMap implements ThreadContextMap, ReadOnlyStringMap {
     private static final long serialVersionUID = -2635197170958057849L;
@@ -75,12 +80,12 @@ public class DefaultThreadContextMap implements ThreadContextMap, ReadOnlyString
     @Override
     public void put(final String key, final String value) {
         final Object[] state = localState.get();
-        localState.set(getMap(state).copyAndPut(key, value).getBackingArray());
+        update(state, getMap(state).copyAndPut(key, value));
     }
 
     public void putAll(final Map<String, String> m) {
         final Object[] state = localState.get();
-        localState.set(getMap(state).copyAndPutAll(m).getBackingArray());
+        update(state, getMap(state).copyAndPutAll(m));
     }
 
     @Override
@@ -93,14 +98,27 @@ public class DefaultThreadContextMap implements ThreadContextMap, ReadOnlyString
     public void remove(final String key) {
         final Object[] state = localState.get();
         if (state != null) {
-            localState.set(getMap(state).copyAndRemove(key).getBackingArray());
+            update(state, getMap(state).copyAndRemove(key));
         }
     }
 
     public void removeAll(final Iterable<String> keys) {
         final Object[] state = localState.get();
         if (state != null) {
-            localState.set(getMap(state).copyAndRemoveAll(keys).getBackingArray());
+            update(state, getMap(state).copyAndRemoveAll(keys));
+        }
+    }
+
+    /**
+     * Stores the new state, unless the update did not change the map.
+     * <p>
+     *     Snapshots and inheriting threads keep sharing the unchanged backing array.
+     * </p>
+     */
+    private void update(final Object[] state, final UnmodifiableArrayBackedMap newMap) {
+        final Object[] newState = newMap.getBackingArray();
+        if (newState != state) {
+            localState.set(newState);
         }
     }
 
@@ -92,6 +92,9 @@ import org.apache.logging.log4j.core.util.Loader;
 // -Dlog4j2.enable.threadlocals=true -Dlog4j2.enable.direct.encoders=true
 //  -Xms1G -Xmx1G org.apache.logging.log4j.core.async.perftest.ResponseTimeTest 1 100000
 //
+// To compare the latency percentiles of wait strategies, run the same load with different values of
+// -DAsyncLogger.WaitStrategy (e.g. hybrid, timeout, sleep), optionally in a container with a CPU quota.
+//
 // RUN recording in Java Flight Recorder:
 // %JAVA_HOME%\bin\java -XX:+UnlockCommercialFeatures -XX:+UnlockDiagnosticVMOptions -XX:+DebugNonSafepoints
 // -XX:+FlightRecorder -XX:StartFlightRecording=duration=10m,filename=replayStats-2.6-latency.jfr -verbose:gc
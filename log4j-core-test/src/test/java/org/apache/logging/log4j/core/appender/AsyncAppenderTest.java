@@ -90,7 +90,7 @@ public class AsyncAppenderTest {
         exceptionTest(context);
 
         final List<Thread> backgroundThreads = Thread.getAllStackTraces().keySet().stream()
-                .filter(AsyncAppenderEventDispatcher.class::isInstance)
+                .filter(thread -> thread.getName().contains("AsyncAppenderEventDispatcher-"))
                 .collect(Collectors.toList());
         assertFalse(backgroundThreads.isEmpty(), "Failed to locate background thread");
         for (Thread thread : backgroundThreads) {
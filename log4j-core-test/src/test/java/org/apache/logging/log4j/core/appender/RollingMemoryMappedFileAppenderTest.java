@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.rolling.RollingMemoryMappedFileManager;
+import org.apache.logging.log4j.core.jmx.AppenderAdmin;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.test.junit.CleanUpDirectories;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the rolled over and the active files contain the logged lines and are shrunk to their actual usage.
+ */
+@CleanUpDirectories("target/RollingMemoryMappedFileAppenderTest")
+class RollingMemoryMappedFileAppenderTest {
+
+    private static final Path DIR = Paths.get("target", "RollingMemoryMappedFileAppenderTest");
+
+    @Test
+    @LoggerContextSource("RollingMemoryMappedFileAppenderTest.xml")
+    void truncates_unused_region_on_rollover(
+            final LoggerContext context,
+            @Named("RollingMemoryMappedFile") final RollingMemoryMappedFileAppender appender)
+            throws Exception {
+        final Logger log = context.getLogger(getClass());
+        final Path logFile = DIR.resolve("test.log");
+        final Path rolledFile = DIR.resolve("test-1.log");
+        final char[] text = new char[300];
+        Arrays.fill(text, 'A');
+        final String str = new String(text);
+        try {
+            log.warn("Test log1");
+            assertThat(logFile).exists();
+            assertThat(Files.size(logFile)).isEqualTo(256);
+            log.warn(str);
+            assertThat(Files.size(logFile)).isEqualTo(2 * 256);
+
+            appender.getManager().rollover();
+            assertThat(rolledFile).exists();
+            assertThat(Files.readAllLines(rolledFile)).containsExactly("Header", "Test log1", str);
+            assertThat(Files.size(logFile)).isEqualTo(256);
+
+            log.warn("Test log2");
+        } finally {
+            context.stop();
+        }
+        assertThat(Files.readAllLines(logFile)).containsExactly("Header", "Test log2");
+    }
+
+    @Test
+    @LoggerContextSource("RollingMemoryMappedFileAppenderTest.xml")
+    void uses_preallocated_file_on_rollover(
+            final LoggerContext context, @Named("Preallocated") final RollingMemoryMappedFileAppender appender)
+            throws Exception {
+        final Logger log = context.getLogger("Preallocated");
+        final Path logFile = DIR.resolve("preallocated.log");
+        final Path nextFile = DIR.resolve("preallocated.log" + RollingMemoryMappedFileManager.NEXT_FILE_SUFFIX);
+        final Path rolledFile = DIR.resolve("preallocated-1.log");
+        final RollingMemoryMappedFileManager manager = appender.getManager();
+        assertThat(manager.isPreallocate()).isTrue();
+        try {
+            log.warn("Test log1");
+            await().atMost(Duration.ofSeconds(10)).until(manager::isNextFilePrepared);
+            assertThat(nextFile).exists();
+
+            manager.rollover();
+            assertThat(manager.getPreparedFileHitCount()).isEqualTo(1);
+            assertThat(manager.getPreparedFileMissCount()).isZero();
+            assertThat(manager.getLastRolloverPauseNanos()).isPositive();
+            assertThat(manager.getMaxRolloverPauseNanos()).isGreaterThanOrEqualTo(manager.getLastRolloverPauseNanos());
+            assertThat(Files.readAllLines(rolledFile)).containsExactly("Header", "Test log1");
+            // The next file is prepared again after it was used
+            await().atMost(Duration.ofSeconds(10)).until(manager::isNextFilePrepared);
+
+            log.warn("Test log2");
+            manager.rollover();
+            assertThat(manager.getPreparedFileHitCount()).isEqualTo(2);
+            assertThat(manager.getPreparedFileMissCount()).isZero();
+            assertThat(Files.readAllLines(DIR.resolve("preallocated-2.log"))).containsExactly("Header", "Test log2");
+            assertThat(new AppenderAdmin(context.getName(), appender).getRolloverStatistics())
+                    .endsWith(", preparedFileHits=2, preparedFileMisses=0");
+
+            log.warn("Test log3");
+        } finally {
+            context.stop();
+        }
+        assertThat(Files.readAllLines(logFile)).containsExactly("Header", "Test log3");
+        assertThat(nextFile).doesNotExist();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.compress.compressors.CompressorStreamFactory;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.RollingFileAppender;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.test.junit.TempLoggingDir;
+import org.apache.logging.log4j.test.junit.UsingStatusListener;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Tests that the active file is compressed while it is written, so that a rollover only renames it.
+ */
+@UsingStatusListener
+class RollingAppenderCompressOnWriteTest {
+
+    private static final int COUNT = 200;
+
+    private static final String HEADER = "This is the header";
+
+    @TempLoggingDir
+    private static Path loggingPath;
+
+    @ParameterizedTest
+    @CsvSource({"gz, gz", "zst, zstd"})
+    void compresses_while_writing(final String fileExtension, final String compressorName) throws Exception {
+        final Path folder = loggingPath.resolve(fileExtension);
+        final Path activeFile = folder.resolve("rollingtest.log." + fileExtension);
+        final RollingFileAppender appender = createAppender(folder, fileExtension);
+        appender.start();
+        try {
+            assertThat(appender.getManager().isCompressOnWrite()).isTrue();
+            appendEvents(appender, 0, COUNT);
+            // The size trigger uses the size of the compressed data
+            assertThat(appender.getManager().getFileSize()).isEqualTo(Files.size(activeFile));
+        } finally {
+            appender.stop(500, TimeUnit.MILLISECONDS);
+        }
+
+        final Set<String> lines = new HashSet<>();
+        int files = 0;
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(folder)) {
+            for (final Path file : stream) {
+                assertThat(file.toString()).endsWith("." + fileExtension);
+                files++;
+                final List<String> fileLines = readLines(file, compressorName);
+                // The header is written to each file
+                assertThat(fileLines).first().isEqualTo(HEADER);
+                lines.addAll(fileLines.subList(1, fileLines.size()));
+            }
+        }
+        assertThat(files).isGreaterThan(1);
+        assertThat(lines).hasSize(COUNT).contains("This is test message number 0");
+    }
+
+    @ParameterizedTest
+    @CsvSource({"gz, gz", "zst, zstd"})
+    void appends_a_compressed_stream_to_an_existing_file(final String fileExtension, final String compressorName)
+            throws Exception {
+        final Path folder = loggingPath.resolve("append-" + fileExtension);
+        final Path activeFile = folder.resolve("rollingtest.log." + fileExtension);
+        for (int run = 0; run < 2; run++) {
+            final RollingFileAppender appender = createAppender(folder, fileExtension);
+            appender.start();
+            try {
+                appendEvents(appender, 10 * run, 10 * run + 10);
+            } finally {
+                appender.stop(500, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        final List<String> lines = readLines(activeFile, compressorName);
+        assertThat(lines).hasSize(21).first().isEqualTo(HEADER);
+        assertThat(lines).endsWith("This is test message number 19");
+    }
+
+    @ParameterizedTest
+    @CsvSource({"bz2, bzip2", "deflate, deflate", "lz4, lz4-framed"})
+    void compresses_after_rollover_if_the_format_is_not_supported(
+            final String fileExtension, final String compressorName) throws Exception {
+        final Path folder = loggingPath.resolve("unsupported-" + fileExtension);
+        final RollingFileAppender appender = createAppender(folder, fileExtension);
+        appender.start();
+        try {
+            // These formats can not be appended to or do not flush their data
+            assertThat(appender.getManager().isCompressOnWrite()).isFalse();
+            appendEvents(appender, 0, COUNT);
+        } finally {
+            appender.stop(500, TimeUnit.MILLISECONDS);
+        }
+
+        final Path rolledFile = folder.resolve("rollingtest-1.log." + fileExtension);
+        assertThat(readLines(rolledFile, compressorName)).first().isEqualTo(HEADER);
+    }
+
+    private static RollingFileAppender createAppender(final Path folder, final String fileExtension) {
+        return RollingFileAppender.newBuilder()
+                .setName("RollingFile")
+                .withFileName(folder.resolve("rollingtest.log." + fileExtension).toString())
+                .withFilePattern(
+                        folder.resolve("rollingtest-%i.log." + fileExtension).toString())
+                .setLayout(PatternLayout.newBuilder()
+                        .withPattern("%m%n")
+                        .withHeader(HEADER + "%n")
+                        .build())
+                .withPolicy(SizeBasedTriggeringPolicy.createPolicy("1 KB"))
+                .withStrategy(DefaultRolloverStrategy.newBuilder()
+                        .withMax("100")
+                        .withCompressOnWrite(true)
+                        .build())
+                .build();
+    }
+
+    private static void appendEvents(final RollingFileAppender appender, final int from, final int to) {
+        for (int i = from; i < to; ++i) {
+            final LogEvent event = Log4jLogEvent.newBuilder()
+                    .setMessage(new SimpleMessage("This is test message number " + i))
+                    .build();
+            appender.append(event);
+        }
+    }
+
+    private static List<String> readLines(final Path file, final String compressorName) throws Exception {
+        final List<String> lines = new ArrayList<>();
+        try (final InputStream in = new CompressorStreamFactory(true)
+                        .createCompressorInputStream(compressorName, Files.newInputStream(file));
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
@@ -20,6 +20,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.file.FileSystems;
@@ -56,6 +58,12 @@ public class DeleteActionTest {
         return delete;
     }
 
+    private static DeleteAction createIndexed(final String path, final boolean indexed) {
+        final PathCondition[] pathFilters = {new FixedCondition(true)};
+        final Configuration config = new BasicConfigurationFactory().new BasicConfiguration();
+        return DeleteAction.createDeleteAction(path, false, 1, false, null, pathFilters, null, indexed, config);
+    }
+
     @Test
     public void testGetBasePathResolvesLookups() {
         final DeleteAction delete = createAnyFilter("${sys:user.home}/a/b/c", false, 1, false);
@@ -120,4 +128,16 @@ public class DeleteActionTest {
         assertThat(testVisitor, instanceOf(DeletingVisitor.class));
         assertTrue(((DeletingVisitor) testVisitor).isTestMode());
     }
+
+    @Test
+    public void testGetRetentionIndexIsNullByDefault() {
+        final DeleteAction delete = createAnyFilter("any", false, 1, false);
+        assertNull(delete.getRetentionIndex());
+    }
+
+    @Test
+    public void testGetRetentionIndexReturnsIndexIfIndexed() {
+        assertNotNull(createIndexed("any", true).getRetentionIndex());
+        assertNull(createIndexed("any", false).getRetentionIndex());
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.test.BasicConfigurationFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link RetentionIndex} class.
+ */
+class RetentionIndexTest {
+
+    private static final Set<FileVisitOption> OPTIONS = Collections.emptySet();
+
+    @TempDir
+    Path base;
+
+    private long now;
+    private Path aaa;
+    private Path bbb;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        now = System.currentTimeMillis();
+        aaa = createFile("aaa", 0);
+        bbb = createFile("bbb", 2000);
+    }
+
+    private Path createFile(final String name, final long offset) throws Exception {
+        final Path path = Files.createFile(base.resolve(name));
+        // lastModified granularity is 1 sec(!) on some file systems...
+        Files.setLastModifiedTime(path, FileTime.fromMillis(now + offset));
+        return path;
+    }
+
+    private static List<Path> paths(final List<PathWithAttributes> sortedPaths) {
+        return sortedPaths.stream().map(PathWithAttributes::getPath).collect(Collectors.toList());
+    }
+
+    @Test
+    void only_reported_files_are_updated() throws Exception {
+        final RetentionIndex index = new RetentionIndex(new PathSortByModificationTime(true));
+        assertThat(index.isValid()).isFalse();
+        assertThat(paths(index.getSortedPaths(base, OPTIONS, 1))).containsExactly(bbb, aaa);
+        assertThat(index.isValid()).isTrue();
+
+        final Path ccc = createFile("ccc", 1000);
+        assertThat(paths(index.getSortedPaths(base, OPTIONS, 1))).containsExactly(bbb, aaa);
+
+        index.fileChanged(ccc);
+        assertThat(paths(index.getSortedPaths(base, OPTIONS, 1))).containsExactly(bbb, ccc, aaa);
+
+        Files.delete(bbb);
+        index.fileChanged(bbb);
+        // Files outside of the base path are ignored
+        index.fileChanged(base.getParent());
+        assertThat(paths(index.getSortedPaths(base, OPTIONS, 1))).containsExactly(ccc, aaa);
+
+        Files.setLastModifiedTime(aaa, FileTime.fromMillis(now + 3000));
+        index.fileChanged(aaa);
+        assertThat(paths(index.getSortedPaths(base, OPTIONS, 1))).containsExactly(aaa, ccc);
+    }
+
+    @Test
+    void invalidate_rescans_base_path() throws Exception {
+        final RetentionIndex index = new RetentionIndex(new PathSortByModificationTime(true));
+        assertThat(paths(index.getSortedPaths(base, OPTIONS, 1))).containsExactly(bbb, aaa);
+
+        final Path ccc = createFile("ccc", 1000);
+        index.invalidate();
+        assertThat(paths(index.getSortedPaths(base, OPTIONS, 1))).containsExactly(bbb, ccc, aaa);
+    }
+
+    @Test
+    void delete_action_keeps_index_up_to_date() throws Exception {
+        final Configuration config = new BasicConfigurationFactory().new BasicConfiguration();
+        final PathCondition[] conditions = {IfAccumulatedFileCount.createFileCountCondition(1)};
+        final DeleteAction delete =
+                DeleteAction.createDeleteAction(base.toString(), false, 1, false, null, conditions, null, true, config);
+        final RetentionIndex index = delete.getRetentionIndex();
+        assertThat(index).isNotNull();
+
+        delete.execute();
+        assertThat(aaa).doesNotExist();
+        assertThat(bbb).exists();
+        assertThat(paths(index.getSortedPaths(delete.getBasePath(), OPTIONS, 1)))
+                .containsExactly(delete.getBasePath().resolve("bbb"));
+
+        final Path ccc = createFile("ccc", 3000);
+        index.fileChanged(ccc);
+        delete.execute();
+        assertThat(bbb).doesNotExist();
+        assertThat(ccc).exists();
+        assertThat(index.isValid()).isTrue();
+
+        // A file deleted by another process is detected
+        final Path ddd = createFile("ddd", 4000);
+        index.fileChanged(ddd);
+        Files.delete(ccc);
+        delete.execute();
+        assertThat(index.isValid()).isFalse();
+        assertThat(paths(index.getSortedPaths(delete.getBasePath(), OPTIONS, 1)))
+                .containsExactly(delete.getBasePath().resolve("ddd"));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.core.test.junit.Tags;
+import org.apache.logging.log4j.core.util.Constants;
+import org.apache.logging.log4j.test.junit.SetTestProperty;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@SetTestProperty(
+        key = Constants.LOG4J_CONTEXT_SELECTOR,
+        value = "org.apache.logging.log4j.core.async.AsyncLoggerContextSelector")
+@Tag(Tags.ASYNC_LOGGERS)
+class AsyncLogBuilderTest {
+
+    private static final Marker MARKER = MarkerManager.getMarker("AsyncLogBuilderTest");
+
+    @Test
+    @LoggerContextSource
+    void builder_should_include_location(final LoggerContext ctx, final @Named("List") ListAppender appender)
+            throws Exception {
+        appender.clear();
+        final Logger logger = ctx.getLogger(AsyncLogBuilderTest.class);
+        assertThat(logger).isInstanceOf(AsyncLogger.class);
+
+        logger.atInfo()
+                .withMarker(MARKER)
+                .withThrowable(new IllegalStateException("error"))
+                .log("Hello {}", "world");
+
+        // The location must be computed on the calling thread
+        assertThat(appender.getMessages(1, 10, TimeUnit.SECONDS))
+                .containsExactly("Hello world|AsyncLogBuilderTest|builder_should_include_location|error");
+    }
+}
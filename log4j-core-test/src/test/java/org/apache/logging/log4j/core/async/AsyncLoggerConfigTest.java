@@ -37,7 +37,11 @@ import org.apache.logging.log4j.core.async.AsyncLoggerConfig.RootLogger;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.logging.log4j.core.config.NullConfiguration;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.impl.LogEventFactory;
+import org.apache.logging.log4j.core.impl.ReusableLogEventFactory;
 import org.apache.logging.log4j.core.test.CoreLoggerContexts;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
 import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
 import org.apache.logging.log4j.core.test.junit.Tags;
 import org.apache.logging.log4j.message.SimpleMessage;
@@ -117,4 +121,58 @@ public class AsyncLoggerConfigTest {
             disruptor.stop();
         }
     }
+
+    @Test
+    public void testDirectEnqueueWithMixedLoggers() {
+        final Configuration configuration = new NullConfiguration();
+        final LoggerConfig config = AsyncLoggerConfig.newAsyncBuilder()
+                .withLoggerName(FQCN)
+                .withConfig(configuration)
+                .withLevel(Level.INFO)
+                .withProperties(new Property[] {Property.createProperty("key", "value")})
+                .build();
+        final ListAppender asyncAppender = new ListAppender("async");
+        asyncAppender.start();
+        config.addAppender(asyncAppender, null, null);
+        final ListAppender syncAppender = new ListAppender("sync");
+        syncAppender.start();
+        final AsyncLoggerConfigDelegate delegate = ((AsyncLoggerConfig) config).getAsyncLoggerConfigDelegate();
+        // Direct writes require mutable log events, even if thread locals are disabled in this environment
+        final LogEventFactory logEventFactory = new ReusableLogEventFactory();
+        config.setLogEventFactory(logEventFactory);
+        delegate.setLogEventFactory(logEventFactory);
+        ((AsyncLoggerConfigDisruptor) delegate).start();
+        try {
+            // Nothing to do on the calling thread: the log event data is written directly into the ring buffer
+            assertThat(delegate.tryEnqueue(
+                            (AsyncLoggerConfig) config,
+                            FQCN,
+                            FQCN,
+                            null,
+                            null,
+                            Level.INFO,
+                            new SimpleMessage("direct"),
+                            config.getPropertyList(),
+                            null))
+                    .isTrue();
+            config.log(FQCN, FQCN, null, Level.INFO, new SimpleMessage("async only"), null);
+            // A synchronous parent requires a log event on the calling thread
+            final LoggerConfig root = configuration.getRootLogger();
+            root.addAppender(syncAppender, null, null);
+            config.setParent(root);
+            config.log(FQCN, FQCN, null, Level.INFO, new SimpleMessage("mixed"), null);
+        } finally {
+            ((AsyncLoggerConfigDisruptor) delegate).stop();
+        }
+        assertThat(syncAppender.getEvents())
+                .extracting(event -> event.getMessage().getFormattedMessage())
+                .containsExactly("mixed");
+        assertThat(asyncAppender.getEvents())
+                .extracting(event -> event.getMessage().getFormattedMessage())
+                .containsExactly("direct", "async only", "mixed");
+        assertThat(asyncAppender.getEvents()).allSatisfy(event -> {
+            assertThat(event.getThreadName()).isEqualTo(Thread.currentThread().getName());
+            assertThat(event.getContextData().<String>getValue("key")).isEqualTo("value");
+        });
+    }
 }
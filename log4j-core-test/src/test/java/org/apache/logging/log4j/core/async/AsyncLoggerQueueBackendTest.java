@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.core.test.junit.Tags;
+import org.apache.logging.log4j.core.util.Constants;
+import org.apache.logging.log4j.message.AsynchronouslyFormattable;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.test.junit.SetTestProperty;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests pure AsyncLoggers (all loggers async) with the {@link RingBufferLogEventQueue} backend.
+ * <p>
+ * The queues used by the context are large enough not to fill up, queue full scenarios are tested on a standalone
+ * queue, which does not depend on the {@link AsyncQueueFullPolicy}.
+ * </p>
+ */
+@SetTestProperty(
+        key = Constants.LOG4J_CONTEXT_SELECTOR,
+        value = "org.apache.logging.log4j.core.async.AsyncLoggerContextSelector")
+@SetTestProperty(key = "log4j2.asyncLoggerBackend", value = "Queue")
+@SetTestProperty(key = "log4j2.asyncLoggerRingBufferSize", value = "65536")
+@SetTestProperty(key = "log4j2.asyncLoggerRingBufferShards", value = "2")
+@SetTestProperty(key = "log4j2.asyncLoggerWaitStrategy", value = "Block")
+@Tag(Tags.ASYNC_LOGGERS)
+class AsyncLoggerQueueBackendTest {
+
+    private static final int THREAD_COUNT = 4;
+
+    private static final int MESSAGE_COUNT_PER_THREAD = 2_000;
+
+    private static final int QUEUE_CAPACITY = 128;
+
+    @Test
+    @LoggerContextSource
+    void events_of_each_thread_should_be_processed_in_order(
+            final LoggerContext ctx, final @Named("List") ListAppender appender) throws Exception {
+        appender.clear();
+
+        // Verify the backend
+        assertThat(ctx).isInstanceOf(AsyncLoggerContext.class);
+        final AsyncLogger logger = (AsyncLogger) ctx.getLogger(getClass());
+        final AsyncLoggerDisruptor loggerDisruptor = logger.getAsyncLoggerDisruptor();
+        assertThat(loggerDisruptor.getDisruptor()).isNull();
+        assertThat(loggerDisruptor.getQueue()).isNotNull();
+        assertThat(loggerDisruptor.getShardCount()).isEqualTo(2);
+        // The JMX bean reports the totals of all shards
+        assertThat(((AsyncLoggerContext) ctx).createRingBufferAdmin().getBufferSize())
+                .isEqualTo(65536);
+
+        // Log concurrently
+        final List<Thread> threads = new ArrayList<>();
+        for (int threadIndex = 0; threadIndex < THREAD_COUNT; threadIndex++) {
+            threads.add(createLoggingThread(logger, threadIndex));
+        }
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        // Verify the order of messages per thread
+        final int messageCount = THREAD_COUNT * MESSAGE_COUNT_PER_THREAD;
+        final List<String> messages = appender.getMessages(messageCount, 10, TimeUnit.SECONDS);
+        assertThat(messages).hasSize(messageCount);
+        final int[] nextMessageIndices = new int[THREAD_COUNT];
+        for (final String message : messages) {
+            final String[] fields = message.split(":");
+            final int threadIndex = Integer.parseInt(fields[0]);
+            final int messageIndex = Integer.parseInt(fields[1]);
+            assertThat(messageIndex).as("thread %d", threadIndex).isEqualTo(nextMessageIndices[threadIndex]++);
+        }
+        assertThat(loggerDisruptor.getQueue().hasBacklog()).isFalse();
+    }
+
+    @Test
+    @LoggerContextSource
+    void producers_should_wait_for_free_slots_if_the_queue_is_full(
+            final LoggerContext ctx, final @Named("List") ListAppender appender) throws Exception {
+        appender.clear();
+        final AsyncLogger logger = (AsyncLogger) ctx.getLogger(getClass());
+        final RingBufferTelemetry telemetry = new RingBufferTelemetry(null);
+        final RingBufferLogEventQueue queue = new RingBufferLogEventQueue(
+                QUEUE_CAPACITY,
+                new RingBufferLogEventQueue.BlockingWaitStrategy(0L),
+                new AsyncLoggerDefaultExceptionHandler(),
+                telemetry,
+                null);
+
+        // Fill the queue before the consumer starts
+        for (int messageIndex = 0; messageIndex < QUEUE_CAPACITY; messageIndex++) {
+            assertThat(queue.tryPublishEvent(logger, translatorArgs(logger, messageIndex)))
+                    .isTrue();
+        }
+        assertThat(queue.tryPublishEvent(logger, translatorArgs(logger, QUEUE_CAPACITY)))
+                .isFalse();
+        assertThat(queue.remainingCapacity()).isZero();
+
+        // The producer waits for the consumer to free slots
+        final int messageCount = 4 * QUEUE_CAPACITY;
+        final Thread producer = new Thread(() -> {
+            for (int messageIndex = QUEUE_CAPACITY; messageIndex < messageCount; messageIndex++) {
+                queue.publishEvent(logger, translatorArgs(logger, messageIndex));
+            }
+        });
+        producer.start();
+        queue.start(Thread::new);
+        producer.join();
+        assertThat(queue.shutdown(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(queue.hasBacklog()).isFalse();
+
+        final List<String> messages = appender.getMessages();
+        assertThat(messages).hasSize(messageCount);
+        for (int messageIndex = 0; messageIndex < messageCount; messageIndex++) {
+            assertThat(messages.get(messageIndex)).isEqualTo(Integer.toString(messageIndex));
+        }
+        // A batch might be longer than the queue, but the queue never holds more events than its capacity
+        assertThat(telemetry.getHighWaterMark()).isEqualTo(QUEUE_CAPACITY);
+    }
+
+    @Test
+    @LoggerContextSource
+    void shutdown_timeout_should_not_interrupt_the_consumer(
+            final LoggerContext ctx, final @Named("List") ListAppender appender) throws Exception {
+        appender.clear();
+        final AsyncLogger logger = (AsyncLogger) ctx.getLogger(getClass());
+        final RingBufferLogEventQueue queue = new RingBufferLogEventQueue(
+                QUEUE_CAPACITY,
+                new RingBufferLogEventQueue.BlockingWaitStrategy(0L),
+                new AsyncLoggerDefaultExceptionHandler(),
+                null,
+                null);
+        final AtomicReference<Thread> consumer = new AtomicReference<>();
+        queue.start(runnable -> {
+            final Thread thread = new Thread(runnable);
+            consumer.set(thread);
+            return thread;
+        });
+
+        // Block the consumer while it formats the first event
+        final BlockingMessage message = new BlockingMessage();
+        final Object[] args = translatorArgs(logger, 0);
+        args[5] = message;
+        assertThat(queue.tryPublishEvent(logger, args)).isTrue();
+        assertThat(queue.tryPublishEvent(logger, translatorArgs(logger, 1))).isTrue();
+        assertThat(message.started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // The remaining event is discarded, without interrupting the event being processed
+        assertThat(queue.shutdown(10, TimeUnit.MILLISECONDS)).isFalse();
+        message.released.countDown();
+        consumer.get().join(10_000);
+        assertThat(consumer.get().isAlive()).isFalse();
+        assertThat(message.interrupted).isFalse();
+        assertThat(appender.getMessages()).containsExactly("blocking");
+    }
+
+    /**
+     * Message whose formatting blocks until it is released.
+     */
+    @AsynchronouslyFormattable
+    private static final class BlockingMessage implements Message {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        private volatile boolean interrupted;
+
+        @Override
+        public String getFormattedMessage() {
+            started.countDown();
+            try {
+                released.await();
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+            interrupted |= Thread.currentThread().isInterrupted();
+            return "blocking";
+        }
+
+        @Override
+        public String getFormat() {
+            return "blocking";
+        }
+
+        @Override
+        public Object[] getParameters() {
+            return null;
+        }
+
+        @Override
+        public Throwable getThrowable() {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the arguments expected by {@link AsyncLogger#translateTo(RingBufferLogEvent, long, Object...)}.
+     */
+    private static Object[] translatorArgs(final AsyncLogger logger, final int messageIndex) {
+        return new Object[] {
+            logger,
+            null,
+            AsyncLoggerQueueBackendTest.class.getName(),
+            Level.INFO,
+            null,
+            new SimpleMessage(Integer.toString(messageIndex)),
+            null
+        };
+    }
+
+    private static Thread createLoggingThread(final Logger logger, final int threadIndex) {
+        return new Thread(() -> {
+            for (int messageIndex = 0; messageIndex < MESSAGE_COUNT_PER_THREAD; messageIndex++) {
+                logger.info("{}:{}", threadIndex, messageIndex);
+            }
+        });
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.core.test.junit.Tags;
+import org.apache.logging.log4j.core.util.Constants;
+import org.apache.logging.log4j.message.AsynchronouslyFormattable;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.test.junit.SetTestProperty;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the telemetry and the growth of the ring buffer of pure AsyncLoggers (all loggers async).
+ * <p>
+ * Pressure is simulated by consulting the event route, as application threads do when they find the ring buffer full,
+ * so that the test does not depend on the speed of the background thread.
+ * </p>
+ */
+@SetTestProperty(
+        key = Constants.LOG4J_CONTEXT_SELECTOR,
+        value = "org.apache.logging.log4j.core.async.AsyncLoggerContextSelector")
+@SetTestProperty(key = "log4j2.asyncLoggerRingBufferSize", value = "128")
+@SetTestProperty(key = "log4j2.asyncLoggerRingBufferMaxSize", value = "1024")
+@SetTestProperty(key = "log4j2.asyncLoggerRingBufferGrowthThreshold", value = "50")
+@SetTestProperty(key = "log4j2.asyncQueueFullPolicy", value = "Default")
+@SetTestProperty(
+        key = "log4j2.asyncLoggerTelemetryListener",
+        value = "org.apache.logging.log4j.core.async.AsyncLoggerRingBufferGrowthTest$RecordingListener")
+@Tag(Tags.ASYNC_LOGGERS)
+class AsyncLoggerRingBufferGrowthTest {
+
+    private static final int MESSAGE_COUNT = 100;
+
+    private static final int GROWTH_THRESHOLD = 50;
+
+    @Test
+    @LoggerContextSource
+    void ring_buffer_should_grow_without_losing_events(
+            final LoggerContext ctx, final @Named("List") ListAppender appender) throws Exception {
+        appender.clear();
+        RecordingListener.RESIZES.clear();
+        final AsyncLogger logger = (AsyncLogger) ctx.getLogger(getClass());
+        final AsyncLoggerDisruptor loggerDisruptor = logger.getAsyncLoggerDisruptor();
+        final RingBufferAdmin admin = ((AsyncLoggerContext) ctx).createRingBufferAdmin();
+        assertThat(admin.getBufferSize()).isEqualTo(128);
+
+        IntStream.range(0, MESSAGE_COUNT).forEach(i -> logger.info(String.valueOf(i)));
+        // The ring buffer grows once it was found full as many times as the threshold within a second
+        for (int i = 0; i < GROWTH_THRESHOLD - 1; i++) {
+            loggerDisruptor.getEventRoute(Level.INFO);
+        }
+        assertThat(admin.getBufferSize()).isEqualTo(128);
+        loggerDisruptor.getEventRoute(Level.INFO);
+        assertThat(admin.getBufferSize()).isEqualTo(256);
+        assertThat(admin.getRingBufferFullCount()).isEqualTo(GROWTH_THRESHOLD);
+        assertThat(RecordingListener.RESIZES).containsExactly("128->256");
+        IntStream.range(MESSAGE_COUNT, 2 * MESSAGE_COUNT).forEach(i -> logger.info(String.valueOf(i)));
+
+        // Events published before and after the resize are processed in order
+        final List<String> messages = appender.getMessages(2 * MESSAGE_COUNT, 10, TimeUnit.SECONDS);
+        assertThat(messages)
+                .isEqualTo(IntStream.range(0, 2 * MESSAGE_COUNT)
+                        .mapToObj(String::valueOf)
+                        .collect(Collectors.toList()));
+        // The high-water mark is the largest number of events observed in a ring buffer
+        assertThat(admin.getHighWaterMark()).isBetween(1L, 256L);
+    }
+
+    @Test
+    @LoggerContextSource
+    void stop_should_complete_a_pending_handover(final LoggerContext ctx, final @Named("List") ListAppender appender)
+            throws Exception {
+        appender.clear();
+        final AsyncLogger logger = (AsyncLogger) ctx.getLogger(getClass());
+        final AsyncLoggerDisruptor loggerDisruptor = logger.getAsyncLoggerDisruptor();
+
+        // Block the background thread of the old ring buffer
+        final BlockingMessage message = new BlockingMessage();
+        logger.info(message);
+        assertThat(message.started.await(10, TimeUnit.SECONDS)).isTrue();
+        IntStream.range(0, MESSAGE_COUNT).forEach(i -> logger.info(String.valueOf(i)));
+        for (int i = 0; i < GROWTH_THRESHOLD; i++) {
+            loggerDisruptor.getEventRoute(Level.INFO);
+        }
+        assertThat(loggerDisruptor.getBufferSize()).isEqualTo(256);
+        IntStream.range(MESSAGE_COUNT, 2 * MESSAGE_COUNT).forEach(i -> logger.info(String.valueOf(i)));
+
+        // Stopping waits for the old ring buffer to drain, then processes the events of the new one
+        final Thread stopper = new Thread(() -> ctx.stop(10, TimeUnit.SECONDS));
+        stopper.start();
+        stopper.join(200);
+        assertThat(stopper.isAlive()).isTrue();
+        assertThat(appender.getMessages()).isEmpty();
+        message.released.countDown();
+        stopper.join(10_000);
+        assertThat(stopper.isAlive()).isFalse();
+
+        assertThat(loggerDisruptor.hasRingBuffer()).isFalse();
+        assertThat(appender.getMessages())
+                .isEqualTo(Stream.concat(
+                                Stream.of("blocking"),
+                                IntStream.range(0, 2 * MESSAGE_COUNT).mapToObj(String::valueOf))
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    void max_ring_buffer_size_should_be_split_among_shards() {
+        assertThat(DisruptorUtil.calculateMaxRingBufferSize("AsyncLogger.RingBufferMaxSize", 128, 1))
+                .isEqualTo(1024);
+        assertThat(DisruptorUtil.calculateMaxRingBufferSize("AsyncLogger.RingBufferMaxSize", 128, 4))
+                .isEqualTo(256);
+        assertThat(DisruptorUtil.calculateMaxRingBufferSize("AsyncLogger.RingBufferMaxSize", 2048, 1))
+                .isEqualTo(2048);
+    }
+
+    @Test
+    void growth_trigger_should_count_full_ring_buffers_within_a_second() {
+        final long start = 1_000L;
+        final RingBufferGrowthTrigger trigger = new RingBufferGrowthTrigger(3, start);
+        assertThat(trigger.ringBufferFull(start)).isFalse();
+        assertThat(trigger.ringBufferFull(start + 1)).isFalse();
+        // A new window starts after a second, the ring buffer was found full only once in it
+        final long nextWindow = start + RingBufferGrowthTrigger.WINDOW_NANOS;
+        assertThat(trigger.ringBufferFull(nextWindow)).isFalse();
+        assertThat(trigger.ringBufferFull(nextWindow + 1)).isFalse();
+        assertThat(trigger.ringBufferFull(nextWindow + RingBufferGrowthTrigger.WINDOW_NANOS - 1))
+                .isTrue();
+        // The count restarts after a resize
+        trigger.reset(nextWindow + RingBufferGrowthTrigger.WINDOW_NANOS);
+        assertThat(trigger.ringBufferFull(nextWindow + RingBufferGrowthTrigger.WINDOW_NANOS))
+                .isFalse();
+    }
+
+    @Test
+    void growth_threshold_should_be_configurable() {
+        assertThat(DisruptorUtil.calculateRingBufferGrowthThreshold("AsyncLogger.RingBufferGrowthThreshold"))
+                .isEqualTo(GROWTH_THRESHOLD);
+        assertThat(DisruptorUtil.calculateRingBufferGrowthThreshold("AsyncLogger.UndefinedGrowthThreshold"))
+                .isEqualTo(1000);
+    }
+
+    @Test
+    void enqueue_wait_times_should_be_recorded_in_histogram() {
+        final RingBufferTelemetry telemetry = new RingBufferTelemetry(null);
+        telemetry.enqueueWaited(500L);
+        telemetry.enqueueWaited(5_000_000L);
+        telemetry.enqueueWaited(5_000_000_000L);
+        assertThat(telemetry.getEnqueueWaitNanos()).isEqualTo(5_005_000_500L);
+        assertThat(telemetry.getEnqueueWaitHistogram()).containsExactly(1, 0, 0, 0, 1, 0, 0, 1);
+    }
+
+    /**
+     * Message whose formatting blocks until it is released.
+     */
+    @AsynchronouslyFormattable
+    private static final class BlockingMessage implements Message {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public String getFormattedMessage() {
+            started.countDown();
+            try {
+                released.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "blocking";
+        }
+
+        @Override
+        public String getFormat() {
+            return "blocking";
+        }
+
+        @Override
+        public Object[] getParameters() {
+            return null;
+        }
+
+        @Override
+        public Throwable getThrowable() {
+            return null;
+        }
+    }
+
+    public static final class RecordingListener implements RingBufferTelemetryListener {
+
+        static final Queue<String> RESIZES = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void ringBufferResized(final int oldSize, final int newSize) {
+            RESIZES.add(oldSize + "->" + newSize);
+        }
+    }
+}
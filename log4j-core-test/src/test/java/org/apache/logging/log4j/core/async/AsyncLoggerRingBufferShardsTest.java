@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.core.test.junit.Tags;
+import org.apache.logging.log4j.core.util.Constants;
+import org.apache.logging.log4j.test.junit.SetTestProperty;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests pure AsyncLoggers (all loggers async) with multiple ring buffers.
+ * <p>
+ * The ring buffers are large enough not to fill up, queue full scenarios are covered by {@link QueueFullAbstractTest}.
+ * </p>
+ */
+@SetTestProperty(
+        key = Constants.LOG4J_CONTEXT_SELECTOR,
+        value = "org.apache.logging.log4j.core.async.AsyncLoggerContextSelector")
+@SetTestProperty(key = "log4j2.asyncLoggerRingBufferSize", value = "65536")
+@SetTestProperty(key = "log4j2.asyncLoggerRingBufferShards", value = "4")
+@Tag(Tags.ASYNC_LOGGERS)
+class AsyncLoggerRingBufferShardsTest {
+
+    private static final int THREAD_COUNT = 8;
+
+    private static final int MESSAGE_COUNT_PER_THREAD = 1_000;
+
+    @Test
+    @LoggerContextSource
+    void events_of_each_thread_should_be_processed_in_order(
+            final LoggerContext ctx, final @Named("List") ListAppender appender) throws Exception {
+
+        // Verify the shards
+        assertThat(ctx).isInstanceOf(AsyncLoggerContext.class);
+        final AsyncLogger logger = (AsyncLogger) ctx.getLogger(getClass());
+        final AsyncLoggerDisruptor loggerDisruptor = logger.getAsyncLoggerDisruptor();
+        assertThat(loggerDisruptor.getShardCount()).isEqualTo(4);
+        // The JMX bean reports the totals of all shards
+        final RingBufferAdmin ringBufferAdmin = ((AsyncLoggerContext) ctx).createRingBufferAdmin();
+        assertThat(ringBufferAdmin.getBufferSize()).isEqualTo(65536);
+        assertThat(ringBufferAdmin.getRemainingCapacity()).isEqualTo(65536);
+
+        // Log concurrently
+        final List<Thread> threads = new ArrayList<>();
+        for (int threadIndex = 0; threadIndex < THREAD_COUNT; threadIndex++) {
+            threads.add(createLoggingThread(logger, threadIndex));
+        }
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        // Verify the order of messages per thread
+        final int messageCount = THREAD_COUNT * MESSAGE_COUNT_PER_THREAD;
+        final List<String> messages = appender.getMessages(messageCount, 10, TimeUnit.SECONDS);
+        assertThat(messages).hasSize(messageCount);
+        final int[] nextMessageIndices = new int[THREAD_COUNT];
+        for (final String message : messages) {
+            final String[] fields = message.split(":");
+            final int threadIndex = Integer.parseInt(fields[0]);
+            final int messageIndex = Integer.parseInt(fields[1]);
+            assertThat(messageIndex).as("thread %d", threadIndex).isEqualTo(nextMessageIndices[threadIndex]++);
+        }
+    }
+
+    private static Thread createLoggingThread(final Logger logger, final int threadIndex) {
+        return new Thread(() -> {
+            for (int messageIndex = 0; messageIndex < MESSAGE_COUNT_PER_THREAD; messageIndex++) {
+                logger.info("{}:{}", threadIndex, messageIndex);
+            }
+        });
+    }
+}
@@ -37,6 +37,7 @@ public class AsyncQueueFullPolicyFactoryTest {
     public void resetProperties() throws Exception {
         System.clearProperty(AsyncQueueFullPolicyFactory.PROPERTY_NAME_ASYNC_EVENT_ROUTER);
         System.clearProperty(AsyncQueueFullPolicyFactory.PROPERTY_NAME_DISCARDING_THRESHOLD_LEVEL);
+        System.clearProperty(AsyncQueueFullPolicyFactory.PROPERTY_NAME_PRIORITY_RESERVED_RATIO);
     }
 
     @Test
@@ -102,6 +103,25 @@ public class AsyncQueueFullPolicyFactoryTest {
         }
     }
 
+    @Test
+    public void testCreateReturnsPriorityRouterIfSpecified() {
+        System.setProperty(
+                AsyncQueueFullPolicyFactory.PROPERTY_NAME_ASYNC_EVENT_ROUTER,
+                AsyncQueueFullPolicyFactory.PROPERTY_VALUE_PRIORITY_ASYNC_EVENT_ROUTER);
+        System.setProperty(AsyncQueueFullPolicyFactory.PROPERTY_NAME_DISCARDING_THRESHOLD_LEVEL, "DEBUG");
+        PriorityAsyncQueueFullPolicy router = (PriorityAsyncQueueFullPolicy) AsyncQueueFullPolicyFactory.create();
+        assertEquals(Level.DEBUG, router.getThresholdLevel());
+        assertEquals(0.1f, router.getReservedCapacityRatio(), 0f);
+
+        System.setProperty(AsyncQueueFullPolicyFactory.PROPERTY_NAME_PRIORITY_RESERVED_RATIO, "0.25");
+        router = (PriorityAsyncQueueFullPolicy) AsyncQueueFullPolicyFactory.create();
+        assertEquals(0.25f, router.getReservedCapacityRatio(), 0f);
+
+        System.setProperty(AsyncQueueFullPolicyFactory.PROPERTY_NAME_PRIORITY_RESERVED_RATIO, "2");
+        router = (PriorityAsyncQueueFullPolicy) AsyncQueueFullPolicyFactory.create();
+        assertEquals(0.1f, router.getReservedCapacityRatio(), 0f);
+    }
+
     public static class CustomRouterDefaultConstructor implements AsyncQueueFullPolicy {
         public CustomRouterDefaultConstructor() {}
 
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Tags;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag(Tags.ASYNC_LOGGERS)
+class AsyncThreadFactoryConfigTest {
+
+    @Test
+    @LoggerContextSource("AsyncThreadFactoryConfigTest.xml")
+    void background_threads_should_be_created_by_configured_factories(final LoggerContext context) {
+        assertThat(context.getConfiguration().getAsyncThreadFactory())
+                .isInstanceOfSatisfying(DefaultAsyncThreadFactory.class, factory -> {
+                    assertThat(factory.getPriority()).isEqualTo(7);
+                    assertThat(factory.getCpus()).isNull();
+                });
+        context.getLogger(getClass()).info("Starts the background threads");
+
+        assertThat(findThread("AsyncLoggerConfig"))
+                .hasValueSatisfying(thread -> assertThat(thread.getPriority()).isEqualTo(7));
+        assertThat(findThread(NamingThreadFactory.PREFIX + "AsyncAppenderEventDispatcher-"))
+                .hasValueSatisfying(thread -> assertThat(thread.isDaemon()).isTrue());
+    }
+
+    @Test
+    void invalid_configurations_should_be_ignored() {
+        assertThat(AsyncThreadFactoryConfig.newBuilder().withCpus("0-").build().createThreadFactory())
+                .isNull();
+        assertThat(AsyncThreadFactoryConfig.newBuilder()
+                        .withPriority(Thread.MAX_PRIORITY + 1)
+                        .build()
+                        .createThreadFactory())
+                .isNull();
+        assertThat(AsyncThreadFactoryConfig.newBuilder()
+                        .withFactoryClassName(String.class.getName())
+                        .build()
+                        .createThreadFactory())
+                .isNull();
+    }
+
+    @Test
+    void threads_should_be_pinned_to_configured_cpus() throws Exception {
+        final Path threadSelf = Paths.get("/proc/thread-self");
+        assumeTrue(Files.exists(threadSelf), "Requires Linux");
+        final AsyncThreadFactory factory = AsyncThreadFactoryConfig.newBuilder()
+                .withCpus("0")
+                .withPriority(Thread.MIN_PRIORITY)
+                .build()
+                .createThreadFactory();
+        assertThat(factory).isNotNull();
+
+        final CompletableFuture<String> cpus = new CompletableFuture<>();
+        final Thread thread = factory.createThreadFactory("test").newThread(() -> {
+            try {
+                cpus.complete(Files.readAllLines(threadSelf.resolve("status"), StandardCharsets.UTF_8).stream()
+                        .filter(line -> line.startsWith("Cpus_allowed_list:"))
+                        .findFirst()
+                        .orElse(""));
+            } catch (final Exception e) {
+                cpus.completeExceptionally(e);
+            }
+        });
+        assertThat(thread.isDaemon()).isTrue();
+        assertThat(thread.getPriority()).isEqualTo(Thread.MIN_PRIORITY);
+        thread.start();
+        assertThat(cpus.get(10, TimeUnit.SECONDS)).matches("Cpus_allowed_list:\\s+0");
+    }
+
+    private static Optional<Thread> findThread(final String namePart) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().contains(namePart))
+                .findFirst();
+    }
+
+    public static final class NamingThreadFactory implements AsyncThreadFactory {
+
+        static final String PREFIX = "Custom-";
+
+        @Override
+        public ThreadFactory createThreadFactory(final String name) {
+            return Log4jThreadFactory.createDaemonThreadFactory(PREFIX + name);
+        }
+    }
+}
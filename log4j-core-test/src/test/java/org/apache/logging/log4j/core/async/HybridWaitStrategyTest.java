@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.lmax.disruptor.AlertException;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SequenceBarrier;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.logging.log4j.core.test.junit.Tags;
+import org.apache.logging.log4j.test.junit.SetTestProperty;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag(Tags.ASYNC_LOGGERS)
+class HybridWaitStrategyTest {
+
+    /**
+     * Long enough for the test to time out if the producer does not wake the consumer up.
+     */
+    private static final long MAX_PARK_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    @SetTestProperty(key = "log4j2.asyncLoggerWaitStrategy", value = "Hybrid")
+    @SetTestProperty(key = "log4j2.asyncLoggerTimeout", value = "5")
+    void factories_should_create_hybrid_wait_strategy() {
+        assertThat(new DefaultAsyncWaitStrategyFactory("AsyncLogger.WaitStrategy").createWaitStrategy())
+                .isInstanceOf(HybridWaitStrategy.class)
+                .hasToString("HybridWaitStrategy{maxSpinNanos="
+                        + (Runtime.getRuntime().availableProcessors() > 1 ? HybridWaitStrategy.MAX_SPIN_NANOS : 0)
+                        + ", maxParkNanos=5000000}");
+        assertThat(RingBufferLogEventQueue.createWaitStrategy("AsyncLogger.WaitStrategy"))
+                .isInstanceOf(RingBufferLogEventQueue.SpinThenParkWaitStrategy.class);
+    }
+
+    @Test
+    void parked_consumer_should_be_woken_up_by_producer() throws Exception {
+        final RingBuffer<Object> ringBuffer =
+                RingBuffer.createMultiProducer(Object::new, 8, new HybridWaitStrategy(0L, MAX_PARK_NANOS));
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+        final AtomicLong publishNanos = new AtomicLong();
+        final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+            // After backing off for a while, the consumer parks for about a second at once
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1500));
+            publishNanos.set(System.nanoTime());
+            ringBuffer.publish(ringBuffer.next());
+        });
+
+        assertThat(barrier.waitFor(0L)).isEqualTo(0L);
+        final long wakeUpNanos = System.nanoTime();
+        producer.get(10, TimeUnit.SECONDS);
+        assertThat(wakeUpNanos - publishNanos.get()).isLessThan(TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    void parked_consumer_should_be_woken_up_by_alert() throws Exception {
+        final RingBuffer<Object> ringBuffer =
+                RingBuffer.createMultiProducer(Object::new, 8, new HybridWaitStrategy(0L, MAX_PARK_NANOS));
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+        final Thread consumer = Thread.currentThread();
+        final CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+            awaitParked(consumer);
+            barrier.alert();
+        });
+
+        AlertException alert = null;
+        try {
+            barrier.waitFor(0L);
+        } catch (final AlertException e) {
+            alert = e;
+        }
+        assertThat(alert).isNotNull();
+        producer.get(10, TimeUnit.SECONDS);
+    }
+
+    private static void awaitParked(final Thread thread) {
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.message.AsynchronouslyFormattable;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.MessageFormatMessage;
+import org.apache.logging.log4j.message.ObjectMessage;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("async")
+class InternalAsyncUtilTest {
+
+    @Test
+    void immutable_parameters_should_be_async_formattable() {
+        assertThat(InternalAsyncUtil.isAsyncFormattable(null)).isTrue();
+        assertThat(InternalAsyncUtil.isAsyncFormattable("text")).isTrue();
+        assertThat(InternalAsyncUtil.isAsyncFormattable(42)).isTrue();
+        assertThat(InternalAsyncUtil.isAsyncFormattable(UUID.randomUUID())).isTrue();
+        assertThat(InternalAsyncUtil.isAsyncFormattable(LocalDate.now())).isTrue();
+        assertThat(InternalAsyncUtil.isAsyncFormattable(TimeUnit.SECONDS)).isTrue();
+        assertThat(InternalAsyncUtil.isAsyncFormattable(Level.INFO)).isFalse();
+        assertThat(InternalAsyncUtil.isAsyncFormattable(new StringBuilder())).isFalse();
+        assertThat(InternalAsyncUtil.isAsyncFormattable(new Object[0])).isFalse();
+        assertThat(InternalAsyncUtil.isAsyncFormattable(new SafeParameter())).isTrue();
+        assertThat(InternalAsyncUtil.isAsyncFormattable(new UnsafeParameter())).isFalse();
+    }
+
+    @Test
+    void messages_with_async_formattable_parameters_should_not_be_formatted() {
+        final SafeParameter safe = new SafeParameter();
+        assertNotFormatted(new ParameterizedMessage("{} {}", safe, 42), safe);
+        assertNotFormatted(new MessageFormatMessage("{0} {1}", safe, 42), safe);
+        // Only messages formatted from their parameters
+        assertFormatted(new ObjectMessage(safe), safe);
+    }
+
+    @Test
+    void messages_with_other_parameters_should_be_formatted() {
+        final UnsafeParameter unsafe = new UnsafeParameter();
+        assertFormatted(new ParameterizedMessage("{} {}", unsafe, 42), unsafe);
+        assertFormatted(new MessageFormatMessage("{0} {1}", unsafe, 42), unsafe);
+    }
+
+    @Test
+    void formatTo_should_use_the_parameter_count() {
+        final StringBuilder buffer = new StringBuilder();
+        final Object[] parameters = {"a", "b", "c", null, null, null, null, null, null, null};
+        InternalAsyncUtil.formatTo(buffer, "{}-{}", parameters, 2);
+        assertThat(buffer).hasToString("a-b");
+        buffer.setLength(0);
+        InternalAsyncUtil.formatTo(buffer, "{}-{}-{}-{}", parameters, 3);
+        assertThat(buffer).hasToString("a-b-c-{}");
+    }
+
+    private static void assertNotFormatted(final Message message, final CountingParameter parameter) {
+        parameter.count = 0;
+        assertThat(InternalAsyncUtil.makeMessageImmutable(message)).isSameAs(message);
+        assertThat(parameter.count).isZero();
+    }
+
+    private static void assertFormatted(final Message message, final CountingParameter parameter) {
+        parameter.count = 0;
+        assertThat(InternalAsyncUtil.makeMessageImmutable(message)).isSameAs(message);
+        assertThat(parameter.count).isOne();
+    }
+
+    private static class CountingParameter {
+
+        private int count;
+
+        @Override
+        public String toString() {
+            count++;
+            return "parameter";
+        }
+    }
+
+    @AsynchronouslyFormattable
+    private static final class SafeParameter extends CountingParameter {}
+
+    private static final class UnsafeParameter extends CountingParameter {}
+}
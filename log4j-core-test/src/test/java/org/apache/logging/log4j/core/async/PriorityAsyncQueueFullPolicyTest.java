@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.core.test.junit.Tags;
+import org.apache.logging.log4j.core.util.Constants;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.test.junit.SetTestProperty;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the PriorityAsyncQueueFullPolicy class and its use by pure AsyncLoggers (all loggers async).
+ */
+@SetTestProperty(
+        key = Constants.LOG4J_CONTEXT_SELECTOR,
+        value = "org.apache.logging.log4j.core.async.AsyncLoggerContextSelector")
+@SetTestProperty(key = "log4j2.asyncLoggerRingBufferSize", value = "128")
+@SetTestProperty(key = "log4j2.asyncQueueFullPolicy", value = "Priority")
+@SetTestProperty(key = "log4j2.discardThreshold", value = "INFO")
+@SetTestProperty(key = "log4j2.priorityReservedRatio", value = "0.5")
+@Tag(Tags.ASYNC_LOGGERS)
+class PriorityAsyncQueueFullPolicyTest {
+
+    private static final String CONFIG = "org/apache/logging/log4j/core/async/QueueFullAbstractTest.xml";
+
+    @Test
+    void constructor_should_validate_reserved_capacity_ratio() {
+        assertThatThrownBy(() -> new PriorityAsyncQueueFullPolicy(Level.INFO, 1f))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PriorityAsyncQueueFullPolicy(Level.INFO, -0.1f))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(new PriorityAsyncQueueFullPolicy(Level.INFO, 0.25f).getReservedCapacity(1024))
+                .isEqualTo(256);
+    }
+
+    @Test
+    void events_should_only_be_evicted_while_a_producer_waits() {
+        final PriorityAsyncQueueFullPolicy policy = new PriorityAsyncQueueFullPolicy(Level.INFO, 0.1f);
+        assertThat(policy.evict(Level.DEBUG)).isFalse();
+
+        policy.waitStarted();
+        assertThat(policy.evict(Level.DEBUG)).isTrue();
+        assertThat(policy.evict(Level.INFO)).isTrue();
+        assertThat(policy.evict(Level.WARN)).isFalse();
+        policy.waitFinished();
+        assertThat(policy.evict(Level.DEBUG)).isFalse();
+
+        assertThat(policy.getRoute(-1L, Level.DEBUG)).isEqualTo(EventRoute.DISCARD);
+        assertThat(DiscardingAsyncQueueFullPolicy.getDiscardCount(policy)).isEqualTo(3);
+        assertThat(DiscardingAsyncQueueFullPolicy.getDiscardCounts(policy))
+                .containsExactly(entry(Level.INFO, 1L), entry(Level.DEBUG, 2L));
+    }
+
+    @Test
+    @LoggerContextSource(CONFIG)
+    void reserved_capacity_should_only_be_used_by_high_priority_events(
+            final LoggerContext ctx, final @Named(QueueFullAbstractTest.APPENDER_NAME) BlockingAppender appender)
+            throws Exception {
+        assertThat(AsyncQueueFullPolicyFactory.create()).isInstanceOf(PriorityAsyncQueueFullPolicy.class);
+        final Logger logger = ctx.getLogger(getClass());
+        appender.countDownLatch = new CountDownLatch(1);
+
+        // Blocks the background thread
+        logger.error("blocker");
+        while (appender.logEvents.isEmpty()) {
+            Thread.yield();
+        }
+        for (int i = 0; i < 200; i++) {
+            logger.info("low {}", i);
+        }
+        for (int i = 0; i < 10; i++) {
+            logger.error("high {}", i);
+        }
+        appender.countDownLatch.countDown();
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (count(appender.logEvents, Level.ERROR) < 11 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(count(appender.logEvents, Level.ERROR)).isEqualTo(11);
+        assertThat(count(appender.logEvents, Level.INFO)).isBetween(1L, 64L);
+    }
+
+    @Test
+    @LoggerContextSource(CONFIG)
+    void reserved_capacity_rejections_should_not_count_as_ring_buffer_full(
+            final LoggerContext ctx, final @Named(QueueFullAbstractTest.APPENDER_NAME) BlockingAppender appender)
+            throws Exception {
+        final Logger logger = ctx.getLogger(getClass());
+        final RingBufferAdmin admin = ((AsyncLoggerContext) ctx).createRingBufferAdmin();
+        appender.countDownLatch = new CountDownLatch(1);
+
+        // Blocks the background thread
+        logger.error("blocker");
+        while (appender.logEvents.isEmpty()) {
+            Thread.yield();
+        }
+        // Fills the ring buffer up to its reserved capacity, further low priority events are discarded
+        for (int i = 0; i < 100; i++) {
+            logger.info("low {}", i);
+        }
+        assertThat(admin.getRemainingCapacity()).isEqualTo(64);
+        assertThat(admin.getRingBufferFullCount()).isZero();
+        appender.countDownLatch.countDown();
+    }
+
+    private static long count(final List<LogEvent> events, final Level level) {
+        return events.stream().filter(event -> event.getLevel() == level).count();
+    }
+
+    @Test
+    @LoggerContextSource(CONFIG)
+    void queued_low_priority_events_should_be_evicted_while_a_producer_waits(
+            final LoggerContext ctx, final @Named(QueueFullAbstractTest.APPENDER_NAME) BlockingAppender appender)
+            throws Exception {
+        final AsyncLogger logger = (AsyncLogger) ctx.getLogger(getClass());
+        final PriorityAsyncQueueFullPolicy policy = new PriorityAsyncQueueFullPolicy(Level.INFO, 0f);
+        final RingBufferLogEventQueue queue = new RingBufferLogEventQueue(
+                16,
+                new RingBufferLogEventQueue.BlockingWaitStrategy(0L),
+                new AsyncLoggerDefaultExceptionHandler(),
+                null,
+                policy);
+        queue.tryPublishEvent(logger, translatorArgs(logger, Level.INFO, "evicted"));
+        queue.tryPublishEvent(logger, translatorArgs(logger, Level.WARN, "kept"));
+        queue.tryPublishEvent(logger, translatorArgs(logger, Level.DEBUG, "evicted"));
+
+        policy.waitStarted();
+        queue.start(Thread::new);
+        assertThat(queue.shutdown(10, TimeUnit.SECONDS)).isTrue();
+        policy.waitFinished();
+
+        assertThat(appender.logEvents.stream()
+                        .map(e -> e.getMessage().getFormattedMessage())
+                        .collect(Collectors.toList()))
+                .containsExactly("kept");
+        assertThat(DiscardingAsyncQueueFullPolicy.getDiscardCounts(policy))
+                .containsExactly(entry(Level.INFO, 1L), entry(Level.DEBUG, 1L));
+    }
+
+    /**
+     * Returns the arguments expected by {@link AsyncLogger#translateTo(RingBufferLogEvent, long, Object...)}.
+     */
+    private static Object[] translatorArgs(final AsyncLogger logger, final Level level, final String message) {
+        return new Object[] {
+            logger,
+            null,
+            PriorityAsyncQueueFullPolicyTest.class.getName(),
+            level,
+            null,
+            new SimpleMessage(message),
+            null
+        };
+    }
+}
@@ -36,6 +36,7 @@ import org.apache.logging.log4j.core.time.internal.FixedPreciseClock;
 import org.apache.logging.log4j.core.util.Clock;
 import org.apache.logging.log4j.core.util.DummyNanoClock;
 import org.apache.logging.log4j.core.util.NanoClock;
+import org.apache.logging.log4j.message.AsynchronouslyFormattable;
 import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.message.ReusableMessageFactory;
 import org.apache.logging.log4j.message.SimpleMessage;
@@ -373,6 +374,59 @@ class RingBufferLogEventTest {
         }
     }
 
+    @Test
+    void testAsyncFormattableParametersAreFormattedOnFirstAccess() {
+        final RingBufferLogEvent evt = new RingBufferLogEvent();
+        final CountingParameter counting = new CountingParameter();
+        setMessage(evt, "Hello {} {}!", counting, 42);
+        assertThat(counting.count).isZero();
+        assertThat(evt.getFormattedMessage()).isEqualTo("Hello counting 42!");
+        assertThat(evt.getFormattedMessage()).isEqualTo("Hello counting 42!");
+        assertThat(counting.count).isOne();
+        assertThat(evt.getParameters()).containsExactly(counting, 42);
+
+        final StringBuilder mutable = new StringBuilder("before");
+        setMessage(evt, "Hello {}!", mutable);
+        mutable.setLength(0);
+        assertThat(evt.getFormattedMessage()).isEqualTo("Hello before!");
+    }
+
+    private static void setMessage(final RingBufferLogEvent evt, final String format, final Object... params) {
+        final Message message = new ReusableMessageFactory().newMessage(format, params);
+        try {
+            evt.setValues(
+                    null,
+                    null,
+                    null,
+                    null,
+                    Level.INFO,
+                    message,
+                    null,
+                    (StringMap) evt.getContextData(),
+                    null,
+                    -1,
+                    null,
+                    -1,
+                    null,
+                    new FixedPreciseClock(),
+                    new DummyNanoClock(1));
+        } finally {
+            ReusableMessageFactory.release(message);
+        }
+    }
+
+    @AsynchronouslyFormattable
+    private static final class CountingParameter {
+
+        private int count;
+
+        @Override
+        public String toString() {
+            count++;
+            return "counting";
+        }
+    }
+
     @Test
     void testMessageTextNeverThrowsNpe() {
         final RingBufferLogEvent evt = new RingBufferLogEvent();
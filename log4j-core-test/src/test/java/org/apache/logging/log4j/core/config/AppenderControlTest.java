@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Filter.Result;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.filter.BurstFilter;
+import org.apache.logging.log4j.core.filter.LevelRangeFilter;
+import org.apache.logging.log4j.core.filter.ThresholdFilter;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.junit.jupiter.api.Test;
+
+class AppenderControlTest {
+
+    private static final Level[] LEVELS = {Level.FATAL, Level.ERROR, Level.WARN, Level.INFO, Level.DEBUG, Level.TRACE};
+
+    private static List<Level> appendedLevels(final Level level, final Filter filter) {
+        final ListAppender appender = new ListAppender("List");
+        appender.start();
+        final AppenderControl control = new AppenderControl(appender, level, filter);
+        for (final Level eventLevel : LEVELS) {
+            final LogEvent event =
+                    Log4jLogEvent.newBuilder().setLevel(eventLevel).build();
+            control.callAppender(event);
+        }
+        return appender.getEvents().stream().map(LogEvent::getLevel).collect(Collectors.toList());
+    }
+
+    @Test
+    void level_only() {
+        assertThat(appendedLevels(null, null)).containsExactly(LEVELS);
+        assertThat(appendedLevels(Level.INFO, null)).containsExactly(Level.FATAL, Level.ERROR, Level.WARN, Level.INFO);
+    }
+
+    @Test
+    void threshold_filter() {
+        final Filter accept = ThresholdFilter.createFilter(Level.WARN, Result.NEUTRAL, Result.DENY);
+        assertThat(appendedLevels(null, accept)).containsExactly(Level.FATAL, Level.ERROR, Level.WARN);
+        assertThat(appendedLevels(Level.ERROR, accept)).containsExactly(Level.FATAL, Level.ERROR);
+
+        final Filter deny = ThresholdFilter.createFilter(Level.WARN, Result.DENY, Result.ACCEPT);
+        assertThat(appendedLevels(null, deny)).containsExactly(Level.INFO, Level.DEBUG, Level.TRACE);
+        assertThat(appendedLevels(Level.DEBUG, deny)).containsExactly(Level.INFO, Level.DEBUG);
+
+        final Filter denyAll = ThresholdFilter.createFilter(Level.WARN, Result.DENY, Result.DENY);
+        assertThat(appendedLevels(null, denyAll)).isEmpty();
+
+        final Filter neutral = ThresholdFilter.createFilter(Level.WARN, Result.NEUTRAL, Result.NEUTRAL);
+        assertThat(appendedLevels(Level.DEBUG, neutral))
+                .containsExactly(Stream.of(LEVELS).limit(5).toArray(Level[]::new));
+    }
+
+    @Test
+    void level_range_filter() {
+        final Filter accept = LevelRangeFilter.createFilter(Level.ERROR, Level.INFO, Result.NEUTRAL, Result.DENY);
+        assertThat(appendedLevels(null, accept)).containsExactly(Level.ERROR, Level.WARN, Level.INFO);
+        assertThat(appendedLevels(Level.WARN, accept)).containsExactly(Level.ERROR, Level.WARN);
+
+        final Filter deny = LevelRangeFilter.createFilter(Level.ERROR, Level.INFO, Result.DENY, Result.NEUTRAL);
+        assertThat(appendedLevels(null, deny)).containsExactly(Level.FATAL, Level.DEBUG, Level.TRACE);
+        assertThat(appendedLevels(Level.DEBUG, deny)).containsExactly(Level.FATAL, Level.DEBUG);
+    }
+
+    @Test
+    void other_filters_are_still_called() {
+        final Filter burst = BurstFilter.newBuilder()
+                .setLevel(Level.WARN)
+                .setRate(1)
+                .setMaxBurst(1)
+                .build();
+        assertThat(appendedLevels(Level.INFO, burst)).containsExactly(Level.FATAL, Level.ERROR, Level.WARN);
+    }
+
+    @Test
+    void added_filters_update_level_window() {
+        final ListAppender appender = new ListAppender("List");
+        appender.start();
+        final AppenderControl control = new AppenderControl(appender, null, null);
+        control.addFilter(ThresholdFilter.createFilter(Level.WARN, Result.NEUTRAL, Result.DENY));
+        control.callAppender(Log4jLogEvent.newBuilder().setLevel(Level.INFO).build());
+        assertThat(appender.getEvents()).isEmpty();
+        control.removeFilter(control.getFilter());
+        control.callAppender(Log4jLogEvent.newBuilder().setLevel(Level.INFO).build());
+        assertThat(appender.getEvents()).hasSize(1);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.jmx.AppenderAdmin;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.core.util.SystemNanoClock;
+import org.apache.logging.log4j.test.junit.SetTestProperty;
+import org.junit.jupiter.api.Test;
+
+@SetTestProperty(key = AppenderLatency.SAMPLE_RATE_PROPERTY, value = "2")
+class AppenderLatencyTest {
+
+    @Test
+    @LoggerContextSource("org/apache/logging/log4j/core/config/AppenderLatencyTest.xml")
+    void sampled_events_should_be_traced(final LoggerContext ctx, final @Named("List") ListAppender appender) {
+        assertThat(ctx.getConfiguration().getNanoClock()).isInstanceOf(SystemNanoClock.class);
+        final Logger logger = ctx.getLogger(getClass());
+        for (int i = 0; i < 10; i++) {
+            logger.info("message {}", i);
+        }
+
+        final AppenderLatency latency = AppenderLatency.get(appender);
+        assertThat(latency).isNotNull();
+        assertThat(latency.getQueueLatency().getCount()).isEqualTo(5);
+        assertThat(latency.getAppendLatency().getCount()).isEqualTo(5);
+        assertThat(latency.getAppendLatency().getMax()).isPositive();
+
+        final AppenderAdmin admin = new AppenderAdmin(ctx.getName(), appender);
+        assertThat(admin.getQueueLatency()).startsWith("count=5, ");
+        assertThat(admin.getAppendLatency()).startsWith("count=5, ");
+    }
+
+    @Test
+    @LoggerContextSource("org/apache/logging/log4j/core/config/AppenderLatencyTest.xml")
+    void latency_converter_should_format_elapsed_nanoseconds(
+            final LoggerContext ctx, final @Named("List") ListAppender appender) {
+        ctx.getLogger(getClass()).info("message");
+
+        assertThat(appender.getMessages()).singleElement().satisfies(message -> {
+            final String[] parts = message.split(" ", 2);
+            assertThat(Long.parseLong(parts[0])).isPositive();
+            assertThat(parts[1]).isEqualTo("message");
+        });
+    }
+
+    @Test
+    @SetTestProperty(key = AppenderLatency.SAMPLE_RATE_PROPERTY, value = "0")
+    void tracing_should_be_disabled_by_default() {
+        final ListAppender appender = new ListAppender("Untraced");
+        assertThat(AppenderLatency.isEnabled()).isFalse();
+        assertThat(AppenderLatency.register(appender)).isNull();
+        assertThat(AppenderLatency.get(appender)).isNull();
+        assertThat(new AppenderAdmin("ctx", appender).getQueueLatency()).isNull();
+    }
+}
@@ -19,11 +19,14 @@ package org.apache.logging.log4j.core.config.plugins.util;
 import static java.util.Collections.emptyEnumeration;
 import static java.util.Collections.enumeration;
 import static java.util.Collections.singletonList;
+import static org.apache.logging.log4j.util.Strings.toRootLowerCase;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -38,6 +41,7 @@ import org.apache.logging.log4j.core.config.plugins.processor.PluginEntry;
 import org.apache.logging.log4j.core.config.plugins.processor.PluginProcessor;
 import org.apache.logging.log4j.core.config.xml.XmlConfigurationFactory;
 import org.apache.logging.log4j.core.test.Compiler;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
 import org.apache.logging.log4j.status.StatusData;
 import org.apache.logging.log4j.test.ListStatusListener;
 import org.apache.logging.log4j.test.junit.UsingStatusListener;
@@ -193,6 +197,74 @@ class PluginManagerTest {
         }
     }
 
+    @Test
+    void plugin_classes_are_loaded_lazily() throws IOException {
+        final Path customDescriptor = writeDescriptor("com.example.NotExistingClass");
+        final ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+        try {
+            Thread.currentThread()
+                    .setContextClassLoader(new FilteringClassLoader(
+                            getClass().getClassLoader(),
+                            customDescriptor.toUri().toURL()));
+
+            final PluginType<?> pluginType = PluginRegistry.getInstance()
+                    .loadFromMainClassLoader()
+                    .get(toRootLowerCase(Node.CATEGORY))
+                    .get(0);
+            // The class is only resolved on first access
+            assertThat(pluginType.getPluginClassName()).isEqualTo("com.example.NotExistingClass");
+            assertThatThrownBy(pluginType::getPluginClass)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasCauseInstanceOf(ClassNotFoundException.class);
+            // Plugins that can not be loaded are skipped by name, but listed without loading their classes
+            final PluginManager manager = new PluginManager(Node.CATEGORY);
+            manager.collectPlugins(null);
+            assertThat(manager.getPluginType("List")).isNull();
+            assertThat(manager.getPlugins()).containsOnlyKeys("list");
+            assertThat(manager.getPlugins()).isSameAs(manager.getPlugins());
+        } finally {
+            Thread.currentThread().setContextClassLoader(tccl);
+            Files.delete(customDescriptor);
+        }
+    }
+
+    @Test
+    void unloadable_plugin_does_not_shadow_loadable_one() throws IOException {
+        // Registers a plugin with the same key as `ListAppender`
+        final Path customDescriptor = writeDescriptor("com.example.NotExistingClass");
+        final ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+        try {
+            Thread.currentThread()
+                    .setContextClassLoader(new FilteringClassLoader(
+                            getClass().getClassLoader(),
+                            customDescriptor.toUri().toURL()));
+
+            final PluginManager manager = new PluginManager(Node.CATEGORY);
+            manager.collectPlugins(singletonList(ListAppender.class.getPackage().getName()));
+            final PluginType<?> pluginType = manager.getPluginType("List");
+            assertThat(pluginType).isNotNull();
+            assertThat(pluginType.getPluginClass()).isEqualTo(ListAppender.class);
+        } finally {
+            Thread.currentThread().setContextClassLoader(tccl);
+            Files.delete(customDescriptor);
+        }
+    }
+
+    private static Path writeDescriptor(final String className) throws IOException {
+        final Path descriptor = Files.createTempFile("Log4j2Plugins", ".dat");
+        final PluginEntry entry = new PluginEntry();
+        entry.setKey("list");
+        entry.setClassName(className);
+        entry.setName("List");
+        entry.setCategory(Node.CATEGORY);
+        final PluginCache customCache = new PluginCache();
+        customCache.getCategory(Node.CATEGORY).put("list", entry);
+        try (final OutputStream os = Files.newOutputStream(descriptor)) {
+            customCache.writeCache(os);
+        }
+        return descriptor;
+    }
+
     private static void assertContainsPackageScanningLink(final StatusData message) {
         assertThat(message.getLevel()).isEqualTo(Level.WARN);
         assertThat(message.getMessage().getFormattedMessage())
@@ -106,6 +106,30 @@ public class MutableLogEventTest {
         assertEquals(source.getTimeMillis(), mutable.getTimeMillis(), "millis");
     }
 
+    @Test
+    public void testInitFromSharesFrozenContextData() {
+        final StringMap frozen = createContextData();
+        frozen.freeze();
+        final Log4jLogEvent frozenSource = Log4jLogEvent.newBuilder()
+                .setContextData(frozen)
+                .setMessage(new SimpleMessage("msg"))
+                .build();
+        final MutableLogEvent mutable = new MutableLogEvent();
+        mutable.initFrom(frozenSource);
+        assertSame(frozen, mutable.getContextData(), "frozen context data is shared");
+
+        // After clearing, mutable context data must be copied into a fresh map
+        mutable.clear();
+        final Log4jLogEvent mutableSource = Log4jLogEvent.newBuilder()
+                .setContextData(CONTEXT_DATA)
+                .setMessage(new SimpleMessage("msg"))
+                .build();
+        mutable.initFrom(mutableSource);
+        assertNotSame(CONTEXT_DATA, mutable.getContextData(), "mutable context data is copied");
+        assertEquals(CONTEXT_DATA, mutable.getContextData(), "contextMap");
+        assertFalse(((StringMap) mutable.getContextData()).isFrozen(), "copy is mutable");
+    }
+
     @Test
     public void testInitFromReusableCopiesFormatString() {
         final Message message = ReusableMessageFactory.INSTANCE.newMessage("msg in a {}", "bottle");
@@ -35,6 +35,7 @@ import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.ConfigurationFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.layout.GelfLayout.CompressionType;
 import org.apache.logging.log4j.core.lookup.JavaLookup;
 import org.apache.logging.log4j.core.test.BasicConfigurationFactory;
@@ -42,6 +43,7 @@ import org.apache.logging.log4j.core.test.appender.EncodingListAppender;
 import org.apache.logging.log4j.core.test.appender.ListAppender;
 import org.apache.logging.log4j.core.util.KeyValuePair;
 import org.apache.logging.log4j.core.util.NetUtils;
+import org.apache.logging.log4j.message.SimpleMessage;
 import org.apache.logging.log4j.test.junit.UsingAnyThreadContext;
 import org.apache.logging.log4j.util.Chars;
 import org.junit.jupiter.api.AfterAll;
@@ -329,4 +331,36 @@ public class GelfLayoutTest {
     public void testRequiresLocationPatternContainsLocation() {
         testRequiresLocation("%C %m %t", true);
     }
+
+    @Test
+    public void testEncodeMatchesToByteArray() {
+        final LogEvent event = Log4jLogEvent.newBuilder()
+                .setLoggerName("encode")
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage("ASCII, \u00e9\u00e8, \u20ac, \ud83d\ude00, \ud800 and \udc00"))
+                .setTimeMillis(1)
+                .build();
+        for (final CompressionType compressionType : CompressionType.values()) {
+            for (final int threshold : new int[] {0, 1024}) {
+                final GelfLayout layout = GelfLayout.newBuilder()
+                        .setHost(HOSTNAME)
+                        .setCompressionType(compressionType)
+                        .setCompressionThreshold(threshold)
+                        .build();
+                final SpyByteBufferDestination destination = new SpyByteBufferDestination(64, 4096);
+                // Twice, to reuse the state of the current thread
+                for (int i = 0; i < 2; i++) {
+                    destination.drained.clear();
+                    layout.encode(event, destination);
+                    destination.drain(destination.buffer);
+                    destination.drained.flip();
+                    final byte[] encoded = new byte[destination.drained.remaining()];
+                    destination.drained.get(encoded);
+                    assertThat(encoded)
+                            .as("%s with threshold %d", compressionType, threshold)
+                            .isEqualTo(layout.toByteArray(event));
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.lookup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class StrTemplateTest {
+
+    private static StrSubstitutor createSubstitutor() {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put("animal", "fox");
+        properties.put("nested", "quick ${animal}");
+        properties.put("dollar", "price in $");
+        final StrSubstitutor substitutor = new RuntimeStrSubstitutor(new Interpolator(properties));
+        return substitutor;
+    }
+
+    private static LogEvent createEvent() {
+        final SortedArrayStringMap contextData = new SortedArrayStringMap();
+        contextData.putValue("user", "alice");
+        contextData.putValue("template", "${animal}");
+        return Log4jLogEvent.newBuilder().setContextData(contextData).build();
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "",
+                "plain text",
+                "${animal}",
+                "The ${animal} jumped",
+                "${ctx:user}",
+                "${ctx:user}/${animal}.log",
+                "${ctx:template}",
+                "${ctx:missing}",
+                "${missing}",
+                "${unknown:animal}",
+                "${CTX:user}",
+                "${nested}",
+                "${dollar}${animal}",
+                "${dollar} ${animal}",
+                "$${animal}",
+                "${animal:-default}",
+                "${missing:-default}",
+                "${ctx:missing:\\-value}",
+                "${${ctx:user}}",
+                "${animal",
+                "${}",
+                "${java:version} ${ctx:user}",
+                "${env:PATH}",
+                "${sys:java.version}"
+            })
+    void returns_same_result_as_substitutor(final String template) {
+        final StrSubstitutor substitutor = createSubstitutor();
+        final LogEvent event = createEvent();
+        final StrTemplate strTemplate = new StrTemplate(substitutor, template);
+
+        assertThat(strTemplate.format(event)).isEqualTo(substitutor.replace(event, template));
+        assertThat(strTemplate.format(null)).isEqualTo(substitutor.replace(template));
+        final StringBuilder buffer = new StringBuilder("prefix:");
+        strTemplate.formatTo(event, buffer);
+        assertThat(buffer.toString()).isEqualTo("prefix:" + substitutor.replace(event, template));
+    }
+
+    @Test
+    void uses_new_variable_resolver() {
+        final StrSubstitutor substitutor = createSubstitutor();
+        final StrTemplate template = new StrTemplate(substitutor, "${animal}");
+        assertThat(template.format(null)).isEqualTo("fox");
+
+        final Map<String, String> properties = new HashMap<>();
+        properties.put("animal", "dog");
+        substitutor.setVariableResolver(new Interpolator(properties));
+        assertThat(template.format(null)).isEqualTo("dog");
+    }
+
+    @Test
+    void evaluates_lookups_on_each_call() {
+        final StrSubstitutor substitutor = createSubstitutor();
+        final StrTemplate template = new StrTemplate(substitutor, "${ctx:user}.log");
+        assertThat(template.format(createEvent())).isEqualTo("alice.log");
+
+        final SortedArrayStringMap contextData = new SortedArrayStringMap();
+        contextData.putValue("user", "bob");
+        final LogEvent event =
+                Log4jLogEvent.newBuilder().setContextData(contextData).build();
+        assertThat(template.format(event)).isEqualTo("bob.log");
+    }
+}
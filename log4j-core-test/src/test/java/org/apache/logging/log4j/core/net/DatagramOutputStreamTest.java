@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.net;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.Random;
+import org.apache.logging.log4j.core.layout.GelfLayout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DatagramOutputStreamTest {
+
+    private static final int CHUNK_SIZE = 100;
+    private static final int CHUNK_HEADER_SIZE = 12;
+    private static final int MAX_CHUNKS = 128;
+    private static final int PAYLOAD_SIZE = CHUNK_SIZE - CHUNK_HEADER_SIZE;
+
+    private DatagramSocket receiver;
+    private DatagramOutputStream os;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        receiver = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+        receiver.setSoTimeout(5000);
+        final GelfLayout layout = GelfLayout.newBuilder()
+                .setHost("localhost")
+                .setChunkSize(CHUNK_SIZE)
+                .build();
+        os = new DatagramOutputStream(
+                InetAddress.getLoopbackAddress().getHostAddress(), receiver.getLocalPort(), null, null, layout);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        os.close();
+        receiver.close();
+    }
+
+    @Test
+    void small_message_is_sent_as_one_datagram() throws Exception {
+        final byte[] message = randomBytes(CHUNK_SIZE);
+        os.write(message);
+        os.flush();
+        assertThat(receive()).isEqualTo(message);
+        // Flushing without data does not send an empty datagram
+        os.flush();
+        final byte[] next = randomBytes(10);
+        os.write(next);
+        os.flush();
+        assertThat(receive()).isEqualTo(next);
+    }
+
+    @Test
+    void large_message_is_split_into_chunks() throws Exception {
+        final byte[] message = randomBytes(3 * PAYLOAD_SIZE + 7);
+        os.write(message);
+        os.flush();
+        final ByteArrayOutputStream reassembled = new ByteArrayOutputStream();
+        byte[] messageId = null;
+        for (int sequence = 0; sequence < 4; sequence++) {
+            final byte[] chunk = receive();
+            assertThat(chunk.length).isLessThanOrEqualTo(CHUNK_SIZE);
+            assertThat(chunk[0]).isEqualTo((byte) 0x1e);
+            assertThat(chunk[1]).isEqualTo((byte) 0x0f);
+            final byte[] id = Arrays.copyOfRange(chunk, 2, 10);
+            if (messageId == null) {
+                messageId = id;
+            } else {
+                assertThat(id).isEqualTo(messageId);
+            }
+            assertThat(chunk[10]).isEqualTo((byte) sequence);
+            assertThat(chunk[11]).isEqualTo((byte) 4);
+            reassembled.write(chunk, CHUNK_HEADER_SIZE, chunk.length - CHUNK_HEADER_SIZE);
+        }
+        assertThat(reassembled.toByteArray()).isEqualTo(message);
+    }
+
+    @Test
+    void message_needing_too_many_chunks_is_dropped() throws Exception {
+        os.write(randomBytes(MAX_CHUNKS * PAYLOAD_SIZE + 1));
+        os.flush();
+        final byte[] next = randomBytes(10);
+        os.write(next);
+        os.flush();
+        assertThat(receive()).isEqualTo(next);
+    }
+
+    @Test
+    void large_message_is_not_split_without_chunker() throws Exception {
+        try (final DatagramOutputStream unchunked = new DatagramOutputStream(
+                InetAddress.getLoopbackAddress().getHostAddress(), receiver.getLocalPort(), null, null)) {
+            final byte[] message = randomBytes(3 * CHUNK_SIZE);
+            unchunked.write(message);
+            unchunked.flush();
+            assertThat(receive()).isEqualTo(message);
+        }
+    }
+
+    @Test
+    void header_is_only_sent_from_the_second_datagram() throws Exception {
+        final byte[] header = {'h'};
+        final byte[] footer = {'f'};
+        try (final DatagramOutputStream framed = new DatagramOutputStream(
+                InetAddress.getLoopbackAddress().getHostAddress(), receiver.getLocalPort(), header, footer)) {
+            framed.write(new byte[] {'1'});
+            framed.flush();
+            assertThat(receive()).isEqualTo(new byte[] {'1', 'f'});
+            framed.write(new byte[] {'2'});
+            framed.flush();
+            assertThat(receive()).isEqualTo(new byte[] {'h', '2', 'f'});
+        }
+    }
+
+    private byte[] receive() throws Exception {
+        final DatagramPacket packet = new DatagramPacket(new byte[4 * CHUNK_SIZE], 4 * CHUNK_SIZE);
+        receiver.receive(packet);
+        return Arrays.copyOf(packet.getData(), packet.getLength());
+    }
+
+    private static byte[] randomBytes(final int length) {
+        final byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
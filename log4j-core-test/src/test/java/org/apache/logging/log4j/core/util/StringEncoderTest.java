@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class StringEncoderTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "ascii", "café", "€ 10", "😀 smile", "lone \ud83d high", "lone \ude00 low"})
+    void encodeUtf8_should_match_String_getBytes(final String text) {
+        final byte[] buffer = new byte[3 * text.length()];
+        final int length = StringEncoder.encodeUtf8(text, 0, text.length(), buffer);
+        assertThat(Arrays.copyOf(buffer, length)).isEqualTo(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3})
+    void encodeUtf8_should_not_read_past_range_end(final int end) {
+        final String text = "a😀b";
+        final byte[] buffer = new byte[3 * end];
+        final int length = StringEncoder.encodeUtf8(text, 0, end, buffer);
+        // A high surrogate at the end of the range is malformed
+        final String expected = end == 1 ? "a" : end == 2 ? "a?" : "a😀";
+        assertThat(Arrays.copyOf(buffer, length)).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+    }
+}
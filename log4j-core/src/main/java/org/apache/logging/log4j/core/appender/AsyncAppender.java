@@ -30,8 +30,9 @@ import org.apache.logging.log4j.core.async.ArrayBlockingQueueFactory;
 import org.apache.logging.log4j.core.async.AsyncQueueFullMessageUtil;
 import org.apache.logging.log4j.core.async.AsyncQueueFullPolicy;
 import org.apache.logging.log4j.core.async.AsyncQueueFullPolicyFactory;
+import org.apache.logging.log4j.core.async.AsyncThreadFactory;
+import org.apache.logging.log4j.core.async.AsyncThreadFactoryConfig;
 import org.apache.logging.log4j.core.async.BlockingQueueFactory;
-import org.apache.logging.log4j.core.async.DiscardingAsyncQueueFullPolicy;
 import org.apache.logging.log4j.core.async.EventRoute;
 import org.apache.logging.log4j.core.async.InternalAsyncUtil;
 import org.apache.logging.log4j.core.config.AppenderControl;
@@ -68,6 +69,7 @@ public final class AsyncAppender extends AbstractAppender {
     private final AppenderRef[] appenderRefs;
     private final String errorRef;
     private final boolean includeLocation;
+    private final AsyncThreadFactory threadFactory;
     private AppenderControl errorAppender;
     private AsyncAppenderEventDispatcher dispatcher;
     private AsyncQueueFullPolicy asyncQueueFullPolicy;
@@ -84,7 +86,8 @@ public final class AsyncAppender extends AbstractAppender {
             final Configuration config,
             final boolean includeLocation,
             final BlockingQueueFactory<LogEvent> blockingQueueFactory,
-            final Property[] properties) {
+            final Property[] properties,
+            final AsyncThreadFactory threadFactory) {
         super(name, filter, null, ignoreExceptions, properties);
         this.queue = blockingQueueFactory.create(queueSize);
         this.queueSize = queueSize;
@@ -94,6 +97,7 @@ public final class AsyncAppender extends AbstractAppender {
         this.appenderRefs = appenderRefs;
         this.errorRef = errorRef;
         this.includeLocation = includeLocation;
+        this.threadFactory = threadFactory;
     }
 
     @Override
@@ -117,7 +121,7 @@ public final class AsyncAppender extends AbstractAppender {
             }
         }
         if (appenders.size() > 0) {
-            dispatcher = new AsyncAppenderEventDispatcher(getName(), errorAppender, appenders, queue);
+            dispatcher = new AsyncAppenderEventDispatcher(getName(), errorAppender, appenders, queue, threadFactory);
         } else if (errorRef == null) {
             throw new ConfigurationException("No appenders are available for AsyncAppender " + getName());
         }
@@ -141,12 +145,7 @@ public final class AsyncAppender extends AbstractAppender {
         }
         LOGGER.trace("AsyncAppender stopped. Queue has {} events.", queue.size());
 
-        if (DiscardingAsyncQueueFullPolicy.getDiscardCount(asyncQueueFullPolicy) > 0) {
-            LOGGER.trace(
-                    "AsyncAppender: {} discarded {} events.",
-                    asyncQueueFullPolicy,
-                    DiscardingAsyncQueueFullPolicy.getDiscardCount(asyncQueueFullPolicy));
-        }
+        AsyncQueueFullMessageUtil.logDiscardCountsToStatusLogger("AsyncAppender", asyncQueueFullPolicy);
         setStopped();
         return true;
     }
@@ -291,6 +290,7 @@ public final class AsyncAppender extends AbstractAppender {
                 config,
                 includeLocation,
                 new ArrayBlockingQueueFactory<LogEvent>(),
+                null,
                 null);
     }
 
@@ -335,6 +335,9 @@ public final class AsyncAppender extends AbstractAppender {
         @PluginElement(BlockingQueueFactory.ELEMENT_TYPE)
         private BlockingQueueFactory<LogEvent> blockingQueueFactory = new ArrayBlockingQueueFactory<>();
 
+        @PluginElement("AsyncThreadFactory")
+        private AsyncThreadFactoryConfig threadFactoryConfig;
+
         public Builder setAppenderRefs(final AppenderRef[] appenderRefs) {
             this.appenderRefs = appenderRefs;
             return this;
@@ -385,6 +388,14 @@ public final class AsyncAppender extends AbstractAppender {
             return this;
         }
 
+        /**
+         * @since 2.25.0
+         */
+        public Builder setThreadFactoryConfig(final AsyncThreadFactoryConfig threadFactoryConfig) {
+            this.threadFactoryConfig = threadFactoryConfig;
+            return this;
+        }
+
         @Override
         public AsyncAppender build() {
             return new AsyncAppender(
@@ -399,7 +410,8 @@ public final class AsyncAppender extends AbstractAppender {
                     configuration,
                     includeLocation,
                     blockingQueueFactory,
-                    getPropertyArray());
+                    getPropertyArray(),
+                    threadFactoryConfig != null ? threadFactoryConfig.createThreadFactory() : null);
         }
     }
 
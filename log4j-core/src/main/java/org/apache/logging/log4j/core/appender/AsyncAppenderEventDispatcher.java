@@ -24,12 +24,13 @@ import java.util.stream.Collectors;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.async.AsyncThreadFactory;
 import org.apache.logging.log4j.core.config.AppenderControl;
 import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.util.Log4jThread;
 import org.apache.logging.log4j.status.StatusLogger;
 
-class AsyncAppenderEventDispatcher extends Log4jThread {
+class AsyncAppenderEventDispatcher implements Runnable {
 
     private static final LogEvent STOP_EVENT = new Log4jLogEvent();
 
@@ -45,13 +46,24 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
 
     private final AtomicBoolean stoppedRef;
 
+    private final Thread thread;
+
+    /**
+     * @param threadFactory creates the dispatching thread, or {@code null} to use a daemon {@link Log4jThread}
+     */
     AsyncAppenderEventDispatcher(
             final String name,
             final AppenderControl errorAppender,
             final List<AppenderControl> appenders,
-            final BlockingQueue<LogEvent> queue) {
-        super("AsyncAppenderEventDispatcher-" + THREAD_COUNTER.incrementAndGet() + "-" + name);
-        this.setDaemon(true);
+            final BlockingQueue<LogEvent> queue,
+            final AsyncThreadFactory threadFactory) {
+        final String threadName = "AsyncAppenderEventDispatcher-" + THREAD_COUNTER.incrementAndGet() + "-" + name;
+        if (threadFactory != null) {
+            this.thread = threadFactory.createThreadFactory(threadName).newThread(this);
+        } else {
+            this.thread = new Log4jThread(this, threadName);
+            this.thread.setDaemon(true);
+        }
         this.errorAppender = errorAppender;
         this.appenders = appenders;
         this.queue = queue;
@@ -67,6 +79,18 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
         return appenders.stream().map(AppenderControl::getAppender).collect(Collectors.toList());
     }
 
+    long getId() {
+        return thread.getId();
+    }
+
+    private String getName() {
+        return thread.getName();
+    }
+
+    void start() {
+        thread.start();
+    }
+
     @Override
     public void run() {
         LOGGER.trace("{} has started.", getName());
@@ -81,7 +105,7 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
                 event = queue.take();
             } catch (final InterruptedException ignored) {
                 // Restore the interrupted flag cleared when the exception is caught.
-                interrupt();
+                Thread.currentThread().interrupt();
                 break;
             }
             if (event == STOP_EVENT) {
@@ -160,7 +184,7 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
         // There is a slight chance that the thread is not started yet, wait for
         // it to run. Otherwise, interrupt+join might block.
         // noinspection StatementWithEmptyBody
-        while (Thread.State.NEW.equals(getState()))
+        while (Thread.State.NEW.equals(thread.getState()))
             ;
 
         // Enqueue the stop event, if there is sufficient room; otherwise,
@@ -172,10 +196,10 @@ class AsyncAppenderEventDispatcher extends Log4jThread {
         // — ckozak)
         final boolean added = queue.offer(STOP_EVENT);
         if (!added) {
-            interrupt();
+            thread.interrupt();
         }
 
         // Wait for the completion.
-        join(timeoutMillis);
+        thread.join(timeoutMillis);
     }
 }
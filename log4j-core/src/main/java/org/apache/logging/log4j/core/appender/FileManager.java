@@ -249,16 +249,32 @@ public class FileManager extends OutputStreamManager {
         final File file = new File(filename);
         createParentDir(file);
         final FileOutputStream fos = new FileOutputStream(file, isAppend);
-        if (file.exists() && file.length() == 0) {
+        // The file is checked before it is wrapped, since the wrapper might write to it
+        final boolean writeHeader = file.exists() && file.length() == 0;
+        final OutputStream os = wrapOutputStream(file, fos);
+        if (writeHeader) {
             try {
                 final FileTime now = FileTime.fromMillis(System.currentTimeMillis());
                 Files.setAttribute(file.toPath(), "creationTime", now);
             } catch (Exception ex) {
                 LOGGER.warn("Unable to set current file time for {}", filename);
             }
-            writeHeader(fos);
+            writeHeader(os);
         }
         defineAttributeView(Paths.get(filename));
+        return os;
+    }
+
+    /**
+     * Wraps the stream of a newly opened file, before the header is written to it.
+     *
+     * @param file the file
+     * @param fos the stream writing to the file
+     * @return the stream to write to, {@code fos} by default
+     * @throws IOException if the stream cannot be wrapped
+     * @since 2.25.0
+     */
+    protected OutputStream wrapOutputStream(final File file, final FileOutputStream fos) throws IOException {
         return fos;
     }
 
@@ -255,7 +255,7 @@ public final class MemoryMappedFileAppender extends AbstractOutputStreamAppender
     /**
      * Converts the specified region length to a valid value.
      */
-    private static int determineValidRegionLength(final String name, final int regionLength) {
+    static int determineValidRegionLength(final String name, final int regionLength) {
         if (regionLength > MAX_REGION_LENGTH) {
             LOGGER.info(
                     "MemoryMappedAppender[{}] Reduced region length from {} to max length: {}",
@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -109,6 +110,9 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
         @PluginBuilderAttribute(value = "tempCompressedFilePattern")
         private String tempCompressedFilePattern;
 
+        @PluginBuilderAttribute(value = "compressOnWrite")
+        private boolean compressOnWrite;
+
         @PluginConfiguration
         private Configuration config;
 
@@ -156,7 +160,8 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
                     nonNullStrSubstitutor,
                     customActions,
                     stopCustomActionsOnError,
-                    tempCompressedFilePattern);
+                    tempCompressedFilePattern,
+                    compressOnWrite);
         }
 
         public String getMax() {
@@ -265,6 +270,24 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
             return this;
         }
 
+        public boolean isCompressOnWrite() {
+            return compressOnWrite;
+        }
+
+        /**
+         * Defines whether the active file is compressed while it is written, instead of being compressed after a
+         * rollover.
+         *
+         * @param compressOnWrite If true, the data is compressed in the format of the file pattern extension as it is
+         *                        written.
+         * @return This builder for chaining convenience
+         * @since 2.25.0
+         */
+        public Builder withCompressOnWrite(final boolean compressOnWrite) {
+            this.compressOnWrite = compressOnWrite;
+            return this;
+        }
+
         public Configuration getConfig() {
             return config;
         }
@@ -339,6 +362,7 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
     private final List<Action> customActions;
     private final boolean stopCustomActionsOnError;
     private final PatternProcessor tempCompressedFilePattern;
+    private final boolean compressOnWrite;
 
     /**
      * Constructs a new instance.
@@ -388,6 +412,40 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
             final Action[] customActions,
             final boolean stopCustomActionsOnError,
             final String tempCompressedFilePatternString) {
+        this(
+                minIndex,
+                maxIndex,
+                useMax,
+                compressionLevel,
+                strSubstitutor,
+                customActions,
+                stopCustomActionsOnError,
+                tempCompressedFilePatternString,
+                false);
+    }
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param minIndex The minimum index.
+     * @param maxIndex The maximum index.
+     * @param customActions custom actions to perform asynchronously after rollover
+     * @param stopCustomActionsOnError whether to stop executing asynchronous actions if an error occurs
+     * @param tempCompressedFilePatternString File pattern of the working file
+     *                                     used during compression, if null no temporary file are used
+     * @param compressOnWrite whether the active file is compressed while it is written
+     * @since 2.25.0
+     */
+    protected DefaultRolloverStrategy(
+            final int minIndex,
+            final int maxIndex,
+            final boolean useMax,
+            final int compressionLevel,
+            final StrSubstitutor strSubstitutor,
+            final Action[] customActions,
+            final boolean stopCustomActionsOnError,
+            final String tempCompressedFilePatternString,
+            final boolean compressOnWrite) {
         super(strSubstitutor);
         this.minIndex = minIndex;
         this.maxIndex = maxIndex;
@@ -397,6 +455,7 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
         this.customActions = customActions == null ? Collections.<Action>emptyList() : Arrays.asList(customActions);
         this.tempCompressedFilePattern =
                 tempCompressedFilePatternString != null ? new PatternProcessor(tempCompressedFilePatternString) : null;
+        this.compressOnWrite = compressOnWrite;
     }
 
     public int getCompressionLevel() {
@@ -407,6 +466,17 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
         return customActions;
     }
 
+    /**
+     * Returns whether the active file is compressed while it is written, if its file pattern has a compression
+     * extension that supports it.
+     *
+     * @return whether the active file is compressed while it is written
+     * @since 2.25.0
+     */
+    public boolean isCompressOnWrite() {
+        return compressOnWrite;
+    }
+
     public int getMaxIndex() {
         return this.maxIndex;
     }
@@ -454,6 +524,7 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
                 final Integer key = eligibleFiles.firstKey();
                 LOGGER.debug("Deleting {}", eligibleFiles.get(key).toFile().getAbsolutePath());
                 Files.delete(eligibleFiles.get(key));
+                manager.fileChanged(eligibleFiles.get(key));
                 eligibleFiles.remove(key);
                 renameFiles = true;
             } catch (final IOException ioe) {
@@ -474,6 +545,8 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
                     renameTo = renameTo.substring(0, renameTo.length() - suffixLength);
                 }
                 final Action action = new FileRenameAction(entry.getValue().toFile(), new File(renameTo), true);
+                manager.fileChanged(entry.getValue());
+                manager.fileChanged(Paths.get(renameTo));
                 try {
                     LOGGER.debug("DefaultRolloverStrategy.purgeAscending executing {}", action);
                     if (!action.execute()) {
@@ -513,6 +586,7 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
                 final Integer key = eligibleFiles.firstKey();
                 LOGGER.debug("Deleting {}", eligibleFiles.get(key).toFile().getAbsolutePath());
                 Files.delete(eligibleFiles.get(key));
+                manager.fileChanged(eligibleFiles.get(key));
                 eligibleFiles.remove(key);
             } catch (final IOException ioe) {
                 LOGGER.error("Unable to delete {}, {}", eligibleFiles.firstKey(), ioe.getMessage(), ioe);
@@ -531,6 +605,8 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
                 renameTo = renameTo.substring(0, renameTo.length() - suffixLength);
             }
             final Action action = new FileRenameAction(entry.getValue().toFile(), new File(renameTo), true);
+            manager.fileChanged(entry.getValue());
+            manager.fileChanged(Paths.get(renameTo));
             try {
                 LOGGER.debug("DefaultRolloverStrategy.purgeDescending executing {}", action);
                 if (!action.execute()) {
@@ -586,7 +662,8 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
         Action compressAction = null;
 
         final FileExtension fileExtension = manager.getFileExtension();
-        if (fileExtension != null) {
+        // If the active file is compressed while it is written, it only needs to be renamed
+        if (fileExtension != null && !manager.isCompressOnWrite()) {
             final File renameToFile = new File(renameTo);
             renameTo = renameTo.substring(0, renameTo.length() - fileExtension.length());
             if (tempCompressedFilePattern != null) {
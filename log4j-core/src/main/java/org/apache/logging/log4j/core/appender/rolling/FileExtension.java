@@ -18,6 +18,8 @@ package org.apache.logging.log4j.core.appender.rolling;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Objects;
 import org.apache.logging.log4j.core.appender.rolling.action.Action;
 import org.apache.logging.log4j.core.appender.rolling.action.CommonsCompressAction;
@@ -47,6 +49,12 @@ public enum FileExtension {
                 final int compressionLevel) {
             return new GzCompressAction(source(renameTo), target(compressedName), deleteSource, compressionLevel);
         }
+
+        @Override
+        public OutputStream createCompressingOutputStream(final OutputStream os, final int compressionLevel)
+                throws IOException {
+            return GzCompressAction.createCompressingOutputStream(os, compressionLevel);
+        }
     },
     BZIP2(".bz2") {
         @Override
@@ -102,6 +110,23 @@ public enum FileExtension {
             // One of "gz", "bzip2", "xz", "zstd", "pack200", or "deflate".
             return new CommonsCompressAction("zstd", source(renameTo), target(compressedName), deleteSource);
         }
+
+        @Override
+        public OutputStream createCompressingOutputStream(final OutputStream os, final int compressionLevel)
+                throws IOException {
+            return CommonsCompressAction.createCompressingOutputStream("zstd", os);
+        }
+    },
+    LZ4(".lz4") {
+        @Override
+        public Action createCompressAction(
+                final String renameTo,
+                final String compressedName,
+                final boolean deleteSource,
+                final int compressionLevel) {
+            // The LZ4 frame format
+            return new CommonsCompressAction("lz4-framed", source(renameTo), target(compressedName), deleteSource);
+        }
     };
 
     public static FileExtension lookup(final String fileExtension) {
@@ -132,6 +157,24 @@ public enum FileExtension {
     public abstract Action createCompressAction(
             String renameTo, String compressedName, boolean deleteSource, int compressionLevel);
 
+    /**
+     * Wraps a stream, so that the data written to it is compressed in the format of this extension.
+     * <p>
+     * Only formats whose compressed data can be flushed and whose streams can be concatenated, to append to an existing
+     * file, are supported.
+     * </p>
+     *
+     * @param os the stream receiving the compressed data
+     * @param compressionLevel the compression level, only used by some formats
+     * @return the compressing stream or {@code null} if this format is not supported
+     * @throws IOException if the compressor cannot be created
+     * @since 2.25.0
+     */
+    public OutputStream createCompressingOutputStream(final OutputStream os, final int compressionLevel)
+            throws IOException {
+        return null;
+    }
+
     public String getExtension() {
         return extension;
     }
@@ -19,16 +19,21 @@ package org.apache.logging.log4j.core.appender.rolling;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
@@ -46,6 +51,13 @@ import org.apache.logging.log4j.core.appender.FileManager;
 import org.apache.logging.log4j.core.appender.ManagerFactory;
 import org.apache.logging.log4j.core.appender.rolling.action.AbstractAction;
 import org.apache.logging.log4j.core.appender.rolling.action.Action;
+import org.apache.logging.log4j.core.appender.rolling.action.CommonsCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.CompositeAction;
+import org.apache.logging.log4j.core.appender.rolling.action.DeleteAction;
+import org.apache.logging.log4j.core.appender.rolling.action.FileRenameAction;
+import org.apache.logging.log4j.core.appender.rolling.action.GzCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.RetentionIndex;
+import org.apache.logging.log4j.core.appender.rolling.action.ZipCompressAction;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.core.util.FileUtils;
@@ -73,6 +85,9 @@ public class RollingFileManager extends FileManager {
     private volatile String fileName;
     private final boolean directWrite;
     private final CopyOnWriteArrayList<RolloverListener> rolloverListeners = new CopyOnWriteArrayList<>();
+    private volatile long lastRolloverPauseNanos;
+    private volatile long maxRolloverPauseNanos;
+    private volatile CompressedSizeOutputStream compressedFileStream;
 
     /* This executor pool will create a new Thread for every work async action to be performed. Using it allows
     us to make sure all the Threads are completed when the Manager is stopped. */
@@ -395,10 +410,14 @@ public class RollingFileManager extends FileManager {
 
     /**
      * Returns the current size of the file.
+     * <p>
+     * If the file is compressed while it is written, this is the size of the compressed data written to the file.
+     * </p>
      * @return The size of the file in bytes.
      */
     public long getFileSize() {
-        return size + byteBuffer.position();
+        final CompressedSizeOutputStream compressed = compressedFileStream;
+        return compressed != null ? compressed.size : size + byteBuffer.position();
     }
 
     /**
@@ -483,6 +502,7 @@ public class RollingFileManager extends FileManager {
         if (!hasOutputStream() && !isCreateOnDemand() && !isDirectWrite()) {
             return;
         }
+        final long startNanos = System.nanoTime();
         final String currentFileName = fileName;
         if (rolloverListeners.size() > 0) {
             for (RolloverListener listener : rolloverListeners) {
@@ -531,12 +551,86 @@ public class RollingFileManager extends FileManager {
                 }
             }
         }
+        final long pauseNanos = System.nanoTime() - startNanos;
+        lastRolloverPauseNanos = pauseNanos;
+        if (pauseNanos > maxRolloverPauseNanos) {
+            maxRolloverPauseNanos = pauseNanos;
+        }
+        LOGGER.debug("RollingFileManager {} rollover took {} nanoseconds", getName(), pauseNanos);
+    }
+
+    /**
+     * Returns how long the last rollover blocked the thread that triggered it.
+     *
+     * @return The duration of the last rollover in nanoseconds, or {@code 0} if no rollover occurred.
+     * @since 2.25.0
+     */
+    public long getLastRolloverPauseNanos() {
+        return lastRolloverPauseNanos;
+    }
+
+    /**
+     * Returns how long the longest rollover blocked the thread that triggered it.
+     *
+     * @return The duration of the longest rollover in nanoseconds, or {@code 0} if no rollover occurred.
+     * @since 2.25.0
+     */
+    public long getMaxRolloverPauseNanos() {
+        return maxRolloverPauseNanos;
     }
 
     protected void createFileAfterRollover() throws IOException {
         setOutputStream(createOutputStream());
     }
 
+    /**
+     * Wraps the stream of the active file in a compressor, if it is compressed while it is written.
+     */
+    @Override
+    protected OutputStream wrapOutputStream(final File file, final FileOutputStream fos) throws IOException {
+        final FileExtension extension = getCompressOnWriteExtension(rolloverStrategy, getFileExtension());
+        final CompressedSizeOutputStream sizeStream =
+                extension != null ? new CompressedSizeOutputStream(fos, file.length()) : null;
+        final OutputStream compressor =
+                sizeStream != null ? createCompressingOutputStream(extension, rolloverStrategy, sizeStream) : null;
+        compressedFileStream = compressor != null ? sizeStream : null;
+        return compressor != null ? compressor : fos;
+    }
+
+    /**
+     * Returns {@code true} if the active file is compressed while it is written, in the format of the extension of the
+     * file pattern. In this case a rollover only renames the active file.
+     *
+     * @return whether the active file is compressed
+     * @see DefaultRolloverStrategy#isCompressOnWrite()
+     * @since 2.25.0
+     */
+    public boolean isCompressOnWrite() {
+        return compressedFileStream != null;
+    }
+
+    private static FileExtension getCompressOnWriteExtension(
+            final RolloverStrategy strategy, final FileExtension extension) {
+        return extension != null
+                        && strategy instanceof DefaultRolloverStrategy
+                        && ((DefaultRolloverStrategy) strategy).isCompressOnWrite()
+                ? extension
+                : null;
+    }
+
+    /**
+     * Wraps the file stream, or returns {@code null} if the format of the extension is not supported.
+     */
+    private static OutputStream createCompressingOutputStream(
+            final FileExtension extension, final RolloverStrategy strategy, final OutputStream fos) throws IOException {
+        final int compressionLevel = ((DefaultRolloverStrategy) strategy).getCompressionLevel();
+        final OutputStream os = extension.createCompressingOutputStream(fos, compressionLevel);
+        if (os == null) {
+            LOGGER.warn("{} files can not be compressed while they are written", extension.getExtension());
+        }
+        return os;
+    }
+
     /**
      * Returns the pattern processor.
      * @return The PatternProcessor.
@@ -585,6 +679,13 @@ public class RollingFileManager extends FileManager {
         return (T) this.triggeringPolicy;
     }
 
+    /**
+     * Returns the executor of asynchronous tasks, whose completion is awaited when the manager is released.
+     */
+    ExecutorService getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
     /**
      * Package-private access for tests only.
      *
@@ -618,6 +719,12 @@ public class RollingFileManager extends FileManager {
         try {
             final RolloverDescription descriptor = strategy.rollover(this);
             if (descriptor != null) {
+                final List<RetentionIndex> indexes = getRetentionIndexes(strategy);
+                if (!indexes.isEmpty()) {
+                    updateRetentionIndexes(indexes, Paths.get(descriptor.getActiveFileName()));
+                    updateRetentionIndexes(indexes, descriptor.getSynchronous());
+                    updateRetentionIndexes(indexes, descriptor.getAsynchronous());
+                }
                 writeFooter();
                 closeOutputStream();
                 outputStreamClosed = true;
@@ -646,6 +753,77 @@ public class RollingFileManager extends FileManager {
         }
     }
 
+    /**
+     * Records that a file was created, modified, renamed or deleted by the rollover strategy, so that the
+     * {@link RetentionIndex} of its {@link DeleteAction}s can be kept up to date.
+     *
+     * @param path The changed file.
+     */
+    void fileChanged(final Path path) {
+        updateRetentionIndexes(getRetentionIndexes(rolloverStrategy), path);
+    }
+
+    private static List<RetentionIndex> getRetentionIndexes(final RolloverStrategy strategy) {
+        final List<Action> actions;
+        if (strategy instanceof DefaultRolloverStrategy) {
+            actions = ((DefaultRolloverStrategy) strategy).getCustomActions();
+        } else if (strategy instanceof DirectWriteRolloverStrategy) {
+            actions = ((DirectWriteRolloverStrategy) strategy).getCustomActions();
+        } else {
+            return Collections.emptyList();
+        }
+        List<RetentionIndex> indexes = Collections.emptyList();
+        for (final Action action : actions) {
+            if (action instanceof DeleteAction) {
+                final RetentionIndex index = ((DeleteAction) action).getRetentionIndex();
+                if (index != null) {
+                    if (indexes.isEmpty()) {
+                        indexes = new ArrayList<>();
+                    }
+                    indexes.add(index);
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private static void updateRetentionIndexes(final List<RetentionIndex> indexes, final Path path) {
+        for (final RetentionIndex index : indexes) {
+            index.fileChanged(path);
+        }
+    }
+
+    /**
+     * Reports the files read and written by the actions of a rollover.
+     */
+    private static void updateRetentionIndexes(final List<RetentionIndex> indexes, final Action action) {
+        if (action instanceof CompositeAction) {
+            for (final Action child : ((CompositeAction) action).getActions()) {
+                updateRetentionIndexes(indexes, child);
+            }
+        } else if (action instanceof FileRenameAction) {
+            updateRetentionIndexes(
+                    indexes, ((FileRenameAction) action).getSource().toPath());
+            updateRetentionIndexes(
+                    indexes, ((FileRenameAction) action).getDestination().toPath());
+        } else if (action instanceof GzCompressAction) {
+            updateRetentionIndexes(
+                    indexes, ((GzCompressAction) action).getSource().toPath());
+            updateRetentionIndexes(
+                    indexes, ((GzCompressAction) action).getDestination().toPath());
+        } else if (action instanceof ZipCompressAction) {
+            updateRetentionIndexes(
+                    indexes, ((ZipCompressAction) action).getSource().toPath());
+            updateRetentionIndexes(
+                    indexes, ((ZipCompressAction) action).getDestination().toPath());
+        } else if (action instanceof CommonsCompressAction) {
+            updateRetentionIndexes(
+                    indexes, ((CommonsCompressAction) action).getSource().toPath());
+            updateRetentionIndexes(
+                    indexes, ((CommonsCompressAction) action).getDestination().toPath());
+        }
+    }
+
     /**
      * Performs actions asynchronously.
      */
@@ -873,12 +1051,26 @@ public class RollingFileManager extends FileManager {
             try {
                 final int actualSize = data.bufferedIO ? data.bufferSize : Constants.ENCODER_BYTE_BUFFER_SIZE;
                 final ByteBuffer buffer = ByteBuffer.wrap(new byte[actualSize]);
-                final OutputStream os = data.createOnDemand || data.fileName == null
+                final FileExtension compressOnWriteExtension =
+                        getCompressOnWriteExtension(data.strategy, FileExtension.lookupForFile(data.pattern));
+                final OutputStream fos = data.createOnDemand || data.fileName == null
                         ? null
                         : new FileOutputStream(data.fileName, data.append);
                 // LOG4J2-531 create file first so time has valid value.
                 final long initialTime = file == null || !file.exists() ? 0 : initialFileTime(file);
+                // The raw file must be checked, since compressors write their own header
                 final boolean writeHeader = file != null && file.exists() && file.length() == 0;
+                OutputStream os = fos;
+                CompressedSizeOutputStream compressedFileStream = null;
+                if (fos != null && compressOnWriteExtension != null) {
+                    final CompressedSizeOutputStream sizeStream = new CompressedSizeOutputStream(fos, size);
+                    final OutputStream compressor =
+                            createCompressingOutputStream(compressOnWriteExtension, data.strategy, sizeStream);
+                    if (compressor != null) {
+                        os = compressor;
+                        compressedFileStream = sizeStream;
+                    }
+                }
 
                 final RollingFileManager rm = new RollingFileManager(
                         data.getLoggerContext(),
@@ -901,6 +1093,7 @@ public class RollingFileManager extends FileManager {
                 if (os != null && rm.isAttributeViewEnabled()) {
                     rm.defineAttributeView(file.toPath());
                 }
+                rm.compressedFileStream = compressedFileStream;
 
                 return rm;
             } catch (final IOException ex) {
@@ -971,4 +1164,29 @@ public class RollingFileManager extends FileManager {
             return false;
         }
     }
+
+    /**
+     * Counts the bytes written to a file by a compressor.
+     */
+    private static final class CompressedSizeOutputStream extends FilterOutputStream {
+
+        private long size;
+
+        CompressedSizeOutputStream(final OutputStream out, final long initialSize) {
+            super(out);
+            this.size = initialSize;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            size++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            size += len;
+        }
+    }
 }
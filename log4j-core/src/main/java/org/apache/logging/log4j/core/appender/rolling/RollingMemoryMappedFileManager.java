@@ -0,0 +1,651 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.ConfigurationFactoryData;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.appender.MemoryMappedFileManager;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.util.Closer;
+import org.apache.logging.log4j.core.util.FileUtils;
+import org.apache.logging.log4j.core.util.NullOutputStream;
+import org.apache.logging.log4j.core.util.internal.UnsafeUtil;
+import org.apache.logging.log4j.util.Constants;
+
+/**
+ * Extends RollingFileManager but instead of using a buffered output stream, this class maps a region of the file into
+ * memory and writes to this memory region, like {@link MemoryMappedFileManager} does.
+ * <p>
+ * The file is extended by the region length each time the mapped region is full. When the file is closed, either on
+ * rollover or on shutdown, the unused part of the last region is truncated.
+ * </p>
+ * <p>
+ * If {@code preallocate} is enabled, the file used after the next rollover is created, sized and mapped in the
+ * background under the name of the active file followed by {@value #NEXT_FILE_SUFFIX}. On rollover, this file is
+ * renamed instead of creating and mapping a new file while logging is blocked.
+ * </p>
+ *
+ * @since 2.25.0
+ */
+public class RollingMemoryMappedFileManager extends RollingFileManager {
+
+    private static final RollingMemoryMappedFileManagerFactory FACTORY = new RollingMemoryMappedFileManagerFactory();
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.wrap(Constants.EMPTY_BYTE_ARRAY);
+    private static final int PAGE_SIZE = 4096;
+
+    /**
+     * Suffix of the file prepared for the next rollover.
+     */
+    public static final String NEXT_FILE_SUFFIX = ".next";
+
+    private final boolean immediateFlush;
+    private final int regionLength;
+    private final boolean preallocate;
+    private RandomAccessFile randomAccessFile;
+    private MappedByteBuffer mappedBuffer;
+    private long mappingOffset;
+    // The following fields are guarded by this manager
+    private PreparedFile nextFile;
+    private boolean preparing;
+    private boolean released;
+    private volatile long preparedFileHitCount;
+    private volatile long preparedFileMissCount;
+
+    protected RollingMemoryMappedFileManager(
+            final LoggerContext loggerContext,
+            final RandomAccessFile raf,
+            final String fileName,
+            final String pattern,
+            final OutputStream os,
+            final boolean append,
+            final boolean immediateFlush,
+            final int regionLength,
+            final boolean preallocate,
+            final long size,
+            final long initialTime,
+            final TriggeringPolicy policy,
+            final RolloverStrategy strategy,
+            final String advertiseURI,
+            final Layout<? extends Serializable> layout,
+            final String filePermissions,
+            final String fileOwner,
+            final String fileGroup)
+            throws IOException {
+        super(
+                loggerContext,
+                fileName,
+                pattern,
+                os,
+                append,
+                false,
+                size,
+                initialTime,
+                policy,
+                strategy,
+                advertiseURI,
+                layout,
+                filePermissions,
+                fileOwner,
+                fileGroup,
+                false,
+                EMPTY_BUFFER);
+        this.immediateFlush = immediateFlush;
+        this.regionLength = regionLength;
+        this.preallocate = preallocate;
+        this.randomAccessFile = raf;
+        map(size);
+        prepareNextFile();
+    }
+
+    public static RollingMemoryMappedFileManager getRollingMemoryMappedFileManager(
+            final String fileName,
+            final String filePattern,
+            final boolean isAppend,
+            final boolean immediateFlush,
+            final int regionLength,
+            final boolean preallocate,
+            final TriggeringPolicy policy,
+            final RolloverStrategy strategy,
+            final String advertiseURI,
+            final Layout<? extends Serializable> layout,
+            final String filePermissions,
+            final String fileOwner,
+            final String fileGroup,
+            final Configuration configuration) {
+        if (fileName == null) {
+            LOGGER.error("The fileName attribute is required by the RollingMemoryMappedFileManager");
+            return null;
+        }
+        return narrow(
+                RollingMemoryMappedFileManager.class,
+                getManager(
+                        fileName,
+                        new FactoryData(
+                                filePattern,
+                                isAppend,
+                                immediateFlush,
+                                regionLength,
+                                preallocate,
+                                policy,
+                                strategy,
+                                advertiseURI,
+                                layout,
+                                filePermissions,
+                                fileOwner,
+                                fileGroup,
+                                configuration),
+                        FACTORY));
+    }
+
+    /**
+     * Maps the first region of the file, starting at the given position, and writes the header if the file is empty.
+     */
+    private void map(final long position) throws IOException {
+        randomAccessFile.setLength(position + regionLength);
+        mappedBuffer =
+                MemoryMappedFileManager.mmap(randomAccessFile.getChannel(), getFileName(), position, regionLength);
+        byteBuffer = mappedBuffer;
+        mappingOffset = position;
+        size = position;
+        if (position == 0) {
+            writeHeader();
+        }
+    }
+
+    private void writeHeader() {
+        if (layout == null) {
+            return;
+        }
+        final byte[] header = layout.getHeader();
+        if (header != null) {
+            write(header, 0, header.length, false);
+        }
+    }
+
+    @Override
+    protected synchronized void write(
+            final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        ensureMapped();
+        int currentOffset = offset;
+        int currentLength = length;
+        while (currentLength > mappedBuffer.remaining()) {
+            final int chunk = mappedBuffer.remaining();
+            mappedBuffer.put(bytes, currentOffset, chunk);
+            currentOffset += chunk;
+            currentLength -= chunk;
+            remap();
+        }
+        mappedBuffer.put(bytes, currentOffset, currentLength);
+    }
+
+    /**
+     * Creates the file again if a previous rollover failed to do so.
+     */
+    private void ensureMapped() {
+        if (mappedBuffer == null) {
+            try {
+                createFileAfterRollover();
+            } catch (final IOException ex) {
+                final String msg = "Error mapping file " + getFileName();
+                throw new AppenderLoggingException(msg, ex);
+            }
+        }
+    }
+
+    /**
+     * Maps the next region of the file.
+     * <p>
+     * The current region is only unmapped once the next one has been mapped, so that a failure leaves a valid buffer.
+     * </p>
+     *
+     * @throws AppenderLoggingException if the next region can not be mapped
+     */
+    private synchronized void remap() {
+        final long offset = mappingOffset + mappedBuffer.position();
+        final int length = mappedBuffer.remaining() + regionLength;
+        final MappedByteBuffer newBuffer;
+        try {
+            randomAccessFile.setLength(randomAccessFile.length() + regionLength);
+            newBuffer = MemoryMappedFileManager.mmap(randomAccessFile.getChannel(), getFileName(), offset, length);
+        } catch (final IOException ex) {
+            throw new AppenderLoggingException("Unable to remap " + getFileName(), ex);
+        }
+        try {
+            UnsafeUtil.clean(mappedBuffer);
+        } catch (final Exception ex) {
+            logError("Unable to unmap MappedBuffer", ex);
+        }
+        mappedBuffer = newBuffer;
+        byteBuffer = mappedBuffer;
+        mappingOffset = offset;
+        size = offset;
+    }
+
+    @Override
+    @SuppressFBWarnings(
+            value = "PATH_TRAVERSAL_IN",
+            justification = "The name of the accessed files is based on a configuration value.")
+    protected synchronized void createFileAfterRollover() throws IOException {
+        final String fileName = getFileName();
+        final Path path = Paths.get(fileName);
+        final PreparedFile prepared = nextFile;
+        nextFile = null;
+        if (prepared != null && usePreparedFile(prepared, path)) {
+            preparedFileHitCount++;
+            LOGGER.debug("RollingMemoryMappedFileManager {} uses prepared file {}", getName(), prepared.path);
+            randomAccessFile = prepared.randomAccessFile;
+            mappedBuffer = prepared.mappedBuffer;
+            byteBuffer = mappedBuffer;
+            mappingOffset = 0;
+            size = 0;
+            if (isAttributeViewEnabled()) {
+                defineAttributeView(path);
+            }
+            writeHeader();
+        } else {
+            if (preallocate) {
+                preparedFileMissCount++;
+                LOGGER.debug("RollingMemoryMappedFileManager {} has no prepared file for {}", getName(), fileName);
+            }
+            FileUtils.makeParentDirs(new File(fileName));
+            randomAccessFile = new RandomAccessFile(fileName, "rw");
+            if (isAttributeViewEnabled()) {
+                defineAttributeView(path);
+            }
+            map(isAppend() ? randomAccessFile.length() : 0);
+        }
+        prepareNextFile();
+    }
+
+    /**
+     * Moves the prepared file to the given path, unless a file already exists there.
+     */
+    private boolean usePreparedFile(final PreparedFile prepared, final Path path) {
+        if (!Files.exists(path)) {
+            try {
+                Files.move(prepared.path, path, StandardCopyOption.ATOMIC_MOVE);
+                return true;
+            } catch (final IOException | UnsupportedOperationException ex) {
+                LOGGER.debug("RollingMemoryMappedFileManager unable to move {} to {}", prepared.path, path, ex);
+            }
+        }
+        prepared.discard();
+        return false;
+    }
+
+    /**
+     * Prepares the file of the next rollover in the background, if enabled.
+     */
+    private synchronized void prepareNextFile() {
+        if (!preallocate || released || preparing || nextFile != null) {
+            return;
+        }
+        final Path path = Paths.get(getFileName() + NEXT_FILE_SUFFIX);
+        preparing = true;
+        try {
+            getAsyncExecutor().execute(() -> {
+                PreparedFile prepared = null;
+                try {
+                    prepared = PreparedFile.create(path, regionLength);
+                } catch (final IOException ex) {
+                    logError("Unable to prepare file " + path, ex);
+                }
+                synchronized (this) {
+                    preparing = false;
+                    if (prepared != null) {
+                        if (released) {
+                            prepared.discard();
+                        } else {
+                            nextFile = prepared;
+                        }
+                    }
+                }
+            });
+        } catch (final RejectedExecutionException ex) {
+            preparing = false;
+            LOGGER.debug("RollingMemoryMappedFileManager unable to prepare file {}", path, ex);
+        }
+    }
+
+    @Override
+    public boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        final boolean status = super.releaseSub(timeout, timeUnit);
+        synchronized (this) {
+            released = true;
+            if (nextFile != null) {
+                nextFile.discard();
+                nextFile = null;
+            }
+        }
+        return status;
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (mappedBuffer != null) {
+            mappedBuffer.force();
+        }
+    }
+
+    /**
+     * Unmaps the file and truncates the unused part of the mapped region.
+     */
+    @Override
+    public synchronized boolean closeOutputStream() {
+        if (mappedBuffer == null) {
+            return true;
+        }
+        final long length = mappingOffset + mappedBuffer.position();
+        try {
+            UnsafeUtil.clean(mappedBuffer);
+        } catch (final Exception ex) {
+            logError("Unable to unmap MappedBuffer", ex);
+        }
+        // The buffer must never be accessed after it has been unmapped.
+        mappedBuffer = null;
+        byteBuffer = EMPTY_BUFFER;
+        size = length;
+        try {
+            LOGGER.debug("RollingMemoryMappedFileManager closing. Setting {} length to {}", getFileName(), length);
+            randomAccessFile.setLength(length);
+            randomAccessFile.close();
+            return true;
+        } catch (final IOException ex) {
+            logError("Unable to close MemoryMappedFile", ex);
+            return false;
+        }
+    }
+
+    @Override
+    protected void flushBuffer(final ByteBuffer buffer) {
+        // do nothing (do not call drain() to avoid spurious remapping)
+    }
+
+    @Override
+    public ByteBuffer getByteBuffer() {
+        return byteBuffer;
+    }
+
+    @Override
+    public synchronized ByteBuffer drain(final ByteBuffer buf) {
+        if (mappedBuffer == null) {
+            ensureMapped();
+        } else {
+            remap();
+        }
+        return mappedBuffer;
+    }
+
+    /**
+     * Returns the length of the memory mapped region.
+     *
+     * @return the length of the mapped region
+     */
+    public int getRegionLength() {
+        return regionLength;
+    }
+
+    /**
+     * Returns {@code true} if the file used after a rollover is prepared in the background.
+     *
+     * @return whether the next file is preallocated
+     */
+    public boolean isPreallocate() {
+        return preallocate;
+    }
+
+    /**
+     * Returns the number of rollovers that used a prepared file.
+     *
+     * @return the number of rollovers that used a prepared file
+     * @since 2.25.0
+     */
+    public long getPreparedFileHitCount() {
+        return preparedFileHitCount;
+    }
+
+    /**
+     * Returns the number of rollovers that had to create and map a file, although preallocation is enabled.
+     *
+     * @return the number of rollovers without a prepared file
+     * @since 2.25.0
+     */
+    public long getPreparedFileMissCount() {
+        return preparedFileMissCount;
+    }
+
+    /**
+     * Returns {@code true} if the file of the next rollover has been prepared in the background.
+     *
+     * @return whether the next rollover can use a prepared file
+     * @since 2.25.0
+     */
+    public synchronized boolean isNextFilePrepared() {
+        return nextFile != null;
+    }
+
+    /**
+     * Returns {@code true} if the content of the buffer should be forced to the storage device on every write,
+     * {@code false} otherwise.
+     *
+     * @return whether each write should be force-sync'ed
+     */
+    public boolean isImmediateFlush() {
+        return immediateFlush;
+    }
+
+    /**
+     * A file created, sized and mapped ahead of a rollover.
+     */
+    private static final class PreparedFile {
+
+        private final Path path;
+        private final RandomAccessFile randomAccessFile;
+        private final MappedByteBuffer mappedBuffer;
+
+        private PreparedFile(final Path path, final RandomAccessFile randomAccessFile, final MappedByteBuffer buffer) {
+            this.path = path;
+            this.randomAccessFile = randomAccessFile;
+            this.mappedBuffer = buffer;
+        }
+
+        @SuppressFBWarnings(
+                value = "PATH_TRAVERSAL_IN",
+                justification = "The name of the accessed files is based on a configuration value.")
+        private static PreparedFile create(final Path path, final int regionLength) throws IOException {
+            FileUtils.makeParentDirs(path.toFile());
+            final RandomAccessFile raf = new RandomAccessFile(path.toFile(), "rw");
+            try {
+                raf.setLength(regionLength);
+                final MappedByteBuffer buffer =
+                        MemoryMappedFileManager.mmap(raf.getChannel(), path.toString(), 0, regionLength);
+                // Touch each page, so that the page faults do not occur while logging.
+                for (int i = 0; i < regionLength; i += PAGE_SIZE) {
+                    buffer.put(i, (byte) 0);
+                }
+                return new PreparedFile(path, raf, buffer);
+            } catch (final IOException | RuntimeException ex) {
+                Closer.closeSilently(raf);
+                Files.deleteIfExists(path);
+                throw ex;
+            }
+        }
+
+        private void discard() {
+            try {
+                UnsafeUtil.clean(mappedBuffer);
+            } catch (final Exception ex) {
+                LOGGER.warn("Unable to unmap {}", path, ex);
+            }
+            Closer.closeSilently(randomAccessFile);
+            try {
+                Files.deleteIfExists(path);
+            } catch (final IOException ex) {
+                LOGGER.warn("Unable to delete {}", path, ex);
+            }
+        }
+    }
+
+    /**
+     * Factory to create a RollingMemoryMappedFileManager.
+     */
+    private static class RollingMemoryMappedFileManagerFactory
+            implements ManagerFactory<RollingMemoryMappedFileManager, FactoryData> {
+
+        /**
+         * Create the RollingMemoryMappedFileManager.
+         *
+         * @param name The name of the entity to manage.
+         * @param data The data required to create the entity.
+         * @return a RollingMemoryMappedFileManager.
+         */
+        @Override
+        @SuppressFBWarnings(
+                value = "PATH_TRAVERSAL_IN",
+                justification = "The name of the accessed files is based on a configuration value.")
+        public RollingMemoryMappedFileManager createManager(final String name, final FactoryData data) {
+            final File file = new File(name);
+            if (!data.append) {
+                file.delete();
+            }
+            final long size = data.append ? file.length() : 0;
+            final long time = file.exists() ? file.lastModified() : System.currentTimeMillis();
+            RandomAccessFile raf = null;
+            try {
+                FileUtils.makeParentDirs(file);
+                raf = new RandomAccessFile(name, "rw");
+                final RollingMemoryMappedFileManager manager = new RollingMemoryMappedFileManager(
+                        data.getLoggerContext(),
+                        raf,
+                        name,
+                        data.pattern,
+                        NullOutputStream.getInstance(),
+                        data.append,
+                        data.immediateFlush,
+                        data.regionLength,
+                        data.preallocate,
+                        size,
+                        time,
+                        data.policy,
+                        data.strategy,
+                        data.advertiseURI,
+                        data.layout,
+                        data.filePermissions,
+                        data.fileOwner,
+                        data.fileGroup);
+                if (manager.isAttributeViewEnabled()) {
+                    manager.defineAttributeView(file.toPath());
+                }
+                return manager;
+            } catch (final IOException ex) {
+                LOGGER.error("RollingMemoryMappedFileManager (" + name + ") " + ex, ex);
+                Closer.closeSilently(raf);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Factory data.
+     */
+    private static class FactoryData extends ConfigurationFactoryData {
+        private final String pattern;
+        private final boolean append;
+        private final boolean immediateFlush;
+        private final int regionLength;
+        private final boolean preallocate;
+        private final TriggeringPolicy policy;
+        private final RolloverStrategy strategy;
+        private final String advertiseURI;
+        private final Layout<? extends Serializable> layout;
+        private final String filePermissions;
+        private final String fileOwner;
+        private final String fileGroup;
+
+        public FactoryData(
+                final String pattern,
+                final boolean append,
+                final boolean immediateFlush,
+                final int regionLength,
+                final boolean preallocate,
+                final TriggeringPolicy policy,
+                final RolloverStrategy strategy,
+                final String advertiseURI,
+                final Layout<? extends Serializable> layout,
+                final String filePermissions,
+                final String fileOwner,
+                final String fileGroup,
+                final Configuration configuration) {
+            super(configuration);
+            this.pattern = pattern;
+            this.append = append;
+            this.immediateFlush = immediateFlush;
+            this.regionLength = regionLength;
+            this.preallocate = preallocate;
+            this.policy = policy;
+            this.strategy = strategy;
+            this.advertiseURI = advertiseURI;
+            this.layout = layout;
+            this.filePermissions = filePermissions;
+            this.fileOwner = fileOwner;
+            this.fileGroup = fileGroup;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public TriggeringPolicy getTriggeringPolicy() {
+            return this.policy;
+        }
+
+        public RolloverStrategy getRolloverStrategy() {
+            return this.strategy;
+        }
+    }
+
+    /**
+     * Updates the RollingFileManager's data during a reconfiguration. This method should be considered private.
+     * It is not thread safe and calling it outside of a reconfiguration may lead to errors. This method may be
+     * made protected in a future release.
+     * @param data The data to update.
+     */
+    @Override
+    public void updateData(final Object data) {
+        final FactoryData factoryData = (FactoryData) data;
+        setRolloverStrategy(factoryData.getRolloverStrategy());
+        setPatternProcessor(new PatternProcessor(factoryData.getPattern(), getPatternProcessor()));
+        setTriggeringPolicy(factoryData.getTriggeringPolicy());
+    }
+}
@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.util.Objects;
 import org.apache.commons.compress.compressors.CompressorException;
@@ -129,6 +130,24 @@ public final class CommonsCompressAction extends AbstractAction {
         return true;
     }
 
+    /**
+     * Creates a stream that compresses the data written to it.
+     *
+     * @param name the compressor name, as understood by Commons Compress, e.g. "bzip2", "xz", "zstd" or "lz4-framed".
+     * @param out the stream receiving the compressed data.
+     * @return a compressing stream.
+     * @throws IOException if the compressor is not available.
+     * @since 2.25.0
+     */
+    public static OutputStream createCompressingOutputStream(final String name, final OutputStream out)
+            throws IOException {
+        try {
+            return new CompressorStreamFactory().createCompressorOutputStream(name, out);
+        } catch (final CompressorException e) {
+            throw new IOException(e);
+        }
+    }
+
     /**
      * Reports exception.
      *
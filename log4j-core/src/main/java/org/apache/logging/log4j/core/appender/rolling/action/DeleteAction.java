@@ -40,6 +40,7 @@ public class DeleteAction extends AbstractPathAction {
     private final PathSorter pathSorter;
     private final boolean testMode;
     private final ScriptCondition scriptCondition;
+    private final RetentionIndex retentionIndex;
 
     /**
      * Creates a new DeleteAction that starts scanning for files to delete from the specified base path.
@@ -56,6 +57,7 @@ public class DeleteAction extends AbstractPathAction {
      * @param pathConditions an array of path filters (if more than one, they all need to accept a path before it is
      *            deleted).
      * @param scriptCondition
+     * @param indexed if true, the sorted files are kept in a {@link RetentionIndex} between executions.
      */
     DeleteAction(
             final String basePath,
@@ -65,11 +67,13 @@ public class DeleteAction extends AbstractPathAction {
             final PathSorter sorter,
             final PathCondition[] pathConditions,
             final ScriptCondition scriptCondition,
+            final boolean indexed,
             final StrSubstitutor subst) {
         super(basePath, followSymbolicLinks, maxDepth, pathConditions, subst);
         this.testMode = testMode;
         this.pathSorter = Objects.requireNonNull(sorter, "sorter");
         this.scriptCondition = scriptCondition;
+        this.retentionIndex = indexed ? new RetentionIndex(sorter) : null;
         if (scriptCondition == null && (pathConditions == null || pathConditions.length == 0)) {
             LOGGER.error("Missing Delete conditions: unconditional Delete not supported");
             throw new IllegalArgumentException("Unconditional Delete not supported");
@@ -123,7 +127,15 @@ public class DeleteAction extends AbstractPathAction {
      */
     protected void delete(final Path path) throws IOException {
         LOGGER.trace("Deleting {}", path);
-        Files.deleteIfExists(path);
+        final boolean deleted = Files.deleteIfExists(path);
+        if (retentionIndex != null) {
+            if (deleted) {
+                retentionIndex.fileChanged(path);
+            } else {
+                // The directory was modified behind our back
+                retentionIndex.invalidate();
+            }
+        }
     }
 
     /*
@@ -162,6 +174,9 @@ public class DeleteAction extends AbstractPathAction {
      * @throws IOException
      */
     List<PathWithAttributes> getSortedPaths() throws IOException {
+        if (retentionIndex != null) {
+            return retentionIndex.getSortedPaths(getBasePath(), getOptions(), getMaxDepth());
+        }
         final SortingVisitor sort = new SortingVisitor(pathSorter);
         super.execute(sort);
         final List<PathWithAttributes> sortedPaths = sort.getSortedPaths();
@@ -177,8 +192,26 @@ public class DeleteAction extends AbstractPathAction {
         return testMode;
     }
 
+    /**
+     * Returns the index of the files under the base path, if enabled.
+     *
+     * @return the index or {@code null} if the base path is scanned on each execution
+     * @since 2.25.0
+     */
+    public RetentionIndex getRetentionIndex() {
+        return retentionIndex;
+    }
+
     @Override
     protected FileVisitor<Path> createFileVisitor(final Path visitorBaseDir, final List<PathCondition> conditions) {
+        if (retentionIndex != null) {
+            return new DeletingVisitor(visitorBaseDir, conditions, testMode) {
+                @Override
+                protected void delete(final Path file) throws IOException {
+                    DeleteAction.this.delete(file);
+                }
+            };
+        }
         return new DeletingVisitor(visitorBaseDir, conditions, testMode);
     }
 
@@ -199,6 +232,51 @@ public class DeleteAction extends AbstractPathAction {
      *            deleted).
      * @param config The Configuration.
      * @return A DeleteAction.
+     * @deprecated since 2.25.0 use {@link #createDeleteAction(String, boolean, int, boolean, PathSorter,
+     *             PathCondition[], ScriptCondition, boolean, Configuration)}.
+     */
+    @Deprecated
+    public static DeleteAction createDeleteAction(
+            final String basePath,
+            final boolean followLinks,
+            final int maxDepth,
+            final boolean testMode,
+            final PathSorter sorterParameter,
+            final PathCondition[] pathConditions,
+            final ScriptCondition scriptCondition,
+            final Configuration config) {
+        return createDeleteAction(
+                basePath,
+                followLinks,
+                maxDepth,
+                testMode,
+                sorterParameter,
+                pathConditions,
+                scriptCondition,
+                false,
+                config);
+    }
+
+    /**
+     * Create a DeleteAction.
+     *
+     * @param basePath base path from where to start scanning for files to delete.
+     * @param followLinks whether to follow symbolic links. Default is false.
+     * @param maxDepth The maxDepth parameter is the maximum number of levels of directories to visit. A value of 0
+     *            means that only the starting file is visited, unless denied by the security manager. A value of
+     *            MAX_VALUE may be used to indicate that all levels should be visited.
+     * @param testMode if true, files are not deleted but instead a message is printed to the
+     *                 <a href="https://logging.apache.org/log4j/2.x/manual/status-logger.html">status logger</a>
+     *                 at INFO level. Users can use this to do a dry run to test if their configuration works as expected.
+     *                 Default is false.
+     * @param sorterParameter a plugin implementing the {@link PathSorter} interface
+     * @param pathConditions an array of path conditions (if more than one, they all need to accept a path before it is
+     *            deleted).
+     * @param indexed if true, the base path is only scanned on the first execution and the files changed by the
+     *                rolling file manager are tracked afterwards. Default is false.
+     * @param config The Configuration.
+     * @return A DeleteAction.
+     * @since 2.25.0
      */
     @PluginFactory
     public static DeleteAction createDeleteAction(
@@ -210,6 +288,7 @@ public class DeleteAction extends AbstractPathAction {
             @PluginElement("PathSorter") final PathSorter sorterParameter,
             @PluginElement("PathConditions") final PathCondition[] pathConditions,
             @PluginElement("ScriptCondition") final ScriptCondition scriptCondition,
+            @PluginAttribute(value = "indexed") final boolean indexed,
             @PluginConfiguration final Configuration config) {
         // @formatter:on
         final PathSorter sorter = sorterParameter == null ? new PathSortByModificationTime(true) : sorterParameter;
@@ -221,6 +300,7 @@ public class DeleteAction extends AbstractPathAction {
                 sorter,
                 pathConditions,
                 scriptCondition,
+                indexed,
                 config.getStrSubstitutor());
     }
 }
@@ -154,11 +154,35 @@ public final class GzCompressAction extends AbstractAction {
         return false;
     }
 
+    /**
+     * Creates a stream that compresses the data written to it in the GZIP format.
+     * <p>
+     * Flushing the stream flushes the compressed data written so far, so that the output can be decompressed up to the
+     * last flush.
+     * </p>
+     *
+     * @param out              the stream receiving the compressed data.
+     * @param compressionLevel Gzip deflater compression level.
+     * @return a compressing stream.
+     * @throws IOException on IO exception.
+     * @since 2.25.0
+     */
+    public static OutputStream createCompressingOutputStream(final OutputStream out, final int compressionLevel)
+            throws IOException {
+        return new ConfigurableLevelGZIPOutputStream(out, BUF_SIZE, compressionLevel, true);
+    }
+
     private static final class ConfigurableLevelGZIPOutputStream extends GZIPOutputStream {
 
         ConfigurableLevelGZIPOutputStream(final OutputStream out, final int bufSize, final int level)
                 throws IOException {
-            super(out, bufSize);
+            this(out, bufSize, level, false);
+        }
+
+        ConfigurableLevelGZIPOutputStream(
+                final OutputStream out, final int bufSize, final int level, final boolean syncFlush)
+                throws IOException {
+            super(out, bufSize, syncFlush);
             def.setLevel(level);
         }
     }
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * Sorted list of the files under the base path of a {@link DeleteAction}, kept up to date incrementally.
+ * <p>
+ * The files below the base path are scanned once. Afterwards, only the files reported through
+ * {@link #fileChanged(Path)} are read again, which spares the attribute lookup and sorting of every file on each
+ * rollover. The rolling file manager reports the files it creates, renames and deletes. Changes made by other processes
+ * are not seen, unless they cause a mismatch, in which case the base path is scanned again.
+ * </p>
+ *
+ * @since 2.25.0
+ */
+public final class RetentionIndex {
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+    private static final LinkOption[] NO_LINK_OPTIONS = new LinkOption[0];
+    private static final LinkOption[] NOFOLLOW_LINKS = {LinkOption.NOFOLLOW_LINKS};
+
+    private final PathSorter sorter;
+    private final Map<Path, PathWithAttributes> entries = new HashMap<>();
+    private final List<PathWithAttributes> sortedPaths = new ArrayList<>();
+    private final Set<Path> changedPaths = new LinkedHashSet<>();
+    private Path basePath;
+    private Path absoluteBasePath;
+    private boolean valid;
+
+    RetentionIndex(final PathSorter sorter) {
+        this.sorter = Objects.requireNonNull(sorter, "sorter");
+    }
+
+    /**
+     * Records that a file was created, modified, renamed or deleted. Its attributes are read again before the next
+     * evaluation of the retention conditions.
+     *
+     * @param path the changed file
+     */
+    public synchronized void fileChanged(final Path path) {
+        if (valid) {
+            changedPaths.add(path.toAbsolutePath().normalize());
+        }
+    }
+
+    /**
+     * Discards the content of the index, so that the base path is scanned again on next use.
+     */
+    public synchronized void invalidate() {
+        valid = false;
+        entries.clear();
+        sortedPaths.clear();
+        changedPaths.clear();
+    }
+
+    /**
+     * Returns whether the base path needs to be scanned on next use.
+     *
+     * @return {@code false} if the index is up to date
+     */
+    public synchronized boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Returns a sorted copy of the files up to {@code maxDepth} under {@code basePath}.
+     */
+    synchronized List<PathWithAttributes> getSortedPaths(
+            final Path basePath, final Set<FileVisitOption> options, final int maxDepth) throws IOException {
+        final Path absoluteBasePath = basePath.toAbsolutePath().normalize();
+        if (valid && absoluteBasePath.equals(this.absoluteBasePath)) {
+            update(options, maxDepth);
+        } else {
+            scan(basePath, absoluteBasePath, options, maxDepth);
+        }
+        return new ArrayList<>(sortedPaths);
+    }
+
+    private void scan(
+            final Path basePath, final Path absoluteBasePath, final Set<FileVisitOption> options, final int maxDepth)
+            throws IOException {
+        invalidate();
+        final SortingVisitor visitor = new SortingVisitor(sorter);
+        Files.walkFileTree(basePath, options, maxDepth, visitor);
+        for (final PathWithAttributes element : visitor.getSortedPaths()) {
+            entries.put(element.getPath().toAbsolutePath().normalize(), element);
+            sortedPaths.add(element);
+        }
+        this.basePath = basePath;
+        this.absoluteBasePath = absoluteBasePath;
+        valid = true;
+        LOGGER.debug("Indexed {} files under {}", sortedPaths.size(), basePath);
+    }
+
+    private void update(final Set<FileVisitOption> options, final int maxDepth) throws IOException {
+        final LinkOption[] linkOptions =
+                options.contains(FileVisitOption.FOLLOW_LINKS) ? NO_LINK_OPTIONS : NOFOLLOW_LINKS;
+        for (final Path changed : changedPaths) {
+            if (!changed.startsWith(absoluteBasePath)) {
+                continue;
+            }
+            final Path relative = absoluteBasePath.relativize(changed);
+            final int depth = relative.toString().isEmpty() ? 0 : relative.getNameCount();
+            final PathWithAttributes previous = entries.remove(changed);
+            if (previous != null) {
+                sortedPaths.remove(previous);
+            }
+            if (depth == 0 || depth > maxDepth) {
+                continue;
+            }
+            final BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(changed, BasicFileAttributes.class, linkOptions);
+            } catch (final NoSuchFileException ex) {
+                continue;
+            }
+            // Files.walkFileTree only passes directories to visitFile at the maximum depth
+            if (attributes.isDirectory() && depth < maxDepth) {
+                continue;
+            }
+            final PathWithAttributes element = new PathWithAttributes(basePath.resolve(relative), attributes);
+            entries.put(changed, element);
+            final int index = Collections.binarySearch(sortedPaths, element, sorter);
+            sortedPaths.add(index < 0 ? -index - 1 : index, element);
+        }
+        changedPaths.clear();
+    }
+}
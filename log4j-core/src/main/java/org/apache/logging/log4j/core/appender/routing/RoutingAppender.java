@@ -38,6 +38,7 @@ import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
 import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.lookup.StrTemplate;
 import org.apache.logging.log4j.core.script.AbstractScript;
 import org.apache.logging.log4j.core.script.ScriptManager;
 import org.apache.logging.log4j.core.script.ScriptRef;
@@ -159,6 +160,7 @@ public final class RoutingAppender extends AbstractAppender {
     private final RewritePolicy rewritePolicy;
     private final PurgePolicy purgePolicy;
     private final AbstractScript defaultRouteScript;
+    private final StrTemplate patternTemplate;
     private final ConcurrentMap<Object, Object> scriptStaticVariables = new ConcurrentHashMap<>();
 
     private RoutingAppender(
@@ -180,6 +182,12 @@ public final class RoutingAppender extends AbstractAppender {
             this.purgePolicy.initialize(this);
         }
         this.defaultRouteScript = defaultRouteScript;
+        // Without a script, the pattern is the same for each event.
+        final String pattern =
+                routes.getPatternScript() == null ? routes.getPattern(null, scriptStaticVariables) : null;
+        this.patternTemplate = configuration != null && pattern != null
+                ? new StrTemplate(configuration.getStrSubstitutor(), pattern)
+                : null;
         Route defRoute = null;
         for (final Route route : routes.getRoutes()) {
             if (route.getKey() == null) {
@@ -246,10 +254,15 @@ public final class RoutingAppender extends AbstractAppender {
         if (rewritePolicy != null) {
             event = rewritePolicy.rewrite(event);
         }
-        final String pattern = routes.getPattern(event, scriptStaticVariables);
-        final String key = pattern != null
-                ? configuration.getStrSubstitutor().replace(event, pattern)
-                : defaultRoute.getKey() != null ? defaultRoute.getKey() : DEFAULT_KEY;
+        final String key;
+        if (patternTemplate != null) {
+            key = patternTemplate.format(event);
+        } else {
+            final String pattern = routes.getPattern(event, scriptStaticVariables);
+            key = pattern != null
+                    ? configuration.getStrSubstitutor().replace(event, pattern)
+                    : defaultRoute.getKey() != null ? defaultRoute.getKey() : DEFAULT_KEY;
+        }
         final RouteAppenderControl control = getControl(key, event);
         if (control != null) {
             try {
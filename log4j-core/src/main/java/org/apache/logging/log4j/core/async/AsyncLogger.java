@@ -17,7 +17,6 @@
 package org.apache.logging.log4j.core.async;
 
 import com.lmax.disruptor.EventTranslatorVararg;
-import com.lmax.disruptor.dsl.Disruptor;
 import java.util.List;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Marker;
@@ -142,7 +141,15 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
             final StackTraceElement location,
             final Message message,
             final Throwable throwable) {
-        getTranslatorType().log(fqcn, location, level, marker, message, throwable);
+        // The fluent API passes a null location, unless the caller requested it with `withLocation()`
+        getTranslatorType()
+                .log(
+                        fqcn,
+                        location != null ? location : calcLocationIfRequested(fqcn),
+                        level,
+                        marker,
+                        message,
+                        throwable);
     }
 
     abstract class TranslatorType {
@@ -391,8 +398,7 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
             final String fqcn, final Level level, final Marker marker, final Message message, final Throwable thrown) {
         // Implementation note: candidate for optimization: exceeds 35 bytecodes.
 
-        final Disruptor<RingBufferLogEvent> disruptor = loggerDisruptor.getDisruptor();
-        if (disruptor == null) {
+        if (!loggerDisruptor.hasRingBuffer()) {
             LOGGER.error("Ignoring log event after Log4j has been shut down.");
             return;
         }
@@ -402,17 +408,15 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
         }
         StackTraceElement location = null;
         // calls the translateTo method on this AsyncLogger
-        if (!disruptor
-                .getRingBuffer()
-                .tryPublishEvent(
-                        this,
-                        this, // asyncLogger: 0
-                        (location = calcLocationIfRequested(fqcn)), // location: 1
-                        fqcn, // 2
-                        level, // 3
-                        marker, // 4
-                        message, // 5
-                        thrown)) { // 6
+        if (!loggerDisruptor.tryPublish(
+                this,
+                this, // asyncLogger: 0
+                (location = calcLocationIfRequested(fqcn)), // location: 1
+                fqcn, // 2
+                level, // 3
+                marker, // 4
+                message, // 5
+                thrown)) { // 6
             handleRingBufferFull(location, fqcn, level, marker, message, thrown);
         }
     }
@@ -439,8 +443,7 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
             final Throwable thrown) {
         // Implementation note: candidate for optimization: exceeds 35 bytecodes.
 
-        final Disruptor<RingBufferLogEvent> disruptor = loggerDisruptor.getDisruptor();
-        if (disruptor == null) {
+        if (!loggerDisruptor.hasRingBuffer()) {
             LOGGER.error("Ignoring log event after Log4j has been shut down.");
             return;
         }
@@ -449,16 +452,14 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
             InternalAsyncUtil.makeMessageImmutable(message);
         }
         // calls the translateTo method on this AsyncLogger
-        if (!disruptor
-                .getRingBuffer()
-                .tryPublishEvent(
-                        this, this, // asyncLogger: 0
-                        location, // location: 1
-                        fqcn, // 2
-                        level, // 3
-                        marker, // 4
-                        message, // 5
-                        thrown)) { // 6
+        if (!loggerDisruptor.tryPublish(
+                this, this, // asyncLogger: 0
+                location, // location: 1
+                fqcn, // 2
+                level, // 3
+                marker, // 4
+                message, // 5
+                thrown)) { // 6
             handleRingBufferFull(location, fqcn, level, marker, message, thrown);
         }
     }
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.core.Core;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.LogEvent;
@@ -37,7 +38,9 @@ import org.apache.logging.log4j.core.config.plugins.PluginElement;
 import org.apache.logging.log4j.core.config.plugins.validation.constraints.Required;
 import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
 import org.apache.logging.log4j.core.util.Booleans;
+import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.spi.AbstractLogger;
+import org.apache.logging.log4j.util.StackLocatorUtil;
 import org.apache.logging.log4j.util.Strings;
 
 /**
@@ -122,6 +125,64 @@ public class AsyncLoggerConfig extends LoggerConfig {
         return delegate;
     }
 
+    @Override
+    public void log(
+            final String loggerName,
+            final String fqcn,
+            final Marker marker,
+            final Level level,
+            final Message data,
+            final Throwable t) {
+        if (!logToAsyncDelegate(loggerName, fqcn, null, marker, level, data, t)) {
+            super.log(loggerName, fqcn, marker, level, data, t);
+        }
+    }
+
+    @Override
+    public void log(
+            final String loggerName,
+            final String fqcn,
+            final StackTraceElement location,
+            final Marker marker,
+            final Level level,
+            final Message data,
+            final Throwable t) {
+        if (!logToAsyncDelegate(loggerName, fqcn, location, marker, level, data, t)) {
+            super.log(loggerName, fqcn, location, marker, level, data, t);
+        }
+    }
+
+    /**
+     * Writes the log event data directly into the ringbuffer, if there is nothing to do on the calling thread.
+     *
+     * @return {@code true} if the event was enqueued, {@code false} if a log event must be created
+     */
+    private boolean logToAsyncDelegate(
+            final String loggerName,
+            final String fqcn,
+            final StackTraceElement location,
+            final Marker marker,
+            final Level level,
+            final Message data,
+            final Throwable t) {
+        // Only possible if the synchronous execution path of log(LogEvent, LoggerConfigPredicate) has nothing to do:
+        // no filters to apply and no synchronous appenders to call.
+        if (ASYNC_LOGGER_ENTERED.get() == Boolean.FALSE
+                && hasAppenders()
+                && !isPropertiesRequireLookup()
+                && !requiresProcessing(LoggerConfigPredicate.SYNCHRONOUS_ONLY)) {
+            ASYNC_LOGGER_ENTERED.set(Boolean.TRUE);
+            try {
+                final StackTraceElement source =
+                        location == null && requiresLocation() ? StackLocatorUtil.calcLocation(fqcn) : location;
+                return delegate.tryEnqueue(this, loggerName, fqcn, source, marker, level, data, getPropertyList(), t);
+            } finally {
+                ASYNC_LOGGER_ENTERED.set(Boolean.FALSE);
+            }
+        }
+        return false;
+    }
+
     @Override
     protected void log(final LogEvent event, final LoggerConfigPredicate predicate) {
         // See LOG4J2-2301
@@ -16,10 +16,14 @@
  */
 package org.apache.logging.log4j.core.async;
 
+import java.util.List;
 import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.impl.LogEventFactory;
 import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+import org.apache.logging.log4j.message.Message;
 
 /**
  * Encapsulates the mechanism used to log asynchronously. There is one delegate per configuration, which is shared by
@@ -54,6 +58,40 @@ public interface AsyncLoggerConfigDelegate {
 
     boolean tryEnqueue(LogEvent event, AsyncLoggerConfig asyncLoggerConfig);
 
+    /**
+     * Tries to write the specified log event data directly into the mixed configuration ringbuffer, without creating an
+     * intermediate {@link LogEvent}. The caller must have applied the filters and logged to the synchronous loggers.
+     * <p>
+     * If this method returns {@code false}, the caller falls back to {@link #tryEnqueue(LogEvent, AsyncLoggerConfig)}.
+     * The default implementation always returns {@code false}.
+     * </p>
+     *
+     * @param asyncLoggerConfig the logger config that logs the event in the background thread
+     * @param loggerName The name of the Logger.
+     * @param fqcn The fully qualified class name of the caller.
+     * @param location The location of the caller or {@code null}.
+     * @param marker A Marker or null if none is present.
+     * @param level The event Level.
+     * @param data The Message.
+     * @param properties Properties to be added to the log event.
+     * @param t A Throwable or null.
+     * @return {@code true} if the event was enqueued, {@code false} if the ringbuffer is full or if this delegate
+     * can not write log event data directly
+     * @since 2.25.0
+     */
+    default boolean tryEnqueue(
+            final AsyncLoggerConfig asyncLoggerConfig,
+            final String loggerName,
+            final String fqcn,
+            final StackTraceElement location,
+            final Marker marker,
+            final Level level,
+            final Message data,
+            final List<Property> properties,
+            final Throwable t) {
+        return false;
+    }
+
     /**
      * Notifies the delegate what LogEventFactory an AsyncLoggerConfig is using, so the delegate can determine
      * whether to populate the ring buffer with mutable log events or not. This method may be invoked multiple times
@@ -18,6 +18,7 @@ package org.apache.logging.log4j.core.async;
 
 import com.lmax.disruptor.EventFactory;
 import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslator;
 import com.lmax.disruptor.EventTranslatorTwoArg;
 import com.lmax.disruptor.ExceptionHandler;
 import com.lmax.disruptor.RingBuffer;
@@ -27,19 +28,22 @@ import com.lmax.disruptor.TimeoutException;
 import com.lmax.disruptor.WaitStrategy;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
+import java.util.List;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.core.AbstractLifeCycle;
 import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.impl.LogEventFactory;
 import org.apache.logging.log4j.core.impl.MutableLogEvent;
 import org.apache.logging.log4j.core.impl.ReusableLogEventFactory;
 import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
 import org.apache.logging.log4j.core.util.Log4jThread;
-import org.apache.logging.log4j.core.util.Log4jThreadFactory;
 import org.apache.logging.log4j.core.util.Throwables;
+import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.message.ReusableMessage;
 
 /**
@@ -172,6 +176,77 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
                 ringBufferElement.loggerConfig = loggerConfig;
             };
 
+    /**
+     * Object responsible for writing log event data directly into a RingBuffer event with a MutableLogEvent. Instances
+     * are cached in a {@code ThreadLocal}, which is only used if thread locals are enabled.
+     */
+    private static final class MutableEventTranslator implements EventTranslator<Log4jEventWrapper> {
+
+        private final long threadId = Thread.currentThread().getId();
+        private String threadName = Thread.currentThread().getName();
+        private int threadPriority = Thread.currentThread().getPriority();
+        private ReusableLogEventFactory logEventFactory;
+        private AsyncLoggerConfig loggerConfig;
+        private String loggerName;
+        private String fqcn;
+        private StackTraceElement location;
+        private Marker marker;
+        private Level level;
+        private Message message;
+        private List<Property> properties;
+        private Throwable thrown;
+
+        @Override
+        public void translateTo(final Log4jEventWrapper ringBufferElement, final long sequence) {
+            final MutableLogEvent event = (MutableLogEvent) ringBufferElement.event;
+            logEventFactory.initEvent(event, loggerName, marker, fqcn, location, level, message, properties, thrown);
+            event.setThreadId(threadId);
+            event.setThreadName(threadName);
+            event.setThreadPriority(threadPriority);
+            ringBufferElement.loggerConfig = loggerConfig;
+        }
+
+        void setValues(
+                final ReusableLogEventFactory aLogEventFactory,
+                final AsyncLoggerConfig aLoggerConfig,
+                final String aLoggerName,
+                final String theFqcn,
+                final StackTraceElement aLocation,
+                final Marker aMarker,
+                final Level aLevel,
+                final Message msg,
+                final List<Property> theProperties,
+                final Throwable aThrowable) {
+            this.logEventFactory = aLogEventFactory;
+            this.loggerConfig = aLoggerConfig;
+            this.loggerName = aLoggerName;
+            this.fqcn = theFqcn;
+            this.location = aLocation;
+            this.marker = aMarker;
+            this.level = aLevel;
+            this.message = msg;
+            this.properties = theProperties;
+            this.thrown = aThrowable;
+            if (THREAD_NAME_CACHING_STRATEGY == ThreadNameCachingStrategy.UNCACHED) {
+                final Thread currentThread = Thread.currentThread();
+                this.threadName = currentThread.getName();
+                this.threadPriority = currentThread.getPriority();
+            }
+        }
+
+        /**
+         * Release references held by this object to allow objects to be garbage-collected.
+         */
+        void clear() {
+            setValues(null, null, null, null, null, null, null, null, null, null);
+        }
+    }
+
+    private static final ThreadNameCachingStrategy THREAD_NAME_CACHING_STRATEGY = ThreadNameCachingStrategy.create();
+
+    private static final ThreadLocal<MutableEventTranslator> MUTABLE_EVENT_TRANSLATOR =
+            ThreadLocal.withInitial(MutableEventTranslator::new);
+
     private Log4jEventWrapperHandler createEventHandler() {
         if (DisruptorUtil.DISRUPTOR_MAJOR_VERSION == 3) {
             try {
@@ -196,12 +271,24 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
     private EventTranslatorTwoArg<Log4jEventWrapper, LogEvent, AsyncLoggerConfig> translator;
     private volatile boolean alreadyLoggedWarning;
     private final AsyncWaitStrategyFactory asyncWaitStrategyFactory;
+    private final AsyncThreadFactory asyncThreadFactory;
     private WaitStrategy waitStrategy;
 
     private final Object queueFullEnqueueLock = new Object();
 
     public AsyncLoggerConfigDisruptor(final AsyncWaitStrategyFactory asyncWaitStrategyFactory) {
+        this(asyncWaitStrategyFactory, null);
+    }
+
+    /**
+     * @param asyncWaitStrategyFactory the configured wait strategy factory, may be null
+     * @param asyncThreadFactory the configured thread factory, may be null
+     * @since 2.25.0
+     */
+    public AsyncLoggerConfigDisruptor(
+            final AsyncWaitStrategyFactory asyncWaitStrategyFactory, final AsyncThreadFactory asyncThreadFactory) {
         this.asyncWaitStrategyFactory = asyncWaitStrategyFactory; // may be null
+        this.asyncThreadFactory = asyncThreadFactory; // may be null
     }
 
     // package-protected for testing
@@ -234,13 +321,11 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
         ringBufferSize = DisruptorUtil.calculateRingBufferSize("AsyncLoggerConfig.RingBufferSize");
         waitStrategy = DisruptorUtil.createWaitStrategy("AsyncLoggerConfig.WaitStrategy", asyncWaitStrategyFactory);
 
-        final ThreadFactory threadFactory = new Log4jThreadFactory("AsyncLoggerConfig", true, Thread.NORM_PRIORITY) {
-            @Override
-            public Thread newThread(final Runnable r) {
-                final Thread result = super.newThread(r);
-                backgroundThreadId = result.getId();
-                return result;
-            }
+        final ThreadFactory delegate = DisruptorUtil.createThreadFactory("AsyncLoggerConfig", asyncThreadFactory);
+        final ThreadFactory threadFactory = r -> {
+            final Thread result = delegate.newThread(r);
+            backgroundThreadId = result.getId();
+            return result;
         };
         asyncQueueFullPolicy = AsyncQueueFullPolicyFactory.create();
 
@@ -299,12 +384,7 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
         }
         LOGGER.trace("AsyncLoggerConfigDisruptor: disruptor has been shut down.");
 
-        if (DiscardingAsyncQueueFullPolicy.getDiscardCount(asyncQueueFullPolicy) > 0) {
-            LOGGER.trace(
-                    "AsyncLoggerConfigDisruptor: {} discarded {} events.",
-                    asyncQueueFullPolicy,
-                    DiscardingAsyncQueueFullPolicy.getDiscardCount(asyncQueueFullPolicy));
-        }
+        AsyncQueueFullMessageUtil.logDiscardCountsToStatusLogger("AsyncLoggerConfigDisruptor", asyncQueueFullPolicy);
         setStopped();
         return true;
     }
@@ -427,6 +507,45 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
         return disruptor.getRingBuffer().tryPublishEvent(translator, logEvent, asyncLoggerConfig);
     }
 
+    @Override
+    public boolean tryEnqueue(
+            final AsyncLoggerConfig asyncLoggerConfig,
+            final String loggerName,
+            final String fqcn,
+            final StackTraceElement location,
+            final Marker marker,
+            final Level level,
+            final Message data,
+            final List<Property> properties,
+            final Throwable t) {
+        final Disruptor<Log4jEventWrapper> temp = disruptor;
+        final LogEventFactory logEventFactory = asyncLoggerConfig.getLogEventFactory();
+        if (temp == null || translator != MUTABLE_TRANSLATOR || !(logEventFactory instanceof ReusableLogEventFactory)) {
+            return false;
+        }
+        if (!(data instanceof ReusableMessage)) {
+            // ReusableMessages are copied by MutableLogEvent.setMessage
+            InternalAsyncUtil.makeMessageImmutable(data); // LOG4J2-1988, LOG4J2-1914
+        }
+        final MutableEventTranslator mutableEventTranslator = MUTABLE_EVENT_TRANSLATOR.get();
+        mutableEventTranslator.setValues(
+                (ReusableLogEventFactory) logEventFactory,
+                asyncLoggerConfig,
+                loggerName,
+                fqcn,
+                location,
+                marker,
+                level,
+                data,
+                properties,
+                t);
+        try {
+            return temp.getRingBuffer().tryPublishEvent(mutableEventTranslator);
+        } finally {
+            mutableEventTranslator.clear();
+        }
+    }
+
     private LogEvent ensureImmutable(final LogEvent event) {
         LogEvent result = event;
         if (event instanceof RingBufferLogEvent) {
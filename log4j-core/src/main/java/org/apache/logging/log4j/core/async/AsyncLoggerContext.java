@@ -35,26 +35,30 @@ public class AsyncLoggerContext extends LoggerContext {
 
     public AsyncLoggerContext(final String name) {
         super(name);
-        loggerDisruptor =
-                new AsyncLoggerDisruptor(name, () -> getConfiguration().getAsyncWaitStrategyFactory());
+        loggerDisruptor = new AsyncLoggerDisruptor(
+                name, () -> getConfiguration().getAsyncWaitStrategyFactory(), () -> getConfiguration()
+                        .getAsyncThreadFactory());
     }
 
     public AsyncLoggerContext(final String name, final Object externalContext) {
         super(name, externalContext);
-        loggerDisruptor =
-                new AsyncLoggerDisruptor(name, () -> getConfiguration().getAsyncWaitStrategyFactory());
+        loggerDisruptor = new AsyncLoggerDisruptor(
+                name, () -> getConfiguration().getAsyncWaitStrategyFactory(), () -> getConfiguration()
+                        .getAsyncThreadFactory());
     }
 
     public AsyncLoggerContext(final String name, final Object externalContext, final URI configLocn) {
         super(name, externalContext, configLocn);
-        loggerDisruptor =
-                new AsyncLoggerDisruptor(name, () -> getConfiguration().getAsyncWaitStrategyFactory());
+        loggerDisruptor = new AsyncLoggerDisruptor(
+                name, () -> getConfiguration().getAsyncWaitStrategyFactory(), () -> getConfiguration()
+                        .getAsyncThreadFactory());
     }
 
     public AsyncLoggerContext(final String name, final Object externalContext, final String configLocn) {
         super(name, externalContext, configLocn);
-        loggerDisruptor =
-                new AsyncLoggerDisruptor(name, () -> getConfiguration().getAsyncWaitStrategyFactory());
+        loggerDisruptor = new AsyncLoggerDisruptor(
+                name, () -> getConfiguration().getAsyncWaitStrategyFactory(), () -> getConfiguration()
+                        .getAsyncThreadFactory());
     }
 
     @Override
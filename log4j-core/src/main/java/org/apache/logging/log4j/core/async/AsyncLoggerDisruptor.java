@@ -27,13 +27,13 @@ import com.lmax.disruptor.dsl.ProducerType;
 import java.util.Objects;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Supplier;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.core.AbstractLifeCycle;
 import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
 import org.apache.logging.log4j.core.util.Log4jThread;
-import org.apache.logging.log4j.core.util.Log4jThreadFactory;
 import org.apache.logging.log4j.core.util.Throwables;
 import org.apache.logging.log4j.message.Message;
 
@@ -42,10 +42,25 @@ import org.apache.logging.log4j.message.Message;
  * works with its associated AsyncLoggerContext to synchronize the life cycle of the Disruptor and its thread with the
  * life cycle of the context. The AsyncLoggerDisruptor of the context is shared by all AsyncLogger objects created by
  * that AsyncLoggerContext.
+ * <p>
+ * If {@code log4j2.asyncLoggerRingBufferShards} is greater than one, events are distributed among that many
+ * Disruptors, each with its own background thread. Producer threads are assigned to a shard based on their thread ID,
+ * hence the events of a single thread are always processed in order.
+ * </p>
+ * <p>
+ * If {@code log4j2.asyncLoggerBackend} is {@code Queue}, a {@link RingBufferLogEventQueue} is used instead of each
+ * Disruptor.
+ * </p>
+ * <p>
+ * If {@code log4j2.asyncLoggerRingBufferMaxSize} is greater than the ring buffer size, the ring buffers are replaced
+ * by larger ones under sustained pressure, up to that size. The pressure is sustained if application threads found
+ * the ring buffers full at least {@code log4j2.asyncLoggerRingBufferGrowthThreshold} times within a second.
+ * </p>
  */
 class AsyncLoggerDisruptor extends AbstractLifeCycle {
     private static final int SLEEP_MILLIS_BETWEEN_DRAIN_ATTEMPTS = 50;
     private static final int MAX_DRAIN_ATTEMPTS_BEFORE_SHUTDOWN = 200;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
 
     /**
      * Creates an appropriate event handler for the Disruptor library used.
@@ -67,21 +82,40 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
 
     private final Object queueFullEnqueueLock = new Object();
 
-    private volatile Disruptor<RingBufferLogEvent> disruptor;
+    private volatile Disruptor<RingBufferLogEvent>[] disruptors;
+    private volatile RingBufferLogEventQueue[] queues;
     private String contextName;
     private final Supplier<AsyncWaitStrategyFactory> waitStrategyFactorySupplier;
+    private final Supplier<AsyncThreadFactory> threadFactorySupplier;
+    private final RingBufferTelemetry telemetry;
 
     private boolean useThreadLocalTranslator = true;
-    private long backgroundThreadId;
+    private volatile long backgroundThreadId;
+    private volatile long[] backgroundThreadIds;
     private AsyncQueueFullPolicy asyncQueueFullPolicy;
-    private int ringBufferSize;
+    private PriorityAsyncQueueFullPolicy priorityPolicy;
+    private volatile int ringBufferSize;
+    private int maxRingBufferSize;
+    private RingBufferGrowthTrigger growthTrigger;
     private WaitStrategy waitStrategy;
+    private AsyncWaitStrategyFactory waitStrategyFactory;
+    private ThreadFactory threadFactory;
+    private boolean queueBackend;
+    // Application threads publishing to the current ring buffers, null if they cannot grow
+    private volatile Publishers publishers;
+    // The following fields are guarded by this
+    private Handover pendingHandover;
+    private Thread handoverThread;
 
     AsyncLoggerDisruptor(
-            final String contextName, final Supplier<AsyncWaitStrategyFactory> waitStrategyFactorySupplier) {
+            final String contextName,
+            final Supplier<AsyncWaitStrategyFactory> waitStrategyFactorySupplier,
+            final Supplier<AsyncThreadFactory> threadFactorySupplier) {
         this.contextName = contextName;
         this.waitStrategyFactorySupplier =
                 Objects.requireNonNull(waitStrategyFactorySupplier, "waitStrategyFactorySupplier");
+        this.threadFactorySupplier = Objects.requireNonNull(threadFactorySupplier, "threadFactorySupplier");
+        this.telemetry = new RingBufferTelemetry(DisruptorUtil.getAsyncLoggerTelemetryListener());
     }
 
     // package-protected for testing
@@ -97,8 +131,48 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
         contextName = name;
     }
 
+    /**
+     * Returns the Disruptor the current thread publishes to, or {@code null} if the Disruptors have been shut down or
+     * the queue backend is used.
+     */
     Disruptor<RingBufferLogEvent> getDisruptor() {
-        return disruptor;
+        return selectShard(disruptors);
+    }
+
+    /**
+     * Returns the queue the current thread publishes to, or {@code null} if the queues have been shut down or the
+     * Disruptor backend is used.
+     */
+    // package-protected for testing
+    RingBufferLogEventQueue getQueue() {
+        return selectShard(queues);
+    }
+
+    private static <T> T selectShard(final T[] shards) {
+        if (shards == null) {
+            return null;
+        }
+        final int shardCount = shards.length;
+        return shardCount == 1
+                ? shards[0]
+                : shards[(int) (Thread.currentThread().getId() % shardCount)];
+    }
+
+    /**
+     * Returns {@code true} if this AsyncLoggerDisruptor is started and not shut down.
+     */
+    boolean hasRingBuffer() {
+        return disruptors != null || queues != null;
+    }
+
+    // package-protected for testing
+    int getShardCount() {
+        final Disruptor<RingBufferLogEvent>[] temp = disruptors;
+        if (temp != null) {
+            return temp.length;
+        }
+        final RingBufferLogEventQueue[] tempQueues = queues;
+        return tempQueues == null ? 0 : tempQueues.length;
     }
 
     /**
@@ -108,7 +182,7 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
      */
     @Override
     public synchronized void start() {
-        if (disruptor != null) {
+        if (hasRingBuffer()) {
             LOGGER.trace(
                     "[{}] AsyncLoggerDisruptor not starting new disruptor for this context, using existing object.",
                     contextName);
@@ -120,38 +194,53 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
         }
         setStarting();
         LOGGER.trace("[{}] AsyncLoggerDisruptor creating new disruptor for this context.", contextName);
-        ringBufferSize = DisruptorUtil.calculateRingBufferSize("AsyncLogger.RingBufferSize");
-        final AsyncWaitStrategyFactory factory = waitStrategyFactorySupplier.get(); // get factory from configuration
-        waitStrategy = DisruptorUtil.createWaitStrategy("AsyncLogger.WaitStrategy", factory);
-
-        final ThreadFactory threadFactory =
-                new Log4jThreadFactory("AsyncLogger[" + contextName + "]", true, Thread.NORM_PRIORITY) {
-                    @Override
-                    public Thread newThread(final Runnable r) {
-                        final Thread result = super.newThread(r);
-                        backgroundThreadId = result.getId();
-                        return result;
-                    }
-                };
-        asyncQueueFullPolicy = AsyncQueueFullPolicyFactory.create();
-
-        disruptor = new Disruptor<>(
-                RingBufferLogEvent.FACTORY, ringBufferSize, threadFactory, ProducerType.MULTI, waitStrategy);
-
-        final ExceptionHandler<RingBufferLogEvent> errorHandler = DisruptorUtil.getAsyncLoggerExceptionHandler();
-        disruptor.setDefaultExceptionHandler(errorHandler);
+        final int shardCount = DisruptorUtil.calculateRingBufferShardCount("AsyncLogger.RingBufferShards");
+        int size = DisruptorUtil.calculateRingBufferSize("AsyncLogger.RingBufferSize");
+        if (shardCount > 1) {
+            size = DisruptorUtil.calculateShardRingBufferSize(size, shardCount);
+        }
+        ringBufferSize = size;
+        maxRingBufferSize =
+                DisruptorUtil.calculateMaxRingBufferSize("AsyncLogger.RingBufferMaxSize", ringBufferSize, shardCount);
+        if (maxRingBufferSize > ringBufferSize) {
+            growthTrigger = new RingBufferGrowthTrigger(
+                    DisruptorUtil.calculateRingBufferGrowthThreshold("AsyncLogger.RingBufferGrowthThreshold"),
+                    System.nanoTime());
+            publishers = new Publishers(shardCount);
+        } else {
+            growthTrigger = null;
+            publishers = null;
+        }
+        waitStrategyFactory = waitStrategyFactorySupplier.get(); // get factory from configuration
 
-        final EventHandler<RingBufferLogEvent> handler = createEventHandler();
-        disruptor.handleEventsWith(handler);
+        final ThreadFactory delegate =
+                DisruptorUtil.createThreadFactory("AsyncLogger[" + contextName + "]", threadFactorySupplier.get());
+        threadFactory = r -> {
+            final Thread result = delegate.newThread(r);
+            backgroundThreadId = result.getId();
+            return result;
+        };
+        asyncQueueFullPolicy = AsyncQueueFullPolicyFactory.create();
+        priorityPolicy = asyncQueueFullPolicy instanceof PriorityAsyncQueueFullPolicy
+                ? (PriorityAsyncQueueFullPolicy) asyncQueueFullPolicy
+                : null;
 
-        LOGGER.debug(
-                "[{}] Starting AsyncLogger disruptor for this context with ringbufferSize={}, waitStrategy={}, "
-                        + "exceptionHandler={}...",
-                contextName,
-                disruptor.getRingBuffer().getBufferSize(),
-                waitStrategy.getClass().getSimpleName(),
-                errorHandler);
-        disruptor.start();
+        queueBackend = DisruptorUtil.isQueueBackend("AsyncLogger.Backend");
+        if (queueBackend) {
+            if (waitStrategyFactory != null) {
+                LOGGER.warn(
+                        "[{}] AsyncWaitStrategyFactory {} is ignored by the queue backend, using the default wait strategy.",
+                        contextName,
+                        waitStrategyFactory.getClass().getName());
+            }
+            final RingBufferLogEventQueue[] shards = createQueues(shardCount, ringBufferSize);
+            setBackgroundThreadIds(startQueues(shards));
+            queues = shards;
+        } else {
+            final Disruptor<RingBufferLogEvent>[] shards = createDisruptors(shardCount, ringBufferSize);
+            setBackgroundThreadIds(startDisruptors(shards));
+            disruptors = shards;
+        }
 
         LOGGER.trace(
                 "[{}] AsyncLoggers use a {} translator",
@@ -160,69 +249,393 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
         super.start();
     }
 
+    private Disruptor<RingBufferLogEvent>[] createDisruptors(final int shardCount, final int size) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final Disruptor<RingBufferLogEvent>[] shards = new Disruptor[shardCount];
+        for (int shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+            // Wait strategies may hold state about the waiting consumer, hence they cannot be shared.
+            final WaitStrategy shardWaitStrategy =
+                    DisruptorUtil.createWaitStrategy("AsyncLogger.WaitStrategy", waitStrategyFactory);
+            if (shardIndex == 0) {
+                waitStrategy = shardWaitStrategy;
+            }
+            final Disruptor<RingBufferLogEvent> shard = new Disruptor<>(
+                    RingBufferLogEvent.FACTORY, size, threadFactory, ProducerType.MULTI, shardWaitStrategy);
+
+            final ExceptionHandler<RingBufferLogEvent> errorHandler = DisruptorUtil.getAsyncLoggerExceptionHandler();
+            shard.setDefaultExceptionHandler(errorHandler);
+
+            final EventHandler<RingBufferLogEvent> handler = createEventHandler();
+            if (handler instanceof RingBufferLogEventHandler4) {
+                ((RingBufferLogEventHandler4) handler).setTelemetry(telemetry);
+                ((RingBufferLogEventHandler4) handler).setEvictionPolicy(priorityPolicy);
+            }
+            shard.handleEventsWith(handler);
+
+            LOGGER.debug(
+                    "[{}] Creating AsyncLogger disruptor {}/{} for this context with ringbufferSize={}, "
+                            + "waitStrategy={}, exceptionHandler={}...",
+                    contextName,
+                    shardIndex + 1,
+                    shardCount,
+                    shard.getRingBuffer().getBufferSize(),
+                    shardWaitStrategy.getClass().getSimpleName(),
+                    errorHandler);
+            shards[shardIndex] = shard;
+        }
+        return shards;
+    }
+
+    /**
+     * Starts the specified disruptors and returns the IDs of their background threads.
+     */
+    private long[] startDisruptors(final Disruptor<RingBufferLogEvent>[] shards) {
+        final long[] shardThreadIds = new long[shards.length];
+        for (int shardIndex = 0; shardIndex < shards.length; shardIndex++) {
+            // The background thread is created while starting
+            shards[shardIndex].start();
+            shardThreadIds[shardIndex] = backgroundThreadId;
+        }
+        return shardThreadIds;
+    }
+
+    private RingBufferLogEventQueue[] createQueues(final int shardCount, final int size) {
+        final RingBufferLogEventQueue[] shards = new RingBufferLogEventQueue[shardCount];
+        for (int shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+            final RingBufferLogEventQueue.WaitStrategy shardWaitStrategy =
+                    RingBufferLogEventQueue.createWaitStrategy("AsyncLogger.WaitStrategy");
+            final ExceptionHandler<RingBufferLogEvent> errorHandler = DisruptorUtil.getAsyncLoggerExceptionHandler();
+            shards[shardIndex] =
+                    new RingBufferLogEventQueue(size, shardWaitStrategy, errorHandler, telemetry, priorityPolicy);
+
+            LOGGER.debug(
+                    "[{}] Creating AsyncLogger queue {}/{} for this context with ringbufferSize={}, "
+                            + "waitStrategy={}, exceptionHandler={}...",
+                    contextName,
+                    shardIndex + 1,
+                    shardCount,
+                    size,
+                    shardWaitStrategy,
+                    errorHandler);
+        }
+        return shards;
+    }
+
+    /**
+     * Starts the specified queues and returns the IDs of their background threads.
+     */
+    private long[] startQueues(final RingBufferLogEventQueue[] shards) {
+        final long[] shardThreadIds = new long[shards.length];
+        for (int shardIndex = 0; shardIndex < shards.length; shardIndex++) {
+            shards[shardIndex].start(threadFactory);
+            shardThreadIds[shardIndex] = backgroundThreadId;
+        }
+        return shardThreadIds;
+    }
+
+    private void setBackgroundThreadIds(final long[] threadIds) {
+        backgroundThreadId = threadIds[0];
+        backgroundThreadIds = threadIds;
+    }
+
+    /**
+     * Replaces the ring buffers with larger ones, if they were found full often enough within the last second, see
+     * {@link RingBufferGrowthTrigger}. Called by application threads that found the ring buffer full.
+     */
+    private void growRingBuffersOnSustainedPressure() {
+        final RingBufferGrowthTrigger trigger = growthTrigger;
+        if (trigger != null && ringBufferSize < maxRingBufferSize && trigger.ringBufferFull(System.nanoTime())) {
+            growRingBuffers();
+        }
+    }
+
+    /**
+     * Publishes new ring buffers with twice the size of the current ones.
+     * <p>
+     * The background threads of the new ring buffers only start after the old ring buffers have been drained and no
+     * application thread publishes to them anymore, so the events of each application thread are still processed in
+     * order. Application threads might block or apply the {@link AsyncQueueFullPolicy} if the new ring buffers fill
+     * up in the meantime.
+     * </p>
+     */
+    private synchronized void growRingBuffers() {
+        if (!isStarted() || handoverThread != null || ringBufferSize >= maxRingBufferSize) {
+            return;
+        }
+        final Disruptor<RingBufferLogEvent>[] oldDisruptors = disruptors;
+        final RingBufferLogEventQueue[] oldQueues = queues;
+        if (oldDisruptors == null && oldQueues == null) {
+            return;
+        }
+        final int oldSize = ringBufferSize;
+        final int newSize = Math.min(2 * oldSize, maxRingBufferSize);
+        LOGGER.warn(
+                "[{}] AsyncLoggerDisruptor: ring buffer was full {} times in a second, growing it from {} to {} slots.",
+                contextName,
+                growthTrigger.getThreshold(),
+                oldSize,
+                newSize);
+        final Supplier<long[]> newShardsStarter;
+        if (queueBackend) {
+            final RingBufferLogEventQueue[] newQueues = createQueues(oldQueues.length, newSize);
+            queues = newQueues;
+            newShardsStarter = () -> startQueues(newQueues);
+        } else {
+            final Disruptor<RingBufferLogEvent>[] newDisruptors = createDisruptors(oldDisruptors.length, newSize);
+            disruptors = newDisruptors;
+            newShardsStarter = () -> startDisruptors(newDisruptors);
+        }
+        // Application threads register with the counters before reading the ring buffers: those that read the old
+        // ring buffers are counted by the old counters.
+        pendingHandover = new Handover(oldDisruptors, oldQueues, publishers, newShardsStarter);
+        publishers = new Publishers(oldQueues != null ? oldQueues.length : oldDisruptors.length);
+        ringBufferSize = newSize;
+        growthTrigger.reset(System.nanoTime());
+        telemetry.ringBufferResized(oldSize, newSize);
+        handoverThread = new Log4jThread(this::handOver, "AsyncLogger[" + contextName + "]-handover");
+        handoverThread.setDaemon(true);
+        handoverThread.start();
+    }
+
+    /**
+     * Waits until the old ring buffers have been drained and starts the new ones, unless {@link #stop()} is called in
+     * the meantime, in which case the latter completes the handover.
+     */
+    private void handOver() {
+        final Handover handover;
+        for (int attempt = 1; ; attempt++) {
+            synchronized (this) {
+                if (!isStarted()) {
+                    return;
+                }
+                if (pendingHandover.isDrained()) {
+                    handover = pendingHandover;
+                    pendingHandover = null;
+                    break;
+                }
+            }
+            if (attempt == MAX_DRAIN_ATTEMPTS_BEFORE_SHUTDOWN) {
+                LOGGER.warn(
+                        "[{}] AsyncLoggerDisruptor: old ring buffers are not drained after {} ms, still waiting.",
+                        contextName,
+                        MAX_DRAIN_ATTEMPTS_BEFORE_SHUTDOWN * SLEEP_MILLIS_BETWEEN_DRAIN_ATTEMPTS);
+            }
+            sleepBetweenDrainAttempts();
+        }
+        completeHandover(handover, SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        synchronized (this) {
+            growthTrigger.reset(System.nanoTime());
+            handoverThread = null;
+        }
+        LOGGER.debug("[{}] AsyncLoggerDisruptor: ring buffers have been replaced.", contextName);
+    }
+
+    /**
+     * Shuts down the old ring buffers of the specified handover and starts the new ones.
+     */
+    private void completeHandover(final Handover handover, final long timeout, final TimeUnit timeUnit) {
+        shutDown(handover.oldDisruptors, handover.oldQueues, timeout, timeUnit);
+        setBackgroundThreadIds(handover.newShardsStarter.get());
+    }
+
     /**
      * Decreases the reference count. If the reference count reached zero, the Disruptor and its associated thread are
      * shut down and their references set to {@code null}.
      */
     @Override
     public boolean stop(final long timeout, final TimeUnit timeUnit) {
-        final Disruptor<RingBufferLogEvent> temp = getDisruptor();
-        if (temp == null) {
-            LOGGER.trace("[{}] AsyncLoggerDisruptor: disruptor for this context already shut down.", contextName);
-            return true; // disruptor was already shut down by another thread
+        final Thread handover;
+        synchronized (this) {
+            if (!hasRingBuffer()) {
+                LOGGER.trace("[{}] AsyncLoggerDisruptor: disruptor for this context already shut down.", contextName);
+                return true; // disruptor was already shut down by another thread
+            }
+            setStopping();
+            handover = handoverThread;
         }
-        setStopping();
         LOGGER.debug("[{}] AsyncLoggerDisruptor: shutting down disruptor for this context.", contextName);
+        if (handover != null) {
+            // The handover thread either completes the handover in a bounded time or leaves it to us
+            joinUninterruptibly(handover);
+            final Handover pending;
+            synchronized (this) {
+                pending = pendingHandover;
+                pendingHandover = null;
+                handoverThread = null;
+            }
+            if (pending != null) {
+                // The events in the new ring buffers must be processed too
+                for (int i = 0; !pending.isDrained() && i < MAX_DRAIN_ATTEMPTS_BEFORE_SHUTDOWN; i++) {
+                    sleepBetweenDrainAttempts();
+                }
+                completeHandover(pending, timeout, timeUnit);
+            }
+        }
 
         // We must guarantee that publishing to the RingBuffer has stopped before we call disruptor.shutdown().
-        disruptor = null; // client code fails with NPE if log after stop. This is by design.
+        final Disruptor<RingBufferLogEvent>[] temp = disruptors;
+        final RingBufferLogEventQueue[] tempQueues = queues;
+        disruptors = null; // client code fails with NPE if log after stop. This is by design.
+        queues = null;
+
+        waitForDrain(temp, tempQueues);
+        shutDown(temp, tempQueues, timeout, timeUnit);
 
-        // Calling Disruptor.shutdown() will wait until all enqueued events are fully processed,
-        // but this waiting happens in a busy-spin. To avoid (postpone) wasting CPU,
-        // we sleep in short chunks, up to 10 seconds, waiting for the ringbuffer to drain.
-        for (int i = 0; hasBacklog(temp) && i < MAX_DRAIN_ATTEMPTS_BEFORE_SHUTDOWN; i++) {
+        LOGGER.trace("[{}] AsyncLoggerDisruptor: disruptor has been shut down.", contextName);
+
+        AsyncQueueFullMessageUtil.logDiscardCountsToStatusLogger("AsyncLoggerDisruptor", asyncQueueFullPolicy);
+        setStopped();
+        return true;
+    }
+
+    private static void joinUninterruptibly(final Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
             try {
-                Thread.sleep(SLEEP_MILLIS_BETWEEN_DRAIN_ATTEMPTS); // give up the CPU for a while
-            } catch (final InterruptedException e) { // ignored
+                thread.join();
+            } catch (final InterruptedException e) {
+                interrupted = true;
             }
         }
-        try {
-            // busy-spins until all events currently in the disruptor have been processed, or timeout
-            temp.shutdown(timeout, timeUnit);
-        } catch (final TimeoutException e) {
-            LOGGER.warn("[{}] AsyncLoggerDisruptor: shutdown timed out after {} {}", contextName, timeout, timeUnit);
-            temp.halt(); // give up on remaining log events, if any
+        if (interrupted) {
+            Thread.currentThread().interrupt();
         }
+    }
 
-        LOGGER.trace("[{}] AsyncLoggerDisruptor: disruptor has been shut down.", contextName);
+    /**
+     * Calling Disruptor.shutdown() will wait until all enqueued events are fully processed, but this waiting happens
+     * in a busy-spin. To avoid (postpone) wasting CPU, we sleep in short chunks, up to 10 seconds, waiting for the
+     * ring buffers to drain.
+     */
+    private static void waitForDrain(
+            final Disruptor<RingBufferLogEvent>[] theDisruptors, final RingBufferLogEventQueue[] theQueues) {
+        for (int i = 0; hasBacklog(theDisruptors, theQueues) && i < MAX_DRAIN_ATTEMPTS_BEFORE_SHUTDOWN; i++) {
+            sleepBetweenDrainAttempts();
+        }
+    }
 
-        if (DiscardingAsyncQueueFullPolicy.getDiscardCount(asyncQueueFullPolicy) > 0) {
-            LOGGER.trace(
-                    "AsyncLoggerDisruptor: {} discarded {} events.",
-                    asyncQueueFullPolicy,
-                    DiscardingAsyncQueueFullPolicy.getDiscardCount(asyncQueueFullPolicy));
+    private static void sleepBetweenDrainAttempts() {
+        try {
+            Thread.sleep(SLEEP_MILLIS_BETWEEN_DRAIN_ATTEMPTS); // give up the CPU for a while
+        } catch (final InterruptedException e) { // ignored
+        }
+    }
+
+    private void shutDown(
+            final Disruptor<RingBufferLogEvent>[] theDisruptors,
+            final RingBufferLogEventQueue[] theQueues,
+            final long timeout,
+            final TimeUnit timeUnit) {
+        // The timeout applies to all shards together
+        final long deadlineNanos = System.nanoTime() + timeUnit.toNanos(timeout);
+        if (theDisruptors != null) {
+            for (final Disruptor<RingBufferLogEvent> shard : theDisruptors) {
+                try {
+                    // busy-spins until all events currently in the disruptor have been processed, or timeout
+                    shard.shutdown(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (final TimeoutException e) {
+                    LOGGER.warn(
+                            "[{}] AsyncLoggerDisruptor: shutdown timed out after {} {}",
+                            contextName,
+                            timeout,
+                            timeUnit);
+                    shard.halt(); // give up on remaining log events, if any
+                }
+            }
+        }
+        if (theQueues != null) {
+            for (final RingBufferLogEventQueue shard : theQueues) {
+                // waits until all events currently in the queue have been processed, or timeout
+                if (!shard.shutdown(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    LOGGER.warn(
+                            "[{}] AsyncLoggerDisruptor: shutdown timed out after {} {}",
+                            contextName,
+                            timeout,
+                            timeUnit);
+                }
+            }
         }
-        setStopped();
-        return true;
     }
 
     /**
-     * Returns {@code true} if the specified disruptor still has unprocessed events.
+     * Returns {@code true} if any of the specified disruptors or queues still has unprocessed events.
      */
-    private static boolean hasBacklog(final Disruptor<?> theDisruptor) {
-        final RingBuffer<?> ringBuffer = theDisruptor.getRingBuffer();
-        return !ringBuffer.hasAvailableCapacity(ringBuffer.getBufferSize());
+    private static boolean hasBacklog(final Disruptor<?>[] theDisruptors, final RingBufferLogEventQueue[] theQueues) {
+        if (theDisruptors != null) {
+            for (final Disruptor<?> theDisruptor : theDisruptors) {
+                final RingBuffer<?> ringBuffer = theDisruptor.getRingBuffer();
+                if (!ringBuffer.hasAvailableCapacity(ringBuffer.getBufferSize())) {
+                    return true;
+                }
+            }
+        }
+        if (theQueues != null) {
+            for (final RingBufferLogEventQueue theQueue : theQueues) {
+                if (theQueue.hasBacklog()) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     /**
      * Creates and returns a new {@code RingBufferAdmin} that instruments the ringbuffer of the {@code AsyncLogger}.
+     * If the ringbuffer is sharded, the sizes are the totals of all shards.
      *
      * @param jmxContextName name of the {@code AsyncLoggerContext}
      * @return a new {@code RingBufferAdmin} that instruments the ringbuffer
      */
     public RingBufferAdmin createRingBufferAdmin(final String jmxContextName) {
-        final RingBuffer<RingBufferLogEvent> ring = disruptor == null ? null : disruptor.getRingBuffer();
-        return RingBufferAdmin.forAsyncLogger(ring, jmxContextName);
+        return new AsyncLoggerRingBufferAdmin(this, jmxContextName);
+    }
+
+    RingBufferTelemetry getTelemetry() {
+        return telemetry;
+    }
+
+    /**
+     * Returns the number of slots of all ring buffers, or {@code 0} if the ring buffers have been shut down.
+     */
+    long getBufferSize() {
+        final RingBufferLogEventQueue[] tempQueues = queues;
+        if (tempQueues != null) {
+            long bufferSize = 0;
+            for (final RingBufferLogEventQueue shard : tempQueues) {
+                bufferSize += shard.getBufferSize();
+            }
+            return bufferSize;
+        }
+        final Disruptor<RingBufferLogEvent>[] temp = disruptors;
+        long bufferSize = 0;
+        if (temp != null) {
+            for (final Disruptor<RingBufferLogEvent> shard : temp) {
+                bufferSize += shard.getRingBuffer().getBufferSize();
+            }
+        }
+        return bufferSize;
+    }
+
+    /**
+     * Returns the number of free slots in all ring buffers, or {@code 0} if the ring buffers have been shut down.
+     */
+    long getRemainingCapacity() {
+        final RingBufferLogEventQueue[] tempQueues = queues;
+        if (tempQueues != null) {
+            long remainingCapacity = 0;
+            for (final RingBufferLogEventQueue shard : tempQueues) {
+                remainingCapacity += shard.remainingCapacity();
+            }
+            return remainingCapacity;
+        }
+        final Disruptor<RingBufferLogEvent>[] temp = disruptors;
+        long remainingCapacity = 0;
+        if (temp != null) {
+            for (final Disruptor<RingBufferLogEvent> shard : temp) {
+                remainingCapacity += shard.getRingBuffer().remainingCapacity();
+            }
+        }
+        return remainingCapacity;
     }
 
     EventRoute getEventRoute(final Level logLevel) {
@@ -230,11 +643,48 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
         if (remainingCapacity < 0) {
             return EventRoute.DISCARD;
         }
-        return asyncQueueFullPolicy.getRoute(backgroundThreadId, logLevel);
+        // Background threads of all shards must be recognized as such by the policy
+        final long currentThreadId = Thread.currentThread().getId();
+        final long policyThreadId = isBackgroundThread(currentThreadId) ? currentThreadId : backgroundThreadId;
+        final PriorityAsyncQueueFullPolicy policy = priorityPolicy;
+        if (policy != null && policy.isLowPriority(logLevel) && remainingCapacity > 0) {
+            // The event was rejected to preserve the reserved capacity: the ring buffer is not full
+            return policy.getRoute(policyThreadId, logLevel);
+        }
+        telemetry.ringBufferFull();
+        growRingBuffersOnSustainedPressure();
+        return asyncQueueFullPolicy.getRoute(policyThreadId, logLevel);
+    }
+
+    private boolean isBackgroundThread(final long threadId) {
+        final long[] threadIds = backgroundThreadIds;
+        if (threadIds != null) {
+            for (final long id : threadIds) {
+                if (id == threadId) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if events of the specified level may not use the capacity reserved by a
+     * {@link PriorityAsyncQueueFullPolicy} and only the reserved capacity is left.
+     */
+    private boolean isReservedCapacityReached(final Level level) {
+        final PriorityAsyncQueueFullPolicy policy = priorityPolicy;
+        return policy != null
+                && policy.isLowPriority(level)
+                && remainingDisruptorCapacity() <= policy.getReservedCapacity(ringBufferSize);
     }
 
     private int remainingDisruptorCapacity() {
-        final Disruptor<RingBufferLogEvent> temp = disruptor;
+        final RingBufferLogEventQueue queue = getQueue();
+        if (queue != null) {
+            return (int) queue.remainingCapacity();
+        }
+        final Disruptor<RingBufferLogEvent> temp = getDisruptor();
         if (hasLog4jBeenShutDown(temp)) {
             return -1;
         }
@@ -256,7 +706,19 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
             // Note: we deliberately access the volatile disruptor field afresh here.
             // Avoiding this and using an older reference could result in adding a log event to the disruptor after it
             // was shut down, which could cause the publishEvent method to hang and never return.
-            return disruptor.getRingBuffer().tryPublishEvent(translator);
+            if (isReservedCapacityReached(translator.level)) {
+                return false;
+            }
+            final Publishers counter = registerPublisher();
+            try {
+                final RingBufferLogEventQueue queue = getQueue();
+                if (queue != null) {
+                    return queue.tryPublishEvent(translator);
+                }
+                return getDisruptor().getRingBuffer().tryPublishEvent(translator);
+            } finally {
+                unregisterPublisher(counter);
+            }
         } catch (final NullPointerException npe) {
             // LOG4J2-639: catch NPE if disruptor field was set to null in stop()
             logWarningOnNpeFromDisruptorPublish(translator);
@@ -264,21 +726,74 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
         }
     }
 
+    /**
+     * Publishes an event with the {@code AsyncLogger} vararg translator.
+     *
+     * @return {@code false} if the ring buffer is full
+     */
+    boolean tryPublish(
+            final EventTranslatorVararg<RingBufferLogEvent> translator,
+            final AsyncLogger asyncLogger,
+            final StackTraceElement location,
+            final String fqcn,
+            final Level level,
+            final Marker marker,
+            final Message msg,
+            final Throwable thrown) {
+        try {
+            // Note: we deliberately access the volatile disruptor field afresh here.
+            if (isReservedCapacityReached(level)) {
+                return false;
+            }
+            final Publishers counter = registerPublisher();
+            try {
+                final RingBufferLogEventQueue queue = getQueue();
+                if (queue != null) {
+                    return queue.tryPublishEvent(translator, asyncLogger, location, fqcn, level, marker, msg, thrown);
+                }
+                return getDisruptor()
+                        .getRingBuffer()
+                        .tryPublishEvent(
+                                translator,
+                                asyncLogger, // asyncLogger: 0
+                                location, // location: 1
+                                fqcn, // 2
+                                level, // 3
+                                marker, // 4
+                                msg, // 5
+                                thrown); // 6
+            } finally {
+                unregisterPublisher(counter);
+            }
+        } catch (final NullPointerException npe) {
+            // LOG4J2-639: catch NPE if disruptor field was set to null in stop()
+            logWarningOnNpeFromDisruptorPublish(level, fqcn, msg, thrown);
+            return true;
+        }
+    }
+
     void enqueueLogMessageWhenQueueFull(final RingBufferLogEventTranslator translator) {
+        final PriorityAsyncQueueFullPolicy evictingPolicy = getEvictingPolicy(translator.level);
+        final long startNanos = System.nanoTime();
         try {
             // Note: we deliberately access the volatile disruptor field afresh here.
             // Avoiding this and using an older reference could result in adding a log event to the disruptor after it
             // was shut down, which could cause the publishEvent method to hang and never return.
             if (synchronizeEnqueueWhenQueueFull()) {
                 synchronized (queueFullEnqueueLock) {
-                    disruptor.publishEvent(translator);
+                    publishEvent(translator);
                 }
             } else {
-                disruptor.publishEvent(translator);
+                publishEvent(translator);
             }
         } catch (final NullPointerException npe) {
             // LOG4J2-639: catch NPE if disruptor field was set to null in stop()
             logWarningOnNpeFromDisruptorPublish(translator);
+        } finally {
+            telemetry.enqueueWaited(System.nanoTime() - startNanos);
+            if (evictingPolicy != null) {
+                evictingPolicy.waitFinished();
+            }
         }
     }
 
@@ -291,26 +806,93 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
             final Marker marker,
             final Message msg,
             final Throwable thrown) {
+        final PriorityAsyncQueueFullPolicy evictingPolicy = getEvictingPolicy(level);
+        final long startNanos = System.nanoTime();
         try {
             // Note: we deliberately access the volatile disruptor field afresh here.
             // Avoiding this and using an older reference could result in adding a log event to the disruptor after it
             // was shut down, which could cause the publishEvent method to hang and never return.
             if (synchronizeEnqueueWhenQueueFull()) {
                 synchronized (queueFullEnqueueLock) {
-                    disruptor
-                            .getRingBuffer()
-                            .publishEvent(
-                                    translator,
-                                    asyncLogger, // asyncLogger: 0
-                                    location, // location: 1
-                                    fqcn, // 2
-                                    level, // 3
-                                    marker, // 4
-                                    msg, // 5
-                                    thrown); // 6
+                    publishEvent(translator, asyncLogger, location, fqcn, level, marker, msg, thrown);
                 }
             } else {
-                disruptor
+                publishEvent(translator, asyncLogger, location, fqcn, level, marker, msg, thrown);
+            }
+        } catch (final NullPointerException npe) {
+            // LOG4J2-639: catch NPE if disruptor field was set to null in stop()
+            logWarningOnNpeFromDisruptorPublish(level, fqcn, msg, thrown);
+        } finally {
+            telemetry.enqueueWaited(System.nanoTime() - startNanos);
+            if (evictingPolicy != null) {
+                evictingPolicy.waitFinished();
+            }
+        }
+    }
+
+    /**
+     * Returns the policy that must evict low priority events while the current thread waits to enqueue an event of
+     * the specified level, after signaling the wait to it.
+     */
+    private PriorityAsyncQueueFullPolicy getEvictingPolicy(final Level level) {
+        final PriorityAsyncQueueFullPolicy policy = priorityPolicy;
+        if (policy == null || policy.isLowPriority(level)) {
+            return null;
+        }
+        policy.waitStarted();
+        return policy;
+    }
+
+    /**
+     * Registers the current thread as publisher to the ring buffers it is about to read, so they are not retired
+     * while it publishes. Must be called after acquiring any lock that might be held while waiting for free slots.
+     *
+     * @return the counter to pass to {@link #unregisterPublisher}
+     */
+    private Publishers registerPublisher() {
+        final Publishers counter = publishers;
+        if (counter != null) {
+            counter.register();
+        }
+        return counter;
+    }
+
+    private static void unregisterPublisher(final Publishers counter) {
+        if (counter != null) {
+            counter.unregister();
+        }
+    }
+
+    private void publishEvent(final RingBufferLogEventTranslator translator) {
+        final Publishers counter = registerPublisher();
+        try {
+            final RingBufferLogEventQueue queue = getQueue();
+            if (queue != null) {
+                queue.publishEvent(translator);
+            } else {
+                getDisruptor().publishEvent(translator);
+            }
+        } finally {
+            unregisterPublisher(counter);
+        }
+    }
+
+    private void publishEvent(
+            final EventTranslatorVararg<RingBufferLogEvent> translator,
+            final AsyncLogger asyncLogger,
+            final StackTraceElement location,
+            final String fqcn,
+            final Level level,
+            final Marker marker,
+            final Message msg,
+            final Throwable thrown) {
+        final Publishers counter = registerPublisher();
+        try {
+            final RingBufferLogEventQueue queue = getQueue();
+            if (queue != null) {
+                queue.publishEvent(translator, asyncLogger, location, fqcn, level, marker, msg, thrown);
+            } else {
+                getDisruptor()
                         .getRingBuffer()
                         .publishEvent(
                                 translator,
@@ -322,16 +904,15 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
                                 msg, // 5
                                 thrown); // 6
             }
-        } catch (final NullPointerException npe) {
-            // LOG4J2-639: catch NPE if disruptor field was set to null in stop()
-            logWarningOnNpeFromDisruptorPublish(level, fqcn, msg, thrown);
+        } finally {
+            unregisterPublisher(counter);
         }
     }
 
     private boolean synchronizeEnqueueWhenQueueFull() {
         return DisruptorUtil.ASYNC_LOGGER_SYNCHRONIZE_ENQUEUE_WHEN_QUEUE_FULL
                 // Background thread must never block
-                && backgroundThreadId != Thread.currentThread().getId()
+                && !isBackgroundThread(Thread.currentThread().getId())
                 // Threads owned by log4j are most likely to result in
                 // deadlocks because they generally consume events.
                 // This prevents deadlocks between AsyncLoggerContext
@@ -384,4 +965,75 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
                 contextName,
                 useThreadLocalTranslator ? "threadlocal" : "vararg");
     }
+
+    /**
+     * Ring buffers replaced by larger ones, whose background threads have not been started yet.
+     */
+    private static final class Handover {
+        private final Disruptor<RingBufferLogEvent>[] oldDisruptors;
+        private final RingBufferLogEventQueue[] oldQueues;
+        private final Publishers oldPublishers;
+        private final Supplier<long[]> newShardsStarter;
+
+        private Handover(
+                final Disruptor<RingBufferLogEvent>[] oldDisruptors,
+                final RingBufferLogEventQueue[] oldQueues,
+                final Publishers oldPublishers,
+                final Supplier<long[]> newShardsStarter) {
+            this.oldDisruptors = oldDisruptors;
+            this.oldQueues = oldQueues;
+            this.oldPublishers = oldPublishers;
+            this.newShardsStarter = newShardsStarter;
+        }
+
+        /**
+         * Returns {@code true} if no application thread publishes to the old ring buffers and all their events have
+         * been processed.
+         */
+        private boolean isDrained() {
+            return oldPublishers.isIdle() && !hasBacklog(oldDisruptors, oldQueues);
+        }
+    }
+
+    /**
+     * Counts the application threads publishing to a set of ring buffers.
+     * <p>
+     * Each thread uses one of several counters, selected by its thread ID, and each counter has its own cache line.
+     * There are at least as many counters as shards and available processors, so that threads publishing concurrently
+     * rarely write to the same cache line.
+     * </p>
+     */
+    private static final class Publishers {
+        // Number of longs in a cache line, the first and the last one only serve as padding
+        private static final int PADDING = 8;
+
+        private final int stripeCount;
+        private final AtomicLongArray counters;
+
+        private Publishers(final int shardCount) {
+            this.stripeCount = Math.max(shardCount, Runtime.getRuntime().availableProcessors());
+            this.counters = new AtomicLongArray((stripeCount + 1) * PADDING);
+        }
+
+        private int currentThreadIndex() {
+            return (int) (Thread.currentThread().getId() % stripeCount + 1) * PADDING;
+        }
+
+        private void register() {
+            counters.incrementAndGet(currentThreadIndex());
+        }
+
+        private void unregister() {
+            counters.decrementAndGet(currentThreadIndex());
+        }
+
+        private boolean isIdle() {
+            for (int stripe = 1; stripe <= stripeCount; stripe++) {
+                if (counters.get(stripe * PADDING) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+import org.apache.logging.log4j.core.jmx.Server;
+
+/**
+ * Instruments the ring buffers of an {@link AsyncLoggerDisruptor}, independently of its backend and of the ring
+ * buffers being replaced while running. If the ring buffer is sharded, the sizes are the totals of all shards.
+ */
+final class AsyncLoggerRingBufferAdmin extends RingBufferAdmin {
+
+    private final AsyncLoggerDisruptor loggerDisruptor;
+
+    AsyncLoggerRingBufferAdmin(final AsyncLoggerDisruptor loggerDisruptor, final String contextName) {
+        super(null, String.format(PATTERN_ASYNC_LOGGER, Server.escape(contextName)));
+        this.loggerDisruptor = loggerDisruptor;
+    }
+
+    @Override
+    public long getBufferSize() {
+        return loggerDisruptor.getBufferSize();
+    }
+
+    @Override
+    public long getRemainingCapacity() {
+        return loggerDisruptor.getRemainingCapacity();
+    }
+
+    @Override
+    public long getHighWaterMark() {
+        return loggerDisruptor.getTelemetry().getHighWaterMark();
+    }
+
+    @Override
+    public long getRingBufferFullCount() {
+        return loggerDisruptor.getTelemetry().getRingBufferFullCount();
+    }
+
+    @Override
+    public long getEnqueueWaitTimeNanos() {
+        return loggerDisruptor.getTelemetry().getEnqueueWaitNanos();
+    }
+
+    @Override
+    public long[] getEnqueueWaitHistogram() {
+        return loggerDisruptor.getTelemetry().getEnqueueWaitHistogram();
+    }
+}
@@ -16,6 +16,8 @@
  */
 package org.apache.logging.log4j.core.async;
 
+import java.util.Map;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.status.StatusLogger;
 
 /**
@@ -37,4 +39,25 @@ public final class AsyncQueueFullMessageUtil {
                 .warn("LOG4J2-2031: Log4j2 logged an event out of order to prevent deadlock caused by domain "
                         + "objects logging from their toString method when the async queue is full");
     }
+
+    /**
+     * Logs a warning to the {@link StatusLogger} with the number of events discarded by the specified policy per
+     * level, if any.
+     *
+     * @param component the name of the asynchronous component that used the policy
+     * @param policy a queue full policy
+     * @since 2.25.0
+     */
+    public static void logDiscardCountsToStatusLogger(final String component, final AsyncQueueFullPolicy policy) {
+        final Map<Level, Long> discardCounts = DiscardingAsyncQueueFullPolicy.getDiscardCounts(policy);
+        if (!discardCounts.isEmpty()) {
+            StatusLogger.getLogger()
+                    .warn(
+                            "{}: {} discarded {} events, per level: {}",
+                            component,
+                            policy,
+                            DiscardingAsyncQueueFullPolicy.getDiscardCount(policy),
+                            discardCounts);
+        }
+    }
 }
@@ -35,6 +35,11 @@ import org.apache.logging.log4j.util.PropertiesUtil;
  * This can be adjusted with property {@code "log4j2.DiscardThreshold"} (name of the level at which to start
  * discarding).
  * </p> <p>
+ * If this property has value {@code "Priority"}, this factory creates {@link PriorityAsyncQueueFullPolicy} objects,
+ * which use the same threshold level and additionally reserve a fraction of the ring buffer of Async Loggers to the
+ * events more specific than the threshold. This fraction can be adjusted with property
+ * {@code "log4j2.PriorityReservedRatio"} (by default {@code 0.1}).
+ * </p> <p>
  * For any other value, this
  * factory interprets the value as the fully qualified name of a class implementing the {@link AsyncQueueFullPolicy}
  * interface. The class must have a default constructor.
@@ -47,6 +52,9 @@ public class AsyncQueueFullPolicyFactory {
     static final String PROPERTY_VALUE_DEFAULT_ASYNC_EVENT_ROUTER = "Default";
     static final String PROPERTY_VALUE_DISCARDING_ASYNC_EVENT_ROUTER = "Discard";
     static final String PROPERTY_NAME_DISCARDING_THRESHOLD_LEVEL = "log4j2.DiscardThreshold";
+    static final String PROPERTY_VALUE_PRIORITY_ASYNC_EVENT_ROUTER = "Priority";
+    static final String PROPERTY_NAME_PRIORITY_RESERVED_RATIO = "log4j2.PriorityReservedRatio";
+    private static final float DEFAULT_PRIORITY_RESERVED_RATIO = 0.1f;
 
     private static final Logger LOGGER = StatusLogger.getLogger();
 
@@ -58,6 +66,8 @@ public class AsyncQueueFullPolicyFactory {
      * </p> <p>
      * If this property has value {@code "Discard"}, this method returns {@link DiscardingAsyncQueueFullPolicy} objects.
      * </p> <p>
+     * If this property has value {@code "Priority"}, this method returns {@link PriorityAsyncQueueFullPolicy} objects.
+     * </p> <p>
      * For any other value, this method interprets the value as the fully qualified name of a class implementing the
      * {@link AsyncQueueFullPolicy} interface. The class must have a default constructor.
      * </p>
@@ -75,6 +85,9 @@ public class AsyncQueueFullPolicyFactory {
                 router, DiscardingAsyncQueueFullPolicy.class, PROPERTY_VALUE_DISCARDING_ASYNC_EVENT_ROUTER)) {
             return createDiscardingAsyncQueueFullPolicy();
         }
+        if (isRouterSelected(router, PriorityAsyncQueueFullPolicy.class, PROPERTY_VALUE_PRIORITY_ASYNC_EVENT_ROUTER)) {
+            return createPriorityAsyncQueueFullPolicy();
+        }
         return createCustomRouter(router);
     }
 
@@ -103,10 +116,32 @@ public class AsyncQueueFullPolicyFactory {
     }
 
     private static AsyncQueueFullPolicy createDiscardingAsyncQueueFullPolicy() {
-        final PropertiesUtil util = PropertiesUtil.getProperties();
-        final String level = util.getStringProperty(PROPERTY_NAME_DISCARDING_THRESHOLD_LEVEL, Level.INFO.name());
-        final Level thresholdLevel = Level.toLevel(level, Level.INFO);
+        final Level thresholdLevel = getDiscardingThresholdLevel();
         LOGGER.debug("Creating custom DiscardingAsyncQueueFullPolicy(discardThreshold:{})", thresholdLevel);
         return new DiscardingAsyncQueueFullPolicy(thresholdLevel);
     }
+
+    private static AsyncQueueFullPolicy createPriorityAsyncQueueFullPolicy() {
+        final Level thresholdLevel = getDiscardingThresholdLevel();
+        float reservedRatio = (float) PropertiesUtil.getProperties()
+                .getDoubleProperty(PROPERTY_NAME_PRIORITY_RESERVED_RATIO, DEFAULT_PRIORITY_RESERVED_RATIO);
+        if (!(reservedRatio >= 0 && reservedRatio < 1)) {
+            LOGGER.warn(
+                    "Invalid PriorityReservedRatio {}, using default ratio {}.",
+                    reservedRatio,
+                    DEFAULT_PRIORITY_RESERVED_RATIO);
+            reservedRatio = DEFAULT_PRIORITY_RESERVED_RATIO;
+        }
+        LOGGER.debug(
+                "Creating custom PriorityAsyncQueueFullPolicy(discardThreshold:{}, reservedRatio:{})",
+                thresholdLevel,
+                reservedRatio);
+        return new PriorityAsyncQueueFullPolicy(thresholdLevel, reservedRatio);
+    }
+
+    private static Level getDiscardingThresholdLevel() {
+        final PropertiesUtil util = PropertiesUtil.getProperties();
+        final String level = util.getStringProperty(PROPERTY_NAME_DISCARDING_THRESHOLD_LEVEL, Level.INFO.name());
+        return Level.toLevel(level, Level.INFO);
+    }
 }
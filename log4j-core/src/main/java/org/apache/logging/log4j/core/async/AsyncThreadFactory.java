@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.concurrent.ThreadFactory;
+import org.apache.logging.log4j.core.util.Log4jThread;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+
+/**
+ * This interface allows users to configure how the background threads of Async Loggers, Async LoggerConfigs and
+ * Async Appenders are created, e.g. to pin them to specific CPUs.
+ * <p>
+ * The created threads should be daemon threads and instances of {@link Log4jThread}, e.g. by extending
+ * {@link Log4jThreadFactory}: Log4j uses this to detect events logged by its own background threads.
+ * </p>
+ *
+ * @since 2.25.0
+ */
+public interface AsyncThreadFactory {
+    /**
+     * Creates the factory of the background threads of an asynchronous component.
+     *
+     * @param name the name of the component, which should be part of the names of the threads
+     * @return a non-null thread factory
+     */
+    ThreadFactory createThreadFactory(String name);
+}
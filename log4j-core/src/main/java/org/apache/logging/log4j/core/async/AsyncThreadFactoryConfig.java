@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.LoaderUtil;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * This class allows users to configure the factory of the background threads
+ * of Async Loggers, Async LoggerConfigs and Async Appenders in the log4j configuration.
+ * <p>
+ * Either a custom {@link AsyncThreadFactory} class is configured, or the default factory,
+ * which sets the priority of the threads and optionally pins them to a set of CPUs on Linux.
+ * </p>
+ *
+ * @since 2.25.0
+ */
+@Plugin(name = "AsyncThreadFactory", category = Core.CATEGORY_NAME, printObject = true)
+public class AsyncThreadFactoryConfig {
+
+    /**
+     * Status logger for internal logging.
+     */
+    protected static final org.apache.logging.log4j.Logger LOGGER = StatusLogger.getLogger();
+
+    private final String factoryClassName;
+    private final String cpus;
+    private final int priority;
+
+    public AsyncThreadFactoryConfig(final String factoryClassName, final String cpus, final int priority) {
+        this.factoryClassName = factoryClassName;
+        this.cpus = cpus;
+        this.priority = priority;
+    }
+
+    @PluginBuilderFactory
+    public static <B extends AsyncThreadFactoryConfig.Builder<B>> B newBuilder() {
+        return new AsyncThreadFactoryConfig.Builder<B>().asBuilder();
+    }
+
+    /**
+     * Builds AsyncThreadFactoryConfig instances.
+     *
+     * @param <B>
+     *            The type to build
+     */
+    public static class Builder<B extends AsyncThreadFactoryConfig.Builder<B>>
+            implements org.apache.logging.log4j.core.util.Builder<AsyncThreadFactoryConfig> {
+
+        @PluginBuilderAttribute("class")
+        private String factoryClassName;
+
+        @PluginBuilderAttribute
+        private String cpus;
+
+        @PluginBuilderAttribute
+        private int priority = Thread.NORM_PRIORITY;
+
+        public String getFactoryClassName() {
+            return factoryClassName;
+        }
+
+        public String getCpus() {
+            return cpus;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        /**
+         * @param className the name of a custom {@link AsyncThreadFactory} implementation
+         */
+        public B withFactoryClassName(final String className) {
+            this.factoryClassName = className;
+            return asBuilder();
+        }
+
+        /**
+         * @param cpus the CPUs to pin the background threads to, in the format of {@code taskset}, e.g. {@code 0-3,8}
+         */
+        public B withCpus(final String cpus) {
+            this.cpus = cpus;
+            return asBuilder();
+        }
+
+        /**
+         * @param priority the priority of the background threads
+         */
+        public B withPriority(final int priority) {
+            this.priority = priority;
+            return asBuilder();
+        }
+
+        @Override
+        public AsyncThreadFactoryConfig build() {
+            return new AsyncThreadFactoryConfig(
+                    Strings.trimToNull(factoryClassName), Strings.trimToNull(cpus), priority);
+        }
+
+        @SuppressWarnings("unchecked")
+        public B asBuilder() {
+            return (B) this;
+        }
+    }
+
+    public AsyncThreadFactory createThreadFactory() {
+        if (factoryClassName == null) {
+            try {
+                return new DefaultAsyncThreadFactory(cpus, priority);
+            } catch (final IllegalArgumentException e) {
+                LOGGER.error("Ignoring invalid AsyncThreadFactory configuration: {}", e.getMessage());
+                return null;
+            }
+        }
+        try {
+            return LoaderUtil.newCheckedInstanceOf(factoryClassName, AsyncThreadFactory.class);
+        } catch (final ClassCastException e) {
+            LOGGER.error("Ignoring factory '{}': it is not assignable to AsyncThreadFactory", factoryClassName);
+            return null;
+        } catch (ReflectiveOperationException e) {
+            LOGGER.info(
+                    "Invalid implementation class name value: error creating AsyncThreadFactory {}: {}",
+                    factoryClassName,
+                    e.getMessage(),
+                    e);
+            return null;
+        }
+    }
+}
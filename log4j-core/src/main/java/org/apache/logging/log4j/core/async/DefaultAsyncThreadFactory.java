@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ThreadFactory;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.util.IOUtils;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * Creates daemon threads with the configured priority, optionally pinned to a set of CPUs.
+ * <p>
+ * CPU pinning does not need native code: on Linux each thread finds its own id through {@code /proc/thread-self}
+ * and applies the affinity with the {@code taskset} command when it starts. On other platforms it is ignored.
+ * </p>
+ */
+class DefaultAsyncThreadFactory implements AsyncThreadFactory {
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+    private static final Pattern CPU_LIST = Pattern.compile("\\d+(-\\d+)?(,\\d+(-\\d+)?)*");
+    private static final Path THREAD_SELF = Paths.get("/proc/thread-self");
+
+    private final String cpus;
+    private final int priority;
+
+    /**
+     * @param cpus the CPUs to pin the threads to, in the format of {@code taskset}, e.g. {@code 0-3,8}, or
+     * {@code null}
+     * @param priority the priority of the threads
+     */
+    DefaultAsyncThreadFactory(final String cpus, final int priority) {
+        if (cpus != null && !CPU_LIST.matcher(cpus).matches()) {
+            throw new IllegalArgumentException("Invalid CPU list: " + cpus);
+        }
+        if (priority < Thread.MIN_PRIORITY || priority > Thread.MAX_PRIORITY) {
+            throw new IllegalArgumentException("Invalid thread priority: " + priority);
+        }
+        this.cpus = cpus;
+        this.priority = priority;
+    }
+
+    String getCpus() {
+        return cpus;
+    }
+
+    int getPriority() {
+        return priority;
+    }
+
+    @Override
+    public ThreadFactory createThreadFactory(final String name) {
+        final Log4jThreadFactory threadFactory = new Log4jThreadFactory(name, true, priority);
+        if (cpus == null) {
+            return threadFactory;
+        }
+        return runnable -> threadFactory.newThread(() -> {
+            pinCurrentThread(cpus);
+            runnable.run();
+        });
+    }
+
+    /**
+     * Pins the current thread to the given CPUs, logging a warning on failure.
+     */
+    private static void pinCurrentThread(final String cpus) {
+        final String threadName = Thread.currentThread().getName();
+        if (!Files.exists(THREAD_SELF)) {
+            LOGGER.warn("Ignoring CPU affinity of thread {}: only supported on Linux.", threadName);
+            return;
+        }
+        try {
+            // The link points to `<pid>/task/<tid>`
+            final String tid = Files.readSymbolicLink(THREAD_SELF).getFileName().toString();
+            final Process process = new ProcessBuilder("taskset", "-p", "-c", cpus, tid)
+                    .redirectErrorStream(true)
+                    .start();
+            final String output;
+            try (final Reader reader = new InputStreamReader(process.getInputStream(), Charset.defaultCharset())) {
+                output = IOUtils.toString(reader).trim();
+            }
+            final int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                LOGGER.warn(
+                        "Failed to pin thread {} to CPUs {}: taskset exited with code {}: {}",
+                        threadName,
+                        cpus,
+                        exitCode,
+                        output);
+            } else {
+                LOGGER.debug("Pinned thread {} to CPUs {}.", threadName, cpus);
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to pin thread {} to CPUs {}.", threadName, cpus, e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultAsyncThreadFactory{cpus=" + cpus + ", priority=" + priority + '}';
+    }
+}
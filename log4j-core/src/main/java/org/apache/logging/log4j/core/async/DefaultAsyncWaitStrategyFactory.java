@@ -62,6 +62,12 @@ class DefaultAsyncWaitStrategyFactory implements AsyncWaitStrategyFactory {
             case "BUSYSPIN":
                 LOGGER.trace("DefaultAsyncWaitStrategyFactory creating BusySpinWaitStrategy");
                 return new BusySpinWaitStrategy();
+            case "HYBRID":
+                final long maxParkMillis = parseAdditionalLongProperty(propertyName, "Timeout", 10L);
+                LOGGER.trace(
+                        "DefaultAsyncWaitStrategyFactory creating HybridWaitStrategy(maxParkTime={}, unit=MILLIS)",
+                        maxParkMillis);
+                return new HybridWaitStrategy(maxParkMillis, TimeUnit.MILLISECONDS);
             case "TIMEOUT":
                 return createDefaultWaitStrategy(propertyName);
             default:
@@ -90,7 +96,7 @@ class DefaultAsyncWaitStrategyFactory implements AsyncWaitStrategyFactory {
         return new TimeoutBlockingWaitStrategy(timeoutMillis, TimeUnit.MILLISECONDS);
     }
 
-    private static String getFullPropertyKey(final String strategyKey, final String additionalKey) {
+    static String getFullPropertyKey(final String strategyKey, final String additionalKey) {
         if (strategyKey.startsWith("AsyncLogger.")) {
             return "AsyncLogger." + additionalKey;
         } else if (strategyKey.startsWith("AsyncLoggerConfig.")) {
@@ -99,7 +105,7 @@ class DefaultAsyncWaitStrategyFactory implements AsyncWaitStrategyFactory {
         return strategyKey + additionalKey;
     }
 
-    private static long parseAdditionalLongProperty(
+    static long parseAdditionalLongProperty(
             final String propertyName, final String additionalKey, final long defaultValue) {
         final String key = getFullPropertyKey(propertyName, additionalKey);
         return PropertiesUtil.getProperties().getLongProperty(key, defaultValue);
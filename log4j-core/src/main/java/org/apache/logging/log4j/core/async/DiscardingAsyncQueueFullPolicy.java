@@ -16,8 +16,14 @@
  */
 package org.apache.logging.log4j.core.async;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.status.StatusLogger;
@@ -33,6 +39,7 @@ public class DiscardingAsyncQueueFullPolicy extends DefaultAsyncQueueFullPolicy
 
     private final Level thresholdLevel;
     private final AtomicLong discardCount = new AtomicLong();
+    private final ConcurrentMap<Level, LongAdder> discardCountsByLevel = new ConcurrentHashMap<>();
 
     /**
      * Constructs a router that will discard events {@linkplain Level#isLessSpecificThan(Level) equal or less specific}
@@ -47,19 +54,24 @@ public class DiscardingAsyncQueueFullPolicy extends DefaultAsyncQueueFullPolicy
     @Override
     public EventRoute getRoute(final long backgroundThreadId, final Level level) {
         if (level.isLessSpecificThan(thresholdLevel)) {
-            if (discardCount.getAndIncrement() == 0) {
-                LOGGER.warn(
-                        "Async queue is full, discarding event with level {}. "
-                                + "This message will only appear once; future events from {} "
-                                + "are silently discarded until queue capacity becomes available.",
-                        level,
-                        thresholdLevel);
-            }
+            countDiscarded(level);
             return EventRoute.DISCARD;
         }
         return super.getRoute(backgroundThreadId, level);
     }
 
+    void countDiscarded(final Level level) {
+        if (discardCount.getAndIncrement() == 0) {
+            LOGGER.warn(
+                    "Async queue is full, discarding event with level {}. "
+                            + "This message will only appear once; future events from {} "
+                            + "are silently discarded until queue capacity becomes available.",
+                    level,
+                    thresholdLevel);
+        }
+        discardCountsByLevel.computeIfAbsent(level, ignored -> new LongAdder()).increment();
+    }
+
     public static long getDiscardCount(final AsyncQueueFullPolicy router) {
         if (router instanceof DiscardingAsyncQueueFullPolicy) {
             return ((DiscardingAsyncQueueFullPolicy) router).discardCount.get();
@@ -67,6 +79,24 @@ public class DiscardingAsyncQueueFullPolicy extends DefaultAsyncQueueFullPolicy
         return 0;
     }
 
+    /**
+     * Returns the number of events discarded by the specified router per level, from the most to the least specific
+     * level.
+     *
+     * @param router a queue full policy
+     * @return the number of discarded events per level, empty if the router does not discard events
+     * @since 2.25.0
+     */
+    public static Map<Level, Long> getDiscardCounts(final AsyncQueueFullPolicy router) {
+        if (router instanceof DiscardingAsyncQueueFullPolicy) {
+            final Map<Level, Long> counts = new TreeMap<>();
+            ((DiscardingAsyncQueueFullPolicy) router)
+                    .discardCountsByLevel.forEach((level, count) -> counts.put(level, count.sum()));
+            return Collections.unmodifiableMap(counts);
+        }
+        return Collections.emptyMap();
+    }
+
     public Level getThresholdLevel() {
         return thresholdLevel;
     }
@@ -20,9 +20,11 @@ import com.lmax.disruptor.ExceptionHandler;
 import com.lmax.disruptor.WaitStrategy;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.core.util.Integers;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
 import org.apache.logging.log4j.status.StatusLogger;
 import org.apache.logging.log4j.util.LoaderUtil;
 import org.apache.logging.log4j.util.PropertiesUtil;
@@ -35,8 +37,10 @@ final class DisruptorUtil {
     private static final int RINGBUFFER_MIN_SIZE = 128;
     private static final int RINGBUFFER_DEFAULT_SIZE = 256 * 1024;
     private static final int RINGBUFFER_NO_GC_DEFAULT_SIZE = 4 * 1024;
+    private static final int RINGBUFFER_DEFAULT_GROWTH_THRESHOLD = 1000;
     public static final String LOGGER_EXCEPTION_HANDLER_PROPERTY = "AsyncLogger.ExceptionHandler";
     public static final String LOGGER_CONFIG_EXCEPTION_HANDLER_PROPERTY = "AsyncLoggerConfig.ExceptionHandler";
+    static final String LOGGER_TELEMETRY_LISTENER_PROPERTY = "AsyncLogger.TelemetryListener";
 
     /**
      * LOG4J2-2606: Users encountered excessive CPU utilization with Disruptor v3.4.2 when the application
@@ -69,6 +73,14 @@ final class DisruptorUtil {
         return asyncWaitStrategyFactory.createWaitStrategy();
     }
 
+    static ThreadFactory createThreadFactory(final String name, final AsyncThreadFactory asyncThreadFactory) {
+        if (asyncThreadFactory == null) {
+            return Log4jThreadFactory.createDaemonThreadFactory(name);
+        }
+        LOGGER.debug("Using configured AsyncThreadFactory {}", asyncThreadFactory);
+        return asyncThreadFactory.createThreadFactory(name);
+    }
+
     static int calculateRingBufferSize(final String propertyName) {
         int ringBufferSize = Constants.ENABLE_THREADLOCALS ? RINGBUFFER_NO_GC_DEFAULT_SIZE : RINGBUFFER_DEFAULT_SIZE;
         final String userPreferredRBSize =
@@ -87,6 +99,71 @@ final class DisruptorUtil {
         return Integers.ceilingNextPowerOfTwo(ringBufferSize);
     }
 
+    static int calculateRingBufferShardCount(final String propertyName) {
+        final int shardCount = PropertiesUtil.getProperties().getIntegerProperty(propertyName, 1);
+        if (shardCount < 1) {
+            LOGGER.warn("Invalid RingBufferShards {}, using a single ring buffer.", shardCount);
+            return 1;
+        }
+        return shardCount;
+    }
+
+    /**
+     * Returns the number of times per second application threads must find the ring buffer full for it to grow.
+     */
+    static int calculateRingBufferGrowthThreshold(final String propertyName) {
+        final int threshold =
+                PropertiesUtil.getProperties().getIntegerProperty(propertyName, RINGBUFFER_DEFAULT_GROWTH_THRESHOLD);
+        if (threshold < 1) {
+            LOGGER.warn(
+                    "Invalid RingBufferGrowthThreshold {}, using default threshold {}.",
+                    threshold,
+                    RINGBUFFER_DEFAULT_GROWTH_THRESHOLD);
+            return RINGBUFFER_DEFAULT_GROWTH_THRESHOLD;
+        }
+        return threshold;
+    }
+
+    /**
+     * Returns {@code true} if the specified backend property selects the {@link RingBufferLogEventQueue} instead of
+     * the LMAX Disruptor.
+     */
+    static boolean isQueueBackend(final String propertyName) {
+        final String backend = PropertiesUtil.getProperties().getStringProperty(propertyName, "Disruptor");
+        if ("Queue".equalsIgnoreCase(backend)) {
+            return true;
+        }
+        if (!"Disruptor".equalsIgnoreCase(backend)) {
+            LOGGER.warn("Invalid Backend {}, using the LMAX Disruptor.", backend);
+        }
+        return false;
+    }
+
+    /**
+     * Splits the ring buffer size evenly among the shards, so that sharding does not increase the memory footprint.
+     */
+    static int calculateShardRingBufferSize(final int ringBufferSize, final int shardCount) {
+        final int shardRingBufferSize = Integers.ceilingNextPowerOfTwo(ringBufferSize / shardCount);
+        return Math.max(RINGBUFFER_MIN_SIZE, shardRingBufferSize);
+    }
+
+    /**
+     * Returns the size up to which the ring buffer of each shard may grow under sustained pressure. A value not
+     * greater than the initial size disables growing.
+     */
+    static int calculateMaxRingBufferSize(
+            final String propertyName, final int shardRingBufferSize, final int shardCount) {
+        final int maxSize = PropertiesUtil.getProperties().getIntegerProperty(propertyName, 0);
+        if (maxSize <= 0) {
+            return shardRingBufferSize;
+        }
+        int shardMaxSize = Integers.ceilingNextPowerOfTwo(maxSize);
+        if (shardCount > 1) {
+            shardMaxSize = calculateShardRingBufferSize(shardMaxSize, shardCount);
+        }
+        return Math.max(shardRingBufferSize, shardMaxSize);
+    }
+
     static ExceptionHandler<RingBufferLogEvent> getAsyncLoggerExceptionHandler() {
         try {
             return LoaderUtil.newCheckedInstanceOfProperty(
@@ -97,6 +174,16 @@ final class DisruptorUtil {
         }
     }
 
+    static RingBufferTelemetryListener getAsyncLoggerTelemetryListener() {
+        try {
+            return LoaderUtil.newCheckedInstanceOfProperty(
+                    LOGGER_TELEMETRY_LISTENER_PROPERTY, RingBufferTelemetryListener.class);
+        } catch (final ReflectiveOperationException e) {
+            LOGGER.debug("Invalid AsyncLogger.TelemetryListener value: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
     static ExceptionHandler<AsyncLoggerConfigDisruptor.Log4jEventWrapper> getAsyncLoggerConfigExceptionHandler() {
         try {
             return LoaderUtil.newCheckedInstanceOfProperty(
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import com.lmax.disruptor.AlertException;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.WaitStrategy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Wait strategy that spins, then yields, then parks with an exponential backoff.
+ * <p>
+ * The spinning phase adapts to the time the consumer recently waited for new events: it lasts up to twice that time,
+ * but is skipped if events arrive too seldom to be caught by spinning, or if a single CPU is available. Producers only
+ * wake the consumer up if it is parked, using {@link LockSupport#unpark(Thread)} instead of acquiring a lock.
+ * </p>
+ * <p>
+ * This strategy supports a single consumer thread, which is the case for all the ring buffers of Log4j.
+ * </p>
+ */
+// IMPLEMENTATION NOTE:
+// The `consumerParked` flag is written before the consumer checks the cursor a last time, while producers advance the
+// cursor with a CAS before reading the flag: either the consumer sees the new event, or the producer sees the flag.
+// The maximum park time only bounds the latency if a wake-up is lost for another reason.
+class HybridWaitStrategy implements WaitStrategy {
+
+    /**
+     * Maximum duration of the spinning phase.
+     */
+    static final long MAX_SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+    private static final int YIELD_TRIES = 10;
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private final long maxSpinNanos;
+    private final long maxParkNanos;
+    private final CursorCondition cursorCondition = new CursorCondition();
+    private volatile Thread consumerThread;
+    private volatile boolean consumerParked;
+    // Only accessed by the consumer thread
+    private long averageWaitNanos;
+
+    /**
+     * @param maxParkTime the maximum time to park the consumer thread at once
+     * @param unit the unit of {@code maxParkTime}
+     */
+    HybridWaitStrategy(final long maxParkTime, final TimeUnit unit) {
+        this(Runtime.getRuntime().availableProcessors() > 1 ? MAX_SPIN_NANOS : 0L, unit.toNanos(maxParkTime));
+    }
+
+    HybridWaitStrategy(final long maxSpinNanos, final long maxParkNanos) {
+        this.maxSpinNanos = maxSpinNanos;
+        this.maxParkNanos = Math.max(MIN_PARK_NANOS, maxParkNanos);
+    }
+
+    @Override
+    public long waitFor(
+            final long sequence,
+            final Sequence cursorSequence,
+            final Sequence dependentSequence,
+            final SequenceBarrier barrier)
+            throws AlertException, InterruptedException {
+        if (cursorSequence.get() < sequence) {
+            cursorCondition.sequence = sequence;
+            cursorCondition.cursorSequence = cursorSequence;
+            cursorCondition.barrier = barrier;
+            await(cursorCondition);
+            barrier.checkAlert();
+        }
+
+        long availableSequence;
+        while ((availableSequence = dependentSequence.get()) < sequence) {
+            barrier.checkAlert();
+        }
+        return availableSequence;
+    }
+
+    /**
+     * Waits until the condition holds.
+     *
+     * @param condition checked repeatedly by the consumer thread
+     * @throws InterruptedException if the consumer thread is interrupted while parked
+     */
+    void await(final BooleanSupplier condition) throws InterruptedException {
+        if (condition.getAsBoolean()) {
+            return;
+        }
+        final long startNanos = System.nanoTime();
+        // Spin only if recent events arrived within the spinning window
+        final long spinNanos = averageWaitNanos < maxSpinNanos ? Math.min(2 * averageWaitNanos, maxSpinNanos) : 0L;
+        while (System.nanoTime() - startNanos < spinNanos) {
+            if (condition.getAsBoolean()) {
+                recordWait(startNanos);
+                return;
+            }
+        }
+        for (int i = 0; i < YIELD_TRIES; i++) {
+            Thread.yield();
+            if (condition.getAsBoolean()) {
+                recordWait(startNanos);
+                return;
+            }
+        }
+        consumerThread = Thread.currentThread();
+        long parkNanos = MIN_PARK_NANOS;
+        while (true) {
+            consumerParked = true;
+            try {
+                if (condition.getAsBoolean()) {
+                    break;
+                }
+                LockSupport.parkNanos(this, parkNanos);
+            } finally {
+                consumerParked = false;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            parkNanos = Math.min(2 * parkNanos, maxParkNanos);
+        }
+        recordWait(startNanos);
+    }
+
+    private void recordWait(final long startNanos) {
+        // Exponentially weighted moving average with a weight of 1/8 for the new sample
+        averageWaitNanos += (System.nanoTime() - startNanos - averageWaitNanos) >> 3;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        if (consumerParked) {
+            LockSupport.unpark(consumerThread);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "HybridWaitStrategy{maxSpinNanos=" + maxSpinNanos + ", maxParkNanos=" + maxParkNanos + '}';
+    }
+
+    /**
+     * Reusable condition of {@link #waitFor}, which is only called by the consumer thread.
+     */
+    private static final class CursorCondition implements BooleanSupplier {
+
+        private long sequence;
+        private Sequence cursorSequence;
+        private SequenceBarrier barrier;
+
+        @Override
+        public boolean getAsBoolean() {
+            return cursorSequence.get() >= sequence || barrier.isAlerted();
+        }
+    }
+}
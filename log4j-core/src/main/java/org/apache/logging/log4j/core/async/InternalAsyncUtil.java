@@ -16,9 +16,31 @@
  */
 package org.apache.logging.log4j.core.async;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
 import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.message.AsynchronouslyFormattable;
 import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.MessageFormatMessage;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.logging.log4j.message.ReusableParameterizedMessage;
+import org.apache.logging.log4j.message.StringFormattedMessage;
+import org.apache.logging.log4j.util.PropertiesUtil;
 
 /**
  * Helper class providing some async logging-related functionality.
@@ -27,10 +49,77 @@ import org.apache.logging.log4j.message.Message;
  * </p>
  */
 public class InternalAsyncUtil {
+
+    /**
+     * Name of the property listing the fully qualified names of additional message parameter types, whose instances
+     * can safely be formatted in a background thread.
+     */
+    static final String ASYNC_FORMATTABLE_TYPES_PROPERTY = "log4j2.asyncFormattableTypes";
+
+    /**
+     * Maximum number of parameters of a reusable message formatted in a background thread.
+     */
+    static final int MAX_ASYNC_FORMATTABLE_PARAMETERS = 10;
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            String.class,
+            Boolean.class,
+            Character.class,
+            Byte.class,
+            Short.class,
+            Integer.class,
+            Long.class,
+            Float.class,
+            Double.class,
+            BigInteger.class,
+            BigDecimal.class,
+            UUID.class,
+            Class.class,
+            Duration.class,
+            Instant.class,
+            LocalDate.class,
+            LocalDateTime.class,
+            LocalTime.class,
+            OffsetDateTime.class,
+            OffsetTime.class,
+            Period.class,
+            ZoneOffset.class,
+            ZonedDateTime.class));
+
+    private static final Set<String> CONFIGURED_TYPES = getConfiguredTypes();
+
+    private static final ClassValue<Boolean> ASYNC_FORMATTABLE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            return IMMUTABLE_TYPES.contains(type)
+                    || Enum.class.isAssignableFrom(type)
+                    || type.isAnnotationPresent(AsynchronouslyFormattable.class)
+                    || CONFIGURED_TYPES.contains(type.getName());
+        }
+    };
+
+    private static final ThreadLocal<ParameterizedFormatter> FORMATTER =
+            ThreadLocal.withInitial(ParameterizedFormatter::new);
+
+    private static Set<String> getConfiguredTypes() {
+        final String types = PropertiesUtil.getProperties().getStringProperty(ASYNC_FORMATTABLE_TYPES_PROPERTY);
+        if (types == null) {
+            return Collections.emptySet();
+        }
+        final Set<String> result = new HashSet<>();
+        for (final String type : types.split(",")) {
+            if (!type.trim().isEmpty()) {
+                result.add(type.trim());
+            }
+        }
+        return result;
+    }
+
     /**
      * Returns the specified message, with its content frozen unless system property
-     * {@code log4j.format.msg.async} is true or the message class is annotated with
-     * {@link AsynchronouslyFormattable}.
+     * {@code log4j.format.msg.async} is true, the message class is annotated with
+     * {@link AsynchronouslyFormattable} or all the parameters of a parameterized message are
+     * {@linkplain #isAsyncFormattable(Object) safe to format in a background thread}.
      *
      * @param msg the message object to inspect, modify and return
      * @return Returns the specified message, with its content frozen
@@ -45,6 +134,75 @@ public class InternalAsyncUtil {
 
     private static boolean canFormatMessageInBackground(final Message message) {
         return Constants.FORMAT_MESSAGES_IN_BACKGROUND // LOG4J2-898: user wants to format all msgs in background
-                || message.getClass().isAnnotationPresent(AsynchronouslyFormattable.class); // LOG4J2-1718
+                || message.getClass().isAnnotationPresent(AsynchronouslyFormattable.class) // LOG4J2-1718
+                || hasAsyncFormattableParameters(message);
+    }
+
+    private static boolean hasAsyncFormattableParameters(final Message message) {
+        // Only the messages whose formatted message only depends on their parameters
+        final Class<?> type = message.getClass();
+        if (type != ParameterizedMessage.class
+                && type != StringFormattedMessage.class
+                && type != MessageFormatMessage.class) {
+            return false;
+        }
+        final Object[] parameters = message.getParameters();
+        if (parameters == null || parameters.length == 0) {
+            return false;
+        }
+        for (final Object parameter : parameters) {
+            if (!isAsyncFormattable(parameter)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if the specified message parameter can safely be formatted in a background thread: if it
+     * is {@code null}, an instance of an immutable JDK type or of an enum, an instance of a type annotated with
+     * {@link AsynchronouslyFormattable} or of a type listed in the {@value #ASYNC_FORMATTABLE_TYPES_PROPERTY}
+     * property.
+     *
+     * @param parameter a message parameter
+     * @return whether the parameter can be formatted in a background thread
+     */
+    static boolean isAsyncFormattable(final Object parameter) {
+        return parameter == null || ASYNC_FORMATTABLE.get(parameter.getClass());
+    }
+
+    /**
+     * Formats a parameterized message in the current thread, without allocating objects.
+     *
+     * @param buffer the buffer to append the formatted message to
+     * @param pattern the message pattern
+     * @param parameters the message parameters
+     * @param count the number of message parameters, at most {@value #MAX_ASYNC_FORMATTABLE_PARAMETERS}
+     */
+    static void formatTo(final StringBuilder buffer, final String pattern, final Object[] parameters, final int count) {
+        FORMATTER.get().formatTo(buffer, pattern, parameters, count);
+    }
+
+    /**
+     * Formats parameterized messages, reusing a parameter array of the exact size for each parameter count.
+     */
+    private static final class ParameterizedFormatter {
+
+        private final ReusableParameterizedMessage message = new ReusableParameterizedMessage();
+        private final Object[][] arguments = new Object[MAX_ASYNC_FORMATTABLE_PARAMETERS + 1][];
+
+        void formatTo(final StringBuilder buffer, final String pattern, final Object[] parameters, final int count) {
+            Object[] args = arguments[count];
+            if (args == null) {
+                args = arguments[count] = new Object[count];
+            }
+            System.arraycopy(parameters, 0, args, 0, count);
+            try {
+                message.set(pattern, args).formatTo(buffer);
+            } finally {
+                Arrays.fill(args, null);
+                message.clear();
+            }
+        }
     }
 }
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.Level;
+
+/**
+ * Priority router extends the {@link DiscardingAsyncQueueFullPolicy} by protecting the log events
+ * {@linkplain Level#isMoreSpecificThan(Level) more specific} than the threshold level from less specific ones:
+ * <ul>
+ *   <li>A fraction of the ring buffer of Async Loggers is reserved to the more specific events: less specific events
+ *     are discarded as soon as only the reserved capacity is left.</li>
+ *   <li>While an application thread waits to enqueue a more specific event, the background thread evicts the queued
+ *     less specific events: it discards them instead of sending them to the appenders, which frees slots faster.</li>
+ * </ul>
+ * <p>
+ * Both features only apply to Async Loggers; with {@code AsyncLoggerConfig} and {@code AsyncAppender} this router
+ * behaves as a {@link DiscardingAsyncQueueFullPolicy}. Evicted events are counted as discarded events.
+ * </p>
+ *
+ * @since 2.25.0
+ */
+public class PriorityAsyncQueueFullPolicy extends DiscardingAsyncQueueFullPolicy {
+
+    private final float reservedCapacityRatio;
+    private final AtomicInteger waitingProducers = new AtomicInteger();
+
+    /**
+     * Constructs a router that protects events more specific than the specified threshold level.
+     *
+     * @param thresholdLevel level of events to discard
+     * @param reservedCapacityRatio fraction of the ring buffer reserved to events more specific than the threshold
+     * level, at least {@code 0} and less than {@code 1}
+     */
+    public PriorityAsyncQueueFullPolicy(final Level thresholdLevel, final float reservedCapacityRatio) {
+        super(thresholdLevel);
+        if (!(reservedCapacityRatio >= 0 && reservedCapacityRatio < 1)) {
+            throw new IllegalArgumentException("reservedCapacityRatio must be in [0, 1): " + reservedCapacityRatio);
+        }
+        this.reservedCapacityRatio = reservedCapacityRatio;
+    }
+
+    public float getReservedCapacityRatio() {
+        return reservedCapacityRatio;
+    }
+
+    /**
+     * Returns the number of slots of a ring buffer with the specified size reserved to high priority events.
+     */
+    int getReservedCapacity(final int ringBufferSize) {
+        return (int) (ringBufferSize * reservedCapacityRatio);
+    }
+
+    /**
+     * Returns {@code true} if events of the specified level may be discarded or evicted.
+     */
+    boolean isLowPriority(final Level level) {
+        return level.isLessSpecificThan(getThresholdLevel());
+    }
+
+    /**
+     * Signals that an application thread started waiting to enqueue a high priority event.
+     */
+    void waitStarted() {
+        waitingProducers.incrementAndGet();
+    }
+
+    /**
+     * Signals that an application thread stopped waiting to enqueue a high priority event.
+     */
+    void waitFinished() {
+        waitingProducers.decrementAndGet();
+    }
+
+    /**
+     * Called by the background thread before processing a queued event.
+     *
+     * @return {@code true} if the event must be discarded
+     */
+    boolean evict(final Level level) {
+        if (waitingProducers.get() > 0 && isLowPriority(level)) {
+            countDiscarded(level);
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides when the ring buffers of an {@link AsyncLoggerDisruptor} grow: when application threads found them full at
+ * least {@code threshold} times within a window of one second.
+ * <p>
+ * A short burst that fills the ring buffers only a few times does not make them grow, while sustained pressure does,
+ * regardless of the size of the ring buffers. Only application threads that found the ring buffers full call this
+ * class, so that the fast path of logging is not affected.
+ * </p>
+ */
+final class RingBufferGrowthTrigger {
+
+    static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int threshold;
+    // The following fields are guarded by this
+    private long windowStartNanos;
+    private int fullCount;
+
+    /**
+     * @param threshold the number of times the ring buffers must be found full within a window
+     * @param nanoTime the current value of {@link System#nanoTime()}
+     */
+    RingBufferGrowthTrigger(final int threshold, final long nanoTime) {
+        this.threshold = threshold;
+        this.windowStartNanos = nanoTime;
+    }
+
+    int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Records that the ring buffers were found full.
+     *
+     * @param nanoTime the current value of {@link System#nanoTime()}
+     * @return {@code true} if the threshold has been reached within the current window
+     */
+    synchronized boolean ringBufferFull(final long nanoTime) {
+        if (nanoTime - windowStartNanos >= WINDOW_NANOS) {
+            windowStartNanos = nanoTime;
+            fullCount = 0;
+        }
+        return ++fullCount >= threshold;
+    }
+
+    /**
+     * Starts a new window, after the ring buffers have been replaced.
+     *
+     * @param nanoTime the current value of {@link System#nanoTime()}
+     */
+    synchronized void reset(final long nanoTime) {
+        windowStartNanos = nanoTime;
+        fullCount = 0;
+    }
+}
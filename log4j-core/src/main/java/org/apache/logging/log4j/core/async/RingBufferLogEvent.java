@@ -37,6 +37,7 @@ import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.message.ParameterConsumer;
 import org.apache.logging.log4j.message.ParameterVisitable;
 import org.apache.logging.log4j.message.ReusableMessage;
+import org.apache.logging.log4j.message.ReusableParameterizedMessage;
 import org.apache.logging.log4j.message.SimpleMessage;
 import org.apache.logging.log4j.message.TimestampMessage;
 import org.apache.logging.log4j.util.ReadOnlyStringMap;
@@ -67,7 +68,11 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
         }
     }
 
+    private static final ParameterConsumer<RingBufferLogEvent> ASYNC_FORMATTABLE_CHECK =
+            (parameter, index, event) -> event.formatPending &= InternalAsyncUtil.isAsyncFormattable(parameter);
+
     private boolean populated;
+    private boolean formatPending;
     private int threadPriority;
     private long threadId;
     private final MutableInstant instant = new MutableInstant();
@@ -143,7 +148,10 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
     private void setMessage(final Message msg) {
         if (msg instanceof ReusableMessage) {
             final ReusableMessage reusable = (ReusableMessage) msg;
-            reusable.formatTo(getMessageTextForWriting());
+            formatPending = canFormatInBackground(reusable);
+            if (!formatPending) {
+                reusable.formatTo(getMessageTextForWriting());
+            }
             messageFormat = reusable.getFormat();
             parameters = reusable.swapParameters(parameters == null ? new Object[10] : parameters);
             parameterCount = reusable.getParameterCount();
@@ -152,6 +160,37 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
         }
     }
 
+    /**
+     * Returns {@code true} if the parameters of the specified message can be copied into this event and formatted by
+     * the background thread.
+     */
+    private boolean canFormatInBackground(final ReusableMessage reusable) {
+        if (!(reusable instanceof ReusableParameterizedMessage)) {
+            return false;
+        }
+        final short count = reusable.getParameterCount();
+        if (count == 0 || count > InternalAsyncUtil.MAX_ASYNC_FORMATTABLE_PARAMETERS) {
+            return false;
+        }
+        if (Constants.FORMAT_MESSAGES_IN_BACKGROUND) { // LOG4J2-898: user wants to format all msgs in background
+            return true;
+        }
+        formatPending = true;
+        ((ReusableParameterizedMessage) reusable).forEachParameter(ASYNC_FORMATTABLE_CHECK, this);
+        return formatPending;
+    }
+
+    /**
+     * Returns the formatted message, formatting the copied parameters on first access.
+     */
+    private StringBuilder getMessageText() {
+        if (formatPending) {
+            formatPending = false;
+            InternalAsyncUtil.formatTo(getMessageTextForWriting(), messageFormat, parameters, parameterCount);
+        }
+        return messageText;
+    }
+
     private StringBuilder getMessageTextForWriting() {
         if (messageText == null) {
             // Happens the first time messageText is requested or if a user logs
@@ -230,7 +269,7 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
     @Override
     public Message getMessage() {
         if (message == null) {
-            return messageText == null ? EMPTY : this;
+            return messageText == null && !formatPending ? EMPTY : this;
         }
         return message;
     }
@@ -240,8 +279,9 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
      */
     @Override
     public String getFormattedMessage() {
-        return messageText != null // LOG4J2-1527: may be null in web apps
-                ? messageText.toString() // note: please keep below "redundant" braces for readability
+        final StringBuilder text = getMessageText();
+        return text != null // LOG4J2-1527: may be null in web apps
+                ? text.toString() // note: please keep below "redundant" braces for readability
                 : (message == null ? null : message.getFormattedMessage());
     }
 
@@ -274,7 +314,7 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
      */
     @Override
     public void formatTo(final StringBuilder buffer) {
-        buffer.append(messageText);
+        buffer.append(getMessageText());
     }
 
     /**
@@ -310,7 +350,7 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
     @Override
     public Message memento() {
         if (message == null) {
-            message = new MementoMessage(String.valueOf(messageText), messageFormat, getParameters());
+            message = new MementoMessage(String.valueOf(getMessageText()), messageFormat, getParameters());
         }
         return message;
     }
@@ -319,17 +359,17 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
 
     @Override
     public int length() {
-        return messageText.length();
+        return getMessageText().length();
     }
 
     @Override
     public char charAt(final int index) {
-        return messageText.charAt(index);
+        return getMessageText().charAt(index);
     }
 
     @Override
     public CharSequence subSequence(final int start, final int end) {
-        return messageText.subSequence(start, end);
+        return getMessageText().subSequence(start, end);
     }
 
     @Override
@@ -431,6 +471,7 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
 
     private void clearMessage() {
         message = null;
+        formatPending = false;
         messageFormat = null;
         // ensure that excessively long char[] arrays are not kept in memory forever
         if (Constants.ENABLE_THREADLOCALS) {
@@ -16,6 +16,7 @@
  */
 package org.apache.logging.log4j.core.async;
 
+import com.lmax.disruptor.BatchStartAware;
 import com.lmax.disruptor.LifecycleAware;
 import com.lmax.disruptor.SequenceReportingEventHandler;
 
@@ -31,4 +32,13 @@ import com.lmax.disruptor.SequenceReportingEventHandler;
  */
 @Deprecated
 public class RingBufferLogEventHandler extends RingBufferLogEventHandler4
-        implements SequenceReportingEventHandler<RingBufferLogEvent>, LifecycleAware {}
+        implements SequenceReportingEventHandler<RingBufferLogEvent>, LifecycleAware, BatchStartAware {
+
+    /**
+     * Disruptor 3.x does not limit the size of a batch, which is therefore the number of events in the ring buffer.
+     */
+    @Override
+    public void onBatchStart(final long batchSize) {
+        onBatchStart(batchSize, batchSize);
+    }
+}
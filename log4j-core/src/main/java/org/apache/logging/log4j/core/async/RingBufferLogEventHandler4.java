@@ -34,6 +34,23 @@ class RingBufferLogEventHandler4 implements EventHandler<RingBufferLogEvent> {
     private Sequence sequenceCallback;
     private int counter;
     private long threadId = -1;
+    private RingBufferTelemetry telemetry;
+    private int batchSize;
+    private PriorityAsyncQueueFullPolicy evictionPolicy;
+
+    /**
+     * Sets the telemetry notified of the queue depth and of the size of each batch of events.
+     */
+    void setTelemetry(final RingBufferTelemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    /**
+     * Sets the policy that decides which events to discard instead of processing them.
+     */
+    void setEvictionPolicy(final PriorityAsyncQueueFullPolicy evictionPolicy) {
+        this.evictionPolicy = evictionPolicy;
+    }
 
     /*
      * Overrides a method from Disruptor 4.x. Do not remove.
@@ -42,6 +59,15 @@ class RingBufferLogEventHandler4 implements EventHandler<RingBufferLogEvent> {
         this.sequenceCallback = sequenceCallback;
     }
 
+    /*
+     * Overrides a method from Disruptor 4.x. Do not remove.
+     */
+    public void onBatchStart(final long batchSize, final long queueDepth) {
+        if (telemetry != null) {
+            telemetry.queueDepthObserved(queueDepth);
+        }
+    }
+
     @Override
     public void onEvent(final RingBufferLogEvent event, final long sequence, final boolean endOfBatch)
             throws Exception {
@@ -50,11 +76,18 @@ class RingBufferLogEventHandler4 implements EventHandler<RingBufferLogEvent> {
             // translation, the event may not be fully populated, but Disruptor requires that the associated sequence
             // still be published since a slot has already been claimed in the ring buffer. Ignore any such unpopulated
             // events. The exception that occurred during translation will have already been propagated.
-            if (event.isPopulated()) {
+            if (event.isPopulated() && (evictionPolicy == null || !evictionPolicy.evict(event.getLevel()))) {
                 event.execute(endOfBatch);
             }
         } finally {
             event.clear();
+            ++batchSize;
+            if (endOfBatch) {
+                if (telemetry != null) {
+                    telemetry.batchProcessed(batchSize);
+                }
+                batchSize = 0;
+            }
             // notify the BatchEventProcessor that the sequence has progressed.
             // Without this callback the sequence would not be progressed
             // until the batch has completely finished.
@@ -0,0 +1,508 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import com.lmax.disruptor.EventTranslator;
+import com.lmax.disruptor.EventTranslatorVararg;
+import com.lmax.disruptor.ExceptionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.PropertiesUtil;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * Bounded multi-producer single-consumer queue of pre-allocated {@link RingBufferLogEvent}s, used by
+ * {@link AsyncLoggerDisruptor} instead of an LMAX Disruptor if {@code log4j2.asyncLoggerBackend} is {@code Queue}.
+ * <p>
+ * Each slot of the queue carries a sequence number: producers claim a slot by incrementing the producer index with a
+ * CAS, populate the pre-allocated event in place and publish it by advancing the slot sequence. The consumer thread
+ * processes the events in order, clears them and releases the slot for the next lap. Neither operation allocates.
+ * </p>
+ */
+final class RingBufferLogEventQueue {
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+    private static final int CLAIM_YIELD_TRIES = 100;
+    private static final long MAX_CLAIM_PARK_NANOS = 1_000_000L;
+
+    private final RingBufferLogEvent[] events;
+    // Sequence of each slot: `index` if free for the producer of `index`, `index + 1` if published.
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final WaitStrategy waitStrategy;
+    private final ExceptionHandler<RingBufferLogEvent> exceptionHandler;
+    private final RingBufferTelemetry telemetry;
+    private final PriorityAsyncQueueFullPolicy evictionPolicy;
+    private final BooleanSupplier consumerCondition = this::isNextEventAvailableOrStopping;
+
+    private volatile long consumerIndex;
+    private volatile boolean shutdown;
+    private volatile boolean halted;
+    private Thread consumerThread;
+
+    /**
+     * @param capacity the capacity of the queue, must be a power of two
+     * @param waitStrategy the strategy used by the consumer thread to wait for new events
+     * @param exceptionHandler receives the exceptions thrown while processing events
+     * @param telemetry notified of the queue depth and of the size of each batch of events, may be {@code null}
+     * @param evictionPolicy decides which events to discard instead of processing them, may be {@code null}
+     */
+    RingBufferLogEventQueue(
+            final int capacity,
+            final WaitStrategy waitStrategy,
+            final ExceptionHandler<RingBufferLogEvent> exceptionHandler,
+            final RingBufferTelemetry telemetry,
+            final PriorityAsyncQueueFullPolicy evictionPolicy) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of 2: " + capacity);
+        }
+        this.events = new RingBufferLogEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new RingBufferLogEvent();
+            sequences.set(i, i);
+        }
+        this.mask = capacity - 1;
+        this.waitStrategy = waitStrategy;
+        this.exceptionHandler = exceptionHandler;
+        this.telemetry = telemetry;
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    /**
+     * Starts the consumer thread.
+     *
+     * @param threadFactory creates the consumer thread
+     */
+    synchronized void start(final ThreadFactory threadFactory) {
+        if (consumerThread != null) {
+            throw new IllegalStateException("Queue already started.");
+        }
+        consumerThread = threadFactory.newThread(this::processEvents);
+        consumerThread.start();
+    }
+
+    int getBufferSize() {
+        return events.length;
+    }
+
+    WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    long remainingCapacity() {
+        return events.length - (producerIndex.get() - consumerIndex);
+    }
+
+    /**
+     * Returns {@code true} if the queue contains events that have not been processed yet.
+     */
+    boolean hasBacklog() {
+        return producerIndex.get() != consumerIndex;
+    }
+
+    boolean tryPublishEvent(final EventTranslator<RingBufferLogEvent> translator) {
+        final long index = tryClaim();
+        if (index < 0) {
+            return false;
+        }
+        try {
+            translator.translateTo(events[slot(index)], index);
+        } finally {
+            publish(index);
+        }
+        return true;
+    }
+
+    boolean tryPublishEvent(final EventTranslatorVararg<RingBufferLogEvent> translator, final Object... args) {
+        final long index = tryClaim();
+        if (index < 0) {
+            return false;
+        }
+        try {
+            translator.translateTo(events[slot(index)], index, args);
+        } finally {
+            publish(index);
+        }
+        return true;
+    }
+
+    /**
+     * Publishes an event, waiting for a free slot if the queue is full.
+     */
+    void publishEvent(final EventTranslator<RingBufferLogEvent> translator) {
+        final long index = claim();
+        try {
+            translator.translateTo(events[slot(index)], index);
+        } finally {
+            publish(index);
+        }
+    }
+
+    /**
+     * Publishes an event, waiting for a free slot if the queue is full.
+     */
+    void publishEvent(final EventTranslatorVararg<RingBufferLogEvent> translator, final Object... args) {
+        final long index = claim();
+        try {
+            translator.translateTo(events[slot(index)], index, args);
+        } finally {
+            publish(index);
+        }
+    }
+
+    private int slot(final long index) {
+        return (int) index & mask;
+    }
+
+    /**
+     * Claims the next slot, or returns {@code -1} if the queue is full.
+     */
+    private long tryClaim() {
+        while (true) {
+            final long index = producerIndex.get();
+            final long sequence = sequences.get(slot(index));
+            if (sequence == index) {
+                if (producerIndex.compareAndSet(index, index + 1)) {
+                    return index;
+                }
+            } else if (sequence < index) {
+                // the slot still holds the event of the previous lap
+                return -1;
+            }
+            // else another producer claimed the slot: retry with the new index
+        }
+    }
+
+    /**
+     * Claims the next slot, waiting for the consumer if the queue is full.
+     * <p>
+     * The producer yields a few times, then parks for a time that doubles on each attempt, up to
+     * {@value #MAX_CLAIM_PARK_NANOS} nanoseconds, so that producers waiting for a full queue do not compete with the
+     * consumer for the CPU.
+     * </p>
+     */
+    private long claim() {
+        int yields = CLAIM_YIELD_TRIES;
+        long parkNanos = 1L;
+        while (true) {
+            final long index = tryClaim();
+            if (index >= 0) {
+                return index;
+            }
+            if (yields > 0) {
+                --yields;
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(parkNanos);
+                parkNanos = Math.min(2 * parkNanos, MAX_CLAIM_PARK_NANOS);
+            }
+        }
+    }
+
+    private void publish(final long index) {
+        sequences.set(slot(index), index + 1);
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    private boolean isNextEventAvailableOrStopping() {
+        final long index = consumerIndex;
+        return sequences.get(slot(index)) == index + 1 || shutdown || halted;
+    }
+
+    private void processEvents() {
+        long index = consumerIndex;
+        int batchSize = 0;
+        while (!halted) {
+            final int slot = slot(index);
+            if (sequences.get(slot) == index + 1) {
+                if (batchSize == 0 && telemetry != null) {
+                    telemetry.queueDepthObserved(producerIndex.get() - index);
+                }
+                final long nextIndex = index + 1;
+                // the batch ends if the next event has not been published yet
+                final boolean endOfBatch = sequences.get(slot(nextIndex)) != nextIndex + 1;
+                processEvent(events[slot], index, endOfBatch);
+                // release the slot to the producers of the next lap
+                sequences.set(slot, index + events.length);
+                consumerIndex = index = nextIndex;
+                ++batchSize;
+                if (endOfBatch) {
+                    if (telemetry != null) {
+                        telemetry.batchProcessed(batchSize);
+                    }
+                    batchSize = 0;
+                }
+            } else if (shutdown && producerIndex.get() == index) {
+                break;
+            } else {
+                try {
+                    waitStrategy.waitFor(consumerCondition);
+                } catch (final InterruptedException e) {
+                    // not interrupted by the queue, checks the halted flag
+                }
+            }
+        }
+    }
+
+    private void processEvent(final RingBufferLogEvent event, final long index, final boolean endOfBatch) {
+        try {
+            // See RingBufferLogEventHandler4 about unpopulated events.
+            if (event.isPopulated() && (evictionPolicy == null || !evictionPolicy.evict(event.getLevel()))) {
+                event.execute(endOfBatch);
+            }
+        } catch (final Throwable t) {
+            exceptionHandler.handleEventException(t, index, event);
+        } finally {
+            event.clear();
+        }
+    }
+
+    /**
+     * Stops the consumer thread once all published events have been processed.
+     * <p>
+     * Publishing events must have stopped before calling this method.
+     * </p>
+     *
+     * @return {@code true} if all events have been processed, {@code false} if the timeout elapsed and the remaining
+     * events have been discarded, in which case the consumer thread might still be processing the current event
+     */
+    boolean shutdown(final long timeout, final TimeUnit timeUnit) {
+        shutdown = true;
+        waitStrategy.signalAll();
+        final Thread thread = consumerThread;
+        if (thread == null) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.timedJoin(thread, Math.max(1L, timeUnit.toNanos(timeout)));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            // Give up on remaining log events, if any. The consumer thread is not interrupted, since an interrupt would
+            // close the interruptible channels the current event might be written to: it stops after that event.
+            halted = true;
+            waitStrategy.signalAll();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Creates the wait strategy configured by the specified property and its auxiliary {@code Timeout},
+     * {@code Retries} and {@code SleepTimeNs} properties. The values are the same as for the Disruptor backend.
+     *
+     * @param propertyName the name of the wait strategy property
+     * @return the wait strategy for the consumer thread
+     */
+    static WaitStrategy createWaitStrategy(final String propertyName) {
+        final String strategy = PropertiesUtil.getProperties().getStringProperty(propertyName, "TIMEOUT");
+        LOGGER.trace("RingBufferLogEventQueue property {}={}", propertyName, strategy);
+        switch (Strings.toRootUpperCase(strategy)) {
+            case "SLEEP":
+                final long sleepTimeNs =
+                        DefaultAsyncWaitStrategyFactory.parseAdditionalLongProperty(propertyName, "SleepTimeNs", 100L);
+                final int retries = PropertiesUtil.getProperties()
+                        .getIntegerProperty(
+                                DefaultAsyncWaitStrategyFactory.getFullPropertyKey(propertyName, "Retries"), 200);
+                return new SleepingWaitStrategy(retries, sleepTimeNs);
+            case "YIELD":
+                return new SleepingWaitStrategy(2 * SleepingWaitStrategy.SPIN_TRIES, -1L);
+            case "BLOCK":
+                return new BlockingWaitStrategy(0L);
+            case "BUSYSPIN":
+                return new BusySpinWaitStrategy();
+            case "HYBRID":
+                final long maxParkMillis =
+                        DefaultAsyncWaitStrategyFactory.parseAdditionalLongProperty(propertyName, "Timeout", 10L);
+                return new SpinThenParkWaitStrategy(new HybridWaitStrategy(maxParkMillis, TimeUnit.MILLISECONDS));
+            default:
+                final long timeoutMillis =
+                        DefaultAsyncWaitStrategyFactory.parseAdditionalLongProperty(propertyName, "Timeout", 10L);
+                return new BlockingWaitStrategy(Math.max(1L, timeoutMillis));
+        }
+    }
+
+    /**
+     * Strategy used by the consumer thread to wait for new events.
+     */
+    abstract static class WaitStrategy {
+
+        /**
+         * Waits until the condition holds, or returns earlier to let the caller check it again.
+         */
+        abstract void waitFor(BooleanSupplier condition) throws InterruptedException;
+
+        /**
+         * Called by producers after each publication, wakes the consumer up if it is blocked.
+         */
+        void signalAllWhenBlocking() {}
+
+        /**
+         * Unconditionally wakes the consumer up.
+         */
+        void signalAll() {}
+    }
+
+    /**
+     * Blocks on a monitor, with an optional timeout. Producers only acquire the monitor while the consumer is blocked.
+     */
+    static final class BlockingWaitStrategy extends WaitStrategy {
+
+        private final Object mutex = new Object();
+        private final long timeoutMillis;
+        private volatile boolean consumerWaiting;
+
+        /**
+         * @param timeoutMillis the maximum time to block, {@code 0} to block until signaled
+         */
+        BlockingWaitStrategy(final long timeoutMillis) {
+            this.timeoutMillis = timeoutMillis;
+        }
+
+        @Override
+        void waitFor(final BooleanSupplier condition) throws InterruptedException {
+            synchronized (mutex) {
+                // The write of the flag followed by the read of the condition pairs with the publication followed by
+                // the read of the flag in `signalAllWhenBlocking()`: at least one of the threads sees the other.
+                consumerWaiting = true;
+                try {
+                    if (!condition.getAsBoolean()) {
+                        mutex.wait(timeoutMillis);
+                    }
+                } finally {
+                    consumerWaiting = false;
+                }
+            }
+        }
+
+        @Override
+        void signalAllWhenBlocking() {
+            if (consumerWaiting) {
+                signalAll();
+            }
+        }
+
+        @Override
+        void signalAll() {
+            synchronized (mutex) {
+                mutex.notifyAll();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "BlockingWaitStrategy{timeoutMillis=" + timeoutMillis + '}';
+        }
+    }
+
+    /**
+     * Spins, then yields, then sleeps. A negative sleep time never sleeps, which gives a yielding strategy.
+     */
+    static final class SleepingWaitStrategy extends WaitStrategy {
+
+        static final int SPIN_TRIES = 100;
+
+        private final int retries;
+        private final long sleepTimeNs;
+
+        SleepingWaitStrategy(final int retries, final long sleepTimeNs) {
+            this.retries = retries;
+            this.sleepTimeNs = sleepTimeNs;
+        }
+
+        @Override
+        void waitFor(final BooleanSupplier condition) {
+            int counter = retries;
+            while (!condition.getAsBoolean()) {
+                if (counter > SPIN_TRIES) {
+                    --counter;
+                } else if (counter > 0) {
+                    --counter;
+                    Thread.yield();
+                } else if (sleepTimeNs >= 0) {
+                    LockSupport.parkNanos(sleepTimeNs);
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "SleepingWaitStrategy{retries=" + retries + ", sleepTimeNs=" + sleepTimeNs + '}';
+        }
+    }
+
+    /**
+     * Adapts a {@link HybridWaitStrategy} to the queue.
+     */
+    static final class SpinThenParkWaitStrategy extends WaitStrategy {
+
+        private final HybridWaitStrategy delegate;
+
+        SpinThenParkWaitStrategy(final HybridWaitStrategy delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        void waitFor(final BooleanSupplier condition) throws InterruptedException {
+            delegate.await(condition);
+        }
+
+        @Override
+        void signalAllWhenBlocking() {
+            delegate.signalAllWhenBlocking();
+        }
+
+        @Override
+        void signalAll() {
+            delegate.signalAllWhenBlocking();
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+
+    /**
+     * Spins until the condition holds.
+     */
+    static final class BusySpinWaitStrategy extends WaitStrategy {
+
+        @Override
+        void waitFor(final BooleanSupplier condition) {
+            while (!condition.getAsBoolean()) {
+                // spin
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "BusySpinWaitStrategy";
+        }
+    }
+}
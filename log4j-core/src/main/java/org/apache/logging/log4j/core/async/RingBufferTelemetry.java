@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the telemetry of the ring buffers of an {@link AsyncLoggerDisruptor} and forwards it to an optional
+ * {@link RingBufferTelemetryListener}.
+ * <p>
+ * Only the background threads record events on each batch, the application threads only record when the ring buffer
+ * is full, so that the fast path of logging is not affected.
+ * </p>
+ */
+final class RingBufferTelemetry implements RingBufferTelemetryListener {
+
+    /**
+     * Upper bounds (exclusive) of the buckets of the enqueue wait histogram, the last bucket has no upper bound.
+     */
+    static final long[] ENQUEUE_WAIT_BUCKET_BOUNDS_NANOS = {
+        1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+
+    private final AtomicLong highWaterMark = new AtomicLong();
+    private final LongAdder ringBufferFullCount = new LongAdder();
+    private final LongAdder enqueueWaitNanos = new LongAdder();
+    private final AtomicLongArray enqueueWaitHistogram =
+            new AtomicLongArray(ENQUEUE_WAIT_BUCKET_BOUNDS_NANOS.length + 1);
+    private final RingBufferTelemetryListener listener;
+
+    /**
+     * @param listener an optional listener, may be {@code null}
+     */
+    RingBufferTelemetry(final RingBufferTelemetryListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Invoked by a background thread before it processes a batch of events.
+     *
+     * @param queueDepth the number of events in the ring buffer
+     */
+    void queueDepthObserved(final long queueDepth) {
+        long current = highWaterMark.get();
+        while (queueDepth > current && !highWaterMark.compareAndSet(current, queueDepth)) {
+            current = highWaterMark.get();
+        }
+    }
+
+    @Override
+    public void batchProcessed(final int batchSize) {
+        if (listener != null) {
+            listener.batchProcessed(batchSize);
+        }
+    }
+
+    @Override
+    public void ringBufferFull() {
+        ringBufferFullCount.increment();
+        if (listener != null) {
+            listener.ringBufferFull();
+        }
+    }
+
+    @Override
+    public void enqueueWaited(final long waitNanos) {
+        enqueueWaitNanos.add(waitNanos);
+        enqueueWaitHistogram.incrementAndGet(bucketOf(waitNanos));
+        if (listener != null) {
+            listener.enqueueWaited(waitNanos);
+        }
+    }
+
+    @Override
+    public void ringBufferResized(final int oldSize, final int newSize) {
+        if (listener != null) {
+            listener.ringBufferResized(oldSize, newSize);
+        }
+    }
+
+    private static int bucketOf(final long waitNanos) {
+        int bucket = 0;
+        while (bucket < ENQUEUE_WAIT_BUCKET_BOUNDS_NANOS.length
+                && waitNanos >= ENQUEUE_WAIT_BUCKET_BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    long getHighWaterMark() {
+        return highWaterMark.get();
+    }
+
+    long getRingBufferFullCount() {
+        return ringBufferFullCount.sum();
+    }
+
+    long getEnqueueWaitNanos() {
+        return enqueueWaitNanos.sum();
+    }
+
+    long[] getEnqueueWaitHistogram() {
+        final long[] result = new long[enqueueWaitHistogram.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = enqueueWaitHistogram.get(i);
+        }
+        return result;
+    }
+}
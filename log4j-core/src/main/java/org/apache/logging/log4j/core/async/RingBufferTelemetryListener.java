@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.async;
+
+/**
+ * Receives telemetry about the ring buffers of Async Loggers.
+ * <p>
+ * Methods are invoked synchronously by the background threads and by the application threads that find a ring buffer
+ * full, hence implementations must be thread-safe, fast and must not log through Async Loggers.
+ * </p>
+ * <p>
+ * A custom listener can be installed by setting the {@code log4j2.asyncLoggerTelemetryListener} property to the fully
+ * qualified name of a class implementing this interface, with a public no-argument constructor.
+ * Log4j collects the same telemetry itself and exposes it through
+ * {@link org.apache.logging.log4j.core.jmx.RingBufferAdminMBean}.
+ * </p>
+ *
+ * @since 2.25.0
+ */
+public interface RingBufferTelemetryListener {
+
+    /**
+     * Invoked by a background thread after it processed a batch of events. A batch ends when the background thread
+     * finds no further event ready to be processed.
+     *
+     * @param batchSize the number of events processed
+     */
+    default void batchProcessed(int batchSize) {}
+
+    /**
+     * Invoked by an application thread that found the ring buffer full, before the {@link AsyncQueueFullPolicy} is
+     * applied.
+     */
+    default void ringBufferFull() {}
+
+    /**
+     * Invoked by an application thread after it waited for a free slot in a full ring buffer.
+     *
+     * @param waitNanos the time spent waiting in nanoseconds
+     */
+    default void enqueueWaited(long waitNanos) {}
+
+    /**
+     * Invoked when the ring buffers are replaced with larger ones, see {@code log4j2.asyncLoggerRingBufferMaxSize}.
+     *
+     * @param oldSize the previous number of slots of each ring buffer
+     * @param newSize the new number of slots of each ring buffer
+     */
+    default void ringBufferResized(int oldSize, int newSize) {}
+}
@@ -48,6 +48,8 @@ import org.apache.logging.log4j.core.appender.ConsoleAppender;
 import org.apache.logging.log4j.core.async.AsyncLoggerConfig;
 import org.apache.logging.log4j.core.async.AsyncLoggerConfigDelegate;
 import org.apache.logging.log4j.core.async.AsyncLoggerConfigDisruptor;
+import org.apache.logging.log4j.core.async.AsyncThreadFactory;
+import org.apache.logging.log4j.core.async.AsyncThreadFactoryConfig;
 import org.apache.logging.log4j.core.async.AsyncWaitStrategyFactory;
 import org.apache.logging.log4j.core.async.AsyncWaitStrategyFactoryConfig;
 import org.apache.logging.log4j.core.config.arbiters.Arbiter;
@@ -72,6 +74,7 @@ import org.apache.logging.log4j.core.util.Loader;
 import org.apache.logging.log4j.core.util.NameUtil;
 import org.apache.logging.log4j.core.util.NanoClock;
 import org.apache.logging.log4j.core.util.Source;
+import org.apache.logging.log4j.core.util.SystemNanoClock;
 import org.apache.logging.log4j.core.util.WatchManager;
 import org.apache.logging.log4j.core.util.Watcher;
 import org.apache.logging.log4j.core.util.WatcherFactory;
@@ -143,7 +146,9 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
     private final WatchManager watchManager = new WatchManager(configurationScheduler);
     private AsyncLoggerConfigDisruptor asyncLoggerConfigDisruptor;
     private AsyncWaitStrategyFactory asyncWaitStrategyFactory;
-    private NanoClock nanoClock = new DummyNanoClock();
+    private AsyncThreadFactory asyncThreadFactory;
+    // Latency tracing needs the creation time of log events
+    private NanoClock nanoClock = AppenderLatency.isEnabled() ? new SystemNanoClock() : new DummyNanoClock();
     private final WeakReference<LoggerContext> loggerContext;
 
     /**
@@ -212,7 +217,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         // lazily instantiate only when requested by AsyncLoggers:
         // loading AsyncLoggerConfigDisruptor requires LMAX Disruptor jar on classpath
         if (asyncLoggerConfigDisruptor == null) {
-            asyncLoggerConfigDisruptor = new AsyncLoggerConfigDisruptor(asyncWaitStrategyFactory);
+            asyncLoggerConfigDisruptor = new AsyncLoggerConfigDisruptor(asyncWaitStrategyFactory, asyncThreadFactory);
         }
         return asyncLoggerConfigDisruptor;
     }
@@ -222,6 +227,11 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         return asyncWaitStrategyFactory;
     }
 
+    @Override
+    public AsyncThreadFactory getAsyncThreadFactory() {
+        return asyncThreadFactory;
+    }
+
     /**
      * Initialize the configuration.
      */
@@ -258,7 +268,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
                 } catch (final Exception e) {
                     LOGGER.error(
                             "Unable to initialize {} due to {}",
-                            type.getPluginClass().getName(),
+                            type.getPluginClassName(),
                             e.getClass().getSimpleName(),
                             e);
                 }
@@ -729,6 +739,9 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
             } else if (child.isInstanceOf(AsyncWaitStrategyFactoryConfig.class)) {
                 final AsyncWaitStrategyFactoryConfig awsfc = child.getObject(AsyncWaitStrategyFactoryConfig.class);
                 asyncWaitStrategyFactory = awsfc.createWaitStrategyFactory();
+            } else if (child.isInstanceOf(AsyncThreadFactoryConfig.class)) {
+                final AsyncThreadFactoryConfig atfc = child.getObject(AsyncThreadFactoryConfig.class);
+                asyncThreadFactory = atfc.createThreadFactory();
             } else {
                 final List<String> expected = Arrays.asList(
                         "\"Appenders\"", "\"Loggers\"", "\"Properties\"", "\"Scripts\"", "\"CustomLevels\"");
@@ -24,6 +24,10 @@ import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.appender.AppenderLoggingException;
 import org.apache.logging.log4j.core.filter.AbstractFilterable;
 import org.apache.logging.log4j.core.filter.Filterable;
+import org.apache.logging.log4j.core.filter.LevelRangeFilter;
+import org.apache.logging.log4j.core.filter.ThresholdFilter;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.util.NanoClock;
 import org.apache.logging.log4j.util.PerformanceSensitive;
 
 /**
@@ -41,6 +45,8 @@ public class AppenderControl extends AbstractFilterable {
     private final Level level;
     private final int intLevel;
     private final String appenderName;
+    private final AppenderLatency latency;
+    private volatile LevelWindow levelWindow;
 
     /**
      * Constructor.
@@ -55,9 +61,23 @@ public class AppenderControl extends AbstractFilterable {
         this.appenderName = appender.getName();
         this.level = level;
         this.intLevel = level == null ? Level.ALL.intLevel() : level.intLevel();
+        this.levelWindow = LevelWindow.of(filter, this.intLevel);
+        this.latency = AppenderLatency.register(appender);
         start();
     }
 
+    @Override
+    public synchronized void addFilter(final Filter filter) {
+        super.addFilter(filter);
+        levelWindow = LevelWindow.of(getFilter(), intLevel);
+    }
+
+    @Override
+    public synchronized void removeFilter(final Filter filter) {
+        super.removeFilter(filter);
+        levelWindow = LevelWindow.of(getFilter(), intLevel);
+    }
+
     /**
      * Returns the name the appender had when this AppenderControl was constructed.
      *
@@ -85,22 +105,25 @@ public class AppenderControl extends AbstractFilterable {
         if (shouldSkip(event)) {
             return;
         }
-        callAppenderPreventRecursion(event);
-    }
-
-    private boolean shouldSkip(final LogEvent event) {
-        return isFilteredByAppenderControl(event) || isFilteredByLevel(event) || isRecursiveCall();
+        if (latency != null && latency.sample()) {
+            callAppenderTraced(event);
+        } else {
+            callAppenderPreventRecursion(event);
+        }
     }
 
-    @PerformanceSensitive
-    private boolean isFilteredByAppenderControl(final LogEvent event) {
-        final Filter filter = getFilter();
-        return filter != null && Filter.Result.DENY == filter.filter(event);
+    private void callAppenderTraced(final LogEvent event) {
+        final NanoClock nanoClock = Log4jLogEvent.getNanoClock();
+        final long startNanos = nanoClock.nanoTime();
+        try {
+            callAppenderPreventRecursion(event);
+        } finally {
+            latency.record(event, startNanos, nanoClock.nanoTime());
+        }
     }
 
-    @PerformanceSensitive
-    private boolean isFilteredByLevel(final LogEvent event) {
-        return level != null && intLevel < event.getLevel().intLevel();
+    private boolean shouldSkip(final LogEvent event) {
+        return levelWindow.isFiltered(event) || isRecursiveCall();
     }
 
     @PerformanceSensitive
@@ -172,6 +195,93 @@ public class AppenderControl extends AbstractFilterable {
         }
     }
 
+    /**
+     * The level range accepted by this appender reference, combined with its filter whenever that filter only
+     * depends on the event level.
+     * <p>
+     *     A single {@link ThresholdFilter} or {@link LevelRangeFilter} is folded into the level range, so the common
+     *     case needs two integer comparisons and no filter call. Any other filter is kept and evaluated before the
+     *     level range, as it might be stateful.
+     * </p>
+     */
+    private static final class LevelWindow {
+
+        private final Filter filter;
+        private final int minIntLevel;
+        private final int maxIntLevel;
+        private final boolean restricted;
+
+        private LevelWindow(final Filter filter, final int minIntLevel, final int maxIntLevel) {
+            this.filter = filter;
+            this.minIntLevel = minIntLevel;
+            this.maxIntLevel = maxIntLevel;
+            this.restricted = minIntLevel != Integer.MIN_VALUE || maxIntLevel != Integer.MAX_VALUE;
+        }
+
+        private static LevelWindow of(final Filter filter, final int maxIntLevel) {
+            if (filter instanceof ThresholdFilter) {
+                final ThresholdFilter thresholdFilter = (ThresholdFilter) filter;
+                // The filter matches events with `intLevel <= threshold`
+                return of(
+                        Integer.MIN_VALUE,
+                        thresholdFilter.getLevel().intLevel(),
+                        thresholdFilter.getOnMatch(),
+                        thresholdFilter.getOnMismatch(),
+                        maxIntLevel);
+            }
+            if (filter instanceof LevelRangeFilter) {
+                final LevelRangeFilter rangeFilter = (LevelRangeFilter) filter;
+                final Filter.Result onMatch = rangeFilter.getOnMatch();
+                final Filter.Result onMismatch = rangeFilter.getOnMismatch();
+                // Denying the range itself would leave two disjoint ranges
+                if (onMatch != Filter.Result.DENY || onMismatch == Filter.Result.DENY) {
+                    return of(
+                            rangeFilter.getMinLevel().intLevel(),
+                            rangeFilter.getMaxLevel().intLevel(),
+                            onMatch,
+                            onMismatch,
+                            maxIntLevel);
+                }
+            }
+            return new LevelWindow(filter, Integer.MIN_VALUE, maxIntLevel);
+        }
+
+        private static LevelWindow of(
+                final int filterMin,
+                final int filterMax,
+                final Filter.Result onMatch,
+                final Filter.Result onMismatch,
+                final int maxIntLevel) {
+            final boolean denyMatch = onMatch == Filter.Result.DENY;
+            final boolean denyMismatch = onMismatch == Filter.Result.DENY;
+            if (denyMatch && denyMismatch) {
+                return new LevelWindow(null, Integer.MAX_VALUE, Integer.MIN_VALUE);
+            }
+            if (!denyMismatch) {
+                if (!denyMatch) {
+                    return new LevelWindow(null, Integer.MIN_VALUE, maxIntLevel);
+                }
+                // Only reachable for threshold filters: less specific levels are accepted
+                return filterMax == Integer.MAX_VALUE
+                        ? new LevelWindow(null, Integer.MAX_VALUE, Integer.MIN_VALUE)
+                        : new LevelWindow(null, filterMax + 1, maxIntLevel);
+            }
+            return new LevelWindow(null, filterMin, Math.min(filterMax, maxIntLevel));
+        }
+
+        @PerformanceSensitive
+        private boolean isFiltered(final LogEvent event) {
+            if (filter != null && Filter.Result.DENY == filter.filter(event)) {
+                return true;
+            }
+            if (!restricted) {
+                return false;
+            }
+            final int eventIntLevel = event.getLevel().intLevel();
+            return eventIntLevel < minIntLevel || eventIntLevel > maxIntLevel;
+        }
+    }
+
     // AppenderControl is a helper object whose purpose is to make it
     // easier for LoggerConfig to manage and invoke Appenders.
     // LoggerConfig manages Appenders by their name. To facilitate this,
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.util.LatencyHistogram;
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+/**
+ * Latency statistics of the log events delivered to an {@link Appender}.
+ * <p>
+ * Tracing is enabled by setting the {@value #SAMPLE_RATE_PROPERTY} property to a positive value {@code N}: one
+ * log event out of {@code N} is traced for each appender. Each traced event records two stages, timestamped with the
+ * {@link org.apache.logging.log4j.core.util.NanoClock NanoClock} of the configuration:
+ * </p>
+ * <ol>
+ *   <li>the <em>queue</em> latency, from the log call to the moment the appender is called, which includes the time
+ *   spent in the ring buffer of asynchronous loggers and appenders, and in the logger filters;</li>
+ *   <li>the <em>append</em> latency, from the moment the appender is called until it returns, which includes the
+ *   appender filters, the layout and the I/O.</li>
+ * </ol>
+ * <p>
+ * If tracing is disabled, which is the default, no statistics are kept.
+ * </p>
+ *
+ * @since 2.25.0
+ */
+public final class AppenderLatency {
+
+    /**
+     * Property that sets the sampling rate of latency tracing: {@code 0} disables it, {@code N} traces one log event
+     * out of {@code N}.
+     */
+    public static final String SAMPLE_RATE_PROPERTY = "log4j2.latencyTracingSampleRate";
+
+    private static final Map<Appender, AppenderLatency> REGISTRY = new WeakHashMap<>();
+
+    private final int sampleRate;
+    private final LatencyHistogram queueLatency = new LatencyHistogram();
+    private final LatencyHistogram appendLatency = new LatencyHistogram();
+    // Lost updates only shift the sample
+    private int sampleCounter;
+
+    private AppenderLatency(final int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Returns the sampling rate set by the {@value #SAMPLE_RATE_PROPERTY} property.
+     *
+     * @return {@code 0} if latency tracing is disabled, or {@code N} if one log event out of {@code N} is traced
+     */
+    public static int getSampleRate() {
+        return Math.max(0, PropertiesUtil.getProperties().getIntegerProperty(SAMPLE_RATE_PROPERTY, 0));
+    }
+
+    /**
+     * Returns {@code true} if latency tracing is enabled.
+     *
+     * @return {@code true} if latency tracing is enabled
+     */
+    public static boolean isEnabled() {
+        return getSampleRate() > 0;
+    }
+
+    /**
+     * Returns the latency statistics of an appender.
+     *
+     * @param appender an appender
+     * @return the latency statistics of the appender, or {@code null} if it was not traced
+     */
+    public static AppenderLatency get(final Appender appender) {
+        synchronized (REGISTRY) {
+            return REGISTRY.get(appender);
+        }
+    }
+
+    /**
+     * Returns the latency statistics of an appender, creating them if latency tracing is enabled.
+     *
+     * @return the latency statistics of the appender, or {@code null} if latency tracing is disabled
+     */
+    static AppenderLatency register(final Appender appender) {
+        final int sampleRate = getSampleRate();
+        if (sampleRate == 0) {
+            return null;
+        }
+        synchronized (REGISTRY) {
+            return REGISTRY.computeIfAbsent(appender, ignored -> new AppenderLatency(sampleRate));
+        }
+    }
+
+    /**
+     * Returns the distribution of the times between log calls and the calls to the appender.
+     *
+     * @return the queue latency histogram
+     */
+    public LatencyHistogram getQueueLatency() {
+        return queueLatency;
+    }
+
+    /**
+     * Returns the distribution of the times spent in the appender.
+     *
+     * @return the append latency histogram
+     */
+    public LatencyHistogram getAppendLatency() {
+        return appendLatency;
+    }
+
+    /**
+     * Returns {@code true} if the next log event must be traced.
+     */
+    boolean sample() {
+        final int next = sampleCounter + 1;
+        if (next < sampleRate) {
+            sampleCounter = next;
+            return false;
+        }
+        sampleCounter = 0;
+        return true;
+    }
+
+    /**
+     * Records the stages of a traced log event.
+     *
+     * @param event a log event
+     * @param startNanos the time the appender was called
+     * @param endNanos the time the appender returned
+     */
+    void record(final LogEvent event, final long startNanos, final long endNanos) {
+        // A zero timestamp means that the event was created with a dummy clock
+        final long eventNanos = event.getNanoTime();
+        if (eventNanos != 0L) {
+            queueLatency.record(startNanos - eventNanos);
+        }
+        appendLatency.record(endNanos - startNanos);
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.async.AsyncLoggerConfigDelegate;
+import org.apache.logging.log4j.core.async.AsyncThreadFactory;
 import org.apache.logging.log4j.core.async.AsyncWaitStrategyFactory;
 import org.apache.logging.log4j.core.filter.Filterable;
 import org.apache.logging.log4j.core.lookup.ConfigurationStrSubstitutor;
@@ -189,6 +190,17 @@ public interface Configuration extends Filterable {
      */
     AsyncWaitStrategyFactory getAsyncWaitStrategyFactory();
 
+    /**
+     * Returns the {@code AsyncThreadFactory} defined in this Configuration;
+     * this factory is used to create the background threads of Async Loggers and Async LoggerConfigs.
+     *
+     * @return the {@code AsyncThreadFactory}, or {@code null} to use the default threads
+     * @since 2.25.0
+     */
+    default AsyncThreadFactory getAsyncThreadFactory() {
+        return null;
+    }
+
     /**
      * Return the WatchManager.
      *
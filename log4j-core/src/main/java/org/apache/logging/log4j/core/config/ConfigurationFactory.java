@@ -170,7 +170,7 @@ public abstract class ConfigurationFactory extends ConfigurationBuilderFactory {
                         try {
                             ordered.add(type.getPluginClass().asSubclass(ConfigurationFactory.class));
                         } catch (final Exception ex) {
-                            LOGGER.warn("Unable to add class {}", type.getPluginClass(), ex);
+                            LOGGER.warn("Unable to add class {}", type.getPluginClassName(), ex);
                         }
                     }
                     Collections.sort(ordered, OrderComparator.getInstance());
@@ -700,6 +700,25 @@ public class LoggerConfig extends AbstractFilterable implements LocationAware {
         return false;
     }
 
+    /**
+     * Returns {@code true} if logging an event with the specified predicate may call a filter or an appender, of this
+     * {@code LoggerConfig} or of its additive parents.
+     *
+     * @param predicate predicate for which LoggerConfig instances to append to
+     * @return whether logging an event with the specified predicate may have any effect
+     * @since 2.25.0
+     */
+    protected final boolean requiresProcessing(final LoggerConfigPredicate predicate) {
+        LoggerConfig loggerConfig = this;
+        while (loggerConfig != null) {
+            if (loggerConfig.hasFilter() || (predicate.allow(loggerConfig) && loggerConfig.hasAppenders())) {
+                return true;
+            }
+            loggerConfig = loggerConfig.additive ? loggerConfig.parent : null;
+        }
+        return false;
+    }
+
     private void logParent(final LogEvent event, final LoggerConfigPredicate predicate) {
         if (additive && parent != null) {
             parent.log(event, predicate);
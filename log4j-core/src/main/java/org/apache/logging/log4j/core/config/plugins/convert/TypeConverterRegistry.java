@@ -114,7 +114,13 @@ public class TypeConverterRegistry {
 
     private void loadKnownTypeConverters(final Collection<PluginType<?>> knownTypes) {
         for (final PluginType<?> knownType : knownTypes) {
-            final Class<?> clazz = knownType.getPluginClass();
+            final Class<?> clazz;
+            try {
+                clazz = knownType.getPluginClass();
+            } catch (final IllegalStateException e) {
+                LOGGER.info("Ignoring type converter {}", knownType.getPluginClassName(), e);
+                continue;
+            }
             if (TypeConverter.class.isAssignableFrom(clazz)) {
                 @SuppressWarnings("rawtypes")
                 final Class<? extends TypeConverter> pluginClass = clazz.asSubclass(TypeConverter.class);
@@ -115,16 +115,24 @@ public class PluginManager {
 
     /**
      * Returns the type of a specified plugin.
+     * <p>
+     *     Loads the plugin class if necessary.
+     * </p>
      *
      * @param name The name of the plugin.
-     * @return The plugin's type.
+     * @return The plugin's type or {@code null} if there is no such plugin or its class can not be loaded.
      */
     public PluginType<?> getPluginType(final String name) {
-        return plugins.get(toRootLowerCase(name));
+        final PluginType<?> pluginType = plugins.get(toRootLowerCase(name));
+        return pluginType != null && pluginType.isLoadable() ? pluginType : null;
     }
 
     /**
      * Returns all the matching plugins.
+     * <p>
+     *     The plugin classes are not loaded: {@link PluginType#getPluginClass()} throws an
+     *     {@link IllegalStateException} if the class of a plugin can not be loaded.
+     * </p>
      *
      * @return A Map containing the name of the plugin and its type.
      */
@@ -232,18 +240,30 @@ public class PluginManager {
         for (final PluginType<?> pluginType : plugins) {
             final String key = pluginType.getKey();
             final PluginType<?> existing = newPlugins.get(key);
-            if (existing == null) {
+            if (existing == null || isShadowedByUnloadable(existing, pluginType)) {
                 newPlugins.put(key, pluginType);
                 if (mergedPluginClassNames != null) {
-                    mergedPluginClassNames.add(pluginType.getPluginClass().getName());
+                    mergedPluginClassNames.add(pluginType.getPluginClassName());
                 }
-            } else if (!existing.getPluginClass().equals(pluginType.getPluginClass())) {
+            } else if (!existing.getPluginClassName().equals(pluginType.getPluginClassName())) {
                 LOGGER.warn(
                         "Plugin [{}] is already mapped to {}, ignoring {}",
                         key,
-                        existing.getPluginClass(),
-                        pluginType.getPluginClass());
+                        existing.getPluginClassName(),
+                        pluginType.getPluginClassName());
             }
         }
     }
+
+    /**
+     * Checks if a plugin class is shadowed by a plugin with the same key, whose class can not be loaded.
+     * <p>
+     *     Only the classes of conflicting plugins are loaded.
+     * </p>
+     */
+    private static boolean isShadowedByUnloadable(final PluginType<?> existing, final PluginType<?> pluginType) {
+        return !existing.getPluginClassName().equals(pluginType.getPluginClassName())
+                && !existing.isLoadable()
+                && pluginType.isLoadable();
+    }
 }
@@ -175,24 +175,16 @@ public class PluginRegistry {
             newPluginsByCategory.put(categoryLowerCase, types);
             for (final Map.Entry<String, PluginEntry> inner : outer.getValue().entrySet()) {
                 final PluginEntry entry = inner.getValue();
-                final String className = entry.getClassName();
-                try {
-                    final Class<?> clazz = loader.loadClass(className);
-                    final PluginType<?> type = new PluginType<>(entry, clazz, entry.getName());
-                    types.add(type);
-                    ++pluginCount;
-                } catch (final ClassNotFoundException e) {
-                    LOGGER.info("Plugin [{}] could not be loaded due to missing classes.", className, e);
-                } catch (final LinkageError e) {
-                    LOGGER.info("Plugin [{}] could not be loaded due to linkage error.", className, e);
-                }
+                // The plugin class is only loaded once it is referenced by a configuration.
+                types.add(new PluginType<>(entry, loader, entry.getName()));
+                ++pluginCount;
             }
         }
         final int numPlugins = pluginCount;
         LOGGER.debug(() -> {
             final long endTime = System.nanoTime();
             final DecimalFormat numFormat = new DecimalFormat("#0.000000");
-            return "Took " + numFormat.format((endTime - startTime) * 1e-9) + " seconds to load " + numPlugins
+            return "Took " + numFormat.format((endTime - startTime) * 1e-9) + " seconds to register " + numPlugins
                     + " plugins from " + loader;
         });
         return newPluginsByCategory;
@@ -16,31 +16,103 @@
  */
 package org.apache.logging.log4j.core.config.plugins.util;
 
+import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.config.plugins.processor.PluginEntry;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.Lazy;
 
 /**
  * Plugin Descriptor. This is a memento object for Plugin annotations paired to their annotated classes.
+ * <p>
+ *     Plugin types read from plugin descriptors only load their class when it is first requested through
+ *     {@link #getPluginClass()}.
+ * </p>
  *
  * @param <T> The plug-in class, which can be any kind of class.
  * @see org.apache.logging.log4j.core.config.plugins.Plugin
  */
 public class PluginType<T> {
 
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
     private final PluginEntry pluginEntry;
-    private final Class<T> pluginClass;
+    private final Lazy<Class<T>> pluginClass;
     private final String elementName;
+    private volatile IllegalStateException loadFailure;
 
     /**
      * @since 2.1
      */
     public PluginType(final PluginEntry pluginEntry, final Class<T> pluginClass, final String elementName) {
         this.pluginEntry = pluginEntry;
-        this.pluginClass = pluginClass;
+        this.pluginClass = Lazy.value(pluginClass);
+        this.elementName = elementName;
+    }
+
+    /**
+     * Creates a plugin type whose class is loaded from the given class loader on first use.
+     *
+     * @param pluginEntry The plugin entry read from a plugin descriptor.
+     * @param classLoader The class loader to load the plugin class from.
+     * @param elementName The element name of the plugin.
+     * @since 2.25.0
+     */
+    public PluginType(final PluginEntry pluginEntry, final ClassLoader classLoader, final String elementName) {
+        this.pluginEntry = pluginEntry;
+        this.pluginClass = Lazy.lazy(() -> loadPluginClass(classLoader));
         this.elementName = elementName;
     }
 
+    @SuppressWarnings("unchecked")
+    private Class<T> loadPluginClass(final ClassLoader classLoader) {
+        final String className = pluginEntry.getClassName();
+        try {
+            return (Class<T>) classLoader.loadClass(className);
+        } catch (final ClassNotFoundException e) {
+            loadFailure = new IllegalStateException(
+                    "Plugin [" + className + "] could not be loaded due to missing classes.", e);
+        } catch (final LinkageError e) {
+            loadFailure = new IllegalStateException(
+                    "Plugin [" + className + "] could not be loaded due to linkage error.", e);
+        }
+        LOGGER.info(loadFailure.getMessage(), loadFailure.getCause());
+        return null;
+    }
+
+    /**
+     * Returns the plugin class, loading it if necessary.
+     *
+     * @return The plugin class.
+     * @throws IllegalStateException if the plugin class could not be loaded.
+     */
     public Class<T> getPluginClass() {
-        return this.pluginClass;
+        final Class<T> clazz = this.pluginClass.value();
+        if (clazz == null) {
+            throw loadFailure;
+        }
+        return clazz;
+    }
+
+    /**
+     * Loads the plugin class if necessary and checks if it is available.
+     * <p>
+     *     A failure to load the class is logged only once.
+     * </p>
+     *
+     * @return {@code true} if {@link #getPluginClass()} returns normally.
+     */
+    boolean isLoadable() {
+        return this.pluginClass.value() != null;
+    }
+
+    /**
+     * Returns the fully qualified name of the plugin class without loading it.
+     *
+     * @return The plugin class name.
+     * @since 2.25.0
+     */
+    public String getPluginClassName() {
+        return this.pluginEntry.getClassName();
     }
 
     public String getElementName() {
@@ -71,7 +143,7 @@ public class PluginType<T> {
 
     @Override
     public String toString() {
-        return "PluginType [pluginClass=" + pluginClass + ", key="
+        return "PluginType [pluginClass=" + pluginEntry.getClassName() + ", key="
                 + pluginEntry.getKey() + ", elementName="
                 + pluginEntry.getName() + ", isObjectPrintable="
                 + pluginEntry.isPrintable() + ", isDeferChildren=="
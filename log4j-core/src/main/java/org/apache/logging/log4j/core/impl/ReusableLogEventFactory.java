@@ -91,18 +91,7 @@ public class ReusableLogEventFactory implements LogEventFactory, LocationAwareLo
         result.reserved = true;
         // No need to clear here, values are cleared in release when reserved is set to false.
         // If the event was dirty we'd create a new one.
-
-        result.setLoggerName(loggerName);
-        result.setMarker(marker);
-        result.setLoggerFqcn(fqcn);
-        result.setLevel(level == null ? Level.OFF : level);
-        result.setMessage(message);
-        result.initTime(CLOCK, Log4jLogEvent.getNanoClock());
-        result.setThrown(t);
-        result.setSource(location);
-        result.setContextData(injector.injectContextData(properties, (StringMap) result.getContextData()));
-        result.setContextStack(
-                ThreadContext.getDepth() == 0 ? ThreadContext.EMPTY_STACK : ThreadContext.cloneStack()); // mutable copy
+        initEvent(result, loggerName, marker, fqcn, location, level, message, properties, t);
 
         if (THREAD_NAME_CACHING_STRATEGY == ThreadNameCachingStrategy.UNCACHED) {
             result.setThreadName(Thread.currentThread().getName()); // Thread.getName() allocates Objects on each call
@@ -111,6 +100,44 @@ public class ReusableLogEventFactory implements LogEventFactory, LocationAwareLo
         return result;
     }
 
+    /**
+     * Initializes the specified mutable log event, for example a ring buffer entry, like the events created by this
+     * factory. The caller is responsible for the thread-related fields.
+     *
+     * @param event The event to initialize, previously {@linkplain MutableLogEvent#clear() cleared}.
+     * @param loggerName The name of the Logger.
+     * @param marker An optional Marker.
+     * @param fqcn The fully qualified class name of the caller.
+     * @param location The location of the caller.
+     * @param level The event Level.
+     * @param message The Message.
+     * @param properties Properties to be added to the log event.
+     * @param t An optional Throwable.
+     * @since 2.25.0
+     */
+    public void initEvent(
+            final MutableLogEvent event,
+            final String loggerName,
+            final Marker marker,
+            final String fqcn,
+            final StackTraceElement location,
+            final Level level,
+            final Message message,
+            final List<Property> properties,
+            final Throwable t) {
+        event.setLoggerName(loggerName);
+        event.setMarker(marker);
+        event.setLoggerFqcn(fqcn);
+        event.setLevel(level == null ? Level.OFF : level);
+        event.setMessage(message);
+        event.initTime(CLOCK, Log4jLogEvent.getNanoClock());
+        event.setThrown(t);
+        event.setSource(location);
+        event.setContextData(injector.injectContextData(properties, (StringMap) event.getContextData()));
+        event.setContextStack(
+                ThreadContext.getDepth() == 0 ? ThreadContext.EMPTY_STACK : ThreadContext.cloneStack()); // mutable copy
+    }
+
     private static MutableLogEvent getOrCreateMutableLogEvent() {
         final MutableLogEvent result = mutableLogEventThreadLocal.get();
         return result == null || result.reserved ? createInstance(result) : result;
@@ -19,6 +19,11 @@ package org.apache.logging.log4j.core.jmx;
 import java.util.Objects;
 import javax.management.ObjectName;
 import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.appender.AbstractOutputStreamAppender;
+import org.apache.logging.log4j.core.appender.OutputStreamManager;
+import org.apache.logging.log4j.core.appender.rolling.RollingFileManager;
+import org.apache.logging.log4j.core.appender.rolling.RollingMemoryMappedFileManager;
+import org.apache.logging.log4j.core.config.AppenderLatency;
 import org.apache.logging.log4j.core.filter.AbstractFilterable;
 
 /**
@@ -88,4 +93,41 @@ public class AppenderAdmin implements AppenderAdminMBean {
         }
         return null;
     }
+
+    @Override
+    public String getQueueLatency() {
+        final AppenderLatency latency = AppenderLatency.get(appender);
+        return latency != null ? latency.getQueueLatency().toString() : null;
+    }
+
+    @Override
+    public String getAppendLatency() {
+        final AppenderLatency latency = AppenderLatency.get(appender);
+        return latency != null ? latency.getAppendLatency().toString() : null;
+    }
+
+    @Override
+    public String getRolloverStatistics() {
+        if (!(appender instanceof AbstractOutputStreamAppender)) {
+            return null;
+        }
+        final OutputStreamManager manager = ((AbstractOutputStreamAppender<?>) appender).getManager();
+        if (!(manager instanceof RollingFileManager)) {
+            return null;
+        }
+        final RollingFileManager rollingFileManager = (RollingFileManager) manager;
+        final StringBuilder sb = new StringBuilder("lastPauseNanos=")
+                .append(rollingFileManager.getLastRolloverPauseNanos())
+                .append(", maxPauseNanos=")
+                .append(rollingFileManager.getMaxRolloverPauseNanos());
+        if (manager instanceof RollingMemoryMappedFileManager
+                && ((RollingMemoryMappedFileManager) manager).isPreallocate()) {
+            final RollingMemoryMappedFileManager memoryMappedFileManager = (RollingMemoryMappedFileManager) manager;
+            sb.append(", preparedFileHits=")
+                    .append(memoryMappedFileManager.getPreparedFileHitCount())
+                    .append(", preparedFileMisses=")
+                    .append(memoryMappedFileManager.getPreparedFileMissCount());
+        }
+        return sb.toString();
+    }
 }
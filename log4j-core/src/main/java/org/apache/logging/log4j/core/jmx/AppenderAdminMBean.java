@@ -89,4 +89,39 @@ public interface AppenderAdminMBean {
      *         appender
      */
     String getFilter();
+
+    /**
+     * Returns a summary of the times in nanoseconds between the log calls and the calls to the instrumented
+     * {@code Appender}, if latency tracing is enabled.
+     *
+     * @return the count, mean, percentiles and maximum of the queue latency, or {@code null}
+     * @see org.apache.logging.log4j.core.config.AppenderLatency
+     * @since 2.25.0
+     */
+    default String getQueueLatency() {
+        return null;
+    }
+
+    /**
+     * Returns a summary of the times in nanoseconds spent in the instrumented {@code Appender}, if latency tracing
+     * is enabled.
+     *
+     * @return the count, mean, percentiles and maximum of the append latency, or {@code null}
+     * @see org.apache.logging.log4j.core.config.AppenderLatency
+     * @since 2.25.0
+     */
+    default String getAppendLatency() {
+        return null;
+    }
+
+    /**
+     * Returns the durations in nanoseconds of the last and the longest rollover and, if files are preallocated, the
+     * number of rollovers that used a prepared file, if the instrumented {@code Appender} is a rolling file appender.
+     *
+     * @return a summary of the rollovers, or {@code null}
+     * @since 2.25.0
+     */
+    default String getRolloverStatistics() {
+        return null;
+    }
 }
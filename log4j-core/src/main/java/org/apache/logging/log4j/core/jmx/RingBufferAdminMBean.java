@@ -68,4 +68,50 @@ public interface RingBufferAdminMBean {
      * @return the number of available slots in the ring buffer
      */
     long getRemainingCapacity();
+
+    /**
+     * Returns the maximum number of events observed in the ring buffer, as seen by its background thread.
+     * Only tracked for {@code AsyncLogger} ring buffers, {@code 0} otherwise.
+     *
+     * @return the maximum number of events observed in the ring buffer
+     * @since 2.25.0
+     */
+    default long getHighWaterMark() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of times an application thread found the ring buffer full.
+     * Only tracked for {@code AsyncLogger} ring buffers, {@code 0} otherwise.
+     *
+     * @return the number of times the ring buffer was full
+     * @since 2.25.0
+     */
+    default long getRingBufferFullCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the total time in nanoseconds application threads waited for a free slot in a full ring buffer.
+     * Only tracked for {@code AsyncLogger} ring buffers, {@code 0} otherwise.
+     *
+     * @return the total time spent waiting for a free slot
+     * @since 2.25.0
+     */
+    default long getEnqueueWaitTimeNanos() {
+        return 0;
+    }
+
+    /**
+     * Returns the histogram of the times application threads waited for a free slot in a full ring buffer.
+     * The element {@code i} counts the waits shorter than 10<sup>i</sup> microseconds, but not shorter than
+     * 10<sup>i-1</sup> microseconds; the last element counts the waits of one second or more.
+     * Only tracked for {@code AsyncLogger} ring buffers, empty otherwise.
+     *
+     * @return the histogram of the times spent waiting for a free slot
+     * @since 2.25.0
+     */
+    default long[] getEnqueueWaitHistogram() {
+        return new long[0];
+    }
 }
@@ -20,17 +20,20 @@ import static org.apache.logging.log4j.util.Chars.LF;
 import static org.apache.logging.log4j.util.Chars.NUL;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.GZIPOutputStream;
 import org.apache.logging.log4j.Level;
@@ -47,14 +50,16 @@ import org.apache.logging.log4j.core.layout.internal.ExcludeChecker;
 import org.apache.logging.log4j.core.layout.internal.IncludeChecker;
 import org.apache.logging.log4j.core.layout.internal.ListChecker;
 import org.apache.logging.log4j.core.lookup.StrSubstitutor;
+import org.apache.logging.log4j.core.net.DatagramChunker;
 import org.apache.logging.log4j.core.net.Severity;
+import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.core.util.JsonUtils;
 import org.apache.logging.log4j.core.util.KeyValuePair;
 import org.apache.logging.log4j.core.util.NetUtils;
 import org.apache.logging.log4j.core.util.Patterns;
+import org.apache.logging.log4j.core.util.StringEncoder;
 import org.apache.logging.log4j.message.MapMessage;
 import org.apache.logging.log4j.message.Message;
-import org.apache.logging.log4j.status.StatusLogger;
 import org.apache.logging.log4j.util.StringBuilderFormattable;
 import org.apache.logging.log4j.util.Strings;
 import org.apache.logging.log4j.util.TriConsumer;
@@ -64,13 +69,13 @@ import org.apache.logging.log4j.util.TriConsumer;
  * <p>
  * This layout compresses JSON to GZIP or ZLIB (the {@code compressionType}) if
  * log event data is larger than 1024 bytes (the {@code compressionThreshold}).
- * This layout does not implement chunking.
+ * When used over UDP, messages larger than 8192 bytes (the {@code chunkSize}) are split into GELF chunks.
  * </p>
  *
  * @see <a href="https://go2docs.graylog.org/current/getting_in_log_data/gelf.html#GELFPayloadSpecification">GELF specification</a>
  */
 @Plugin(name = "GelfLayout", category = Node.CATEGORY, elementType = Layout.ELEMENT_TYPE, printObject = true)
-public final class GelfLayout extends AbstractStringLayout {
+public final class GelfLayout extends AbstractStringLayout implements DatagramChunker {
 
     public enum CompressionType {
         GZIP {
@@ -97,12 +102,24 @@ public final class GelfLayout extends AbstractStringLayout {
 
     private static final char C = ',';
     private static final int COMPRESSION_THRESHOLD = 1024;
+    private static final int CHUNK_SIZE = 8192;
+    private static final int CHUNK_HEADER_SIZE = 12;
+    private static final int MAX_CHUNKS = 128;
+    private static final byte CHUNK_MAGIC_1 = 0x1e;
+    private static final byte CHUNK_MAGIC_2 = 0x0f;
+    private static final int COMPRESSION_BUFFER_SIZE = 1024;
+    private static final int MAX_COMPRESSION_BUFFER_SIZE = 64 * 1024;
+    /** Header of a GZIP member without optional fields, as written by {@link GZIPOutputStream}. */
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    private static final int GZIP_TRAILER_SIZE = 8;
     private static final char Q = '\"';
     private static final String QC = "\",";
     private static final String QU = "\"_";
 
     private final KeyValuePair[] additionalFields;
     private final int compressionThreshold;
+    private final int chunkSize;
     private final CompressionType compressionType;
     private final String host;
     private final boolean includeStacktrace;
@@ -114,6 +131,7 @@ public final class GelfLayout extends AbstractStringLayout {
     private final PatternLayout layout;
     private final FieldWriter mdcWriter;
     private final FieldWriter mapWriter;
+    private final ThreadLocal<CompressionState> compressionState = new ThreadLocal<>();
 
     public static class Builder<B extends Builder<B>> extends AbstractStringLayout.Builder<B>
             implements org.apache.logging.log4j.core.util.Builder<GelfLayout> {
@@ -130,6 +148,9 @@ public final class GelfLayout extends AbstractStringLayout {
         @PluginBuilderAttribute
         private int compressionThreshold = COMPRESSION_THRESHOLD;
 
+        @PluginBuilderAttribute
+        private int chunkSize = CHUNK_SIZE;
+
         @PluginBuilderAttribute
         private boolean includeStacktrace = true;
 
@@ -216,7 +237,8 @@ public final class GelfLayout extends AbstractStringLayout {
                     mapChecker,
                     patternLayout,
                     threadContextPrefix,
-                    mapPrefix);
+                    mapPrefix,
+                    chunkSize);
         }
 
         private ListChecker createChecker(final String excludes, final String includes) {
@@ -259,6 +281,13 @@ public final class GelfLayout extends AbstractStringLayout {
             return compressionThreshold;
         }
 
+        /**
+         * @since 2.25.0
+         */
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
         public boolean isIncludeStacktrace() {
             return includeStacktrace;
         }
@@ -478,6 +507,20 @@ public final class GelfLayout extends AbstractStringLayout {
             this.omitEmptyFields = omitEmptyFields;
             return asBuilder();
         }
+
+        /**
+         * The maximum size of a UDP datagram, larger messages are split into GELF chunks (optional, default is 8192).
+         * <p>
+         * Only used when the layout is used by a UDP socket appender.
+         * </p>
+         *
+         * @return this builder
+         * @since 2.25.0
+         */
+        public B setChunkSize(final int chunkSize) {
+            this.chunkSize = chunkSize;
+            return asBuilder();
+        }
     }
 
     /**
@@ -506,7 +549,8 @@ public final class GelfLayout extends AbstractStringLayout {
                 null,
                 null,
                 "",
-                "");
+                "",
+                CHUNK_SIZE);
     }
 
     private GelfLayout(
@@ -525,7 +569,8 @@ public final class GelfLayout extends AbstractStringLayout {
             final ListChecker mapChecker,
             final PatternLayout patternLayout,
             final String mdcPrefix,
-            final String mapPrefix) {
+            final String mapPrefix,
+            final int chunkSize) {
         super(config, StandardCharsets.UTF_8, null, null);
         this.host = host != null ? host : NetUtils.getLocalHostname();
         this.additionalFields = additionalFields != null ? additionalFields : KeyValuePair.EMPTY_ARRAY;
@@ -539,6 +584,7 @@ public final class GelfLayout extends AbstractStringLayout {
         }
         this.compressionType = compressionType;
         this.compressionThreshold = compressionThreshold;
+        this.chunkSize = chunkSize;
         this.includeStacktrace = includeStacktrace;
         this.includeThreadContext = includeThreadContext;
         this.includeMapMessage = includeMapMessage;
@@ -548,6 +594,9 @@ public final class GelfLayout extends AbstractStringLayout {
         if (includeNullDelimiter && compressionType != CompressionType.OFF) {
             throw new IllegalArgumentException("null delimiter cannot be used with compression");
         }
+        if (chunkSize <= CHUNK_HEADER_SIZE) {
+            throw new IllegalArgumentException("The GELF chunk size must be greater than " + CHUNK_HEADER_SIZE);
+        }
         this.mdcWriter = new FieldWriter(mdcChecker, mdcPrefix);
         this.mapWriter = new FieldWriter(mapChecker, mapPrefix);
         this.layout = patternLayout;
@@ -559,6 +608,7 @@ public final class GelfLayout extends AbstractStringLayout {
         sb.append("host=").append(host);
         sb.append(", compressionType=").append(compressionType.toString());
         sb.append(", compressionThreshold=").append(compressionThreshold);
+        sb.append(", chunkSize=").append(chunkSize);
         sb.append(", includeStackTrace=").append(includeStacktrace);
         sb.append(", includeThreadContext=").append(includeThreadContext);
         sb.append(", includeNullDelimiter=").append(includeNullDelimiter);
@@ -606,7 +656,8 @@ public final class GelfLayout extends AbstractStringLayout {
                 null,
                 null,
                 "",
-                "");
+                "",
+                CHUNK_SIZE);
     }
 
     @PluginBuilderFactory
@@ -614,6 +665,58 @@ public final class GelfLayout extends AbstractStringLayout {
         return new Builder<B>().asBuilder();
     }
 
+    /**
+     * Returns the maximum size of a UDP datagram, larger messages are split into GELF chunks.
+     *
+     * @return the maximum size of a UDP datagram.
+     * @since 2.25.0
+     */
+    @Override
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Splits the message into GELF chunks, unless it needs more than 128 chunks, in which case it is dropped.
+     *
+     * @see <a href="https://go2docs.graylog.org/current/getting_in_log_data/gelf.html#GELFviaUDP">GELF via UDP</a>
+     * @since 2.25.0
+     */
+    @Override
+    public void sendChunks(
+            final byte[] bytes,
+            final int offset,
+            final int length,
+            final byte[] chunk,
+            final DatagramChunker.DatagramSender sender)
+            throws IOException {
+        final int payloadSize = chunkSize - CHUNK_HEADER_SIZE;
+        final int count = (length + payloadSize - 1) / payloadSize;
+        if (count > MAX_CHUNKS) {
+            LOGGER.error(
+                    "Dropping GELF message of {} bytes, which needs more than {} chunks of {} bytes",
+                    length,
+                    MAX_CHUNKS,
+                    chunkSize);
+            return;
+        }
+        chunk[0] = CHUNK_MAGIC_1;
+        chunk[1] = CHUNK_MAGIC_2;
+        long messageId = ThreadLocalRandom.current().nextLong();
+        for (int i = 9; i >= 2; i--) {
+            chunk[i] = (byte) messageId;
+            messageId >>>= 8;
+        }
+        chunk[11] = (byte) count;
+        for (int sequence = 0; sequence < count; sequence++) {
+            final int start = sequence * payloadSize;
+            final int size = Math.min(payloadSize, length - start);
+            chunk[10] = (byte) sequence;
+            System.arraycopy(bytes, offset + start, chunk, CHUNK_HEADER_SIZE, size);
+            sender.send(chunk, 0, CHUNK_HEADER_SIZE + size);
+        }
+    }
+
     @Override
     public Map<String, String> getContentFormat() {
         return Collections.emptyMap();
@@ -631,15 +734,34 @@ public final class GelfLayout extends AbstractStringLayout {
         return compressionType != CompressionType.OFF && bytes.length > compressionThreshold ? compress(bytes) : bytes;
     }
 
+    /**
+     * Encodes the event into the destination without creating temporary objects, if thread locals are enabled.
+     * <p>
+     * The JSON text is encoded to UTF-8 and, if larger than the compression threshold, compressed into buffers that
+     * are reused by the current thread.
+     * </p>
+     */
     @Override
     public void encode(final LogEvent event, final ByteBufferDestination destination) {
-        if (compressionType != CompressionType.OFF) {
-            super.encode(event, destination);
+        final StringBuilder text = toText(event, getStringBuilder(), true);
+        if (compressionType == CompressionType.OFF) {
+            final Encoder<StringBuilder> helper = getStringBuilderEncoder();
+            helper.encode(text, destination);
             return;
         }
-        final StringBuilder text = toText(event, getStringBuilder(), true);
-        final Encoder<StringBuilder> helper = getStringBuilderEncoder();
-        helper.encode(text, destination);
+        final CompressionState state = acquireCompressionState();
+        try {
+            final int length = encodeUtf8(text, state);
+            final byte[] input = state.inputBuffer;
+            if (length > compressionThreshold) {
+                final int compressedLength = compress(input, length, state);
+                destination.writeBytes(state.outputBuffer, 0, compressedLength);
+            } else {
+                destination.writeBytes(input, 0, length);
+            }
+        } finally {
+            releaseCompressionState(state);
+        }
     }
 
     @Override
@@ -648,20 +770,101 @@ public final class GelfLayout extends AbstractStringLayout {
     }
 
     private byte[] compress(final byte[] bytes) {
+        final CompressionState state = acquireCompressionState();
         try {
-            final ByteArrayOutputStream baos = new ByteArrayOutputStream(compressionThreshold / 8);
-            try (final DeflaterOutputStream stream = compressionType.createDeflaterOutputStream(baos)) {
-                if (stream == null) {
-                    return bytes;
-                }
-                stream.write(bytes);
-                stream.finish();
+            final int length = compress(bytes, bytes.length, state);
+            return Arrays.copyOf(state.outputBuffer, length);
+        } finally {
+            releaseCompressionState(state);
+        }
+    }
+
+    /**
+     * Returns the deflater, checksum and buffers of the current thread, if thread locals are enabled, or new ones.
+     */
+    private CompressionState acquireCompressionState() {
+        CompressionState state = Constants.ENABLE_THREADLOCALS ? compressionState.get() : null;
+        if (state == null) {
+            state = new CompressionState(compressionType == CompressionType.GZIP);
+            if (Constants.ENABLE_THREADLOCALS) {
+                compressionState.set(state);
             }
-            return baos.toByteArray();
-        } catch (final IOException e) {
-            StatusLogger.getLogger().error(e);
-            return bytes;
         }
+        return state;
+    }
+
+    private static void releaseCompressionState(final CompressionState state) {
+        if (Constants.ENABLE_THREADLOCALS) {
+            state.deflater.reset();
+            // Do not retain the buffers of exceptionally large events
+            state.inputBuffer = trimBuffer(state.inputBuffer);
+            state.outputBuffer = trimBuffer(state.outputBuffer);
+        } else {
+            state.deflater.end();
+        }
+    }
+
+    private static byte[] trimBuffer(final byte[] buffer) {
+        return buffer.length > MAX_COMPRESSION_BUFFER_SIZE ? new byte[COMPRESSION_BUFFER_SIZE] : buffer;
+    }
+
+    /**
+     * Compresses the bytes into the output buffer of the state and returns the compressed length.
+     * <p>
+     * The output is equivalent to the one of {@link CompressionType#createDeflaterOutputStream(OutputStream)}, but
+     * does not allocate a new deflater, with its native state, and intermediate buffers for each event.
+     * </p>
+     */
+    private int compress(final byte[] bytes, final int bytesLength, final CompressionState state) {
+        final boolean gzip = compressionType == CompressionType.GZIP;
+        final Deflater deflater = state.deflater;
+        byte[] buffer = state.outputBuffer;
+        int length = 0;
+        if (gzip) {
+            System.arraycopy(GZIP_HEADER, 0, buffer, 0, GZIP_HEADER.length);
+            length = GZIP_HEADER.length;
+        }
+        deflater.setInput(bytes, 0, bytesLength);
+        deflater.finish();
+        while (!deflater.finished()) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            length += deflater.deflate(buffer, length, buffer.length - length);
+        }
+        if (gzip) {
+            final CRC32 crc = state.checksum;
+            crc.reset();
+            crc.update(bytes, 0, bytesLength);
+            if (length + GZIP_TRAILER_SIZE > buffer.length) {
+                buffer = Arrays.copyOf(buffer, length + GZIP_TRAILER_SIZE);
+            }
+            length = writeIntLE((int) crc.getValue(), buffer, length);
+            length = writeIntLE(bytesLength, buffer, length);
+        }
+        state.outputBuffer = buffer;
+        return length;
+    }
+
+    private static int writeIntLE(final int value, final byte[] buffer, final int offset) {
+        buffer[offset] = (byte) value;
+        buffer[offset + 1] = (byte) (value >> 8);
+        buffer[offset + 2] = (byte) (value >> 16);
+        buffer[offset + 3] = (byte) (value >> 24);
+        return offset + 4;
+    }
+
+    /**
+     * Encodes the text to UTF-8 into the input buffer of the state and returns the encoded length.
+     */
+    private static int encodeUtf8(final CharSequence text, final CompressionState state) {
+        final int textLength = text.length();
+        byte[] buffer = state.inputBuffer;
+        if (buffer.length < 3 * textLength) {
+            buffer = new byte[3 * textLength];
+            state.inputBuffer = buffer;
+        }
+        return StringEncoder.encodeUtf8(text, 0, textLength, buffer);
     }
 
     @Override
@@ -844,4 +1047,22 @@ public final class GelfLayout extends AbstractStringLayout {
         pw.flush();
         return sw.getBuffer();
     }
+
+    /**
+     * The deflater, checksum and buffers reused by a thread to compress events.
+     */
+    private static final class CompressionState {
+
+        private final Deflater deflater;
+
+        private final CRC32 checksum = new CRC32();
+
+        private byte[] inputBuffer = new byte[COMPRESSION_BUFFER_SIZE];
+
+        private byte[] outputBuffer = new byte[COMPRESSION_BUFFER_SIZE];
+
+        private CompressionState(final boolean nowrap) {
+            this.deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap);
+        }
+    }
 }
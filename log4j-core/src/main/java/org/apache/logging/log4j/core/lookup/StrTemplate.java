@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.lookup;
+
+import static org.apache.logging.log4j.util.Strings.toRootLowerCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * A template evaluated by a {@link StrSubstitutor}, parsed once into literal and variable segments.
+ * <p>
+ * Templates such as the pattern of a {@code RoutingAppender} or the literals of a {@code PatternLayout} are
+ * evaluated for every log event. This class scans the template and locates the {@link StrLookup} registered for the
+ * prefix of each variable only once, so that evaluating it only calls the lookups of its variables. Variables of the
+ * {@code env} and {@code java} lookups cannot change while the application runs and are replaced by their value the
+ * first time the template is evaluated.
+ * </p>
+ * <p>
+ * Templates that use default values, nested or escaped variables, as well as lookup results that must be evaluated
+ * again, are passed to {@link StrSubstitutor#replace(LogEvent, String)}, so that the result is always the same as the
+ * one of the substitutor.
+ * </p>
+ *
+ * @since 2.25.0
+ */
+public final class StrTemplate {
+
+    private static final String VARIABLE_PREFIX = StrSubstitutor.DEFAULT_ESCAPE + "{";
+
+    private static final String VARIABLE_SUFFIX = "}";
+
+    /**
+     * Prefixes of the lookups whose values do not depend on the log event and never change.
+     */
+    private static final Set<String> CONSTANT_PREFIXES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("env", "java")));
+
+    private final StrSubstitutor substitutor;
+
+    private final String template;
+
+    private volatile Compiled compiled;
+
+    /**
+     * Creates a template evaluated by the given substitutor.
+     *
+     * @param substitutor the substitutor whose variable resolver evaluates the variables of the template.
+     * @param template the template.
+     */
+    public StrTemplate(final StrSubstitutor substitutor, final String template) {
+        this.substitutor = Objects.requireNonNull(substitutor, "substitutor");
+        this.template = Objects.requireNonNull(template, "template");
+    }
+
+    /**
+     * Returns the template.
+     *
+     * @return the template.
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Replaces the variables of the template with their values.
+     *
+     * @param event the current log event or {@code null}.
+     * @return the template with its variables replaced.
+     */
+    public String format(final LogEvent event) {
+        final Segment[] segments = getSegments();
+        if (segments != null) {
+            if (segments.length == 1) {
+                final String value = segments[0].format(event);
+                if (value != null) {
+                    return value;
+                }
+            } else {
+                final StringBuilder buffer = new StringBuilder(template.length());
+                if (formatTo(segments, event, buffer)) {
+                    return buffer.toString();
+                }
+            }
+        }
+        return substitutor.replace(event, template);
+    }
+
+    /**
+     * Appends the template with its variables replaced by their values to the given buffer.
+     *
+     * @param event the current log event or {@code null}.
+     * @param buffer the buffer to append to.
+     */
+    public void formatTo(final LogEvent event, final StringBuilder buffer) {
+        final Segment[] segments = getSegments();
+        final int start = buffer.length();
+        if (segments == null || !formatTo(segments, event, buffer)) {
+            buffer.setLength(start);
+            buffer.append(substitutor.replace(event, template));
+        }
+    }
+
+    private static boolean formatTo(final Segment[] segments, final LogEvent event, final StringBuilder buffer) {
+        for (final Segment segment : segments) {
+            final String value = segment.format(event);
+            if (value == null) {
+                return false;
+            }
+            buffer.append(value);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the segments of the template, or {@code null} if it must be evaluated by the substitutor.
+     */
+    private Segment[] getSegments() {
+        final StrLookup resolver = substitutor.getVariableResolver();
+        Compiled current = compiled;
+        // The configuration replaces the variable resolver once its properties are known.
+        if (current == null || current.resolver != resolver) {
+            current = new Compiled(resolver, isSupported(substitutor) ? parse(template, resolver) : null);
+            compiled = current;
+        }
+        return current.segments;
+    }
+
+    private static boolean isSupported(final StrSubstitutor substitutor) {
+        // Subclasses might override the way variables are resolved.
+        return (substitutor.getClass() == StrSubstitutor.class || substitutor.getClass() == RuntimeStrSubstitutor.class)
+                && substitutor.getVariableResolver() != null
+                && substitutor.getVariablePrefixMatcher() == StrSubstitutor.DEFAULT_PREFIX
+                && substitutor.getVariableSuffixMatcher() == StrSubstitutor.DEFAULT_SUFFIX
+                && substitutor.getEscapeChar() == StrSubstitutor.DEFAULT_ESCAPE
+                && (substitutor.getValueDelimiterMatcher() == null
+                        || substitutor.getValueDelimiterMatcher() == StrSubstitutor.DEFAULT_VALUE_DELIMITER);
+    }
+
+    /**
+     * Splits a template into segments.
+     *
+     * @return the segments or {@code null} if the template uses features only supported by the substitutor.
+     */
+    private static Segment[] parse(final String template, final StrLookup resolver) {
+        final List<Segment> segments = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        int pos = 0;
+        while (pos < template.length()) {
+            final int start = template.indexOf(VARIABLE_PREFIX, pos);
+            if (start < 0) {
+                literal.append(template, pos, template.length());
+                break;
+            }
+            if (start > 0 && template.charAt(start - 1) == StrSubstitutor.DEFAULT_ESCAPE) {
+                return null;
+            }
+            final int end = template.indexOf(VARIABLE_SUFFIX, start + VARIABLE_PREFIX.length());
+            if (end < 0) {
+                return null;
+            }
+            final String name = template.substring(start + VARIABLE_PREFIX.length(), end);
+            if (name.isEmpty()
+                    || name.contains(VARIABLE_PREFIX)
+                    || name.contains(StrSubstitutor.DEFAULT_VALUE_DELIMITER_STRING)
+                    || name.contains(StrSubstitutor.ESCAPE_DELIMITER_STRING)) {
+                return null;
+            }
+            literal.append(template, pos, start);
+            final Variable variable = new Variable(template.substring(start, end + 1), name, resolver);
+            final String constant = variable.getConstantValue();
+            if (constant != null) {
+                literal.append(constant);
+            } else {
+                if (literal.length() > 0) {
+                    segments.add(new Literal(literal.toString()));
+                    literal.setLength(0);
+                }
+                segments.add(variable);
+            }
+            pos = end + 1;
+        }
+        if (literal.length() > 0 || segments.isEmpty()) {
+            segments.add(new Literal(literal.toString()));
+        }
+        for (int i = 1; i < segments.size(); i++) {
+            if (segments.get(i) instanceof Variable && segments.get(i - 1) instanceof Variable) {
+                ((Variable) segments.get(i - 1)).beforeVariable = true;
+            }
+        }
+        return segments.toArray(new Segment[0]);
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    private static final class Compiled {
+
+        private final StrLookup resolver;
+
+        private final Segment[] segments;
+
+        private Compiled(final StrLookup resolver, final Segment[] segments) {
+            this.resolver = resolver;
+            this.segments = segments;
+        }
+    }
+
+    private abstract static class Segment {
+
+        /**
+         * Returns the value of the segment, or {@code null} if the template must be evaluated by the substitutor.
+         */
+        abstract String format(LogEvent event);
+    }
+
+    private static final class Literal extends Segment {
+
+        private final String text;
+
+        private Literal(final String text) {
+            this.text = text;
+        }
+
+        @Override
+        String format(final LogEvent event) {
+            return text;
+        }
+    }
+
+    private static final class Variable extends Segment {
+
+        /** The variable including its prefix and suffix, which is kept if the variable cannot be resolved. */
+        private final String expression;
+
+        /** The name of the variable, used in error messages. */
+        private final String name;
+
+        private final StrLookup lookup;
+
+        private final String key;
+
+        /** The lookup used if the lookup registered for the prefix of the variable cannot resolve it. */
+        private final StrLookup defaultLookup;
+
+        private final boolean constant;
+
+        /**
+         * If {@code true}, the next segment is a variable, which a value ending with the escape character would
+         * escape.
+         */
+        private boolean beforeVariable;
+
+        private Variable(final String expression, final String name, final StrLookup resolver) {
+            this.expression = expression;
+            this.name = name;
+            // Mirrors the way Interpolator resolves variables, without parsing the prefix on each call.
+            if (resolver.getClass() == Interpolator.class) {
+                final Interpolator interpolator = (Interpolator) resolver;
+                final int prefixPos = name.indexOf(Interpolator.PREFIX_SEPARATOR);
+                if (prefixPos >= 0) {
+                    final String prefix = toRootLowerCase(name.substring(0, prefixPos));
+                    this.lookup = interpolator.getStrLookupMap().get(prefix);
+                    this.key = name.substring(prefixPos + 1);
+                    this.defaultLookup = interpolator.getDefaultLookup();
+                    this.constant = lookup != null && CONSTANT_PREFIXES.contains(prefix);
+                } else {
+                    this.lookup = interpolator.getDefaultLookup();
+                    this.key = name;
+                    this.defaultLookup = null;
+                    this.constant = false;
+                }
+            } else {
+                this.lookup = resolver;
+                this.key = name;
+                this.defaultLookup = null;
+                this.constant = false;
+            }
+        }
+
+        /**
+         * Returns the value of a variable that can be replaced by a literal, or {@code null}.
+         */
+        private String getConstantValue() {
+            if (!constant) {
+                return null;
+            }
+            final LookupResult result;
+            try {
+                result = lookup.evaluate(key);
+            } catch (final Throwable t) {
+                return null;
+            }
+            if (result == null) {
+                return null;
+            }
+            final String value = result.value();
+            return isFinal(result, value) && !endsWithEscape(value) ? value : null;
+        }
+
+        @Override
+        String format(final LogEvent event) {
+            final LookupResult result = evaluate(event);
+            if (result == null) {
+                return expression;
+            }
+            final String value = result.value();
+            return isFinal(result, value) && !(beforeVariable && endsWithEscape(value)) ? value : null;
+        }
+
+        private LookupResult evaluate(final LogEvent event) {
+            try {
+                LookupResult result = null;
+                if (lookup != null) {
+                    result = event == null ? lookup.evaluate(key) : lookup.evaluate(event, key);
+                }
+                if (result == null && defaultLookup != null) {
+                    result = event == null ? defaultLookup.evaluate(key) : defaultLookup.evaluate(event, key);
+                }
+                return result;
+            } catch (final Throwable t) {
+                StatusLogger.getLogger().error("Resolver failed to lookup {}", name, t);
+                return null;
+            }
+        }
+
+        private static boolean isFinal(final LookupResult result, final String value) {
+            return !result.isLookupEvaluationAllowedInValue() || !value.contains(VARIABLE_PREFIX);
+        }
+
+        private static boolean endsWithEscape(final String value) {
+            return !value.isEmpty() && value.charAt(value.length() - 1) == StrSubstitutor.DEFAULT_ESCAPE;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.net;
+
+import java.io.IOException;
+
+/**
+ * Implemented by layouts whose format defines how a message that does not fit into a single UDP datagram is split
+ * into several datagrams.
+ *
+ * @see DatagramOutputStream
+ * @since 2.25.0
+ */
+public interface DatagramChunker {
+
+    /**
+     * Returns the maximum size of a datagram, larger messages are passed to
+     * {@link #sendChunks(byte[], int, int, byte[], DatagramSender)}.
+     *
+     * @return the maximum size of a datagram.
+     */
+    int getChunkSize();
+
+    /**
+     * Splits a message larger than the chunk size into datagrams and sends them.
+     *
+     * @param bytes The buffer holding the message.
+     * @param offset The start of the message.
+     * @param length The length of the message.
+     * @param chunk A buffer of {@link #getChunkSize()} bytes, which can be used to assemble the datagrams.
+     * @param sender Sends a single datagram.
+     * @throws IOException if a datagram cannot be sent.
+     */
+    void sendChunks(byte[] bytes, int offset, int length, byte[] chunk, DatagramSender sender) throws IOException;
+
+    /**
+     * Sends a single datagram.
+     */
+    @FunctionalInterface
+    interface DatagramSender {
+
+        /**
+         * Sends a single datagram.
+         *
+         * @param bytes The buffer holding the datagram.
+         * @param offset The start of the datagram.
+         * @param length The length of the datagram.
+         * @throws IOException if the datagram cannot be sent.
+         */
+        void send(byte[] bytes, int offset, int length) throws IOException;
+    }
+}
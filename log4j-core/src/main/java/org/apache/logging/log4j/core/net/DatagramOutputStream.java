@@ -18,17 +18,23 @@ package org.apache.logging.log4j.core.net;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
 import java.net.InetAddress;
-import java.net.SocketException;
+import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Arrays;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.appender.AppenderLoggingException;
 import org.apache.logging.log4j.status.StatusLogger;
 
 /**
  * OutputStream for UDP connections.
+ * <p>
+ * The data written between two calls to {@link #flush()} is sent as one datagram, unless it is larger than the chunk
+ * size of the optional {@link DatagramChunker}, which then splits it into several datagrams. The buffers holding the
+ * data are reused from one datagram to the next.
+ * </p>
  */
 public class DatagramOutputStream extends OutputStream {
 
@@ -40,15 +46,22 @@ public class DatagramOutputStream extends OutputStream {
     private static final int SHIFT_1 = 8;
     private static final int SHIFT_2 = 16;
     private static final int SHIFT_3 = 24;
+    private static final int INITIAL_BUFFER_SIZE = 1024;
 
-    private DatagramSocket datagramSocket;
-    private final InetAddress inetAddress;
-    private final int port;
+    private DatagramChannel channel;
+    private final InetSocketAddress address;
 
-    private byte[] data;
+    private byte[] data = new byte[INITIAL_BUFFER_SIZE];
+    private int length;
+    // Length of the header at the start of data, the first datagram has none
+    private int headerLength;
+    private ByteBuffer sendBuffer;
 
     private final byte[] header;
     private final byte[] footer;
+    private final DatagramChunker chunker;
+    private final byte[] chunk;
+    private final DatagramChunker.DatagramSender datagramSender = this::sendDatagram;
 
     /**
      * The Constructor.
@@ -56,11 +69,28 @@ public class DatagramOutputStream extends OutputStream {
      * @param port The port on the host.
      */
     public DatagramOutputStream(final String host, final int port, final byte[] header, final byte[] footer) {
-        this.port = port;
+        this(host, port, header, footer, null);
+    }
+
+    /**
+     * The Constructor.
+     * @param host The host to connect to.
+     * @param port The port on the host.
+     * @param chunker Splits messages larger than its chunk size into several datagrams, may be {@code null}.
+     * @since 2.25.0
+     */
+    public DatagramOutputStream(
+            final String host,
+            final int port,
+            final byte[] header,
+            final byte[] footer,
+            final DatagramChunker chunker) {
         this.header = header;
         this.footer = footer;
+        this.chunker = chunker;
+        this.chunk = chunker != null ? new byte[chunker.getChunkSize()] : null;
         try {
-            inetAddress = InetAddress.getByName(host);
+            address = new InetSocketAddress(InetAddress.getByName(host), port);
         } catch (final UnknownHostException ex) {
             final String msg = "Could not find host " + host;
             LOGGER.error(msg, ex);
@@ -68,9 +98,9 @@ public class DatagramOutputStream extends OutputStream {
         }
 
         try {
-            datagramSocket = new DatagramSocket();
-        } catch (final SocketException ex) {
-            final String msg = "Could not instantiate DatagramSocket to " + host;
+            channel = DatagramChannel.open();
+        } catch (final IOException ex) {
+            final String msg = "Could not instantiate DatagramChannel to " + host;
             LOGGER.error(msg, ex);
             throw new AppenderLoggingException(msg, ex);
         }
@@ -94,39 +124,72 @@ public class DatagramOutputStream extends OutputStream {
     @Override
     public synchronized void flush() throws IOException {
         try {
-            if (this.data != null && this.datagramSocket != null && this.inetAddress != null) {
+            if (hasData() && this.channel != null) {
                 if (footer != null) {
                     copy(footer, 0, footer.length);
                 }
-                final DatagramPacket packet = new DatagramPacket(data, data.length, inetAddress, port);
-                datagramSocket.send(packet);
+                send(data, 0, length);
             }
         } finally {
-            data = null;
-            if (header != null) {
-                copy(header, 0, header.length);
-            }
+            copyHeader();
         }
     }
 
     @Override
     public synchronized void close() throws IOException {
-        if (datagramSocket != null) {
-            if (data != null) {
+        if (channel != null) {
+            if (hasData()) {
                 flush();
             }
-            datagramSocket.close();
-            datagramSocket = null;
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void send(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (chunker != null && length > chunk.length) {
+            chunker.sendChunks(bytes, offset, length, chunk, datagramSender);
+        } else {
+            sendDatagram(bytes, offset, length);
+        }
+    }
+
+    /**
+     * Sends a single datagram through a direct buffer, which is reused by the next datagrams.
+     */
+    private void sendDatagram(final byte[] bytes, final int offset, final int length) throws IOException {
+        ByteBuffer buffer = sendBuffer;
+        if (buffer == null || buffer.capacity() < length) {
+            buffer = ByteBuffer.allocateDirect(Math.max(length, INITIAL_BUFFER_SIZE));
+            sendBuffer = buffer;
+        }
+        buffer.clear();
+        buffer.put(bytes, offset, length);
+        buffer.flip();
+        channel.send(buffer, address);
+    }
+
+    /**
+     * Returns {@code true} if data besides the header was written since the last datagram.
+     */
+    private boolean hasData() {
+        return length > headerLength;
+    }
+
+    private void copyHeader() {
+        length = 0;
+        if (header != null) {
+            copy(header, 0, header.length);
         }
+        headerLength = length;
     }
 
     private void copy(final byte[] bytes, final int offset, final int length) {
-        final int index = data == null ? 0 : data.length;
-        final byte[] copy = new byte[length + index];
-        if (data != null) {
-            System.arraycopy(data, 0, copy, 0, data.length);
+        final int newLength = this.length + length;
+        if (newLength > data.length) {
+            data = Arrays.copyOf(data, Math.max(newLength, data.length << 1));
         }
-        System.arraycopy(bytes, offset, copy, index, length);
-        data = copy;
+        System.arraycopy(bytes, offset, data, this.length, length);
+        this.length = newLength;
     }
 }
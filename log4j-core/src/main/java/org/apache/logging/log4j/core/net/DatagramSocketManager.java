@@ -123,8 +123,10 @@ public class DatagramSocketManager extends AbstractSocketManager {
                 LOGGER.error("Could not find address of " + data.host, ex);
                 return null;
             }
-            final OutputStream os =
-                    new DatagramOutputStream(data.host, data.port, data.layout.getHeader(), data.layout.getFooter());
+            final DatagramChunker chunker =
+                    data.layout instanceof DatagramChunker ? (DatagramChunker) data.layout : null;
+            final OutputStream os = new DatagramOutputStream(
+                    data.host, data.port, data.layout.getHeader(), data.layout.getFooter(), chunker);
             return new DatagramSocketManager(name, os, inetAddress, data.host, data.port, data.layout, data.bufferSize);
         }
     }
@@ -18,6 +18,7 @@ package org.apache.logging.log4j.core.pattern;
 
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.lookup.StrTemplate;
 import org.apache.logging.log4j.core.util.OptionConverter;
 import org.apache.logging.log4j.util.PerformanceSensitive;
 
@@ -36,6 +37,8 @@ public final class LiteralPatternConverter extends LogEventPatternConverter impl
 
     private final boolean substitute;
 
+    private final StrTemplate template;
+
     /**
      * Create a new instance.
      *
@@ -49,6 +52,7 @@ public final class LiteralPatternConverter extends LogEventPatternConverter impl
         this.literal = convertBackslashes ? OptionConverter.convertSpecialChars(literal) : literal; // LOG4J2-829
         this.config = config;
         substitute = config != null && containsSubstitutionSequence(literal);
+        template = substitute ? new StrTemplate(config.getStrSubstitutor(), this.literal) : null;
     }
 
     static boolean containsSubstitutionSequence(final String literal) {
@@ -60,7 +64,11 @@ public final class LiteralPatternConverter extends LogEventPatternConverter impl
      */
     @Override
     public void format(final LogEvent event, final StringBuilder toAppendTo) {
-        toAppendTo.append(substitute ? config.getStrSubstitutor().replace(event, literal) : literal);
+        if (substitute) {
+            template.formatTo(event, toAppendTo);
+        } else {
+            toAppendTo.append(literal);
+        }
     }
 
     /**
@@ -68,7 +76,11 @@ public final class LiteralPatternConverter extends LogEventPatternConverter impl
      */
     @Override
     public void format(final Object obj, final StringBuilder output) {
-        output.append(substitute ? config.getStrSubstitutor().replace(literal) : literal);
+        if (substitute) {
+            template.formatTo(null, output);
+        } else {
+            output.append(literal);
+        }
     }
 
     /**
@@ -76,7 +88,11 @@ public final class LiteralPatternConverter extends LogEventPatternConverter impl
      */
     @Override
     public void format(final StringBuilder output, final Object... objects) {
-        output.append(substitute ? config.getStrSubstitutor().replace(literal) : literal);
+        if (substitute) {
+            template.formatTo(null, output);
+        } else {
+            output.append(literal);
+        }
     }
 
     public String getLiteral() {
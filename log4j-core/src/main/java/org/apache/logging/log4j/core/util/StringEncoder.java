@@ -41,6 +41,48 @@ public final class StringEncoder {
         return null;
     }
 
+    /**
+     * Encodes a range of the char sequence to UTF-8 into the byte array, without creating temporary objects.
+     * <p>
+     * The byte array must hold at least {@code 3 * (end - start)} bytes. Malformed surrogate pairs, including a high
+     * surrogate at {@code end - 1}, are replaced with {@code '?'}, like {@link String#getBytes(Charset)} does.
+     * </p>
+     *
+     * @param text the char sequence to encode
+     * @param start the index of the first char to encode
+     * @param end the index after the last char to encode
+     * @param buffer the destination of the encoded bytes
+     * @return the number of bytes written to the byte array
+     * @since 2.25.0
+     */
+    public static int encodeUtf8(final CharSequence text, final int start, final int end, final byte[] buffer) {
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            final char c = text.charAt(i);
+            if (c < 0x80) {
+                buffer[length++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[length++] = (byte) (0xc0 | (c >> 6));
+                buffer[length++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    final int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    buffer[length++] = (byte) (0xf0 | (codePoint >> 18));
+                    buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                    buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                    buffer[length++] = (byte) (0x80 | (codePoint & 0x3f));
+                } else {
+                    buffer[length++] = '?';
+                }
+            } else {
+                buffer[length++] = (byte) (0xe0 | (c >> 12));
+                buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buffer[length++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        return length;
+    }
+
     /**
      * Prefer standard {@link String#getBytes(Charset)} which performs better in Java 8 and beyond.
      * Encodes the specified char sequence by casting each character to a byte.
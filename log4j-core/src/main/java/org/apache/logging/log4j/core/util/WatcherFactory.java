@@ -71,10 +71,11 @@ public class WatcherFactory {
         } else {
             final String name = source.getURI().getScheme();
             final PluginType<?> pluginType = plugins.get(name);
-            if (pluginType != null) {
+            final Class<?> pluginClass = pluginType != null ? loadPluginClass(pluginType) : null;
+            if (pluginClass != null) {
                 return instantiate(
                         name,
-                        (Class<? extends Watcher>) pluginType.getPluginClass(),
+                        (Class<? extends Watcher>) pluginClass,
                         configuration,
                         reconfigurable,
                         configurationListeners,
@@ -85,6 +86,15 @@ public class WatcherFactory {
         }
     }
 
+    private static Class<?> loadPluginClass(final PluginType<?> pluginType) {
+        try {
+            return pluginType.getPluginClass();
+        } catch (final IllegalStateException e) {
+            // The failure has already been logged by the plugin type
+            return null;
+        }
+    }
+
     public static <T extends Watcher> T instantiate(
             final String name,
             final Class<T> clazz,
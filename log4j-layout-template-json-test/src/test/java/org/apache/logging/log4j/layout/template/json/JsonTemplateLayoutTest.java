@@ -37,6 +37,7 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
@@ -73,7 +74,9 @@ import org.apache.logging.log4j.layout.template.json.resolver.EventResolverFacto
 import org.apache.logging.log4j.layout.template.json.resolver.TemplateResolver;
 import org.apache.logging.log4j.layout.template.json.resolver.TemplateResolverConfig;
 import org.apache.logging.log4j.layout.template.json.resolver.TemplateResolverFactory;
+import org.apache.logging.log4j.layout.template.json.util.CborTranscoder;
 import org.apache.logging.log4j.layout.template.json.util.JsonWriter;
+import org.apache.logging.log4j.message.MapMessage;
 import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.message.MessageFactory;
 import org.apache.logging.log4j.message.ObjectMessage;
@@ -640,6 +643,14 @@ class JsonTemplateLayoutTest {
                 new String(toByteArrayOutputBytes, 0, toByteArrayOutputBytes.length, layout.getCharset());
 
         // Get encode() output.
+        final String encodeOutput = new String(encode(layout, logEvent), layout.getCharset());
+
+        // Compare outputs.
+        assertThat(toSerializableOutput).isEqualTo(toByteArrayOutput);
+        assertThat(toByteArrayOutput).isEqualTo(encodeOutput);
+    }
+
+    private static byte[] encode(final JsonTemplateLayout layout, final LogEvent logEvent) {
         final ByteBuffer byteBuffer = ByteBuffer.allocate(512 * 1024);
         final ByteBufferDestination byteBufferDestination = new ByteBufferDestination() {
 
@@ -664,11 +675,92 @@ class JsonTemplateLayoutTest {
             }
         };
         layout.encode(logEvent, byteBufferDestination);
-        final String encodeOutput = new String(byteBuffer.array(), 0, byteBuffer.position(), layout.getCharset());
+        return Arrays.copyOf(byteBuffer.array(), byteBuffer.position());
+    }
+
+    @Test
+    void test_encode_utf8_outputs() {
+
+        // Create the layout.
+        final JsonTemplateLayout layout = JsonTemplateLayout.newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setCharset(StandardCharsets.UTF_8)
+                .setEventTemplate("{\"message\": {\"$resolver\": \"message\"}}")
+                .build();
+
+        // Check short and long messages, shifting surrogate pairs across chunk boundaries.
+        final String unit = "\u00e9\u20ac\ud83d\ude00";
+        for (final String text : new String[] {unit, Strings.repeat(unit, 3_000)}) {
+            for (int shift = 0; shift < unit.length(); shift++) {
+                final String messageText = Strings.repeat("x", shift) + text + '\ud800';
+                final LogEvent logEvent = Log4jLogEvent.newBuilder()
+                        .setLoggerName(LOGGER_NAME)
+                        .setLevel(Level.INFO)
+                        .setMessage(new SimpleMessage(messageText))
+                        .build();
+                assertThat(encode(layout, logEvent))
+                        .as("shift=%d, length=%d", shift, messageText.length())
+                        .isEqualTo(layout.toByteArray(logEvent));
+            }
+        }
+    }
+
+    @Test
+    void test_cbor_outputs() {
+
+        // Create the layout.
+        final JsonTemplateLayout layout = JsonTemplateLayout.newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setEventTemplateUri("classpath:LogstashJsonEventLayoutV1.json")
+                .setStackTraceEnabled(true)
+                .setOutputFormat(JsonTemplateLayout.OutputFormat.CBOR)
+                .build();
+        assertThat(layout.getContentType()).isEqualTo("application/cbor");
+
+        // Create the log event.
+        final LogEvent logEvent = LogEventFixture.createFullLogEvents(1).get(0);
+
+        // Transcode the toSerializable() output.
+        final String toSerializableOutput = layout.toSerializable(logEvent);
+        assertThat(toSerializableOutput).doesNotEndWith(System.lineSeparator());
+        final CborTranscoder transcoder = new CborTranscoder(1);
+        transcoder.transcode(toSerializableOutput);
+        final byte[] expectedOutput = Arrays.copyOf(transcoder.getBuffer(), transcoder.getLength());
 
         // Compare outputs.
-        assertThat(toSerializableOutput).isEqualTo(toByteArrayOutput);
-        assertThat(toByteArrayOutput).isEqualTo(encodeOutput);
+        assertThat(layout.toByteArray(logEvent)).isEqualTo(expectedOutput);
+        assertThat(encode(layout, logEvent)).isEqualTo(expectedOutput);
+    }
+
+    @Test
+    void test_cbor_non_finite_numbers() {
+
+        // Create the layout.
+        final String eventTemplate = writeJson(asMap("message", asMap("$resolver", "message")));
+        final JsonTemplateLayout layout = JsonTemplateLayout.newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setEventTemplate(eventTemplate)
+                .setOutputFormat(JsonTemplateLayout.OutputFormat.CBOR)
+                .build();
+
+        // Create the log event.
+        final MapMessage<?, Object> message = new MapMessage<>()
+                .with("nan", Double.NaN)
+                .with("infinity", Float.POSITIVE_INFINITY)
+                .with("negativeInfinity", Double.NEGATIVE_INFINITY);
+        final LogEvent logEvent = Log4jLogEvent.newBuilder()
+                .setLoggerName(LOGGER_NAME)
+                .setLevel(Level.INFO)
+                .setMessage(message)
+                .build();
+
+        // Check the output.
+        final CborTranscoder transcoder = new CborTranscoder(1);
+        transcoder.transcode("{\"message\":{\"infinity\":Infinity,\"nan\":NaN,\"negativeInfinity\":-Infinity}}");
+        final byte[] expectedOutput = Arrays.copyOf(transcoder.getBuffer(), transcoder.getLength());
+        assertThat(layout.toSerializable(logEvent)).contains("NaN");
+        assertThat(layout.toByteArray(logEvent)).isEqualTo(expectedOutput);
+        assertThat(encode(layout, logEvent)).isEqualTo(expectedOutput);
     }
 
     @Test
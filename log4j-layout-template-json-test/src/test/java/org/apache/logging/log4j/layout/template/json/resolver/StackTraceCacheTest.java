@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.layout.template.json.resolver;
+
+import static org.apache.logging.log4j.layout.template.json.TestHelpers.CONFIGURATION;
+import static org.apache.logging.log4j.layout.template.json.TestHelpers.asMap;
+import static org.apache.logging.log4j.layout.template.json.TestHelpers.writeJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.layout.template.json.JsonTemplateLayout;
+import org.junit.jupiter.api.Test;
+
+class StackTraceCacheTest {
+
+    @Test
+    void printed_stack_trace_fingerprint_should_cover_message_and_causes() {
+        final StackTraceElement[] stackTrace = new Exception().getStackTrace();
+        final Throwable exception = withStackTrace(new IllegalStateException("foo"), stackTrace);
+        assertThat(StackTraceCache.fingerprintPrintedStackTrace(exception))
+                .isEqualTo(StackTraceCache.fingerprintPrintedStackTrace(
+                        withStackTrace(new IllegalStateException("foo"), stackTrace)))
+                .isNotEqualTo(StackTraceCache.fingerprintPrintedStackTrace(
+                        withStackTrace(new IllegalStateException("bar"), stackTrace)))
+                .isNotEqualTo(StackTraceCache.fingerprintPrintedStackTrace(
+                        withStackTrace(new IllegalArgumentException("foo"), stackTrace)))
+                .isNotEqualTo(StackTraceCache.fingerprintPrintedStackTrace(
+                        withStackTrace(new IllegalStateException("foo", new RuntimeException()), stackTrace)));
+    }
+
+    @Test
+    void throwables_with_suppressed_exceptions_should_not_be_fingerprinted() {
+        final Throwable exception = new IllegalStateException();
+        exception.addSuppressed(new RuntimeException());
+        assertThat(StackTraceCache.fingerprintPrintedStackTrace(exception)).isNull();
+        assertThat(StackTraceCache.fingerprintPrintedStackTrace(new RuntimeException(exception)))
+                .isNull();
+    }
+
+    @Test
+    void cache_should_be_bounded() {
+        final StackTraceCache cache = new StackTraceCache(2);
+        for (int i = 0; i < 4; i++) {
+            final Throwable exception = new IllegalStateException(String.valueOf(i));
+            cache.put(StackTraceCache.fingerprintPrintedStackTrace(exception), exception.toString());
+        }
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(StackTraceCache.fingerprintPrintedStackTrace(new IllegalStateException("0"))))
+                .isNull();
+    }
+
+    @Test
+    void cached_object_stack_trace_should_match_rendered_one() {
+        final Throwable exception = new IllegalStateException();
+        final LogEvent logEvent =
+                Log4jLogEvent.newBuilder().setThrown(exception).build();
+        final String expectedJson = createStackTraceLayout(0).toSerializable(logEvent);
+        final JsonTemplateLayout cachingLayout = createStackTraceLayout(4);
+        assertThat(cachingLayout.toSerializable(logEvent)).isEqualTo(expectedJson);
+        assertThat(cachingLayout.toSerializable(logEvent)).isEqualTo(expectedJson);
+        // Another throwable with the same stack trace elements hits the cache
+        final Throwable otherException = withStackTrace(new RuntimeException(), exception.getStackTrace());
+        final LogEvent otherLogEvent =
+                Log4jLogEvent.newBuilder().setThrown(otherException).build();
+        assertThat(cachingLayout.toSerializable(otherLogEvent)).isEqualTo(expectedJson);
+    }
+
+    private static JsonTemplateLayout createStackTraceLayout(final int cacheSize) {
+        final String eventTemplate = writeJson(asMap(
+                "stackTrace",
+                asMap(
+                        "$resolver", "exception",
+                        "field", "stackTrace",
+                        "stackTrace", asMap("cacheSize", cacheSize))));
+        return JsonTemplateLayout.newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setEventTemplate(eventTemplate)
+                .setStackTraceEnabled(true)
+                .build();
+    }
+
+    private static Throwable withStackTrace(final Throwable throwable, final StackTraceElement[] stackTrace) {
+        throwable.setStackTrace(stackTrace);
+        return throwable;
+    }
+}
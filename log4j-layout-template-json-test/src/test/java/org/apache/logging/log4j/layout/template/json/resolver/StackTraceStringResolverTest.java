@@ -390,6 +390,44 @@ class StackTraceStringResolverTest {
         }
     }
 
+    ////////////////////////////////////////////////////////////////////////////
+    // tests with `cacheSize` //////////////////////////////////////////////////
+    ////////////////////////////////////////////////////////////////////////////
+
+    @Nested
+    class WithCache extends AbstractTestCases {
+
+        WithCache() {
+            super(false);
+        }
+
+        @Override
+        void assertSerializedException(final Throwable exception, final String regex) {
+
+            // Create the event template.
+            final String eventTemplate = writeJson(asMap(
+                    "output",
+                    asMap(
+                            "$resolver", "exception",
+                            "field", "stackTrace",
+                            "stackTrace", asMap("stringified", true, "cacheSize", 8))));
+
+            // Create the layout.
+            final JsonTemplateLayout layout = JsonTemplateLayout.newBuilder()
+                    .setConfiguration(CONFIGURATION)
+                    .setEventTemplate(eventTemplate)
+                    .build();
+
+            // Check the serialized event, both rendered and read from the cache.
+            final LogEvent logEvent =
+                    Log4jLogEvent.newBuilder().setThrown(exception).build();
+            for (int i = 0; i < 2; i++) {
+                usingSerializedLogEventAccessor(layout, logEvent, accessor -> assertThat(accessor.getString("output"))
+                        .matches(regex));
+            }
+        }
+    }
+
     ////////////////////////////////////////////////////////////////////////////
     // tests with `truncationPointMatcherStrings` //////////////////////////////
     ////////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.layout.template.json.util;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CborTranscoderTest {
+
+    @Test
+    void test_literals() {
+        test("null", 0xf6);
+        test("true", 0xf5);
+        test("false", 0xf4);
+    }
+
+    @Test
+    void test_integers() {
+        test("0", 0x00);
+        test("23", 0x17);
+        test("24", 0x18, 0x18);
+        test("1000", 0x19, 0x03, 0xe8);
+        test("-0", 0x00);
+        test("-1", 0x20);
+        test("-100", 0x38, 0x63);
+        test("1000000000000", 0x1b, 0x00, 0x00, 0x00, 0xe8, 0xd4, 0xa5, 0x10, 0x00);
+        test(String.valueOf(Long.MIN_VALUE), 0x3b, 0x7f, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff);
+        test("18446744073709551615", 0xc2, 0x48, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff, 0xff);
+        test("18446744073709551616", 0xc2, 0x49, 0x01, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00);
+        test("-18446744073709551617", 0xc3, 0x49, 0x01, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00);
+    }
+
+    @Test
+    void test_decimals() {
+        test("1.1", 0xfb, 0x3f, 0xf1, 0x99, 0x99, 0x99, 0x99, 0x99, 0x9a);
+        test("-4.1e2", 0xfb, 0xc0, 0x79, 0xa0, 0x00, 0x00, 0x00, 0x00, 0x00);
+    }
+
+    @Test
+    void test_non_finite_decimals() {
+        test("NaN", 0xfb, 0x7f, 0xf8, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00);
+        test("Infinity", 0xfb, 0x7f, 0xf0, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00);
+        test("-Infinity", 0xfb, 0xff, 0xf0, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00);
+        test("[NaN,-Infinity]", 0x9f, 0xfb, 0x7f, 0xf8, 0, 0, 0, 0, 0, 0, 0xfb, 0xff, 0xf0, 0, 0, 0, 0, 0, 0, 0xff);
+    }
+
+    @Test
+    void test_JsonWriter_numbers() {
+        final JsonWriter jsonWriter = JsonWriter.newBuilder()
+                .setMaxStringLength(32)
+                .setTruncatedStringSuffix("…")
+                .build();
+        final StringBuilder stringBuilder = jsonWriter.getStringBuilder();
+        jsonWriter.writeArrayStart();
+        jsonWriter.writeNumber(Double.NaN);
+        jsonWriter.writeSeparator();
+        jsonWriter.writeNumber(Float.POSITIVE_INFINITY);
+        jsonWriter.writeSeparator();
+        jsonWriter.writeNumber(Double.NEGATIVE_INFINITY);
+        jsonWriter.writeSeparator();
+        jsonWriter.writeNumber(-0.0D);
+        jsonWriter.writeArrayEnd();
+        final CborTranscoder transcoder = new CborTranscoder(16);
+        transcoder.transcode(stringBuilder);
+        Assertions.assertThat(decode(transcoder))
+                .isEqualTo(Arrays.asList(Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, -0.0D));
+    }
+
+    @Test
+    void test_strings() {
+        test("\"\"", 0x60);
+        test("\"a\"", 0x61, 0x61);
+        test("\"\\u00fc\"", 0x62, 0xc3, 0xbc);
+        test("\"\\\"\\\\\"", 0x62, 0x22, 0x5c);
+        test("\"\u6c34\"", 0x63, 0xe6, 0xb0, 0xb4);
+        test("\"\\ud800\\udd51\"", 0x64, 0xf0, 0x90, 0x85, 0x91);
+        test("\"\\ud800\"", 0x61, '?');
+        test("\"\\udd51a\"", 0x62, '?', 'a');
+    }
+
+    @Test
+    void test_long_strings() {
+        final StringBuilder textBuilder = new StringBuilder();
+        for (int i = 0; i < 70_000; i++) {
+            textBuilder.append(i % 3 == 0 ? "\u00e9" : "x");
+        }
+        final String text = textBuilder.toString();
+        final CborTranscoder transcoder = new CborTranscoder(1);
+        transcoder.transcode("[\"" + text + "\"]");
+        Assertions.assertThat(decode(transcoder)).isEqualTo(Collections.singletonList(text));
+    }
+
+    @Test
+    void test_containers() {
+        test("[]", 0x9f, 0xff);
+        test("{}", 0xbf, 0xff);
+        test("[1, [2]]", 0x9f, 0x01, 0x9f, 0x02, 0xff, 0xff);
+        test(" { \"a\" : 1 , \"b\" : [ ] } ", 0xbf, 0x61, 'a', 0x01, 0x61, 'b', 0x9f, 0xff, 0xff);
+    }
+
+    @Test
+    void test_round_trip() {
+        final String json = "{\"@timestamp\":\"2024-01-01T00:00:00.000Z\",\"level\":\"INFO\","
+                + "\"message\":\"Hello, \\\"world\\\"!\\n\",\"labels\":{\"user\":\"\u00e7\u00f6\u0308\"},"
+                + "\"thread\":{\"id\":1,\"priority\":-5},\"ratio\":0.5,\"tags\":[true,false,null]}";
+        final CborTranscoder transcoder = new CborTranscoder(16);
+        transcoder.transcode(json);
+        final Map<String, Object> labels = Collections.singletonMap("user", "\u00e7\u00f6\u0308");
+        final Map<String, Object> thread = new LinkedHashMap<>();
+        thread.put("id", BigInteger.valueOf(1));
+        thread.put("priority", BigInteger.valueOf(-5));
+        final Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("@timestamp", "2024-01-01T00:00:00.000Z");
+        expected.put("level", "INFO");
+        expected.put("message", "Hello, \"world\"!\n");
+        expected.put("labels", labels);
+        expected.put("thread", thread);
+        expected.put("ratio", 0.5D);
+        expected.put("tags", Arrays.asList(true, false, null));
+        Assertions.assertThat(decode(transcoder)).isEqualTo(expected);
+    }
+
+    @Test
+    void test_buffer_reuse() {
+        final CborTranscoder transcoder = new CborTranscoder(4);
+        transcoder.transcode("[\"" + String.join("", Collections.nCopies(100, "a")) + "\"]");
+        transcoder.transcode("1");
+        Assertions.assertThat(transcoder.getLength()).isEqualTo(1);
+        Assertions.assertThat(transcoder.getBuffer()[0]).isEqualTo((byte) 0x01);
+        transcoder.trimToCapacity(4);
+        Assertions.assertThat(transcoder.getBuffer()).hasSize(4);
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "", "[", "[1,]", "{\"a\"}", "{1:2}", "\"a", "\"\\x\"", "tru", "-", "1 2", "1e", "Nan", "-Inf", "-I"
+            })
+    void test_malformed_input(final String json) {
+        final CborTranscoder transcoder = new CborTranscoder(16);
+        Assertions.assertThatThrownBy(() -> transcoder.transcode(json))
+                .as("json=%s", json)
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void test(final String json, final int... expectedBytes) {
+        final CborTranscoder transcoder = new CborTranscoder(1);
+        transcoder.transcode(json);
+        final byte[] actualBytes = Arrays.copyOf(transcoder.getBuffer(), transcoder.getLength());
+        final byte[] expectedByteArray = new byte[expectedBytes.length];
+        for (int i = 0; i < expectedBytes.length; i++) {
+            expectedByteArray[i] = (byte) expectedBytes[i];
+        }
+        Assertions.assertThat(actualBytes).as("json=%s", json).isEqualTo(expectedByteArray);
+    }
+
+    private static Object decode(final CborTranscoder transcoder) {
+        final CborDecoder decoder = new CborDecoder(transcoder.getBuffer(), transcoder.getLength());
+        final Object value = decoder.read();
+        Assertions.assertThat(decoder.index).isEqualTo(transcoder.getLength());
+        return value;
+    }
+
+    /**
+     * Decodes the subset of CBOR produced by {@link CborTranscoder}.
+     */
+    private static final class CborDecoder {
+
+        private static final Object BREAK = new Object();
+
+        private final byte[] bytes;
+
+        private final int length;
+
+        private int index;
+
+        private CborDecoder(final byte[] bytes, final int length) {
+            this.bytes = bytes;
+            this.length = length;
+        }
+
+        private Object read() {
+            Assertions.assertThat(index).isLessThan(length);
+            final int initialByte = bytes[index++] & 0xff;
+            final int majorType = initialByte >>> 5;
+            final int additionalInfo = initialByte & 0x1f;
+            switch (majorType) {
+                case 0:
+                    return readArgument(additionalInfo);
+                case 1:
+                    return readArgument(additionalInfo).negate().subtract(BigInteger.ONE);
+                case 2:
+                    return readBytes(readArgument(additionalInfo).intValueExact());
+                case 3:
+                    final int stringLength = readArgument(additionalInfo).intValueExact();
+                    return new String(readBytes(stringLength), StandardCharsets.UTF_8);
+                case 4:
+                    Assertions.assertThat(additionalInfo).isEqualTo(31);
+                    final List<Object> list = new ArrayList<>();
+                    for (Object item; (item = read()) != BREAK; ) {
+                        list.add(item);
+                    }
+                    return list;
+                case 5:
+                    Assertions.assertThat(additionalInfo).isEqualTo(31);
+                    final Map<Object, Object> map = new LinkedHashMap<>();
+                    for (Object key; (key = read()) != BREAK; ) {
+                        map.put(key, read());
+                    }
+                    return map;
+                case 6:
+                    final int tag = readArgument(additionalInfo).intValueExact();
+                    final BigInteger magnitude = new BigInteger(1, (byte[]) read());
+                    Assertions.assertThat(tag).isBetween(2, 3);
+                    return tag == 2 ? magnitude : magnitude.negate().subtract(BigInteger.ONE);
+                default:
+                    switch (additionalInfo) {
+                        case 20:
+                            return false;
+                        case 21:
+                            return true;
+                        case 22:
+                            return null;
+                        case 27:
+                            return Double.longBitsToDouble(
+                                    readArgument(additionalInfo).longValue());
+                        case 31:
+                            return BREAK;
+                        default:
+                            throw new AssertionError("unexpected simple value: " + additionalInfo);
+                    }
+            }
+        }
+
+        private BigInteger readArgument(final int additionalInfo) {
+            if (additionalInfo < 24) {
+                return BigInteger.valueOf(additionalInfo);
+            }
+            final int byteCount = 1 << (additionalInfo - 24);
+            return new BigInteger(1, readBytes(byteCount));
+        }
+
+        private byte[] readBytes(final int byteCount) {
+            Assertions.assertThat(index + byteCount).isLessThanOrEqualTo(length);
+            final byte[] result = Arrays.copyOfRange(bytes, index, index + byteCount);
+            index += byteCount;
+            return result;
+        }
+    }
+}
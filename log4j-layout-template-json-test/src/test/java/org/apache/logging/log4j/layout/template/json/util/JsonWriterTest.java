@@ -549,6 +549,20 @@ class JsonWriterTest {
         });
     }
 
+    @Test
+    void test_writeString_runs_of_safe_and_escaped_chars() throws IOException {
+        final String s = "\"leading quote, tab\tnewline\n\u0001\u00e9t\u00e9 \ud83d\ude00\\\\ and trailing\u001f";
+        final String expectedJson = JacksonFixture.getObjectMapper().writeValueAsString(s);
+        final String padding = "\"\n";
+        final String padded = padding + s + padding;
+        final String actualSeqJson =
+                withLockedWriterReturning(writer -> writer.use(() -> writer.writeString(padded, 2, s.length())));
+        Assertions.assertThat(actualSeqJson).isEqualTo(expectedJson);
+        final String actualBufferJson = withLockedWriterReturning(
+                writer -> writer.use(() -> writer.writeString(padded.toCharArray(), 2, s.length())));
+        Assertions.assertThat(actualBufferJson).isEqualTo(expectedJson);
+    }
+
     private static void testQuoting(final Function<Integer, String> quoter) throws IOException {
         final SoftAssertions assertions = new SoftAssertions();
         final char[] surrogates = new char[2];
@@ -21,6 +21,8 @@ import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +52,7 @@ import org.apache.logging.log4j.layout.template.json.resolver.EventResolverInter
 import org.apache.logging.log4j.layout.template.json.resolver.EventResolverStringSubstitutor;
 import org.apache.logging.log4j.layout.template.json.resolver.TemplateResolver;
 import org.apache.logging.log4j.layout.template.json.resolver.TemplateResolvers;
+import org.apache.logging.log4j.layout.template.json.util.CborTranscoder;
 import org.apache.logging.log4j.layout.template.json.util.JsonWriter;
 import org.apache.logging.log4j.layout.template.json.util.Recycler;
 import org.apache.logging.log4j.layout.template.json.util.RecyclerFactory;
@@ -72,31 +75,71 @@ public class JsonTemplateLayout implements StringLayout, LocationAware {
 
     private final String eventDelimiter;
 
+    private final OutputFormat outputFormat;
+
     private final Recycler<Context> contextRecycler;
 
+    /**
+     * The format of the bytes produced by {@link #encode(LogEvent, ByteBufferDestination)} and {@link #toByteArray(LogEvent)}.
+     *
+     * @since 2.25.0
+     */
+    public enum OutputFormat {
+
+        /**
+         * JSON text encoded using the configured charset.
+         */
+        JSON,
+
+        /**
+         * <a href="https://www.rfc-editor.org/rfc/rfc8949">CBOR</a> data items transcoded from the rendered JSON.
+         * Since data items are self-delimiting, event delimiters are not written.
+         */
+        CBOR
+    }
+
     private static final class Context implements AutoCloseable {
 
         final JsonWriter jsonWriter;
 
         final Encoder<StringBuilder> encoder;
 
-        private Context(final JsonWriter jsonWriter, final Encoder<StringBuilder> encoder) {
+        final CborTranscoder cborTranscoder;
+
+        final int cborBufferCapacity;
+
+        private Context(
+                final JsonWriter jsonWriter,
+                final Encoder<StringBuilder> encoder,
+                final CborTranscoder cborTranscoder,
+                final int cborBufferCapacity) {
             this.jsonWriter = jsonWriter;
             this.encoder = encoder;
+            this.cborTranscoder = cborTranscoder;
+            this.cborBufferCapacity = cborBufferCapacity;
         }
 
         @Override
         public void close() {
             jsonWriter.close();
+            if (cborTranscoder != null) {
+                cborTranscoder.trimToCapacity(cborBufferCapacity);
+            }
         }
     }
 
     private JsonTemplateLayout(final Builder builder) {
         this.charset = builder.charset;
-        this.contentType = "application/json; charset=" + charset;
+        this.outputFormat = builder.outputFormat;
+        this.contentType =
+                OutputFormat.CBOR.equals(outputFormat) ? "application/cbor" : "application/json; charset=" + charset;
         this.locationInfoEnabled = builder.locationInfoEnabled;
-        final String eventDelimiterSuffix = builder.isNullEventDelimiterEnabled() ? "\0" : "";
-        this.eventDelimiter = builder.eventDelimiter + eventDelimiterSuffix;
+        if (OutputFormat.CBOR.equals(outputFormat)) {
+            this.eventDelimiter = "";
+        } else {
+            final String eventDelimiterSuffix = builder.isNullEventDelimiterEnabled() ? "\0" : "";
+            this.eventDelimiter = builder.eventDelimiter + eventDelimiterSuffix;
+        }
         final Configuration configuration = builder.configuration;
         final JsonWriter jsonWriter = JsonWriter.newBuilder()
                 .setMaxStringLength(builder.maxStringLength)
@@ -171,15 +214,21 @@ public class JsonTemplateLayout implements StringLayout, LocationAware {
     }
 
     private static Recycler<Context> createContextRecycler(final Builder builder, final JsonWriter jsonWriter) {
-        final Supplier<Context> supplier = createContextSupplier(builder.charset, jsonWriter);
+        final Supplier<Context> supplier = createContextSupplier(builder, jsonWriter);
         return builder.recyclerFactory.create(supplier, Context::close);
     }
 
-    private static Supplier<Context> createContextSupplier(final Charset charset, final JsonWriter jsonWriter) {
+    private static Supplier<Context> createContextSupplier(final Builder builder, final JsonWriter jsonWriter) {
+        final Charset charset = builder.charset;
+        final boolean cborEnabled = OutputFormat.CBOR.equals(builder.outputFormat);
+        final int cborBufferCapacity = Math.max(Constants.ENCODER_BYTE_BUFFER_SIZE, builder.maxStringLength);
         return () -> {
             final JsonWriter clonedJsonWriter = jsonWriter.clone();
-            final Encoder<StringBuilder> encoder = new StringBuilderEncoder(charset);
-            return new Context(clonedJsonWriter, encoder);
+            final Encoder<StringBuilder> encoder = StandardCharsets.UTF_8.equals(charset)
+                    ? new Utf8StringBuilderEncoder()
+                    : new StringBuilderEncoder(charset);
+            final CborTranscoder cborTranscoder = cborEnabled ? new CborTranscoder(cborBufferCapacity) : null;
+            return new Context(clonedJsonWriter, encoder, cborTranscoder, cborBufferCapacity);
         };
     }
 
@@ -225,12 +274,78 @@ public class JsonTemplateLayout implements StringLayout, LocationAware {
         }
     }
 
+    /**
+     * {@link Encoder} writing UTF-8 directly into a reusable byte buffer, skipping the intermediate {@link CharBuffer} and
+     * the {@link CharsetEncoder} used by {@link StringBuilderEncoder}.
+     * <p>
+     * Malformed surrogate pairs are replaced with {@code '?'}, as the {@link CharsetEncoder} does.
+     * </p>
+     */
+    private static final class Utf8StringBuilderEncoder implements Encoder<StringBuilder> {
+
+        // Large enough for the longest UTF-8 sequence
+        private final byte[] buffer = new byte[Math.max(4, Constants.ENCODER_BYTE_BUFFER_SIZE)];
+
+        /**
+         * The number of chars that always fit into the buffer: at most 3 bytes per char.
+         */
+        private final int maxChunkLength = buffer.length / 3;
+
+        @Override
+        public void encode(final StringBuilder source, final ByteBufferDestination destination) {
+            final int sourceLength = source.length();
+            if (sourceLength <= maxChunkLength) {
+                destination.writeBytes(buffer, 0, StringEncoder.encodeUtf8(source, 0, sourceLength, buffer));
+                return;
+            }
+            // Keep the chunks of a large text together
+            synchronized (destination) {
+                int offset = 0;
+                while (offset < sourceLength) {
+                    int limit = Math.min(sourceLength, offset + maxChunkLength);
+                    // Do not split a surrogate pair between two chunks
+                    if (limit < sourceLength
+                            && Character.isHighSurrogate(source.charAt(limit - 1))
+                            && Character.isLowSurrogate(source.charAt(limit))) {
+                        limit--;
+                    }
+                    destination.writeBytes(buffer, 0, StringEncoder.encodeUtf8(source, offset, limit, buffer));
+                    offset = limit;
+                }
+            }
+        }
+    }
+
     @Override
     public byte[] toByteArray(final LogEvent event) {
+        if (OutputFormat.CBOR.equals(outputFormat)) {
+            return toCborByteArray(event);
+        }
         final String eventJson = toSerializable(event);
         return StringEncoder.toBytes(eventJson, charset);
     }
 
+    private byte[] toCborByteArray(final LogEvent event) {
+
+        // Acquire a context.
+        final Recycler<Context> contextRecycler = this.contextRecycler;
+        final Context context = contextRecycler.acquire();
+        final JsonWriter jsonWriter = context.jsonWriter;
+        final CborTranscoder cborTranscoder = context.cborTranscoder;
+
+        // Render & transcode the JSON.
+        try {
+            eventResolver.resolve(event, jsonWriter);
+            cborTranscoder.transcode(jsonWriter.getStringBuilder());
+            return Arrays.copyOf(cborTranscoder.getBuffer(), cborTranscoder.getLength());
+        }
+
+        // Release the context.
+        finally {
+            contextRecycler.release(context);
+        }
+    }
+
     @Override
     public String toSerializable(final LogEvent event) {
 
@@ -266,8 +381,14 @@ public class JsonTemplateLayout implements StringLayout, LocationAware {
         // Render & write the JSON.
         try {
             eventResolver.resolve(event, jsonWriter);
-            stringBuilder.append(eventDelimiter);
-            encoder.encode(stringBuilder, destination);
+            final CborTranscoder cborTranscoder = context.cborTranscoder;
+            if (cborTranscoder != null) {
+                cborTranscoder.transcode(stringBuilder);
+                destination.writeBytes(cborTranscoder.getBuffer(), 0, cborTranscoder.getLength());
+            } else {
+                stringBuilder.append(eventDelimiter);
+                encoder.encode(stringBuilder, destination);
+            }
         }
 
         // Release the context.
@@ -301,6 +422,16 @@ public class JsonTemplateLayout implements StringLayout, LocationAware {
         return contentType;
     }
 
+    /**
+     * Returns the format of the bytes produced by this layout.
+     *
+     * @return the output format
+     * @since 2.25.0
+     */
+    public OutputFormat getOutputFormat() {
+        return outputFormat;
+    }
+
     @Override
     public Map<String, String> getContentFormat() {
         return CONTENT_FORMAT;
@@ -360,6 +491,9 @@ public class JsonTemplateLayout implements StringLayout, LocationAware {
         @PluginBuilderAttribute
         private RecyclerFactory recyclerFactory = JsonTemplateLayoutDefaults.getRecyclerFactory();
 
+        @PluginBuilderAttribute
+        private OutputFormat outputFormat = OutputFormat.JSON;
+
         private Builder() {
             // Do nothing.
         }
@@ -500,6 +634,28 @@ public class JsonTemplateLayout implements StringLayout, LocationAware {
             return this;
         }
 
+        /**
+         * Returns the format of the bytes produced by the layout.
+         *
+         * @return the output format
+         * @since 2.25.0
+         */
+        public OutputFormat getOutputFormat() {
+            return outputFormat;
+        }
+
+        /**
+         * Sets the format of the bytes produced by the layout, {@link OutputFormat#JSON} by default.
+         *
+         * @param outputFormat the output format
+         * @return this builder
+         * @since 2.25.0
+         */
+        public Builder setOutputFormat(final OutputFormat outputFormat) {
+            this.outputFormat = outputFormat;
+            return this;
+        }
+
         @Override
         public JsonTemplateLayout build() {
             validate();
@@ -523,6 +679,7 @@ public class JsonTemplateLayout implements StringLayout, LocationAware {
             }
             Objects.requireNonNull(truncatedStringSuffix, "truncatedStringSuffix");
             Objects.requireNonNull(recyclerFactory, "recyclerFactory");
+            Objects.requireNonNull(outputFormat, "outputFormat");
         }
     }
 
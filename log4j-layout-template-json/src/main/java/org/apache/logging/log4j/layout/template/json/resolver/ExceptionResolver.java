@@ -45,6 +45,7 @@ import org.apache.logging.log4j.status.StatusLogger;
  * stackTrace          = "stackTrace" -> (
  *                         [ stringified ]
  *                       , [ elementTemplate ]
+ *                       , [ cacheSize ]
  *                       )
  *
  * stringified         = "stringified" -> ( boolean | truncation )
@@ -58,6 +59,8 @@ import org.apache.logging.log4j.status.StatusLogger;
  * pointMatcherRegexes = "pointMatcherRegexes" -> string[]
  *
  * elementTemplate     = "elementTemplate" -> object
+ *
+ * cacheSize           = "cacheSize" -> number
  * </pre>
  *
  * <tt>stringified</tt> is set to <tt>false</tt> by default.
@@ -99,6 +102,15 @@ import org.apache.logging.log4j.status.StatusLogger;
  * <p>
  * See {@link StackTraceElementResolver}
  * for the list of available resolvers in a stack trace element template.
+ * <p>
+ * <tt>cacheSize</tt> enables caching the resolved stack traces of up to the
+ * given number of distinct throwables, which is disabled, i.e., <tt>0</tt>, by
+ * default. Object stack traces are cached by their stack trace elements,
+ * stringified ones by the class, message and stack trace elements of the
+ * throwable and its causes; throwables with suppressed exceptions are not
+ * cached. Both the rendering and the truncation of a cached stack trace are
+ * skipped. The cache should not be used with element templates containing
+ * lookups whose value changes over time.
  *
  * <h3>Examples</h3>
  *
@@ -278,7 +290,11 @@ public class ExceptionResolver implements EventResolver {
 
         // Create the resolver.
         final StackTraceStringResolver resolver = new StackTraceStringResolver(
-                context, truncationSuffix, truncationPointMatcherStrings, truncationPointMatcherRegexes);
+                context,
+                truncationSuffix,
+                truncationPointMatcherStrings,
+                truncationPointMatcherRegexes,
+                createStackTraceCache(config));
 
         // Create the null-protected resolver.
         return (final LogEvent logEvent, final JsonWriter jsonWriter) -> {
@@ -331,6 +347,17 @@ public class ExceptionResolver implements EventResolver {
         return regexes;
     }
 
+    private static StackTraceCache createStackTraceCache(final TemplateResolverConfig config) {
+        final Integer cacheSize = config.getInteger(new String[] {"stackTrace", "cacheSize"});
+        if (cacheSize == null || cacheSize == 0) {
+            return null;
+        }
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("was expecting a non-negative stack trace cache size: " + config);
+        }
+        return new StackTraceCache(cacheSize);
+    }
+
     private static final Map<String, StackTraceElementResolverFactory> STACK_TRACE_ELEMENT_RESOLVER_FACTORY_BY_NAME;
 
     static {
@@ -344,7 +371,8 @@ public class ExceptionResolver implements EventResolver {
             final EventResolverContext context, final TemplateResolverConfig config) {
         final TemplateResolver<StackTraceElement> stackTraceElementResolver =
                 createStackTraceElementResolver(context, config);
-        final StackTraceObjectResolver stackTraceResolver = new StackTraceObjectResolver(stackTraceElementResolver);
+        final StackTraceObjectResolver stackTraceResolver =
+                new StackTraceObjectResolver(stackTraceElementResolver, createStackTraceCache(config));
         return (final LogEvent logEvent, final JsonWriter jsonWriter) -> {
             final Throwable throwable = extractThrowable(logEvent);
             if (throwable == null) {
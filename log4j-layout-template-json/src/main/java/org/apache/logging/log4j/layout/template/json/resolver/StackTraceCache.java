@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.layout.template.json.resolver;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of rendered stack traces used by {@link StackTraceResolver}s.
+ * <p>
+ * Entries are keyed by a fingerprint of the throwable, i.e., the parts of it that determine the rendered output.
+ * Keys are compared by value, hence a cache hit always yields the output the resolver would have rendered.
+ * Once the cache is full, new fingerprints are rendered without being cached.
+ * </p>
+ */
+final class StackTraceCache {
+
+    /**
+     * Maximum number of causes included in a fingerprint.
+     * Longer, or circular, cause chains are not cached.
+     */
+    private static final int MAX_CAUSE_COUNT = 16;
+
+    private final int maxSize;
+
+    private final Map<Fingerprint, String> renderingByFingerprint;
+
+    StackTraceCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("was expecting a positive cache size: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.renderingByFingerprint = new ConcurrentHashMap<>(maxSize);
+    }
+
+    /**
+     * Creates a fingerprint of stack trace elements.
+     */
+    static Fingerprint fingerprintStackTrace(final StackTraceElement[] stackTraceElements) {
+        return new Fingerprint(new Object[] {stackTraceElements});
+    }
+
+    /**
+     * Creates a fingerprint of the output of {@link Throwable#printStackTrace()}, i.e., of the class, message and
+     * stack trace elements of the throwable and its causes.
+     *
+     * @return the fingerprint, or {@code null}, if the throwable has suppressed exceptions or too many causes
+     */
+    static Fingerprint fingerprintPrintedStackTrace(final Throwable throwable) {
+        int causeCount = 0;
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (++causeCount > MAX_CAUSE_COUNT || cause.getSuppressed().length > 0) {
+                return null;
+            }
+        }
+        final Object[] parts = new Object[3 * causeCount];
+        int partIndex = 0;
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            parts[partIndex++] = cause.getClass();
+            parts[partIndex++] = cause.toString();
+            parts[partIndex++] = cause.getStackTrace();
+        }
+        return new Fingerprint(parts);
+    }
+
+    String get(final Fingerprint fingerprint) {
+        return renderingByFingerprint.get(fingerprint);
+    }
+
+    void put(final Fingerprint fingerprint, final String rendering) {
+        if (renderingByFingerprint.size() < maxSize) {
+            renderingByFingerprint.putIfAbsent(fingerprint, rendering);
+        }
+    }
+
+    int size() {
+        return renderingByFingerprint.size();
+    }
+
+    static final class Fingerprint {
+
+        private final Object[] parts;
+
+        private final int hashCode;
+
+        private Fingerprint(final Object[] parts) {
+            this.parts = parts;
+            this.hashCode = Arrays.deepHashCode(parts);
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof Fingerprint)) {
+                return false;
+            }
+            final Fingerprint other = (Fingerprint) object;
+            return hashCode == other.hashCode && Arrays.deepEquals(parts, other.parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
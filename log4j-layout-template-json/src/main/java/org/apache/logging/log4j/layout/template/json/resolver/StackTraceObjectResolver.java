@@ -25,8 +25,12 @@ final class StackTraceObjectResolver implements StackTraceResolver {
 
     private final TemplateResolver<StackTraceElement> stackTraceElementResolver;
 
-    StackTraceObjectResolver(final TemplateResolver<StackTraceElement> stackTraceElementResolver) {
+    private final StackTraceCache cache;
+
+    StackTraceObjectResolver(
+            final TemplateResolver<StackTraceElement> stackTraceElementResolver, final StackTraceCache cache) {
         this.stackTraceElementResolver = stackTraceElementResolver;
+        this.cache = cache;
     }
 
     @Override
@@ -37,18 +41,37 @@ final class StackTraceObjectResolver implements StackTraceResolver {
         final StackTraceElement[] stackTraceElements = throwable.getStackTrace();
         if (stackTraceElements.length == 0) {
             jsonWriter.writeNull();
+        } else if (cache == null) {
+            resolve(stackTraceElements, jsonWriter);
+        } else {
+            resolveCached(stackTraceElements, jsonWriter);
+        }
+    }
+
+    private void resolveCached(final StackTraceElement[] stackTraceElements, final JsonWriter jsonWriter) {
+        final StackTraceCache.Fingerprint fingerprint = StackTraceCache.fingerprintStackTrace(stackTraceElements);
+        final String cachedJson = cache.get(fingerprint);
+        if (cachedJson != null) {
+            jsonWriter.writeRawString(cachedJson);
         } else {
-            jsonWriter.writeArrayStart();
-            for (int stackTraceElementIndex = 0;
-                    stackTraceElementIndex < stackTraceElements.length;
-                    stackTraceElementIndex++) {
-                if (stackTraceElementIndex > 0) {
-                    jsonWriter.writeSeparator();
-                }
-                final StackTraceElement stackTraceElement = stackTraceElements[stackTraceElementIndex];
-                stackTraceElementResolver.resolve(stackTraceElement, jsonWriter);
+            final StringBuilder stringBuilder = jsonWriter.getStringBuilder();
+            final int startIndex = stringBuilder.length();
+            resolve(stackTraceElements, jsonWriter);
+            cache.put(fingerprint, stringBuilder.substring(startIndex));
+        }
+    }
+
+    private void resolve(final StackTraceElement[] stackTraceElements, final JsonWriter jsonWriter) {
+        jsonWriter.writeArrayStart();
+        for (int stackTraceElementIndex = 0;
+                stackTraceElementIndex < stackTraceElements.length;
+                stackTraceElementIndex++) {
+            if (stackTraceElementIndex > 0) {
+                jsonWriter.writeSeparator();
             }
-            jsonWriter.writeArrayEnd();
+            final StackTraceElement stackTraceElement = stackTraceElements[stackTraceElementIndex];
+            stackTraceElementResolver.resolve(stackTraceElement, jsonWriter);
         }
+        jsonWriter.writeArrayEnd();
     }
 }
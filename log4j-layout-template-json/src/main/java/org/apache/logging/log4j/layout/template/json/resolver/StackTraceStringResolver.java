@@ -49,11 +49,14 @@ final class StackTraceStringResolver implements StackTraceResolver {
 
     private final List<Pattern> groupedTruncationPointMatcherRegexes;
 
+    private final StackTraceCache cache;
+
     StackTraceStringResolver(
             final EventResolverContext context,
             final String truncationSuffix,
             final List<String> truncationPointMatcherStrings,
-            final List<String> truncationPointMatcherRegexes) {
+            final List<String> truncationPointMatcherRegexes,
+            final StackTraceCache cache) {
         final Supplier<TruncatingBufferedPrintWriter> writerSupplier =
                 () -> TruncatingBufferedPrintWriter.ofCapacity(context.getMaxStringByteCount());
         final RecyclerFactory recyclerFactory = context.getRecyclerFactory();
@@ -64,6 +67,7 @@ final class StackTraceStringResolver implements StackTraceResolver {
         this.truncationSuffix = truncationSuffix;
         this.truncationPointMatcherStrings = truncationPointMatcherStrings;
         this.groupedTruncationPointMatcherRegexes = groupTruncationPointMatcherRegexes(truncationPointMatcherRegexes);
+        this.cache = cache;
     }
 
     private static List<Pattern> groupTruncationPointMatcherRegexes(final List<String> regexes) {
@@ -79,10 +83,31 @@ final class StackTraceStringResolver implements StackTraceResolver {
 
     @Override
     public void resolve(final Throwable throwable, final JsonWriter jsonWriter) {
+        final StackTraceCache.Fingerprint fingerprint =
+                cache != null ? StackTraceCache.fingerprintPrintedStackTrace(throwable) : null;
+        if (fingerprint == null) {
+            resolve(throwable, jsonWriter::writeString);
+            return;
+        }
+        final String cachedStackTrace = cache.get(fingerprint);
+        if (cachedStackTrace != null) {
+            jsonWriter.writeString(cachedStackTrace);
+        } else {
+            // Both printing and truncation only take place once per fingerprint
+            resolve(throwable, (final TruncatingBufferedPrintWriter writer) -> {
+                final String stackTrace = writer.toString();
+                cache.put(fingerprint, stackTrace);
+                jsonWriter.writeString(stackTrace);
+            });
+        }
+    }
+
+    private void resolve(
+            final Throwable throwable, final Consumer<TruncatingBufferedPrintWriter> effectiveWriterConsumer) {
         final TruncatingBufferedPrintWriter srcWriter = srcWriterRecycler.acquire();
         try {
             throwable.printStackTrace(srcWriter);
-            truncate(srcWriter, jsonWriter::writeString);
+            truncate(srcWriter, effectiveWriterConsumer);
         } finally {
             srcWriterRecycler.release(srcWriter);
         }
@@ -75,7 +75,13 @@ public class TemplateResolverInterceptors {
         final Set<String> pluginNames = pluginTypeByName.keySet();
         for (final String pluginName : pluginNames) {
             final PluginType<?> pluginType = pluginTypeByName.get(pluginName);
-            final Class<?> pluginClass = pluginType.getPluginClass();
+            final Class<?> pluginClass;
+            try {
+                pluginClass = pluginType.getPluginClass();
+            } catch (final IllegalStateException error) {
+                // The failure has already been logged by the plugin type
+                continue;
+            }
             final boolean pluginClassMatched = TemplateResolverInterceptor.class.isAssignableFrom(pluginClass);
             if (pluginClassMatched) {
                 final TemplateResolverInterceptor<?, ?> rawInterceptor =
@@ -0,0 +1,495 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.layout.template.json.util;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * A streaming transcoder of JSON text to <a href="https://www.rfc-editor.org/rfc/rfc8949">CBOR</a>.
+ * <p>
+ * The type mapping is as follows:
+ * <p>
+ * <ul>
+ * <li><tt>object</tt>s and <tt>array</tt>s are mapped to indefinite-length maps and arrays
+ * <li><tt>string</tt>s are mapped to UTF-8 text strings, malformed surrogate pairs are replaced with <tt>?</tt>
+ * <li><tt>true</tt>, <tt>false</tt>, and <tt>null</tt> are mapped to their simple value counterparts
+ * <li>integral <tt>number</tt>s are mapped to integers, or to bignums, if they exceed the <tt>long</tt> range
+ * <li>floating point <tt>number</tt>s are mapped to double-precision floats, including the <tt>NaN</tt>,
+ * <tt>Infinity</tt>, and <tt>-Infinity</tt> literals written by {@link JsonWriter} for non-finite numbers
+ * </ul>
+ * <p>
+ * The output is written to a reusable buffer, which is only valid until the next transcoding.
+ * Instances are not thread-safe.
+ */
+public final class CborTranscoder {
+
+    private static final int MAJOR_TYPE_UNSIGNED_INTEGER = 0;
+
+    private static final int MAJOR_TYPE_NEGATIVE_INTEGER = 1 << 5;
+
+    private static final int MAJOR_TYPE_BYTE_STRING = 2 << 5;
+
+    private static final int MAJOR_TYPE_TEXT_STRING = 3 << 5;
+
+    private static final int MAJOR_TYPE_ARRAY = 4 << 5;
+
+    private static final int MAJOR_TYPE_MAP = 5 << 5;
+
+    private static final int MAJOR_TYPE_TAG = 6 << 5;
+
+    private static final int INDEFINITE_LENGTH = 31;
+
+    private static final int TAG_POSITIVE_BIGNUM = 2;
+
+    private static final int TAG_NEGATIVE_BIGNUM = 3;
+
+    private static final byte FALSE = (byte) 0xf4;
+
+    private static final byte TRUE = (byte) 0xf5;
+
+    private static final byte NULL = (byte) 0xf6;
+
+    private static final byte DOUBLE = (byte) 0xfb;
+
+    private static final byte BREAK = (byte) 0xff;
+
+    /**
+     * Space reserved for the header of a text string, which fits the length of any string shorter than 4 GiB.
+     */
+    private static final int MAX_TEXT_STRING_HEADER_LENGTH = 5;
+
+    private byte[] buffer;
+
+    private int length;
+
+    private CharSequence json;
+
+    private int index;
+
+    private char pendingHighSurrogate;
+
+    public CborTranscoder(final int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("was expecting a positive initial capacity: " + initialCapacity);
+        }
+        this.buffer = new byte[initialCapacity];
+    }
+
+    /**
+     * Transcodes the given JSON text, replacing the output of the previous transcoding.
+     *
+     * @throws IllegalArgumentException if the JSON text is malformed
+     */
+    public void transcode(final CharSequence json) {
+        this.json = json;
+        this.index = 0;
+        this.length = 0;
+        try {
+            skipWhitespace();
+            writeValue();
+            skipWhitespace();
+            if (index != json.length()) {
+                throw createException("was expecting end of input");
+            }
+        } finally {
+            this.json = null;
+        }
+    }
+
+    /**
+     * Returns the buffer holding the output of the last transcoding.
+     *
+     * @return the buffer holding the output of the last transcoding, starting at index zero
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns the length of the output of the last transcoding.
+     *
+     * @return the length of the output of the last transcoding
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Shrinks the buffer to the given capacity, if it has grown beyond it.
+     */
+    public void trimToCapacity(final int capacity) {
+        if (buffer.length > capacity) {
+            buffer = new byte[capacity];
+            length = 0;
+        }
+    }
+
+    private void writeValue() {
+        final char c = peek();
+        switch (c) {
+            case '{':
+                writeObject();
+                break;
+            case '[':
+                writeArray();
+                break;
+            case '"':
+                writeString();
+                break;
+            case 't':
+                expectLiteral("true");
+                writeByte(TRUE);
+                break;
+            case 'f':
+                expectLiteral("false");
+                writeByte(FALSE);
+                break;
+            case 'n':
+                expectLiteral("null");
+                writeByte(NULL);
+                break;
+                // `JsonWriter` writes non-finite numbers as is
+            case 'N':
+                expectLiteral("NaN");
+                writeDouble(Double.NaN);
+                break;
+            case 'I':
+                expectLiteral("Infinity");
+                writeDouble(Double.POSITIVE_INFINITY);
+                break;
+            default:
+                writeNumber();
+        }
+    }
+
+    private void writeObject() {
+        index++;
+        writeByte((byte) (MAJOR_TYPE_MAP | INDEFINITE_LENGTH));
+        skipWhitespace();
+        if (peek() == '}') {
+            index++;
+        } else {
+            while (true) {
+                if (peek() != '"') {
+                    throw createException("was expecting an object key");
+                }
+                writeString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                writeValue();
+                skipWhitespace();
+                if (peek() == ',') {
+                    index++;
+                    skipWhitespace();
+                } else {
+                    expect('}');
+                    break;
+                }
+            }
+        }
+        writeByte(BREAK);
+    }
+
+    private void writeArray() {
+        index++;
+        writeByte((byte) (MAJOR_TYPE_ARRAY | INDEFINITE_LENGTH));
+        skipWhitespace();
+        if (peek() == ']') {
+            index++;
+        } else {
+            while (true) {
+                writeValue();
+                skipWhitespace();
+                if (peek() == ',') {
+                    index++;
+                    skipWhitespace();
+                } else {
+                    expect(']');
+                    break;
+                }
+            }
+        }
+        writeByte(BREAK);
+    }
+
+    private void writeString() {
+        index++;
+        // Encode the content past the space reserved for the header, which is only known afterwards.
+        final int headerIndex = length;
+        ensureCapacity(MAX_TEXT_STRING_HEADER_LENGTH);
+        length += MAX_TEXT_STRING_HEADER_LENGTH;
+        final int contentIndex = length;
+        while (true) {
+            final char c = next();
+            if (c == '"') {
+                break;
+            } else if (c == '\\') {
+                writeCodeUnit(readEscapedChar());
+            } else {
+                writeCodeUnit(c);
+            }
+        }
+        flushPendingHighSurrogate();
+        final int contentLength = length - contentIndex;
+        length = headerIndex;
+        writeHeader(MAJOR_TYPE_TEXT_STRING, contentLength);
+        System.arraycopy(buffer, contentIndex, buffer, length, contentLength);
+        length += contentLength;
+    }
+
+    private char readEscapedChar() {
+        final char c = next();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int codeUnit = 0;
+                for (int i = 0; i < 4; i++) {
+                    final int digit = Character.digit(next(), 16);
+                    if (digit < 0) {
+                        throw createException("was expecting a hexadecimal digit");
+                    }
+                    codeUnit = (codeUnit << 4) | digit;
+                }
+                return (char) codeUnit;
+            default:
+                throw createException("invalid escape sequence");
+        }
+    }
+
+    private void writeCodeUnit(final char c) {
+        if (pendingHighSurrogate != 0) {
+            final char highSurrogate = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                final int codePoint = Character.toCodePoint(highSurrogate, c);
+                ensureCapacity(4);
+                buffer[length++] = (byte) (0xf0 | (codePoint >> 18));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                buffer[length++] = (byte) (0x80 | (codePoint & 0x3f));
+                return;
+            }
+            writeByte((byte) '?');
+        }
+        ensureCapacity(3);
+        if (c < 0x80) {
+            buffer[length++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[length++] = (byte) (0xc0 | (c >> 6));
+            buffer[length++] = (byte) (0x80 | (c & 0x3f));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buffer[length++] = '?';
+        } else {
+            buffer[length++] = (byte) (0xe0 | (c >> 12));
+            buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+            buffer[length++] = (byte) (0x80 | (c & 0x3f));
+        }
+    }
+
+    private void flushPendingHighSurrogate() {
+        if (pendingHighSurrogate != 0) {
+            pendingHighSurrogate = 0;
+            writeByte((byte) '?');
+        }
+    }
+
+    private void writeNumber() {
+        final int startIndex = index;
+        if (json.charAt(index) == '-' && index + 1 < json.length() && json.charAt(index + 1) == 'I') {
+            index++;
+            expectLiteral("Infinity");
+            writeDouble(Double.NEGATIVE_INFINITY);
+            return;
+        }
+        boolean integral = true;
+        while (index < json.length()) {
+            final char c = json.charAt(index);
+            if (c == '.' || c == 'e' || c == 'E') {
+                integral = false;
+            } else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) {
+                break;
+            }
+            index++;
+        }
+        if (startIndex == index) {
+            throw createException("was expecting a value");
+        }
+        if (integral) {
+            writeIntegral(startIndex, index);
+        } else {
+            final String number = json.subSequence(startIndex, index).toString();
+            final double value;
+            try {
+                value = Double.parseDouble(number);
+            } catch (final NumberFormatException error) {
+                throw createException("invalid number: " + number);
+            }
+            writeDouble(value);
+        }
+    }
+
+    private void writeDouble(final double value) {
+        ensureCapacity(9);
+        buffer[length++] = DOUBLE;
+        writeLong(Double.doubleToLongBits(value), 8);
+    }
+
+    private void writeIntegral(final int startIndex, final int endIndex) {
+        final boolean negative = json.charAt(startIndex) == '-';
+        int digitIndex = negative ? startIndex + 1 : startIndex;
+        if (digitIndex == endIndex) {
+            throw createException("invalid number");
+        }
+        // Accumulate negatively to cover `Long.MIN_VALUE`.
+        long value = 0;
+        for (; digitIndex < endIndex; digitIndex++) {
+            final int digit = json.charAt(digitIndex) - '0';
+            if (digit < 0 || digit > 9) {
+                throw createException("invalid number");
+            }
+            if (value < Long.MIN_VALUE / 10 || value * 10 < Long.MIN_VALUE + digit) {
+                writeBignum(
+                        new BigInteger(json.subSequence(startIndex, endIndex).toString()));
+                return;
+            }
+            value = value * 10 - digit;
+        }
+        if (value == 0) {
+            // Also for `-0`, which has no integer representation
+            writeHeader(MAJOR_TYPE_UNSIGNED_INTEGER, 0);
+        } else if (negative) {
+            // `-1 - value` for negative `value`
+            writeHeader(MAJOR_TYPE_NEGATIVE_INTEGER, -(value + 1));
+        } else if (value == Long.MIN_VALUE) {
+            writeBignum(BigInteger.valueOf(value).negate());
+        } else {
+            writeHeader(MAJOR_TYPE_UNSIGNED_INTEGER, -value);
+        }
+    }
+
+    private void writeBignum(final BigInteger value) {
+        final boolean negative = value.signum() < 0;
+        final BigInteger magnitude = negative ? value.negate().subtract(BigInteger.ONE) : value;
+        byte[] bytes = magnitude.toByteArray();
+        if (bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        writeHeader(MAJOR_TYPE_TAG, negative ? TAG_NEGATIVE_BIGNUM : TAG_POSITIVE_BIGNUM);
+        writeHeader(MAJOR_TYPE_BYTE_STRING, bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    /**
+     * Writes the initial byte of a data item with the given major type and argument, using the shortest encoding.
+     * The argument is interpreted as an unsigned number.
+     */
+    private void writeHeader(final int majorType, final long argument) {
+        ensureCapacity(9);
+        if (argument >= 0 && argument < 24) {
+            buffer[length++] = (byte) (majorType | argument);
+        } else if (argument >= 0 && argument <= 0xff) {
+            buffer[length++] = (byte) (majorType | 24);
+            writeLong(argument, 1);
+        } else if (argument >= 0 && argument <= 0xffff) {
+            buffer[length++] = (byte) (majorType | 25);
+            writeLong(argument, 2);
+        } else if (argument >= 0 && argument <= 0xffffffffL) {
+            buffer[length++] = (byte) (majorType | 26);
+            writeLong(argument, 4);
+        } else {
+            buffer[length++] = (byte) (majorType | 27);
+            writeLong(argument, 8);
+        }
+    }
+
+    private void writeLong(final long value, final int byteCount) {
+        for (int shift = 8 * (byteCount - 1); shift >= 0; shift -= 8) {
+            buffer[length++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void writeByte(final byte value) {
+        ensureCapacity(1);
+        buffer[length++] = value;
+    }
+
+    private void ensureCapacity(final int extraLength) {
+        final int minCapacity = length + extraLength;
+        if (minCapacity > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(minCapacity, 2 * buffer.length));
+        }
+    }
+
+    private void skipWhitespace() {
+        while (index < json.length()) {
+            final char c = json.charAt(index);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                break;
+            }
+            index++;
+        }
+    }
+
+    private char peek() {
+        if (index >= json.length()) {
+            throw createException("unexpected end of input");
+        }
+        return json.charAt(index);
+    }
+
+    private char next() {
+        final char c = peek();
+        index++;
+        return c;
+    }
+
+    private void expect(final char expected) {
+        if (next() != expected) {
+            index--;
+            throw createException("was expecting '" + expected + "'");
+        }
+    }
+
+    private void expectLiteral(final String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            expect(literal.charAt(i));
+        }
+    }
+
+    private IllegalArgumentException createException(final String message) {
+        return new IllegalArgumentException(message + " at index " + index);
+    }
+}
@@ -577,26 +577,27 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
 
     /**
      * Quote text contents using JSON standard quoting.
+     * <p>
+     * Runs of characters that need no escaping are appended in bulk, which
+     * lets {@link StringBuilder} copy them at once instead of appending them
+     * one by one.
+     * </p>
      */
     private void quoteString(final CharSequence seq, final int offset, final int length) {
         final int limit = offset + length;
-        int i = offset;
-        outer:
-        while (i < limit) {
-            while (true) {
-                final char c = seq.charAt(i);
-                if (c < ESC_CODES.length && ESC_CODES[c] != 0) {
-                    break;
-                }
-                stringBuilder.append(c);
-                if (++i >= limit) {
-                    break outer;
+        int runStart = offset;
+        for (int i = offset; i < limit; i++) {
+            final char c = seq.charAt(i);
+            if (c < ESC_CODES.length && ESC_CODES[c] != 0) {
+                if (runStart < i) {
+                    stringBuilder.append(seq, runStart, i);
                 }
+                appendEscaped(c);
+                runStart = i + 1;
             }
-            final char d = seq.charAt(i++);
-            final int escCode = ESC_CODES[d];
-            final int quoteBufferLength = escCode < 0 ? quoteNumeric(d) : quoteNamed(escCode);
-            stringBuilder.append(quoteBuffer, 0, quoteBufferLength);
+        }
+        if (runStart < limit) {
+            stringBuilder.append(seq, runStart, limit);
         }
     }
 
@@ -639,27 +640,32 @@ public final class JsonWriter implements AutoCloseable, Cloneable {
 
     /**
      * Quote text contents using JSON standard quoting.
+     * <p>
+     * Runs of characters that need no escaping are appended in bulk.
+     * </p>
      */
     private void quoteString(final char[] buffer, final int offset, final int length) {
         final int limit = offset + length;
-        int i = offset;
-        outer:
-        while (i < limit) {
-            while (true) {
-                final char c = buffer[i];
-                if (c < ESC_CODES.length && ESC_CODES[c] != 0) {
-                    break;
-                }
-                stringBuilder.append(c);
-                if (++i >= limit) {
-                    break outer;
+        int runStart = offset;
+        for (int i = offset; i < limit; i++) {
+            final char c = buffer[i];
+            if (c < ESC_CODES.length && ESC_CODES[c] != 0) {
+                if (runStart < i) {
+                    stringBuilder.append(buffer, runStart, i - runStart);
                 }
+                appendEscaped(c);
+                runStart = i + 1;
             }
-            final char d = buffer[i++];
-            final int escCode = ESC_CODES[d];
-            final int quoteBufferLength = escCode < 0 ? quoteNumeric(d) : quoteNamed(escCode);
-            stringBuilder.append(quoteBuffer, 0, quoteBufferLength);
         }
+        if (runStart < limit) {
+            stringBuilder.append(buffer, runStart, limit - runStart);
+        }
+    }
+
+    private void appendEscaped(final char c) {
+        final int escCode = ESC_CODES[c];
+        final int quoteBufferLength = escCode < 0 ? quoteNumeric(c) : quoteNamed(escCode);
+        stringBuilder.append(quoteBuffer, 0, quoteBufferLength);
     }
 
     private int quoteNumeric(final int value) {
@@ -40,6 +40,11 @@ import org.openjdk.jmh.annotations.Benchmark;
  *     ".*JsonTemplateLayoutBenchmark.*"
  * }</pre>
  * </p>
+ * <p>
+ * The {@code Jtl4CborLayout} benchmarks render the same template as {@code Jtl4JsonLayout} in CBOR, hence they can be
+ * compared to measure the cost of transcoding.
+ * The encoded sizes can be compared using {@link #main(String[])}.
+ * </p>
  */
 public class JsonTemplateLayoutBenchmark {
 
@@ -53,6 +58,36 @@ public class JsonTemplateLayoutBenchmark {
         return benchmark(state, state.getJtl4JsonLayout(), state.getLiteLogEvents());
     }
 
+    @Benchmark
+    public static int fullJtl4CborLayout(final JsonTemplateLayoutBenchmarkState state) {
+        return benchmark(state, state.getJtl4CborLayout(), state.getFullLogEvents());
+    }
+
+    @Benchmark
+    public static int liteJtl4CborLayout(final JsonTemplateLayoutBenchmarkState state) {
+        return benchmark(state, state.getJtl4CborLayout(), state.getLiteLogEvents());
+    }
+
+    @Benchmark
+    public static int longAsciiJtl4JsonLayout(final JsonTemplateLayoutBenchmarkState state) {
+        return benchmark(state, state.getJtl4JsonLayout(), state.getLongAsciiLogEvents());
+    }
+
+    @Benchmark
+    public static int longUnicodeJtl4JsonLayout(final JsonTemplateLayoutBenchmarkState state) {
+        return benchmark(state, state.getJtl4JsonLayout(), state.getLongUnicodeLogEvents());
+    }
+
+    @Benchmark
+    public static int longAsciiDefaultJsonLayout(final JsonTemplateLayoutBenchmarkState state) {
+        return benchmark(state, state.getDefaultJsonLayout(), state.getLongAsciiLogEvents());
+    }
+
+    @Benchmark
+    public static int longUnicodeDefaultJsonLayout(final JsonTemplateLayoutBenchmarkState state) {
+        return benchmark(state, state.getDefaultJsonLayout(), state.getLongUnicodeLogEvents());
+    }
+
     @Benchmark
     public static int fullJtl4EcsLayout(final JsonTemplateLayoutBenchmarkState state) {
         return benchmark(state, state.getJtl4EcsLayout(), state.getFullLogEvents());
@@ -113,6 +148,28 @@ public class JsonTemplateLayoutBenchmark {
         return benchmark(state, state.getGelfLayout(), state.getLiteLogEvents());
     }
 
+    /**
+     * Prints the average number of bytes per event produced by the JSON and CBOR outputs of the same template.
+     */
+    public static void main(final String[] args) {
+        final JsonTemplateLayoutBenchmarkState state = new JsonTemplateLayoutBenchmarkState();
+        printAverageByteCount("full", state.getFullLogEvents(), state.getJtl4JsonLayout(), state.getJtl4CborLayout());
+        printAverageByteCount("lite", state.getLiteLogEvents(), state.getJtl4JsonLayout(), state.getJtl4CborLayout());
+    }
+
+    private static void printAverageByteCount(
+            final String name, final List<LogEvent> logEvents, final Layout<?> jsonLayout, final Layout<?> cborLayout) {
+        long jsonByteCount = 0;
+        long cborByteCount = 0;
+        for (final LogEvent logEvent : logEvents) {
+            jsonByteCount += jsonLayout.toByteArray(logEvent).length;
+            cborByteCount += cborLayout.toByteArray(logEvent).length;
+        }
+        System.out.format(
+                "%s events: JSON=%d bytes/event, CBOR=%d bytes/event%n",
+                name, jsonByteCount / logEvents.size(), cborByteCount / logEvents.size());
+    }
+
     private static int benchmark(
             final JsonTemplateLayoutBenchmarkState state, final Layout<?> layout, final List<LogEvent> logEvents) {
         final int logEventIndex = state.nextLogEventIndex();
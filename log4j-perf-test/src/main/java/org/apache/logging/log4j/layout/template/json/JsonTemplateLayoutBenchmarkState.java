@@ -19,11 +19,13 @@ package org.apache.logging.log4j.layout.template.json;
 import co.elastic.logging.log4j2.EcsLayout;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.layout.ByteBufferDestination;
 import org.apache.logging.log4j.core.layout.GelfLayout;
 import org.apache.logging.log4j.core.layout.JsonLayout;
@@ -31,6 +33,7 @@ import org.apache.logging.log4j.core.util.KeyValuePair;
 import org.apache.logging.log4j.core.util.NetUtils;
 import org.apache.logging.log4j.layout.template.json.JsonTemplateLayout.EventTemplateAdditionalField;
 import org.apache.logging.log4j.layout.template.json.util.ThreadLocalRecyclerFactory;
+import org.apache.logging.log4j.message.SimpleMessage;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 
@@ -47,6 +50,8 @@ public class JsonTemplateLayoutBenchmarkState {
 
     private final Layout<?> jtl4JsonLayout;
 
+    private final Layout<?> jtl4CborLayout;
+
     private final Layout<?> jtl4EcsLayout;
 
     private final Layout<?> jtl4GelfLayout;
@@ -63,11 +68,16 @@ public class JsonTemplateLayoutBenchmarkState {
 
     private final List<LogEvent> liteLogEvents;
 
+    private final List<LogEvent> longAsciiLogEvents;
+
+    private final List<LogEvent> longUnicodeLogEvents;
+
     private int logEventIndex = 0;
 
     public JsonTemplateLayoutBenchmarkState() {
         this.byteBufferDestination = new BlackHoleByteBufferDestination(1024 * 512);
         this.jtl4JsonLayout = createJtl4JsonLayout();
+        this.jtl4CborLayout = createJtl4CborLayout();
         this.jtl4EcsLayout = createJtl4EcsLayout();
         this.jtl4GelfLayout = createJtl4GelfLayout();
         this.defaultJsonLayout = createDefaultJsonLayout();
@@ -76,6 +86,28 @@ public class JsonTemplateLayoutBenchmarkState {
         this.gelfLayout = createGelfLayout();
         this.fullLogEvents = LogEventFixture.createFullLogEvents(LOG_EVENT_COUNT);
         this.liteLogEvents = LogEventFixture.createLiteLogEvents(LOG_EVENT_COUNT);
+        this.longAsciiLogEvents = createLongMessageLogEvents(
+                "The quick brown fox jumps over the lazy dog, while the \"log\" keeps on growing.\n");
+        this.longUnicodeLogEvents =
+                createLongMessageLogEvents("Съешь же ещё этих мягких французских булок 😀, 日本語のログメッセージ \"ünïcödé\"\n");
+    }
+
+    /**
+     * Creates log events with messages of about 8 KiB, exercising the string escaping of the JSON writer.
+     */
+    private static List<LogEvent> createLongMessageLogEvents(final String messageLine) {
+        final StringBuilder messageBuilder = new StringBuilder();
+        while (messageBuilder.length() < 8 * 1024) {
+            messageBuilder.append(messageLine);
+        }
+        final String message = messageBuilder.toString();
+        final List<LogEvent> logEvents = new ArrayList<>(LOG_EVENT_COUNT);
+        for (final LogEvent logEvent : LogEventFixture.createLiteLogEvents(LOG_EVENT_COUNT)) {
+            logEvents.add(new Log4jLogEvent.Builder(logEvent)
+                    .setMessage(new SimpleMessage(message))
+                    .build());
+        }
+        return logEvents;
     }
 
     private static JsonTemplateLayout createJtl4JsonLayout() {
@@ -87,6 +119,16 @@ public class JsonTemplateLayoutBenchmarkState {
                 .build();
     }
 
+    private static JsonTemplateLayout createJtl4CborLayout() {
+        return JsonTemplateLayout.newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setCharset(CHARSET)
+                .setEventTemplateUri("classpath:JsonLayout.json")
+                .setRecyclerFactory(ThreadLocalRecyclerFactory.getInstance())
+                .setOutputFormat(JsonTemplateLayout.OutputFormat.CBOR)
+                .build();
+    }
+
     private static JsonTemplateLayout createJtl4EcsLayout() {
         final EventTemplateAdditionalField[] additionalFields = new EventTemplateAdditionalField[] {
             EventTemplateAdditionalField.newBuilder()
@@ -167,6 +209,10 @@ public class JsonTemplateLayoutBenchmarkState {
         return jtl4JsonLayout;
     }
 
+    Layout<?> getJtl4CborLayout() {
+        return jtl4CborLayout;
+    }
+
     Layout<?> getJtl4EcsLayout() {
         return jtl4EcsLayout;
     }
@@ -199,6 +245,14 @@ public class JsonTemplateLayoutBenchmarkState {
         return liteLogEvents;
     }
 
+    List<LogEvent> getLongAsciiLogEvents() {
+        return longAsciiLogEvents;
+    }
+
+    List<LogEvent> getLongUnicodeLogEvents() {
+        return longUnicodeLogEvents;
+    }
+
     int nextLogEventIndex() {
         final int currentLogEventIndex = logEventIndex;
         logEventIndex = (logEventIndex + 1) % LOG_EVENT_COUNT;
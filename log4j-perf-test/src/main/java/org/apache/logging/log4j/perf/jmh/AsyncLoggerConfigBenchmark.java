@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import static org.apache.logging.log4j.perf.util.BenchmarkMessageParams.one;
+import static org.apache.logging.log4j.perf.util.BenchmarkMessageParams.two;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LifeCycle;
+import org.apache.logging.log4j.perf.util.BenchmarkMessageParams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the throughput of mixed synchronous and asynchronous loggers with Async Loggers.
+ * <p>
+ * The {@code mode} parameter selects either Async Loggers with a synchronous root logger, the default context
+ * selector with an asynchronous root logger, or an asynchronous logger with a synchronous parent. In the last mode the
+ * log event is created on the calling thread and copied into the ring buffer.
+ * </p>
+ * <p>
+ * The {@code threadContextSize} parameter measures the cost of copying the thread context data.
+ * </p>
+ */
+@State(Scope.Thread)
+public class AsyncLoggerConfigBenchmark {
+
+    Logger logger;
+
+    @Param({"AsyncLoggers", "AsyncLoggerConfig", "MixedSyncAsync"})
+    public String mode;
+
+    @Param({"0", "5", "50"})
+    public int threadContextSize;
+
+    @Setup(Level.Trial)
+    public void up() {
+        System.setProperty("log4j.configurationFile", "perf-" + mode + "-noOpAppender.xml");
+        if ("AsyncLoggers".equals(mode)) {
+            System.setProperty(
+                    "Log4jContextSelector", "org.apache.logging.log4j.core.async.AsyncLoggerContextSelector");
+        } else {
+            System.clearProperty("Log4jContextSelector");
+        }
+        System.setProperty("AsyncLogger.RingBufferSize", "262144");
+        System.setProperty("AsyncLogger.WaitStrategy", "Yield");
+        System.setProperty("AsyncLoggerConfig.RingBufferSize", "262144");
+        System.setProperty("AsyncLoggerConfig.WaitStrategy", "Yield");
+
+        logger = LogManager.getLogger(getClass());
+
+        ThreadContext.clearMap();
+        for (int i = 0; i < threadContextSize; i++) {
+            ThreadContext.put("key" + i, "value" + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void down() {
+        ThreadContext.clearMap();
+        ((LifeCycle) LogManager.getContext(false)).stop();
+        System.clearProperty("AsyncLoggerConfig.RingBufferSize");
+        System.clearProperty("AsyncLoggerConfig.WaitStrategy");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void throughputSimple() {
+        logger.info(BenchmarkMessageParams.TEST);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void throughput2Params() {
+        logger.info("p1={}, p2={}", one, two);
+    }
+}
@@ -32,6 +32,8 @@ import java.io.File;
 import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
 import org.apache.logging.log4j.core.LifeCycle;
 import org.apache.logging.log4j.perf.util.BenchmarkMessageParams;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -39,6 +41,7 @@ import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -46,18 +49,37 @@ import org.openjdk.jmh.annotations.TearDown;
 
 /**
  * Tests Log4j2 Async Loggers performance.
+ * <p>
+ * The {@code backend} parameter compares the LMAX Disruptor with the queue backend of Async Loggers.
+ * </p>
+ * <p>
+ * Since no appender is configured, the messages of parameterized benchmarks with immutable parameters are never
+ * formatted: compare {@code throughput3MutableParams} and {@code throughput3ImmutableParams} to measure the cost moved
+ * off the application thread.
+ * </p>
  */
 @State(Scope.Thread)
 public class AsyncLoggersBenchmark {
 
+    private static final Marker MARKER = MarkerManager.getMarker("BENCHMARK");
+
     Logger logger;
 
+    private final Integer intParam = 123456;
+    private final Long longParam = 1234567890123L;
+    private final Double doubleParam = 1234.5678;
+    private final StringBuilder mutableParam = new StringBuilder("mutable");
+
+    @Param({"Disruptor", "Queue"})
+    public String backend;
+
     @Setup(Level.Trial)
     public void up() {
         System.setProperty("log4j.configurationFile", "perf-WithoutAnyAppender.xml");
         System.setProperty("Log4jContextSelector", "org.apache.logging.log4j.core.async.AsyncLoggerContextSelector");
         System.setProperty("AsyncLogger.RingBufferSize", "262144");
         System.setProperty("AsyncLogger.WaitStrategy", "Yield");
+        System.setProperty("log4j2.asyncLoggerBackend", backend);
         // System.setProperty("log4j2.enable.threadlocals", "true");
         // System.setProperty("log4j.format.msg.async", "true");
 
@@ -69,6 +91,7 @@ public class AsyncLoggersBenchmark {
     public void down() {
         ((LifeCycle) LogManager.getContext(false)).stop();
         new File("perftest.log").delete();
+        System.clearProperty("log4j2.asyncLoggerBackend");
     }
 
     @Benchmark
@@ -197,6 +220,47 @@ public class AsyncLoggersBenchmark {
                 eleven);
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void throughputFluentSimple() {
+        logger.atInfo().log(BenchmarkMessageParams.TEST);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void throughputFluent3Params() {
+        logger.atInfo().log("p1={}, p2={}, p3={}", one, two, three);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void throughputFluent3ParamsWithMarker() {
+        logger.atInfo().withMarker(MARKER).log("p1={}, p2={}, p3={}", one, two, three);
+    }
+
+    /**
+     * Parameters of immutable types are formatted by the background thread.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void throughput3ImmutableParams() {
+        logger.info("p1={}, p2={}, p3={}", intParam, longParam, doubleParam);
+    }
+
+    /**
+     * Parameters of mutable types are formatted by the application thread.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void throughput3MutableParams() {
+        logger.info("p1={}, p2={}, p3={}", mutableParam, mutableParam, mutableParam);
+    }
+
     //    @Benchmark
     //    @BenchmarkMode(Mode.SampleTime)
     //    @OutputTimeUnit(TimeUnit.NANOSECONDS)
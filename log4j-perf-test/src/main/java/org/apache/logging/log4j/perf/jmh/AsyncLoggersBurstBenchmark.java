@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LifeCycle;
+import org.apache.logging.log4j.perf.util.BenchmarkMessageParams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Tests Log4j2 Async Loggers with bursts of events larger than the ring buffer, followed by idle periods.
+ * <p>
+ * The {@code ringBufferMaxSize} parameter compares a fixed ring buffer with one that grows under sustained pressure.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class AsyncLoggersBurstBenchmark {
+
+    private static final int BURST_SIZE = 16 * 1024;
+
+    Logger logger;
+
+    @Param({"1024"})
+    public int ringBufferSize;
+
+    @Param({"0", "65536"})
+    public int ringBufferMaxSize;
+
+    @Param({"Disruptor", "Queue"})
+    public String backend;
+
+    @Setup(Level.Trial)
+    public void up() {
+        System.setProperty("log4j.configurationFile", "perf3PlainNoLoc.xml");
+        System.setProperty("Log4jContextSelector", "org.apache.logging.log4j.core.async.AsyncLoggerContextSelector");
+        System.setProperty("log4j2.asyncLoggerRingBufferSize", String.valueOf(ringBufferSize));
+        System.setProperty("log4j2.asyncLoggerRingBufferMaxSize", String.valueOf(ringBufferMaxSize));
+        System.setProperty("log4j2.asyncLoggerBackend", backend);
+
+        logger = LogManager.getLogger(getClass());
+        new File("perftest.log").delete();
+    }
+
+    @TearDown(Level.Trial)
+    public void down() {
+        ((LifeCycle) LogManager.getContext(false)).stop();
+        new File("perftest.log").delete();
+        System.clearProperty("log4j2.asyncLoggerRingBufferSize");
+        System.clearProperty("log4j2.asyncLoggerRingBufferMaxSize");
+        System.clearProperty("log4j2.asyncLoggerBackend");
+    }
+
+    /**
+     * Leaves the background thread time to drain the ring buffer between bursts.
+     */
+    @TearDown(Level.Invocation)
+    public void idle() throws InterruptedException {
+        Thread.sleep(10);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @OperationsPerInvocation(BURST_SIZE)
+    public void burst() {
+        for (int i = 0; i < BURST_SIZE; i++) {
+            logger.info(BenchmarkMessageParams.TEST);
+        }
+    }
+}
@@ -45,6 +45,20 @@ import org.openjdk.jmh.annotations.Warmup;
 /**
  * Tests Log4j2 Async Loggers performance with many threads producing events quickly while the background
  * thread persists events to disk.
+ * <p>
+ * The {@code ringBufferShards} parameter only affects {@code ASYNC_CONTEXT}, where each shard has its own background
+ * thread. To measure the scalability with the number of producers, override the thread count, e.g.:
+ * </p>
+ * <pre>{@code
+ * for threads in 1 2 4 8 16 32 64 128; do
+ *     java -jar target/benchmarks.jar ".*ConcurrentAsyncLoggerToFileBenchmark.concurrentLoggingThreads" \
+ *         -p asyncLoggerType=ASYNC_CONTEXT -p queueFullPolicy=ENQUEUE -t $threads
+ * done
+ * }</pre>
+ * <p>
+ * The {@code backgroundThreadCpus} parameter pins the background threads to a list of CPUs on Linux, e.g.
+ * {@code -p backgroundThreadCpus=0-3}, to compare placements on the same or another NUMA node than the producers.
+ * </p>
  * @see <a href="https://issues.apache.org/jira/browse/LOG4J2-2606">LOG4J2-2606</a>
  */
 @Fork(1)
@@ -88,6 +102,12 @@ public class ConcurrentAsyncLoggerToFileBenchmark {
         @Param({"ASYNC_CONTEXT", "ASYNC_CONFIG"})
         private AsyncLoggerType asyncLoggerType;
 
+        @Param({"1", "4"})
+        private int ringBufferShards;
+
+        @Param({""})
+        private String backgroundThreadCpus;
+
         private Logger logger;
 
         @Setup
@@ -95,6 +115,8 @@ public class ConcurrentAsyncLoggerToFileBenchmark {
             new File("target/ConcurrentAsyncLoggerToFileBenchmark.log").delete();
             System.setProperty("log4j2.enableThreadlocals", "true");
             asyncLoggerType.setProperties();
+            System.setProperty("log4j2.asyncLoggerRingBufferShards", String.valueOf(ringBufferShards));
+            System.setProperty("ConcurrentAsyncLoggerToFileBenchmark.backgroundThreadCpus", backgroundThreadCpus);
             queueFullPolicy.setProperties();
             logger = LogManager.getLogger(ConcurrentAsyncLoggerToFileBenchmark.class);
         }
@@ -33,6 +33,7 @@ import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -40,6 +41,15 @@ import org.openjdk.jmh.annotations.TearDown;
 
 /**
  * Benchmarks Log4j 2 GelfLayout.
+ * <p>
+ * The {@code gc} profiler reports the allocation rate, which should be close to zero for all compression types:
+ * <pre>{@code
+ * java \
+ *     -cp target/log4j-perf-test-*-uber.jar org.openjdk.jmh.Main \
+ *     -prof gc \
+ *     ".*GelfLayoutBenchmark.*"
+ * }</pre>
+ * </p>
  */
 @State(Scope.Thread)
 public class GelfLayoutBenchmark {
@@ -75,6 +85,9 @@ public class GelfLayoutBenchmark {
                 .build();
     }
 
+    @Param({"OFF", "GZIP", "ZLIB"})
+    public GelfLayout.CompressionType compressionType;
+
     Appender appender;
     int j;
 
@@ -86,7 +99,7 @@ public class GelfLayoutBenchmark {
                 .setConfiguration(new NullConfiguration())
                 .setHost("host")
                 .setAdditionalFields(ADDITIONAL_FIELDS)
-                .setCompressionType(GelfLayout.CompressionType.OFF)
+                .setCompressionType(compressionType)
                 .setCompressionThreshold(0)
                 .setIncludeStacktrace(true)
                 .setIncludeThreadContext(true)
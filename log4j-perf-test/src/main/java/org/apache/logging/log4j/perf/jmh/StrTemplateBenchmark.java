@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.core.lookup.StrSubstitutor;
+import org.apache.logging.log4j.core.lookup.StrTemplate;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the evaluation of runtime lookups by {@link StrSubstitutor} and {@link StrTemplate}, as done for the
+ * keys of a {@code RoutingAppender} and the headers of a {@link PatternLayout}.
+ */
+@Fork(1)
+@Threads(1)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 4, time = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class StrTemplateBenchmark {
+
+    private static final String ROUTING_KEY = "${ctx:tenant}/${ctx:user}";
+
+    private static final String HEADER = "Started by ${sys:user.name} on ${java:runtime}%n";
+
+    private StrSubstitutor substitutor;
+    private StrTemplate routingKey;
+    private PatternLayout layout;
+    private LogEvent event;
+
+    @Setup
+    public void setup() {
+        final Configuration configuration = new DefaultConfiguration();
+        substitutor = configuration.getStrSubstitutor();
+        routingKey = new StrTemplate(substitutor, ROUTING_KEY);
+        layout = PatternLayout.newBuilder()
+                .withConfiguration(configuration)
+                .withHeader(HEADER)
+                .build();
+        final SortedArrayStringMap contextData = new SortedArrayStringMap();
+        contextData.putValue("tenant", "acme");
+        contextData.putValue("user", "alice");
+        event = Log4jLogEvent.newBuilder()
+                .setMessage(new SimpleMessage("Hello"))
+                .setContextData(contextData)
+                .build();
+    }
+
+    @Benchmark
+    public String routingKeySubstitutor() {
+        return substitutor.replace(event, ROUTING_KEY);
+    }
+
+    @Benchmark
+    public String routingKeyTemplate() {
+        return routingKey.format(event);
+    }
+
+    @Benchmark
+    public byte[] patternLayoutHeader() {
+        return layout.getHeader();
+    }
+}
@@ -145,6 +145,16 @@ public class ThreadContextBenchmark {
         ThreadContext.remove("someKey");
     }
 
+    @Benchmark
+    public void putExistingValue() {
+        ThreadContext.put(keys[count - 1], values[count - 1]);
+    }
+
+    @Benchmark
+    public Map<String, String> immutableSnapshot() {
+        return ThreadContext.getImmutableContext();
+    }
+
     @Benchmark
     public StringMap injectWithoutProperties() {
         reusableContextData.clear();